@@ -9,6 +9,7 @@ module org.opentravel.apps.common {
     requires spring.jcl;
     requires org.apache.logging.log4j;
     requires org.fxmisc.richtext;
+    requires reactfx;
 
     exports org.opentravel.application.common;
     exports org.opentravel.application.common.events;
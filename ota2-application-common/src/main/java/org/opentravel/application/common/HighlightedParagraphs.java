@@ -0,0 +1,106 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.opentravel.application.common;
+
+import java.util.BitSet;
+
+/**
+ * Keeps track of the paragraphs of a text that have already been highlighted. When lines are inserted or removed, the
+ * state of the paragraphs that follow the change is shifted so that only the changed paragraphs need to be highlighted
+ * again.
+ */
+class HighlightedParagraphs {
+
+    private BitSet highlighted = new BitSet();
+
+    /**
+     * Updates the state after a change to the text. The paragraphs touched by the change are marked as not
+     * highlighted, and the state of the paragraphs that follow it is shifted by the difference in line count.
+     * 
+     * @param firstParagraph the index of the first paragraph touched by the change
+     * @param removedLines the number of line breaks removed by the change
+     * @param insertedLines the number of line breaks inserted by the change
+     */
+    public void textChanged(int firstParagraph, int removedLines, int insertedLines) {
+        int oldEnd = firstParagraph + removedLines + 1;
+        BitSet shifted = highlighted.get( 0, firstParagraph );
+
+        for (int i = highlighted.nextSetBit( oldEnd ); i >= 0; i = highlighted.nextSetBit( i + 1 )) {
+            shifted.set( i - removedLines + insertedLines );
+        }
+        highlighted = shifted;
+    }
+
+    /**
+     * Marks the given range of paragraphs as highlighted.
+     * 
+     * @param startParagraph the index of the first paragraph in the range
+     * @param endParagraph the index of the last paragraph in the range (inclusive)
+     */
+    public void setHighlighted(int startParagraph, int endParagraph) {
+        highlighted.set( startParagraph, endParagraph + 1 );
+    }
+
+    /**
+     * Returns true if the given paragraph has been highlighted.
+     * 
+     * @param paragraph the index of the paragraph to check
+     * @return boolean
+     */
+    public boolean isHighlighted(int paragraph) {
+        return highlighted.get( paragraph );
+    }
+
+    /**
+     * Returns true if no paragraph has been highlighted.
+     * 
+     * @return boolean
+     */
+    public boolean isEmpty() {
+        return highlighted.isEmpty();
+    }
+
+    /**
+     * Marks all paragraphs as not highlighted.
+     */
+    public void clear() {
+        highlighted.clear();
+    }
+
+    /**
+     * Returns the first range of paragraphs that are not highlighted within the given bounds, or null if all of them
+     * have been highlighted.
+     * 
+     * @param firstParagraph the index of the first paragraph to consider
+     * @param lastParagraph the index of the last paragraph to consider (inclusive)
+     * @return int[]
+     */
+    public int[] nextUnhighlightedRange(int firstParagraph, int lastParagraph) {
+        int start = highlighted.nextClearBit( firstParagraph );
+        int[] range = null;
+
+        if (start <= lastParagraph) {
+            int nextHighlighted = highlighted.nextSetBit( start );
+            int end = (nextHighlighted < 0) ? lastParagraph : Math.min( lastParagraph, nextHighlighted - 1 );
+
+            range = new int[] {start, end};
+        }
+        return range;
+    }
+
+}
@@ -77,4 +77,12 @@ public class JsonHighlightBuilder implements SyntaxHighlightBuilder {
         return spansBuilder.create();
     }
 
+    /**
+     * @see org.opentravel.application.common.SyntaxHighlightBuilder#isIncremental()
+     */
+    @Override
+    public boolean isIncremental() {
+        return true;
+    }
+
 }
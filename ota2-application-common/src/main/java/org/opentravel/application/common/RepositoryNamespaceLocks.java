@@ -0,0 +1,48 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.opentravel.application.common;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Provides the locks that serialize access to the local repository cache. The content of remote repository items that
+ * share a base namespace is stored in the same folder of the cache, so threads that download or load such items at
+ * the same time must synchronize on the lock for that namespace. Items from different base namespaces may be
+ * accessed concurrently.
+ */
+public final class RepositoryNamespaceLocks {
+
+    private static final Map<String,Object> locks = new ConcurrentHashMap<>();
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private RepositoryNamespaceLocks() {}
+
+    /**
+     * Returns the lock for the given base namespace. The same lock is returned for every call with the same namespace.
+     * 
+     * @param baseNamespace the base namespace of a repository item (may be null)
+     * @return Object
+     */
+    public static Object getLock(String baseNamespace) {
+        return locks.computeIfAbsent( String.valueOf( baseNamespace ), ns -> new Object() );
+    }
+
+}
@@ -33,4 +33,40 @@ public interface SyntaxHighlightBuilder {
      */
     public StyleSpans<Collection<String>> computeHighlighting(String text);
 
+    /**
+     * Returns true if the highlighting of a range of whole paragraphs can be computed independently of the text that
+     * surrounds it, once the range has been widened by {@link #expandRangeStart(String, int)} and
+     * {@link #expandRangeEnd(String, int)}. Incremental builders allow a {@link SyntaxHighlighter} to re-highlight only
+     * the paragraphs that have changed and are visible; otherwise the whole text is highlighted after each change.
+     * 
+     * @return boolean
+     */
+    public default boolean isIncremental() {
+        return false;
+    }
+
+    /**
+     * Returns the offset at which the highlighting of a range that begins at the given offset must start, so that a
+     * token that spans several lines is not split. The default implementation returns the given offset.
+     * 
+     * @param text the full text being highlighted
+     * @param offset the offset at which the range begins
+     * @return int
+     */
+    public default int expandRangeStart(String text, int offset) {
+        return offset;
+    }
+
+    /**
+     * Returns the offset at which the highlighting of a range that ends at the given offset must end, so that a token
+     * that spans several lines is not split. The default implementation returns the given offset.
+     * 
+     * @param text the full text being highlighted
+     * @param offset the offset at which the range ends (exclusive)
+     * @return int
+     */
+    public default int expandRangeEnd(String text, int offset) {
+        return offset;
+    }
+
 }
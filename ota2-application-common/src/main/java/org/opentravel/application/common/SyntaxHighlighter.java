@@ -0,0 +1,265 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.opentravel.application.common;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.fxmisc.richtext.CodeArea;
+import org.fxmisc.richtext.model.PlainTextChange;
+import org.fxmisc.richtext.model.StyleSpans;
+import org.fxmisc.richtext.model.TwoDimensional.Bias;
+import org.reactfx.Subscription;
+
+import java.util.Collection;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javafx.application.Platform;
+
+/**
+ * Applies syntax highlighting to a <code>CodeArea</code> as its text changes. Highlighting is computed on a background
+ * thread and applied on the FX application thread.
+ * <p>
+ * When the builder is incremental (see {@link SyntaxHighlightBuilder#isIncremental()}), the highlighter keeps track
+ * of the paragraphs that have already been highlighted. After a change, only the changed paragraphs are marked for
+ * highlighting, and only the marked paragraphs that are visible (plus a small margin) are highlighted. Each range is
+ * widened by the builder so that tokens spanning several lines are highlighted as a whole. The remaining paragraphs
+ * are highlighted when they are scrolled into view.
+ */
+public class SyntaxHighlighter {
+
+    private static final Logger log = LogManager.getLogger( SyntaxHighlighter.class );
+
+    /**
+     * The number of paragraphs above and below the visible area that are highlighted ahead of scrolling.
+     */
+    private static final int VISIBLE_MARGIN = 50;
+
+    private static final ExecutorService executor = Executors.newSingleThreadExecutor( r -> {
+        Thread t = new Thread( r, "SyntaxHighlighter" );
+
+        t.setDaemon( true );
+        return t;
+    } );
+
+    private CodeArea codeArea;
+    private SyntaxHighlightBuilder builder;
+    private HighlightedParagraphs highlighted = new HighlightedParagraphs();
+    private long textVersion = 0;
+    private boolean refreshPending = false;
+    private Subscription textSubscription;
+
+    /**
+     * Constructor that specifies the code area to highlight and the builder that computes its highlighting.
+     * 
+     * @param codeArea the code area to highlight
+     * @param builder the syntax highlighting builder (may be null to disable highlighting)
+     */
+    public SyntaxHighlighter(CodeArea codeArea, SyntaxHighlightBuilder builder) {
+        this.codeArea = codeArea;
+        this.builder = builder;
+        this.textSubscription = codeArea.plainTextChanges().subscribe( this::textChanged );
+        codeArea.estimatedScrollYProperty().addListener( (observable, oldValue, newValue) -> scheduleRefresh() );
+        codeArea.heightProperty().addListener( (observable, oldValue, newValue) -> scheduleRefresh() );
+    }
+
+    /**
+     * Assigns the builder that computes the highlighting and re-highlights the text. Must be called on the FX
+     * application thread.
+     * 
+     * @param builder the syntax highlighting builder (may be null to disable highlighting)
+     */
+    public void setBuilder(SyntaxHighlightBuilder builder) {
+        if (builder != this.builder) {
+            this.builder = builder;
+            highlighted.clear();
+            textVersion++;
+            scheduleRefresh();
+        }
+    }
+
+    /**
+     * Stops highlighting the code area.
+     */
+    public void dispose() {
+        textSubscription.unsubscribe();
+    }
+
+    /**
+     * Called when the text of the code area is modified. The highlighting state of paragraphs that follow the change is
+     * shifted so that only the changed paragraphs need to be highlighted again.
+     * 
+     * @param change the change to the text
+     */
+    private void textChanged(PlainTextChange change) {
+        if ((builder != null) && builder.isIncremental()) {
+            int firstParagraph = codeArea.offsetToPosition( change.getPosition(), Bias.Forward ).getMajor();
+
+            highlighted.textChanged( firstParagraph, countLines( change.getRemoved() ),
+                countLines( change.getInserted() ) );
+
+        } else {
+            highlighted.clear();
+        }
+        textVersion++;
+        scheduleRefresh();
+    }
+
+    /**
+     * Schedules the highlighting of the visible paragraphs. Several requests made before the refresh runs are
+     * combined into one.
+     */
+    private void scheduleRefresh() {
+        if (!refreshPending) {
+            refreshPending = true;
+            Platform.runLater( this::refresh );
+        }
+    }
+
+    /**
+     * Submits the highlighting of the paragraphs that need it to the background thread.
+     */
+    private void refresh() {
+        refreshPending = false;
+
+        if ((builder == null) || codeArea.getParagraphs().isEmpty()) {
+            return;
+        }
+        if (builder.isIncremental()) {
+            int paragraphCount = codeArea.getParagraphs().size();
+            int first = Math.max( 0, codeArea.firstVisibleParToAllParIndex() - VISIBLE_MARGIN );
+            int last = Math.min( paragraphCount - 1, codeArea.lastVisibleParToAllParIndex() + VISIBLE_MARGIN );
+            int[] range = highlighted.nextUnhighlightedRange( first, last );
+            String text = (range == null) ? null : codeArea.getText();
+
+            while (range != null) {
+                int start = expandStartParagraph( text, range[0] );
+                int end = expandEndParagraph( text, range[1] );
+
+                highlightParagraphs( start, end );
+                range = highlighted.nextUnhighlightedRange( end + 1, last );
+            }
+
+        } else if (highlighted.isEmpty()) {
+            highlightParagraphs( 0, codeArea.getParagraphs().size() - 1 );
+        }
+    }
+
+    /**
+     * Returns the index of the paragraph at which highlighting must start so that a token that spans several lines and
+     * is open at the start of the given paragraph is highlighted as a whole.
+     * 
+     * @param text the full text of the code area
+     * @param startParagraph the index of the first paragraph that needs highlighting
+     * @return int
+     */
+    private int expandStartParagraph(String text, int startParagraph) {
+        int paragraph = startParagraph;
+        int expanded;
+
+        while (paragraph > 0) {
+            int offset = codeArea.getAbsolutePosition( paragraph, 0 );
+
+            expanded = codeArea.offsetToPosition( builder.expandRangeStart( text, offset ), Bias.Forward ).getMajor();
+
+            if (expanded >= paragraph) {
+                break;
+            }
+            paragraph = expanded;
+        }
+        return paragraph;
+    }
+
+    /**
+     * Returns the index of the paragraph at which highlighting must end so that a token that spans several lines and
+     * is open at the end of the given paragraph is highlighted as a whole.
+     * 
+     * @param text the full text of the code area
+     * @param endParagraph the index of the last paragraph that needs highlighting
+     * @return int
+     */
+    private int expandEndParagraph(String text, int endParagraph) {
+        int lastParagraph = codeArea.getParagraphs().size() - 1;
+        int paragraph = endParagraph;
+        int expanded;
+
+        while (paragraph < lastParagraph) {
+            int offset = codeArea.getAbsolutePosition( paragraph, codeArea.getParagraph( paragraph ).length() );
+
+            expanded = codeArea.offsetToPosition( builder.expandRangeEnd( text, offset ), Bias.Backward ).getMajor();
+
+            if (expanded <= paragraph) {
+                break;
+            }
+            paragraph = expanded;
+        }
+        return paragraph;
+    }
+
+    /**
+     * Highlights the given range of paragraphs on the background thread. If the text has changed by the time the
+     * results are available, they are discarded and the visible paragraphs are highlighted again.
+     * 
+     * @param startParagraph the index of the first paragraph to highlight
+     * @param endParagraph the index of the last paragraph to highlight
+     */
+    private void highlightParagraphs(int startParagraph, int endParagraph) {
+        String text = codeArea.getText( startParagraph, 0, endParagraph,
+            codeArea.getParagraph( endParagraph ).length() );
+        SyntaxHighlightBuilder currentBuilder = builder;
+        long version = textVersion;
+
+        highlighted.setHighlighted( startParagraph, endParagraph );
+
+        executor.execute( () -> {
+            try {
+                StyleSpans<Collection<String>> spans = currentBuilder.computeHighlighting( text );
+
+                Platform.runLater( () -> {
+                    if (version == textVersion) {
+                        codeArea.setStyleSpans( startParagraph, 0, spans );
+
+                    } else {
+                        highlighted.clear();
+                        scheduleRefresh();
+                    }
+                } );
+
+            } catch (RuntimeException e) {
+                log.warn( "Error computing syntax highlighting.", e );
+            }
+        } );
+    }
+
+    /**
+     * Returns the number of line breaks in the given text.
+     * 
+     * @param text the text to count
+     * @return int
+     */
+    private static int countLines(String text) {
+        int count = 0;
+
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt( i ) == '\n') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+}
@@ -111,4 +111,54 @@ public class XmlHighlightBuilder implements SyntaxHighlightBuilder {
         spansBuilder.add( Collections.singleton( XML_TAGMARK ), matcher.end( GROUP_CLOSE_BRACKET ) - lastMatchEnd );
     }
 
+    /**
+     * @see org.opentravel.application.common.SyntaxHighlightBuilder#isIncremental()
+     */
+    @Override
+    public boolean isIncremental() {
+        return true;
+    }
+
+    /**
+     * Tags and comments may span several lines, but neither can contain an angle bracket. If the nearest bracket
+     * before the offset is a '&lt;', the offset lies inside a tag or comment and the range is widened to its start.
+     * 
+     * @see org.opentravel.application.common.SyntaxHighlightBuilder#expandRangeStart(java.lang.String, int)
+     */
+    @Override
+    public int expandRangeStart(String text, int offset) {
+        for (int i = offset - 1; i >= 0; i--) {
+            char ch = text.charAt( i );
+
+            if (ch == '<') {
+                return i;
+
+            } else if (ch == '>') {
+                break;
+            }
+        }
+        return offset;
+    }
+
+    /**
+     * If the nearest bracket after the offset is a '&gt;', the offset lies inside a tag or comment (or text that was
+     * part of one before an edit) and the range is widened to its end.
+     * 
+     * @see org.opentravel.application.common.SyntaxHighlightBuilder#expandRangeEnd(java.lang.String, int)
+     */
+    @Override
+    public int expandRangeEnd(String text, int offset) {
+        for (int i = offset; i < text.length(); i++) {
+            char ch = text.charAt( i );
+
+            if (ch == '>') {
+                return i + 1;
+
+            } else if (ch == '<') {
+                break;
+            }
+        }
+        return offset;
+    }
+
 }
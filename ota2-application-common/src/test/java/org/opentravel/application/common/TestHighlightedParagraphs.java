@@ -0,0 +1,107 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.opentravel.application.common;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Verifies the paragraph tracking of the <code>SyntaxHighlighter</code> that is performed by the
+ * <code>HighlightedParagraphs</code> class.
+ */
+public class TestHighlightedParagraphs {
+
+    @Test
+    public void testUnhighlightedRanges() throws Exception {
+        HighlightedParagraphs paragraphs = new HighlightedParagraphs();
+
+        assertTrue( paragraphs.isEmpty() );
+        assertArrayEquals( new int[] {0, 9}, paragraphs.nextUnhighlightedRange( 0, 9 ) );
+
+        paragraphs.setHighlighted( 2, 4 );
+        assertFalse( paragraphs.isEmpty() );
+        assertArrayEquals( new int[] {0, 1}, paragraphs.nextUnhighlightedRange( 0, 9 ) );
+        assertArrayEquals( new int[] {5, 9}, paragraphs.nextUnhighlightedRange( 2, 9 ) );
+
+        paragraphs.setHighlighted( 0, 1 );
+        paragraphs.setHighlighted( 5, 9 );
+        assertNull( paragraphs.nextUnhighlightedRange( 0, 9 ) );
+        assertArrayEquals( new int[] {10, 12}, paragraphs.nextUnhighlightedRange( 0, 12 ) );
+
+        paragraphs.clear();
+        assertTrue( paragraphs.isEmpty() );
+    }
+
+    @Test
+    public void testChangeWithinParagraph() throws Exception {
+        HighlightedParagraphs paragraphs = new HighlightedParagraphs();
+
+        paragraphs.setHighlighted( 0, 9 );
+        paragraphs.textChanged( 4, 0, 0 );
+
+        assertArrayEquals( new int[] {4, 4}, paragraphs.nextUnhighlightedRange( 0, 9 ) );
+        assertNull( paragraphs.nextUnhighlightedRange( 5, 9 ) );
+    }
+
+    @Test
+    public void testLinesInserted() throws Exception {
+        HighlightedParagraphs paragraphs = new HighlightedParagraphs();
+
+        paragraphs.setHighlighted( 0, 9 );
+        paragraphs.textChanged( 4, 0, 3 );
+
+        // Paragraphs 4-7 are new or changed; the old paragraphs 5-9 move down to 8-12
+        assertArrayEquals( new int[] {4, 7}, paragraphs.nextUnhighlightedRange( 0, 12 ) );
+        assertNull( paragraphs.nextUnhighlightedRange( 8, 12 ) );
+        assertTrue( paragraphs.isHighlighted( 3 ) );
+        assertFalse( paragraphs.isHighlighted( 13 ) );
+    }
+
+    @Test
+    public void testLinesRemoved() throws Exception {
+        HighlightedParagraphs paragraphs = new HighlightedParagraphs();
+
+        paragraphs.setHighlighted( 0, 9 );
+        paragraphs.textChanged( 4, 3, 0 );
+
+        // Old paragraphs 4-7 are merged into paragraph 4; the old paragraphs 8-9 move up to 5-6
+        assertArrayEquals( new int[] {4, 4}, paragraphs.nextUnhighlightedRange( 0, 6 ) );
+        assertTrue( paragraphs.isHighlighted( 5 ) );
+        assertTrue( paragraphs.isHighlighted( 6 ) );
+        assertFalse( paragraphs.isHighlighted( 7 ) );
+    }
+
+    @Test
+    public void testUnhighlightedStateShifted() throws Exception {
+        HighlightedParagraphs paragraphs = new HighlightedParagraphs();
+
+        paragraphs.setHighlighted( 0, 4 );
+        paragraphs.setHighlighted( 8, 9 );
+        paragraphs.textChanged( 1, 0, 2 );
+
+        // The paragraphs that were never highlighted (old 5-7) must still need highlighting at their new position
+        assertArrayEquals( new int[] {1, 3}, paragraphs.nextUnhighlightedRange( 0, 11 ) );
+        assertArrayEquals( new int[] {7, 9}, paragraphs.nextUnhighlightedRange( 4, 11 ) );
+        assertNull( paragraphs.nextUnhighlightedRange( 10, 11 ) );
+    }
+
+}
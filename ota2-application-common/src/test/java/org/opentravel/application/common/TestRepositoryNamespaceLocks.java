@@ -0,0 +1,49 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.opentravel.application.common;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+/**
+ * Verifies the functions of the <code>RepositoryNamespaceLocks</code> class.
+ */
+public class TestRepositoryNamespaceLocks {
+
+    @Test
+    public void testSameLockPerNamespace() throws Exception {
+        Object lock1 = RepositoryNamespaceLocks.getLock( "http://www.OpenTravel.org/ns/test" );
+        Object lock2 = RepositoryNamespaceLocks.getLock( "http://www.OpenTravel.org/ns/test" );
+        Object lock3 = RepositoryNamespaceLocks.getLock( "http://www.OpenTravel.org/ns/other" );
+
+        assertSame( lock1, lock2 );
+        assertNotSame( lock1, lock3 );
+    }
+
+    @Test
+    public void testNullNamespace() throws Exception {
+        Object lock = RepositoryNamespaceLocks.getLock( null );
+
+        assertNotNull( lock );
+        assertSame( lock, RepositoryNamespaceLocks.getLock( null ) );
+    }
+
+}
@@ -0,0 +1,113 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.opentravel.application.common;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.fxmisc.richtext.model.StyleSpan;
+import org.fxmisc.richtext.model.StyleSpans;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Verifies the functions of the <code>XmlHighlightBuilder</code> class.
+ */
+public class TestXmlHighlightBuilder {
+
+    private static final String XML_TEXT = "<Root>\n" //
+        + "  <Element attr1=\"value1\"\n" //
+        + "      attr2=\"value2\"\n" //
+        + "      attr3=\"value3\">text</Element>\n" //
+        + "  <!-- a comment\n" //
+        + "       on two lines -->\n" //
+        + "</Root>\n";
+
+    private XmlHighlightBuilder builder = new XmlHighlightBuilder();
+
+    @Test
+    public void testIncremental() throws Exception {
+        assertTrue( builder.isIncremental() );
+    }
+
+    @Test
+    public void testExpandRangeInsideTag() throws Exception {
+        int tagStart = XML_TEXT.indexOf( "<Element" );
+        int tagEnd = XML_TEXT.indexOf( "\">text" ) + 2;
+        int offset = XML_TEXT.indexOf( "      attr2" );
+
+        assertEquals( tagStart, builder.expandRangeStart( XML_TEXT, offset ) );
+        assertEquals( tagEnd, builder.expandRangeEnd( XML_TEXT, offset ) );
+    }
+
+    @Test
+    public void testExpandRangeInsideComment() throws Exception {
+        int offset = XML_TEXT.indexOf( "       on two lines" );
+
+        assertEquals( XML_TEXT.indexOf( "<!--" ), builder.expandRangeStart( XML_TEXT, offset ) );
+        assertEquals( XML_TEXT.indexOf( "-->" ) + 3, builder.expandRangeEnd( XML_TEXT, offset ) );
+    }
+
+    @Test
+    public void testExpandRangeOutsideTag() throws Exception {
+        int offset = XML_TEXT.indexOf( "  <Element" );
+        int endOffset = XML_TEXT.indexOf( "text</Element>" ) + 4;
+
+        assertEquals( offset, builder.expandRangeStart( XML_TEXT, offset ) );
+        assertEquals( offset, builder.expandRangeEnd( XML_TEXT, offset ) );
+        assertEquals( endOffset, builder.expandRangeStart( XML_TEXT, endOffset ) );
+        assertEquals( endOffset, builder.expandRangeEnd( XML_TEXT, endOffset ) );
+        assertEquals( 0, builder.expandRangeStart( XML_TEXT, 0 ) );
+        assertEquals( XML_TEXT.length(), builder.expandRangeEnd( XML_TEXT, XML_TEXT.length() ) );
+    }
+
+    @Test
+    public void testExpandedRangeMatchesFullHighlighting() throws Exception {
+        List<String> fullStyles = toStyleList( builder.computeHighlighting( XML_TEXT ) );
+
+        // Highlight from the start of each line to the end of the text, widening the range where needed
+        for (int offset = 0; offset < XML_TEXT.length(); offset = XML_TEXT.indexOf( '\n', offset ) + 1) {
+            int start = builder.expandRangeStart( XML_TEXT, offset );
+            List<String> rangeStyles = toStyleList( builder.computeHighlighting( XML_TEXT.substring( start ) ) );
+
+            assertEquals( "Range starting at offset " + offset, fullStyles.subList( start, XML_TEXT.length() ),
+                rangeStyles );
+        }
+    }
+
+    /**
+     * Returns the style of each character covered by the given spans.
+     * 
+     * @param spans the style spans to expand
+     * @return List&lt;String&gt;
+     */
+    private static List<String> toStyleList(StyleSpans<Collection<String>> spans) {
+        List<String> styles = new ArrayList<>();
+
+        for (StyleSpan<Collection<String>> span : spans) {
+            for (int i = 0; i < span.getLength(); i++) {
+                styles.add( span.getStyle().toString() );
+            }
+        }
+        return styles;
+    }
+
+}
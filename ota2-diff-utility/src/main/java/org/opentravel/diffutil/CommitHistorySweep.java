@@ -0,0 +1,344 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opentravel.diffutil;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opentravel.schemacompiler.diff.ModelCompareOptions;
+import org.opentravel.schemacompiler.loader.LibraryInputSource;
+import org.opentravel.schemacompiler.loader.LibraryLoaderException;
+import org.opentravel.schemacompiler.loader.LibraryModelLoader;
+import org.opentravel.schemacompiler.loader.impl.LibraryStreamInputSource;
+import org.opentravel.schemacompiler.model.AbstractLibrary;
+import org.opentravel.schemacompiler.model.TLLibrary;
+import org.opentravel.schemacompiler.repository.RepositoryException;
+import org.opentravel.schemacompiler.repository.RepositoryItem;
+import org.opentravel.schemacompiler.repository.RepositoryItemCommit;
+import org.opentravel.schemacompiler.util.ModelComparator;
+import org.opentravel.schemacompiler.util.SchemaCompilerException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compares every pair of adjacent commits in the history of a managed library and writes a change-timeline report
+ * that links to the comparison report of each pair.
+ * 
+ * <p>
+ * The historical content of each commit is fetched from the repository concurrently and saved in a local disk cache,
+ * keyed by the commit's effective date. Because the content of a past commit never changes, later sweeps of the same
+ * library only fetch commits that have been made since the previous sweep.
+ * 
+ * <p>
+ * Each comparison report is written to its own file in the folder returned by {@link #getCommitReportFolder(File)} as
+ * soon as it is generated. Only a bounded number of comparisons are in progress at once, so the historical versions
+ * that have been compared can be reclaimed while the sweep continues.
+ */
+public class CommitHistorySweep {
+
+    public static final String REPORT_TITLE = "OTM Commit History Report";
+
+    private static final String DEFAULT_CACHE_FOLDER = "/.ota2/.du-history-cache";
+    private static final String CACHE_FILE_EXTENSION = ".otm";
+
+    private static final Logger log = LogManager.getLogger( CommitHistorySweep.class );
+
+    private ModelCompareOptions compareOptions;
+    private File cacheFolder;
+    private int threads;
+
+    /**
+     * Constructor that specifies the comparison options and the default cache location in the user's home folder.
+     * 
+     * @param compareOptions the options for each comparison
+     */
+    public CommitHistorySweep(ModelCompareOptions compareOptions) {
+        this( compareOptions, new File( System.getProperty( "user.home" ), DEFAULT_CACHE_FOLDER ),
+            Runtime.getRuntime().availableProcessors() );
+    }
+
+    /**
+     * Full constructor.
+     * 
+     * @param compareOptions the options for each comparison
+     * @param cacheFolder the folder in which historical library content is cached
+     * @param threads the number of fetches and comparisons to run concurrently
+     */
+    public CommitHistorySweep(ModelCompareOptions compareOptions, File cacheFolder, int threads) {
+        this.compareOptions = compareOptions;
+        this.cacheFolder = cacheFolder;
+        this.threads = Math.max( 1, threads );
+    }
+
+    /**
+     * Compares each pair of adjacent commits of the given library and writes the change-timeline report to the
+     * specified file.
+     * 
+     * @param libraryItem the repository item of the library to sweep
+     * @param reportFile the file to which the change-timeline report will be written
+     * @throws SchemaCompilerException thrown if the commit history or a historical version cannot be loaded
+     * @throws IOException thrown if the report cannot be written
+     */
+    public void sweep(RepositoryItem libraryItem, File reportFile) throws SchemaCompilerException, IOException {
+        List<RepositoryItemCommit> commitHistory =
+            new ArrayList<>( libraryItem.getRepository().getHistory( libraryItem ).getCommitHistory() );
+        File commitReportFolder = getCommitReportFolder( reportFile );
+        List<File> commitReports = new ArrayList<>();
+        Deque<CompletableFuture<File>> pendingReports = new ArrayDeque<>();
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool( threads, r -> {
+            Thread t = new Thread( r, "CommitHistorySweep-" + threadCount.incrementAndGet() );
+
+            t.setDaemon( true );
+            return t;
+        } );
+
+        Collections.reverse( commitHistory ); // oldest commit first
+
+        try {
+            CompletableFuture<TLLibrary> previousLibrary = null;
+
+            commitReportFolder.mkdirs();
+
+            // Each library is only referenced by the comparisons with its neighbors, and the number of comparisons in
+            // progress is bounded, so the libraries that have been compared do not accumulate in memory.
+            for (int i = 0; i < commitHistory.size(); i++) {
+                RepositoryItemCommit commit = commitHistory.get( i );
+                CompletableFuture<TLLibrary> library =
+                    CompletableFuture.supplyAsync( () -> loadLibrary( libraryItem, commit ), executor );
+
+                if (previousLibrary != null) {
+                    File commitReport = new File( commitReportFolder, "commit" + i + ".html" );
+
+                    pendingReports.add( previousLibrary.thenCombineAsync( library,
+                        (oldLibrary, newLibrary) -> compareLibraries( oldLibrary, newLibrary, commitReport ),
+                        executor ) );
+                }
+                previousLibrary = library;
+
+                if (pendingReports.size() >= threads) {
+                    commitReports.add( pendingReports.removeFirst().join() );
+                }
+            }
+            while (!pendingReports.isEmpty()) {
+                commitReports.add( pendingReports.removeFirst().join() );
+            }
+            writeReport( libraryItem, commitHistory, commitReports, reportFile );
+
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+
+            if (cause instanceof SchemaCompilerException) {
+                throw (SchemaCompilerException) cause;
+
+            } else if (cause instanceof IOException) {
+                throw (IOException) cause;
+
+            } else {
+                throw new LibraryLoaderException( "Error comparing historical library versions.", cause );
+            }
+
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Returns the folder to which the comparison report of each pair of adjacent commits is written for the given
+     * change-timeline report file.
+     * 
+     * @param reportFile the change-timeline report file
+     * @return File
+     */
+    public static File getCommitReportFolder(File reportFile) {
+        String reportName = reportFile.getName();
+        int dotIdx = reportName.lastIndexOf( '.' );
+
+        if (dotIdx > 0) {
+            reportName = reportName.substring( 0, dotIdx );
+        }
+        return new File( reportFile.getAbsoluteFile().getParentFile(), reportName + "_commits" );
+    }
+
+    /**
+     * Returns the local file that contains the content of the library as of the given commit, fetching the content
+     * from the repository if it has not already been cached. The content is first written to a temporary file that is
+     * removed if the content cannot be retrieved, so the cache never contains partial content.
+     * 
+     * @param libraryItem the repository item of the library
+     * @param commit the commit whose content is to be returned
+     * @return File
+     * @throws RepositoryException thrown if the historical content cannot be retrieved
+     */
+    File getCachedContent(RepositoryItem libraryItem, RepositoryItemCommit commit) throws RepositoryException {
+        File itemFolder = new File( cacheFolder, (libraryItem.getNamespace() + "_" + libraryItem.getFilename())
+            .replaceAll( "[^A-Za-z0-9._-]+", "_" ) );
+        File cacheFile = new File( itemFolder, commit.getEffectiveOn().getTime() + CACHE_FILE_EXTENSION );
+
+        if (!cacheFile.exists()) {
+            LibraryInputSource<InputStream> contentSource =
+                libraryItem.getRepository().getHistoricalContentSource( libraryItem, commit.getEffectiveOn() );
+            File tempFile = null;
+
+            try (InputStream in = contentSource.getLibraryContent()) {
+                itemFolder.mkdirs();
+                tempFile = File.createTempFile( "commit", CACHE_FILE_EXTENSION, itemFolder );
+                Files.copy( in, tempFile.toPath(), StandardCopyOption.REPLACE_EXISTING );
+                Files.move( tempFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING );
+
+            } catch (IOException e) {
+                throw new RepositoryException( "Unable to cache historical content: " + libraryItem.getFilename(),
+                    e );
+
+            } finally {
+                if ((tempFile != null) && tempFile.exists() && !tempFile.delete()) {
+                    log.warn( "Unable to delete temporary file: " + tempFile.getAbsolutePath() );
+                }
+            }
+        }
+        return cacheFile;
+    }
+
+    /**
+     * Loads the library as of the given commit from the local cache.
+     * 
+     * @param libraryItem the repository item of the library
+     * @param commit the commit whose content is to be loaded
+     * @return TLLibrary
+     */
+    private TLLibrary loadLibrary(RepositoryItem libraryItem, RepositoryItemCommit commit) {
+        try {
+            File cacheFile = getCachedContent( libraryItem, commit );
+            LibraryModelLoader<InputStream> modelLoader = new LibraryModelLoader<>();
+            AbstractLibrary library;
+
+            modelLoader.loadLibraryModel( new LibraryStreamInputSource( cacheFile.toURI().toURL() ) );
+            library =
+                modelLoader.getLibraryModel().getLibrary( libraryItem.getNamespace(), libraryItem.getLibraryName() );
+
+            if (!(library instanceof TLLibrary)) {
+                throw new LibraryLoaderException( "Historical library version not accessible: "
+                    + libraryItem.getFilename() + " @ " + commit.getEffectiveOn() );
+            }
+            return (TLLibrary) library;
+
+        } catch (SchemaCompilerException | IOException e) {
+            throw new CompletionException( e );
+        }
+    }
+
+    /**
+     * Compares two historical versions of a library and writes the HTML report to the given file.
+     * 
+     * @param oldLibrary the earlier version of the library
+     * @param newLibrary the later version of the library
+     * @param commitReport the file to which the comparison report is written
+     * @return File
+     */
+    private File compareLibraries(TLLibrary oldLibrary, TLLibrary newLibrary, File commitReport) {
+        try (OutputStream out = Files.newOutputStream( commitReport.toPath() )) {
+            new ModelComparator( compareOptions ).compareLibraries( oldLibrary, newLibrary, out );
+            return commitReport;
+
+        } catch (SchemaCompilerException | IOException e) {
+            throw new CompletionException( e );
+        }
+    }
+
+    /**
+     * Writes the change-timeline report that lists each commit and links to the comparison report of each pair of
+     * adjacent commits.
+     * 
+     * @param libraryItem the repository item of the library
+     * @param commitHistory the commit history of the library, oldest first
+     * @param commitReports the HTML report files for each pair of adjacent commits
+     * @param reportFile the file to which the report will be written
+     * @throws IOException thrown if the report cannot be written
+     */
+    private void writeReport(RepositoryItem libraryItem, List<RepositoryItemCommit> commitHistory,
+        List<File> commitReports, File reportFile) throws IOException {
+        DateFormat dateFormat = new SimpleDateFormat( "M/d/yyyy h:mm a" );
+
+        try (PrintWriter out =
+            new PrintWriter( new OutputStreamWriter( Files.newOutputStream( reportFile.toPath() ),
+                StandardCharsets.UTF_8 ) )) {
+            out.println( "<html><head>" );
+            out.println( "<title>" + REPORT_TITLE + "</title></head><body>" );
+            out.println( "<h1>" + escape( libraryItem.getLibraryName() ) + " (" + escape( libraryItem.getVersion() )
+                + ")</h1>" );
+            out.println( "<ol>" );
+
+            for (int i = 0; i < commitHistory.size(); i++) {
+                RepositoryItemCommit commit = commitHistory.get( i );
+                String label = dateFormat.format( commit.getEffectiveOn() ) + " [" + commit.getUser() + "]: "
+                    + commit.getRemarks();
+
+                out.println( (i == 0) ? ("<li>" + escape( label ) + "</li>")
+                    : ("<li><a href=\"#commit" + i + "\">" + escape( label ) + "</a></li>") );
+            }
+            out.println( "</ol>" );
+
+            if (commitReports.isEmpty()) {
+                out.println( "<p>The library has no earlier commits to compare.</p>" );
+            }
+            for (int i = 0; i < commitReports.size(); i++) {
+                RepositoryItemCommit oldCommit = commitHistory.get( i );
+                RepositoryItemCommit newCommit = commitHistory.get( i + 1 );
+                String href = reportFile.getAbsoluteFile().getParentFile().toURI()
+                    .relativize( commitReports.get( i ).toURI() ).toString();
+
+                out.println( "<hr/><h2 id=\"commit" + (i + 1) + "\">"
+                    + escape( dateFormat.format( oldCommit.getEffectiveOn() ) ) + " &rarr; "
+                    + escape( dateFormat.format( newCommit.getEffectiveOn() ) ) + "</h2>" );
+                out.println( "<p>" + escape( newCommit.getUser() + ": " + newCommit.getRemarks() ) + "</p>" );
+                out.println( "<p><a href=\"" + escape( href ) + "\">View comparison report</a></p>" );
+            }
+            out.println( "</body></html>" );
+        }
+        log.info( "Compared " + commitReports.size() + " commits of " + libraryItem.getFilename() );
+    }
+
+    /**
+     * Escapes the given text for inclusion in an HTML document.
+     * 
+     * @param text the text to escape
+     * @return String
+     */
+    private static String escape(String text) {
+        return (text == null) ? ""
+            : text.replace( "&", "&amp;" ).replace( "<", "&lt;" ).replace( ">", "&gt;" ).replace( "\"", "&quot;" );
+    }
+
+}
@@ -0,0 +1,599 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.opentravel.diffutil;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opentravel.application.common.RepositoryNamespaceLocks;
+import org.opentravel.schemacompiler.diff.ModelCompareOptions;
+import org.opentravel.schemacompiler.loader.LibraryLoaderException;
+import org.opentravel.schemacompiler.loader.LibraryModelLoader;
+import org.opentravel.schemacompiler.loader.impl.LibraryStreamInputSource;
+import org.opentravel.schemacompiler.model.TLLibrary;
+import org.opentravel.schemacompiler.model.TLModel;
+import org.opentravel.schemacompiler.repository.Project;
+import org.opentravel.schemacompiler.repository.ProjectItem;
+import org.opentravel.schemacompiler.repository.ProjectManager;
+import org.opentravel.schemacompiler.repository.ReleaseManager;
+import org.opentravel.schemacompiler.repository.RepositoryException;
+import org.opentravel.schemacompiler.repository.RepositoryItem;
+import org.opentravel.schemacompiler.repository.RepositoryItemCommit;
+import org.opentravel.schemacompiler.repository.RepositoryManager;
+import org.opentravel.schemacompiler.util.FileUtils;
+import org.opentravel.schemacompiler.util.ModelComparator;
+import org.opentravel.schemacompiler.util.SchemaCompilerException;
+import org.opentravel.schemacompiler.validate.FindingMessageFormat;
+import org.opentravel.schemacompiler.validate.FindingType;
+import org.opentravel.schemacompiler.validate.ValidationFindings;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs model comparisons without the user interface. Comparisons are performed in parallel, an HTML comparison report
+ * is written for each one, and the results are streamed to a {@link DiffResultWriter} as each comparison completes.
+ * Projects and releases are loaded through a {@link DiffModelCache} so that a baseline shared by several comparisons
+ * is only loaded once. Comparisons share one repository manager, so managed content is loaded under the lock for its
+ * base namespace to keep concurrent comparisons from writing to the same folder of the local repository cache.
+ */
+public class DiffEngine {
+
+    private static final Logger log = LogManager.getLogger( DiffEngine.class );
+
+    private static final String TEMP_PROJECT_ID = "http://diff-util.com/project/temp";
+    private static final String COMMIT_DATE_FORMAT = "yyyy-MM-dd'T'HH:mm";
+    private static final List<String> FORMATS = Arrays.asList( "html", "json", "junit" );
+    private static final String USAGE = "Usage: DiffEngine [-format html|json|junit] [-output <file>]"
+        + " [-reports <folder>] [-threads <n>] (-pairs <file> | <old version> <new version>)";
+
+    private ModelCompareOptions compareOptions;
+    private RepositoryManager repositoryManager;
+    private File reportFolder;
+    private int threads;
+    private DiffModelCache modelCache = new DiffModelCache( DiffModelCache.DEFAULT_MAX_LIBRARIES );
+    private AtomicInteger reportCount = new AtomicInteger();
+
+    /**
+     * Constructor that specifies the comparison options and the location of the comparison reports.
+     * 
+     * @param compareOptions the options for each comparison
+     * @param repositoryManager the repository manager used to access managed versions
+     * @param reportFolder the folder to which the HTML comparison reports are written
+     * @param threads the number of comparisons to run concurrently
+     */
+    public DiffEngine(ModelCompareOptions compareOptions, RepositoryManager repositoryManager, File reportFolder,
+        int threads) {
+        this.compareOptions = compareOptions;
+        this.repositoryManager = repositoryManager;
+        this.reportFolder = reportFolder;
+        this.threads = Math.max( 1, threads );
+    }
+
+    /**
+     * Performs the given comparisons in parallel and writes each result as soon as it is available.
+     * 
+     * @param requests the comparisons to perform
+     * @param writer the writer to which results are reported
+     * @return Map&lt;DiffResult.Status,Integer&gt;
+     * @throws IOException thrown if the results cannot be written
+     * @throws InterruptedIOException thrown if the calling thread is interrupted before all comparisons complete
+     */
+    public Map<DiffResult.Status,Integer> compare(List<DiffRequest> requests, DiffResultWriter writer)
+        throws IOException {
+        Map<DiffResult.Status,Integer> counts = new EnumMap<>( DiffResult.Status.class );
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool( threads, r -> {
+            Thread t = new Thread( r, "DiffEngine-" + threadCount.incrementAndGet() );
+
+            t.setDaemon( true );
+            return t;
+        } );
+
+        try {
+            CompletionService<DiffResult> completionService = new ExecutorCompletionService<>( executor );
+
+            for (DiffRequest request : requests) {
+                completionService.submit( () -> compare( request ) );
+            }
+            for (int i = 0; i < requests.size(); i++) {
+                DiffResult result = completionService.take().get();
+
+                counts.merge( result.getStatus(), 1, Integer::sum );
+                writer.write( result );
+            }
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException( "Interrupted after " + counts.values().stream().mapToInt( c -> c ).sum()
+                + " of " + requests.size() + " comparisons." );
+
+        } catch (ExecutionException e) {
+            throw new IOException( "Unexpected exception during model comparison.", e.getCause() );
+
+        } finally {
+            executor.shutdownNow();
+        }
+        return counts;
+    }
+
+    /**
+     * Performs a single comparison and writes its HTML report.
+     * 
+     * @param request the comparison to perform
+     * @return DiffResult
+     */
+    public DiffResult compare(DiffRequest request) {
+        DiffResult result = new DiffResult( request );
+        long startTime = System.currentTimeMillis();
+
+        try {
+            File reportFile = new File( reportFolder, String.format( "%03d-%s.html", reportCount.incrementAndGet(),
+                request.getName().replaceAll( "[^A-Za-z0-9._-]+", "_" ) ) );
+
+            reportFolder.mkdirs();
+
+            switch (request.getType()) {
+                case PROJECT:
+                    compareProjects( request, result, reportFile );
+                    break;
+                case RELEASE:
+                    compareReleases( request, result, reportFile );
+                    break;
+                default:
+                    compareLibraries( request, result, reportFile );
+                    break;
+            }
+
+        } catch (Exception e) {
+            result.setError( e );
+        }
+        result.setElapsedMillis( System.currentTimeMillis() - startTime );
+        return result;
+    }
+
+    /**
+     * Compares the old and new versions of a project.
+     * 
+     * @param request the comparison to perform
+     * @param result the result of the comparison
+     * @param reportFile the file to which the HTML report is written
+     * @throws SchemaCompilerException thrown if either project cannot be loaded
+     * @throws IOException thrown if the report cannot be written
+     */
+    private void compareProjects(DiffRequest request, DiffResult result, File reportFile)
+        throws SchemaCompilerException, IOException {
+        ValidationFindings oldFindings = new ValidationFindings();
+        ValidationFindings newFindings = new ValidationFindings();
+        Future<Project> oldFuture = modelCache.getProject( new File( request.getOldVersion() ), oldFindings );
+        Future<Project> newFuture = modelCache.getProject( new File( request.getNewVersion() ), newFindings );
+        Project oldProject = DiffModelCache.getResult( oldFuture );
+        Project newProject = DiffModelCache.getResult( newFuture );
+
+        if (isValid( oldFindings, newFindings, result )) {
+            try (OutputStream out = new FileOutputStream( reportFile )) {
+                new ModelComparator( compareOptions ).compareProjects( oldProject, newProject, out );
+            }
+            result.setReportFile( reportFile );
+        }
+    }
+
+    /**
+     * Compares the old and new versions of a release.
+     * 
+     * @param request the comparison to perform
+     * @param result the result of the comparison
+     * @param reportFile the file to which the HTML report is written
+     * @throws SchemaCompilerException thrown if either release cannot be loaded
+     * @throws IOException thrown if the report cannot be written
+     */
+    private void compareReleases(DiffRequest request, DiffResult result, File reportFile)
+        throws SchemaCompilerException, IOException {
+        ValidationFindings oldFindings = new ValidationFindings();
+        ValidationFindings newFindings = new ValidationFindings();
+        Future<ReleaseManager> oldFuture = getRelease( request.getOldVersion(), oldFindings );
+        Future<ReleaseManager> newFuture = getRelease( request.getNewVersion(), newFindings );
+        ReleaseManager oldRelease = DiffModelCache.getResult( oldFuture );
+        ReleaseManager newRelease = DiffModelCache.getResult( newFuture );
+
+        if (isValid( oldFindings, newFindings, result )) {
+            try (OutputStream out = new FileOutputStream( reportFile )) {
+                new ModelComparator( compareOptions ).compareReleases( oldRelease, newRelease, out );
+            }
+            result.setReportFile( reportFile );
+        }
+    }
+
+    /**
+     * Returns the release for the given file or repository item from the model cache.
+     * 
+     * @param version the file path or repository item of the release
+     * @param findings the validation findings for the release
+     * @return Future&lt;ReleaseManager&gt;
+     * @throws RepositoryException thrown if the repository item cannot be located
+     */
+    private Future<ReleaseManager> getRelease(String version, ValidationFindings findings)
+        throws RepositoryException {
+        Future<ReleaseManager> release;
+
+        if (DiffRequest.isRepositoryItem( version )) {
+            release = modelCache.getRelease( null, getRepositoryItem( version ), repositoryManager, findings );
+        } else {
+            release = modelCache.getRelease( new File( version ), null, repositoryManager, findings );
+        }
+        return release;
+    }
+
+    /**
+     * Compares the old and new versions of a library.
+     * 
+     * @param request the comparison to perform
+     * @param result the result of the comparison
+     * @param reportFile the file to which the HTML report is written
+     * @throws SchemaCompilerException thrown if either library cannot be loaded
+     * @throws IOException thrown if the report cannot be written
+     */
+    private void compareLibraries(DiffRequest request, DiffResult result, File reportFile)
+        throws SchemaCompilerException, IOException {
+        ProjectManager oldProjectManager = new ProjectManager( new TLModel(), false, null );
+        ProjectManager newProjectManager = new ProjectManager( new TLModel(), false, null );
+
+        try {
+            TLLibrary oldLibrary = loadLibrary( request.getOldVersion(), oldProjectManager );
+            TLLibrary newLibrary = loadLibrary( request.getNewVersion(), newProjectManager );
+
+            try (OutputStream out = new FileOutputStream( reportFile )) {
+                new ModelComparator( compareOptions ).compareLibraries( oldLibrary, newLibrary, out );
+            }
+            result.setReportFile( reportFile );
+
+        } finally {
+            closeAllProjects( oldProjectManager );
+            closeAllProjects( newProjectManager );
+        }
+    }
+
+    /**
+     * Returns true if neither set of findings contains errors. Otherwise, the error messages are added to the result
+     * and its status is set to {@link DiffResult.Status#INVALID}.
+     * 
+     * @param oldFindings the validation findings for the old version
+     * @param newFindings the validation findings for the new version
+     * @param result the result of the comparison
+     * @return boolean
+     */
+    private boolean isValid(ValidationFindings oldFindings, ValidationFindings newFindings, DiffResult result) {
+        boolean valid = !oldFindings.hasFinding( FindingType.ERROR ) && !newFindings.hasFinding( FindingType.ERROR );
+
+        if (!valid) {
+            for (String message : oldFindings.getValidationMessages( FindingType.ERROR,
+                FindingMessageFormat.IDENTIFIED_FORMAT )) {
+                result.getMessages().add( "Old: " + message );
+            }
+            for (String message : newFindings.getValidationMessages( FindingType.ERROR,
+                FindingMessageFormat.IDENTIFIED_FORMAT )) {
+                result.getMessages().add( "New: " + message );
+            }
+            result.setStatus( DiffResult.Status.INVALID );
+        }
+        return valid;
+    }
+
+    /**
+     * Loads the library from the given file or repository item.
+     * 
+     * @param version the file path or repository item of the library
+     * @param projectManager the project manager to use when loading a library file
+     * @return TLLibrary
+     * @throws SchemaCompilerException thrown if the library cannot be loaded
+     */
+    private TLLibrary loadLibrary(String version, ProjectManager projectManager) throws SchemaCompilerException {
+        TLLibrary library;
+
+        if (DiffRequest.isRepositoryItem( version )) {
+            RepositoryItem libraryItem = getRepositoryItem( version );
+            String[] parts = version.substring( DiffRequest.REPOSITORY_PREFIX.length() ).split( "," );
+            LibraryModelLoader<InputStream> modelLoader = new LibraryModelLoader<>();
+            Date commitDate = (parts.length > 3) ? getCommitDate( libraryItem, parts[3].trim() ) : null;
+
+            if (commitDate == null) {
+                // The latest content is downloaded to the local repository cache before it is read
+                synchronized (RepositoryNamespaceLocks.getLock( libraryItem.getBaseNamespace() )) {
+                    modelLoader.loadLibraryModel(
+                        new LibraryStreamInputSource( repositoryManager.getContentLocation( libraryItem ) ) );
+                }
+            } else {
+                modelLoader.loadLibraryModel(
+                    libraryItem.getRepository().getHistoricalContentSource( libraryItem, commitDate ) );
+            }
+            library = (TLLibrary) modelLoader.getLibraryModel().getLibrary( libraryItem.getNamespace(),
+                libraryItem.getLibraryName() );
+
+        } else {
+            try {
+                Project tempProject = projectManager.newProject( File.createTempFile( "tempProject", ".otp" ),
+                    TEMP_PROJECT_ID, "Temp Project", null );
+                ProjectItem item = projectManager.addUnmanagedProjectItem( new File( version ), tempProject );
+
+                library = (TLLibrary) item.getContent();
+
+            } catch (IOException e) {
+                throw new LibraryLoaderException( "Unable to create temporary project file.", e );
+            }
+        }
+        if (library == null) {
+            throw new LibraryLoaderException( "Library not accessible: " + version );
+        }
+        return library;
+    }
+
+    /**
+     * Returns the repository item identified by the given version.
+     * 
+     * @param version the repository item of the form
+     *        <code>repo:&lt;base-namespace&gt;,&lt;filename&gt;,&lt;version&gt;</code>
+     * @return RepositoryItem
+     * @throws RepositoryException thrown if the repository item cannot be located
+     */
+    private RepositoryItem getRepositoryItem(String version) throws RepositoryException {
+        String[] parts = version.substring( DiffRequest.REPOSITORY_PREFIX.length() ).split( "," );
+
+        if (parts.length < 3) {
+            throw new RepositoryException( "Invalid repository item: " + version );
+        }
+        return repositoryManager.getRepositoryItem( parts[0].trim(), parts[1].trim(), parts[2].trim() );
+    }
+
+    /**
+     * Returns the effective date of the commit selected for the given library, or null for the latest commit.
+     * 
+     * @param libraryItem the repository item of the library
+     * @param commitSelector <code>latest</code>, <code>~N</code>, or a date-time
+     * @return Date
+     * @throws RepositoryException thrown if the commit history cannot be retrieved or the commit does not exist
+     */
+    private Date getCommitDate(RepositoryItem libraryItem, String commitSelector) throws RepositoryException {
+        Date commitDate = null;
+
+        if (!commitSelector.equalsIgnoreCase( "latest" )) {
+            // The first commit in the history is the latest
+            List<RepositoryItemCommit> commitHistory =
+                libraryItem.getRepository().getHistory( libraryItem ).getCommitHistory();
+
+            if (commitSelector.startsWith( "~" )) {
+                int index = Integer.parseInt( commitSelector.substring( 1 ) );
+
+                if (index >= commitHistory.size()) {
+                    throw new RepositoryException( "Commit not found: " + commitSelector );
+                }
+                commitDate = (index == 0) ? null : commitHistory.get( index ).getEffectiveOn();
+
+            } else {
+                commitDate = getCommitOnOrBefore( commitHistory, commitSelector );
+            }
+        }
+        return commitDate;
+    }
+
+    /**
+     * Returns the effective date of the last commit made on or before the given date-time.
+     * 
+     * @param commitHistory the commit history of the library, latest first
+     * @param dateTime the date-time of the commit
+     * @return Date
+     * @throws RepositoryException thrown if the date-time is invalid or no commit was made on or before it
+     */
+    private Date getCommitOnOrBefore(List<RepositoryItemCommit> commitHistory, String dateTime)
+        throws RepositoryException {
+        try {
+            Date selectedDate = new SimpleDateFormat( COMMIT_DATE_FORMAT ).parse( dateTime );
+
+            for (RepositoryItemCommit commit : commitHistory) {
+                if (!commit.getEffectiveOn().after( selectedDate )) {
+                    return commit.getEffectiveOn();
+                }
+            }
+            throw new RepositoryException( "No commit found on or before: " + dateTime );
+
+        } catch (ParseException e) {
+            throw new RepositoryException( "Invalid commit selector: " + dateTime, e );
+        }
+    }
+
+    /**
+     * Closes all projects contained within the given project manager and deletes the temporary project files.
+     * 
+     * @param projectManager the project manager for which to close all projects
+     */
+    private void closeAllProjects(ProjectManager projectManager) {
+        List<File> tempFiles = new ArrayList<>();
+
+        for (Project p : projectManager.getAllProjects()) {
+            if (p.getProjectId().equals( TEMP_PROJECT_ID )) {
+                tempFiles.add( p.getProjectFile() );
+            }
+        }
+        projectManager.closeAll();
+
+        for (File tempFile : tempFiles) {
+            FileUtils.delete( tempFile );
+        }
+    }
+
+    /**
+     * Performs the comparisons identified by the command-line arguments. The process exits with a non-zero status if
+     * any comparison could not be performed.
+     * 
+     * @param args the command-line arguments
+     */
+    public static void main(String[] args) {
+        List<String> versions = new ArrayList<>();
+        List<DiffRequest> requests = new ArrayList<>();
+        String format = "html";
+        File outputFile = null;
+        File reportFolder = new File( "diff-reports" );
+        int threads = Runtime.getRuntime().availableProcessors();
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "-format":
+                        format = args[++i].toLowerCase();
+                        break;
+                    case "-output":
+                        outputFile = new File( args[++i] );
+                        break;
+                    case "-reports":
+                        reportFolder = new File( args[++i] );
+                        break;
+                    case "-threads":
+                        threads = Integer.parseInt( args[++i] );
+                        break;
+                    case "-pairs":
+                        requests.addAll( readRequests( new File( args[++i] ) ) );
+                        break;
+                    default:
+                        versions.add( args[i] );
+                        break;
+                }
+            }
+            if (versions.size() == 2) {
+                requests.add( new DiffRequest( versions.get( 0 ), versions.get( 1 ) ) );
+
+            } else if (!versions.isEmpty() || requests.isEmpty()) {
+                System.err.println( USAGE );
+                System.exit( 2 );
+            }
+            if (!FORMATS.contains( format )) {
+                System.err.println( "Unknown report format: " + format );
+                System.err.println( USAGE );
+                System.exit( 2 );
+            }
+            System.exit( run( requests, format, outputFile, reportFolder, threads ) ? 0 : 1 );
+
+        } catch (ArrayIndexOutOfBoundsException | IllegalArgumentException e) {
+            if (e.getMessage() != null) {
+                System.err.println( e.getMessage() );
+            }
+            System.err.println( USAGE );
+            System.exit( 2 );
+
+        } catch (Exception e) {
+            log.error( "Error during model comparison.", e );
+            System.exit( 2 );
+        }
+    }
+
+    /**
+     * Reads the comparison requests from the given file. Blank lines and lines that begin with '#' are ignored, and
+     * versions that contain spaces must be enclosed in double quotes.
+     * 
+     * @param pairsFile the file that contains one comparison request per line
+     * @return List&lt;DiffRequest&gt;
+     * @throws IOException thrown if the file cannot be read
+     */
+    private static List<DiffRequest> readRequests(File pairsFile) throws IOException {
+        List<DiffRequest> requests = new ArrayList<>();
+
+        for (String line : Files.readAllLines( pairsFile.toPath(), StandardCharsets.UTF_8 )) {
+            if (!line.trim().isEmpty() && !line.trim().startsWith( "#" )) {
+                requests.add( DiffRequest.parse( line ) );
+            }
+        }
+        return requests;
+    }
+
+    /**
+     * Performs the comparisons and writes the results in the requested format. Returns true if every comparison was
+     * performed.
+     * 
+     * @param requests the comparisons to perform
+     * @param format the report format (html, json or junit)
+     * @param outputFile the report file or null to write the report to standard output
+     * @param reportFolder the folder to which the HTML comparison reports are written
+     * @param threads the number of comparisons to run concurrently
+     * @return boolean
+     * @throws IOException thrown if the report cannot be written
+     * @throws RepositoryException thrown if the repository manager cannot be created
+     */
+    private static boolean run(List<DiffRequest> requests, String format, File outputFile, File reportFolder,
+        int threads) throws IOException, RepositoryException {
+        DiffEngine engine = new DiffEngine( UserSettings.load().getCompareOptions(), RepositoryManager.getDefault(),
+            reportFolder, threads );
+        OutputStream out = (outputFile == null) ? System.out : new FileOutputStream( outputFile );
+        Map<DiffResult.Status,Integer> counts;
+
+        try (DiffResultWriter writer = newWriter( format, out )) {
+            counts = engine.compare( requests, writer );
+
+        } finally {
+            if (outputFile != null) {
+                out.close();
+            }
+        }
+        log.info( "Model comparison complete: " + counts );
+        return counts.keySet().stream().allMatch( s -> s == DiffResult.Status.COMPARED );
+    }
+
+    /**
+     * Returns a result writer for the given format.
+     * 
+     * @param format the report format (html, json or junit)
+     * @param out the output stream for the report
+     * @return DiffResultWriter
+     * @throws IOException thrown if the report cannot be started
+     * @throws IllegalArgumentException thrown if the report format is not recognized
+     */
+    private static DiffResultWriter newWriter(String format, OutputStream out) throws IOException {
+        DiffResultWriter writer;
+
+        if ("json".equalsIgnoreCase( format )) {
+            writer = new JsonDiffResultWriter( out );
+
+        } else if ("junit".equalsIgnoreCase( format )) {
+            writer = new JUnitDiffResultWriter( out, "OTM Model Comparison" );
+
+        } else if ("html".equalsIgnoreCase( format )) {
+            writer = new HtmlDiffResultWriter( out, "OTM Model Comparison" );
+
+        } else {
+            throw new IllegalArgumentException( "Unknown report format: " + format );
+        }
+        return writer;
+    }
+
+}
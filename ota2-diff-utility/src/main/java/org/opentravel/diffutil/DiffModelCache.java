@@ -0,0 +1,408 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.opentravel.diffutil;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opentravel.application.common.RepositoryNamespaceLocks;
+import org.opentravel.schemacompiler.loader.LibraryLoaderException;
+import org.opentravel.schemacompiler.model.AbstractLibrary;
+import org.opentravel.schemacompiler.model.TLModel;
+import org.opentravel.schemacompiler.repository.Project;
+import org.opentravel.schemacompiler.repository.ProjectManager;
+import org.opentravel.schemacompiler.repository.ReleaseManager;
+import org.opentravel.schemacompiler.repository.RepositoryException;
+import org.opentravel.schemacompiler.repository.RepositoryItem;
+import org.opentravel.schemacompiler.repository.RepositoryItemCommit;
+import org.opentravel.schemacompiler.repository.RepositoryManager;
+import org.opentravel.schemacompiler.util.URLUtils;
+import org.opentravel.schemacompiler.validate.FindingType;
+import org.opentravel.schemacompiler.validate.ValidationFindings;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cache of the projects and releases loaded for comparison. Models are loaded on background threads so that the old
+ * and new versions can be loaded at the same time, and recently used models are kept so that comparing the same
+ * baseline against several candidates does not load the baseline each time. Releases that are loaded through a
+ * repository manager share its local repository cache, so repository releases with the same base namespace are
+ * loaded one at a time, as are releases loaded from files (whose managed libraries may come from any namespace).
+ * <p>
+ * Projects and releases loaded from the file system are identified by their path, and a cached model is reloaded if
+ * the modification time of the file or of any of its library files has changed. Releases loaded from a repository are
+ * identified by their repository, namespace, filename, version, status and the date of their latest commit; when a
+ * release has been committed again, the model loaded for its earlier content is removed. The cache is bounded by the
+ * total number of libraries in the cached models; the least recently used models are removed when a model finishes
+ * loading and the bound is exceeded.
+ */
+public class DiffModelCache {
+
+    public static final int DEFAULT_MAX_LIBRARIES = 250;
+
+    private static final Logger log = LogManager.getLogger( DiffModelCache.class );
+    private static final AtomicInteger threadCount = new AtomicInteger();
+    private static final ExecutorService loader = Executors.newCachedThreadPool( r -> {
+        Thread t = new Thread( r, "DiffModelLoader-" + threadCount.incrementAndGet() );
+
+        t.setDaemon( true );
+        return t;
+    } );
+    private static final Object releaseFileLock = new Object();
+
+    private int maxLibraries;
+    private Map<String,CompletableFuture<CachedModel<?>>> cache = new LinkedHashMap<>( 16, 0.75f, true );
+
+    /**
+     * A project or release that has been loaded into the cache.
+     *
+     * @param <T> the type of the loaded object
+     */
+    private static class CachedModel<T> {
+
+        private T content;
+        private TLModel model;
+        private ValidationFindings findings;
+        private Map<File,Long> fileStamps = new HashMap<>();
+
+        /**
+         * Full constructor.
+         * 
+         * @param content the loaded project or release manager
+         * @param model the model that contains the loaded libraries
+         * @param findings the validation findings reported while loading
+         * @param sourceFile the project or release file (null if loaded from a repository)
+         */
+        public CachedModel(T content, TLModel model, ValidationFindings findings, File sourceFile) {
+            this.content = content;
+            this.model = model;
+            this.findings = findings;
+
+            if (sourceFile != null) {
+                fileStamps.put( sourceFile, sourceFile.lastModified() );
+            }
+            for (AbstractLibrary library : model.getAllLibraries()) {
+                if ((library.getLibraryUrl() != null) && URLUtils.isFileURL( library.getLibraryUrl() )) {
+                    File libraryFile = URLUtils.toFile( library.getLibraryUrl() );
+
+                    fileStamps.put( libraryFile, libraryFile.lastModified() );
+                }
+            }
+        }
+
+        /**
+         * Returns true if any of the files from which the model was loaded has been modified since it was loaded.
+         * 
+         * @return boolean
+         */
+        public boolean isStale() {
+            boolean stale = false;
+
+            for (Map.Entry<File,Long> entry : fileStamps.entrySet()) {
+                if (entry.getKey().lastModified() != entry.getValue()) {
+                    stale = true;
+                    break;
+                }
+            }
+            return stale;
+        }
+
+        /**
+         * Returns the number of libraries in the model.
+         * 
+         * @return int
+         */
+        public int getLibraryCount() {
+            return model.getAllLibraries().size();
+        }
+
+    }
+
+    /**
+     * Loads a project or release. Implementations may throw the checked exceptions of the underlying loaders.
+     *
+     * @param <T> the type of the loaded object
+     */
+    @FunctionalInterface
+    private interface ModelLoader<T> {
+
+        /**
+         * Loads the project or release and reports validation findings to the given collection.
+         * 
+         * @param findings the validation findings reported while loading
+         * @return CachedModel&lt;T&gt;
+         * @throws Exception thrown if the project or release cannot be loaded
+         */
+        public CachedModel<T> load(ValidationFindings findings) throws Exception;
+
+    }
+
+    /**
+     * Constructor that specifies the maximum total number of libraries in the cached models.
+     * 
+     * @param maxLibraries the maximum number of cached libraries
+     */
+    public DiffModelCache(int maxLibraries) {
+        this.maxLibraries = maxLibraries;
+    }
+
+    /**
+     * Returns the project loaded from the given file. The project is loaded in the background if it is not already
+     * cached. Validation findings are reported to the given collection when the project is loaded; a cached project
+     * reports the findings from when it was loaded.
+     * 
+     * @param projectFile the project file to load
+     * @param findings the validation findings for the project
+     * @return Future&lt;Project&gt;
+     */
+    public Future<Project> getProject(File projectFile, ValidationFindings findings) {
+        String key = "project:" + projectFile.getAbsolutePath();
+
+        return get( key, findings, loadFindings -> {
+            ProjectManager projectManager = new ProjectManager( new TLModel(), false, null );
+            Project project = projectManager.loadProject( projectFile, loadFindings );
+
+            return new CachedModel<>( project, projectManager.getModel(), loadFindings, projectFile );
+        } );
+    }
+
+    /**
+     * Returns the release loaded from the given file or repository item. The release is loaded in the background if it
+     * is not already cached. For a repository item, the commit history is retrieved to determine whether the cached
+     * release is still current. Loads that could download content into the same folder of the local repository cache
+     * wait for one another.
+     * 
+     * @param releaseFile the release file to load (null if the release is loaded from a repository)
+     * @param releaseItem the repository item of the release (ignored if a release file is provided)
+     * @param repositoryManager the repository manager used to load the release
+     * @param findings the validation findings for the release
+     * @return Future&lt;ReleaseManager&gt;
+     * @throws RepositoryException thrown if the commit history of the repository item cannot be retrieved
+     */
+    public Future<ReleaseManager> getRelease(File releaseFile, RepositoryItem releaseItem,
+        RepositoryManager repositoryManager, ValidationFindings findings) throws RepositoryException {
+        String key;
+
+        if (releaseFile != null) {
+            key = "release:" + releaseFile.getAbsolutePath();
+
+        } else {
+            String itemKey = "release:" + releaseItem.getRepository().getId() + ":" + releaseItem.getNamespace() + ":"
+                + releaseItem.getFilename() + ":" + releaseItem.getVersion() + ":" + releaseItem.getStatus() + "@";
+
+            key = itemKey + getLatestCommitTime( releaseItem );
+            removeSuperseded( itemKey, key );
+        }
+
+        return get( key, findings, loadFindings -> {
+            ReleaseManager releaseManager = new ReleaseManager( repositoryManager );
+
+            if (releaseFile != null) {
+                synchronized (releaseFileLock) {
+                    releaseManager.loadRelease( releaseFile, loadFindings );
+                }
+            } else {
+                synchronized (RepositoryNamespaceLocks.getLock( releaseItem.getBaseNamespace() )) {
+                    releaseManager.loadRelease( releaseItem, loadFindings );
+                }
+            }
+            return new CachedModel<>( releaseManager, releaseManager.getModel(), loadFindings, releaseFile );
+        } );
+    }
+
+    /**
+     * Returns the time of the latest commit of the given repository item, or zero if the item has no commit history.
+     * 
+     * @param item the repository item
+     * @return long
+     * @throws RepositoryException thrown if the commit history cannot be retrieved
+     */
+    private static long getLatestCommitTime(RepositoryItem item) throws RepositoryException {
+        // The first commit in the history is the latest
+        List<RepositoryItemCommit> commitHistory = item.getRepository().getHistory( item ).getCommitHistory();
+
+        return ((commitHistory == null) || commitHistory.isEmpty()) ? 0L
+            : commitHistory.get( 0 ).getEffectiveOn().getTime();
+    }
+
+    /**
+     * Removes the models that were loaded from earlier commits of a repository item.
+     * 
+     * @param itemKey the cache key of the repository item without its commit time
+     * @param currentKey the cache key of the latest commit of the item
+     */
+    private synchronized void removeSuperseded(String itemKey, String currentKey) {
+        cache.keySet().removeIf( k -> k.startsWith( itemKey ) && !k.equals( currentKey ) );
+    }
+
+    /**
+     * Removes all of the models from the cache.
+     */
+    public synchronized void clear() {
+        cache.clear();
+    }
+
+    /**
+     * Returns the number of models in the cache, including those that are still loading.
+     * 
+     * @return int
+     */
+    public synchronized int size() {
+        return cache.size();
+    }
+
+    /**
+     * Returns the result of the given future, unwrapping the checked exceptions thrown while loading the model.
+     * 
+     * @param <T> the type of the loaded object
+     * @param future the future returned by the cache
+     * @return T
+     * @throws LibraryLoaderException thrown if a library cannot be loaded
+     * @throws RepositoryException thrown if the remote repository cannot be accessed
+     */
+    public static <T> T getResult(Future<T> future) throws LibraryLoaderException, RepositoryException {
+        try {
+            return future.get();
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LibraryLoaderException( "Interrupted while loading the model.", e );
+
+        } catch (ExecutionException e) {
+            Throwable cause = (e.getCause() instanceof CompletionException) ? e.getCause().getCause() : e.getCause();
+
+            if (cause instanceof LibraryLoaderException) {
+                throw (LibraryLoaderException) cause;
+
+            } else if (cause instanceof RepositoryException) {
+                throw (RepositoryException) cause;
+
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+
+            } else {
+                throw new LibraryLoaderException( cause.getMessage(), cause );
+            }
+        }
+    }
+
+    /**
+     * Returns the cached model with the given key, loading it in the background if it is not cached or its files have
+     * changed. Models that fail to load or that contain errors are not cached.
+     * 
+     * @param <T> the type of the loaded object
+     * @param key the cache key of the model
+     * @param findings the validation findings for the model
+     * @param modelLoader the loader to call if the model is not cached
+     * @return Future&lt;T&gt;
+     */
+    @SuppressWarnings("unchecked")
+    private synchronized <T> Future<T> get(String key, ValidationFindings findings, ModelLoader<T> modelLoader) {
+        CompletableFuture<CachedModel<?>> future = cache.get( key );
+
+        if ((future != null) && future.isDone()) {
+            CachedModel<?> cachedModel = getLoadedModel( future );
+
+            if ((cachedModel == null) || cachedModel.isStale()) {
+                cache.remove( key );
+                future = null;
+            }
+        }
+        if (future == null) {
+            CompletableFuture<CachedModel<?>> newFuture = new CompletableFuture<>();
+
+            cache.put( key, newFuture );
+            loader.execute( () -> {
+                CachedModel<?> cachedModel = null;
+
+                try {
+                    cachedModel = modelLoader.load( new ValidationFindings() );
+
+                } catch (Exception e) {
+                    loadComplete( key, newFuture, null );
+                    newFuture.completeExceptionally( e );
+                    return;
+                }
+                // Update the cache before completing so that callers never observe it over its bound
+                loadComplete( key, newFuture, cachedModel );
+                newFuture.complete( cachedModel );
+            } );
+            future = newFuture;
+        }
+        return future.thenApply( cachedModel -> {
+            findings.addAll( cachedModel.findings );
+            return (T) cachedModel.content;
+        } );
+    }
+
+    /**
+     * Returns the model of the given future, or null if it is still loading or could not be loaded.
+     * 
+     * @param future the future of the model
+     * @return CachedModel&lt;?&gt;
+     */
+    private static CachedModel<?> getLoadedModel(CompletableFuture<CachedModel<?>> future) {
+        return (future.isDone() && !future.isCompletedExceptionally()) ? future.getNow( null ) : null;
+    }
+
+    /**
+     * Called when a model has been loaded, before its future is completed. Models with errors are removed from the
+     * cache, and the least recently used models are removed if the cache has grown too large. Removed models are not
+     * closed because they may still be in use by a comparison; they are reclaimed once they are no longer referenced.
+     * 
+     * @param key the cache key of the model
+     * @param future the future of the loaded model
+     * @param cachedModel the model that was loaded (null if the model could not be loaded)
+     */
+    private synchronized void loadComplete(String key, CompletableFuture<CachedModel<?>> future,
+        CachedModel<?> cachedModel) {
+        if ((cachedModel == null) || cachedModel.findings.hasFinding( FindingType.ERROR )) {
+            cache.remove( key, future );
+            return;
+        }
+        int libraryCount = cachedModel.getLibraryCount();
+
+        for (CompletableFuture<CachedModel<?>> f : cache.values()) {
+            CachedModel<?> m = getLoadedModel( f );
+            libraryCount += (m == null) ? 0 : m.getLibraryCount();
+        }
+        Iterator<Map.Entry<String,CompletableFuture<CachedModel<?>>>> iterator = cache.entrySet().iterator();
+
+        while ((libraryCount > maxLibraries) && iterator.hasNext()) {
+            Map.Entry<String,CompletableFuture<CachedModel<?>>> entry = iterator.next();
+            CachedModel<?> m = getLoadedModel( entry.getValue() );
+
+            if ((m != null) && (entry.getValue() != future)) {
+                log.debug( "Removing cached model: " + entry.getKey() );
+                libraryCount -= m.getLibraryCount();
+                iterator.remove();
+            }
+        }
+    }
+
+}
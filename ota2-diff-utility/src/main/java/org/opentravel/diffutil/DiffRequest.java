@@ -0,0 +1,234 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.opentravel.diffutil;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Identifies the old and new versions of a project, release, or library to be compared by the {@link DiffEngine}.
+ * <p>
+ * Each version is either the path of a file or a repository item of the form
+ * <code>repo:&lt;base-namespace&gt;,&lt;filename&gt;,&lt;version&gt;[,&lt;commit&gt;]</code>. The optional commit
+ * selector is only supported for libraries and is <code>latest</code>, <code>~N</code> for the N-th commit before the
+ * latest, or a date-time (<code>yyyy-MM-dd'T'HH:mm</code>) for the last commit made on or before that time.
+ */
+public class DiffRequest {
+
+    public static final String REPOSITORY_PREFIX = "repo:";
+
+    /**
+     * The kind of model being compared.
+     */
+    public enum Type {
+        PROJECT, RELEASE, LIBRARY
+    }
+
+    private Type type;
+    private String oldVersion;
+    private String newVersion;
+
+    /**
+     * Full constructor.
+     * 
+     * @param type the kind of model being compared
+     * @param oldVersion the file path or repository item of the old version
+     * @param newVersion the file path or repository item of the new version
+     * @throws IllegalArgumentException thrown if a commit is selected for a project or release
+     */
+    public DiffRequest(Type type, String oldVersion, String newVersion) {
+        this.type = type;
+        this.oldVersion = oldVersion;
+        this.newVersion = newVersion;
+
+        if (type != Type.LIBRARY) {
+            checkNoCommitSelector( oldVersion );
+            checkNoCommitSelector( newVersion );
+        }
+    }
+
+    /**
+     * Constructor that determines the type of the request from the file extension of the old version.
+     * 
+     * @param oldVersion the file path or repository item of the old version
+     * @param newVersion the file path or repository item of the new version
+     * @throws IllegalArgumentException thrown if a commit is selected for a project or release
+     */
+    public DiffRequest(String oldVersion, String newVersion) {
+        this( getType( oldVersion ), oldVersion, newVersion );
+    }
+
+    /**
+     * Parses a request from a line of the form <code>[project|release|library] &lt;old&gt; &lt;new&gt;</code>. If
+     * the type is omitted, it is determined from the file extension of the old version. Versions that contain spaces
+     * must be enclosed in double quotes.
+     * 
+     * @param line the line to parse
+     * @return DiffRequest
+     * @throws IllegalArgumentException thrown if the line is not a valid request
+     */
+    public static DiffRequest parse(String line) {
+        List<String> tokens = tokenize( line );
+
+        if (tokens.size() == 3) {
+            return new DiffRequest( Type.valueOf( tokens.get( 0 ).toUpperCase() ), tokens.get( 1 ), tokens.get( 2 ) );
+
+        } else if (tokens.size() == 2) {
+            return new DiffRequest( tokens.get( 0 ), tokens.get( 1 ) );
+
+        } else {
+            throw new IllegalArgumentException( "Invalid comparison request: " + line );
+        }
+    }
+
+    /**
+     * Splits the given line into whitespace-separated tokens. A token enclosed in double quotes may contain spaces.
+     * 
+     * @param line the line to split
+     * @return List&lt;String&gt;
+     * @throws IllegalArgumentException thrown if a quoted token is not terminated
+     */
+    private static List<String> tokenize(String line) {
+        List<String> tokens = new ArrayList<>();
+        int i = 0;
+
+        while (i < line.length()) {
+            if (Character.isWhitespace( line.charAt( i ) )) {
+                i++;
+
+            } else if (line.charAt( i ) == '"') {
+                int endIdx = line.indexOf( '"', i + 1 );
+
+                if (endIdx < 0) {
+                    throw new IllegalArgumentException( "Unterminated quote in comparison request: " + line );
+                }
+                tokens.add( line.substring( i + 1, endIdx ) );
+                i = endIdx + 1;
+
+            } else {
+                int startIdx = i;
+
+                while ((i < line.length()) && !Character.isWhitespace( line.charAt( i ) )) {
+                    i++;
+                }
+                tokens.add( line.substring( startIdx, i ) );
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Verifies that the given version of a project or release does not select a commit. Only libraries can be loaded
+     * from an earlier commit.
+     * 
+     * @param version the file path or repository item
+     * @throws IllegalArgumentException thrown if the version is a repository item with a commit selector
+     */
+    private static void checkNoCommitSelector(String version) {
+        if (isRepositoryItem( version ) && (version.substring( REPOSITORY_PREFIX.length() ).split( "," ).length > 3)) {
+            throw new IllegalArgumentException( "Commit selectors are only supported for libraries: " + version );
+        }
+    }
+
+    /**
+     * Returns the type of model identified by the file extension of the given version.
+     * 
+     * @param version the file path or repository item
+     * @return Type
+     */
+    private static Type getType(String version) {
+        String filename = version.toLowerCase();
+        Type result;
+
+        if (filename.endsWith( ".otp" )) {
+            result = Type.PROJECT;
+
+        } else if (filename.endsWith( ".otr" ) || filename.contains( ".otr," )) {
+            result = Type.RELEASE;
+
+        } else {
+            result = Type.LIBRARY;
+        }
+        return result;
+    }
+
+    /**
+     * Returns true if the given version identifies a repository item.
+     * 
+     * @param version the file path or repository item
+     * @return boolean
+     */
+    public static boolean isRepositoryItem(String version) {
+        return version.startsWith( REPOSITORY_PREFIX );
+    }
+
+    /**
+     * Returns the kind of model being compared.
+     *
+     * @return Type
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Returns the file path or repository item of the old version.
+     *
+     * @return String
+     */
+    public String getOldVersion() {
+        return oldVersion;
+    }
+
+    /**
+     * Returns the file path or repository item of the new version.
+     *
+     * @return String
+     */
+    public String getNewVersion() {
+        return newVersion;
+    }
+
+    /**
+     * Returns a display name for the comparison.
+     *
+     * @return String
+     */
+    public String getName() {
+        return getShortName( oldVersion ) + " -> " + getShortName( newVersion );
+    }
+
+    /**
+     * Returns the filename portion of the given version.
+     * 
+     * @param version the file path or repository item
+     * @return String
+     */
+    private static String getShortName(String version) {
+        String name = version;
+
+        if (isRepositoryItem( version )) {
+            String[] parts = version.substring( REPOSITORY_PREFIX.length() ).split( "," );
+            name = (parts.length > 1) ? parts[1] : version;
+
+        } else {
+            name = name.substring( Math.max( name.lastIndexOf( '/' ), name.lastIndexOf( '\\' ) ) + 1 );
+        }
+        return name;
+    }
+
+}
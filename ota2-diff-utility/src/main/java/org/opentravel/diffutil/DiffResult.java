@@ -0,0 +1,147 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.opentravel.diffutil;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The outcome of a single comparison performed by the {@link DiffEngine}.
+ */
+public class DiffResult {
+
+    /**
+     * Overall outcome of a comparison.
+     */
+    public enum Status {
+        /** The comparison report was generated. */
+        COMPARED,
+        /** One or both versions contain validation errors, so no report was generated. */
+        INVALID,
+        /** One or both versions could not be loaded or compared. */
+        ERROR
+    }
+
+    private DiffRequest request;
+    private Status status = Status.COMPARED;
+    private File reportFile;
+    private List<String> messages = new ArrayList<>();
+    private Exception error;
+    private long elapsedMillis;
+
+    /**
+     * Constructor that specifies the comparison request.
+     * 
+     * @param request the comparison request
+     */
+    public DiffResult(DiffRequest request) {
+        this.request = request;
+    }
+
+    /**
+     * Returns the comparison request.
+     *
+     * @return DiffRequest
+     */
+    public DiffRequest getRequest() {
+        return request;
+    }
+
+    /**
+     * Returns the overall outcome of the comparison.
+     *
+     * @return Status
+     */
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Assigns the overall outcome of the comparison.
+     *
+     * @param status the status to assign
+     */
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    /**
+     * Returns the HTML comparison report or null if no report was generated.
+     *
+     * @return File
+     */
+    public File getReportFile() {
+        return reportFile;
+    }
+
+    /**
+     * Assigns the HTML comparison report.
+     *
+     * @param reportFile the report file to assign
+     */
+    public void setReportFile(File reportFile) {
+        this.reportFile = reportFile;
+    }
+
+    /**
+     * Returns the validation messages reported while loading the old and new versions.
+     *
+     * @return List&lt;String&gt;
+     */
+    public List<String> getMessages() {
+        return messages;
+    }
+
+    /**
+     * Returns the exception that prevented the comparison or null if the comparison was performed.
+     *
+     * @return Exception
+     */
+    public Exception getError() {
+        return error;
+    }
+
+    /**
+     * Assigns the exception that prevented the comparison and sets the status to {@link Status#ERROR}.
+     *
+     * @param error the exception to assign
+     */
+    public void setError(Exception error) {
+        this.error = error;
+        this.status = Status.ERROR;
+    }
+
+    /**
+     * Returns the time taken to load and compare the old and new versions.
+     *
+     * @return long
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * Assigns the time taken to load and compare the old and new versions.
+     *
+     * @param elapsedMillis the elapsed time to assign
+     */
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+}
@@ -70,6 +70,7 @@ import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Future;
 
 import javafx.application.Platform;
 import javafx.collections.FXCollections;
@@ -144,6 +145,8 @@ public class DiffUtilityController extends AbstractMainWindowController {
     @FXML
     private Button runLibraryButton;
     @FXML
+    private Button sweepHistoryButton;
+    @FXML
     private WebView reportViewer;
     @FXML
     private Button backButton;
@@ -169,6 +172,7 @@ public class DiffUtilityController extends AbstractMainWindowController {
 
     private ProjectManager oldProjectManager = new ProjectManager( new TLModel(), false, null );
     private ProjectManager newProjectManager = new ProjectManager( new TLModel(), false, null );
+    private DiffModelCache modelCache = new DiffModelCache( DiffModelCache.DEFAULT_MAX_LIBRARIES );
     private UserSettings userSettings;
 
     /**
@@ -558,6 +562,7 @@ public class DiffUtilityController extends AbstractMainWindowController {
 
             runProjectButton.disableProperty().set( !(runProjectEnabled || runReleaseEnabled) );
             runLibraryButton.disableProperty().set( !runLibraryEnabled );
+            sweepHistoryButton.disableProperty().set( !(oldLibraryManaged || newLibraryManaged) );
             saveReportButton.disableProperty().set( !reportDisplayed );
             backButton.disableProperty().set( !canBrowseBack );
             forwardButton.disableProperty().set( !canBrowseForward );
@@ -641,6 +646,7 @@ public class DiffUtilityController extends AbstractMainWindowController {
             newCommitChoice.disableProperty().set( disableControls );
             runProjectButton.disableProperty().set( disableControls );
             runLibraryButton.disableProperty().set( disableControls );
+            sweepHistoryButton.disableProperty().set( disableControls );
             saveReportButton.disableProperty().set( disableControls );
             backButton.disableProperty().set( disableControls );
             forwardButton.disableProperty().set( disableControls );
@@ -980,29 +986,25 @@ public class DiffUtilityController extends AbstractMainWindowController {
      */
     private boolean compareProjects(ValidationFindings oldFindings, ValidationFindings newFindings)
         throws LibraryLoaderException, RepositoryException, IOException {
+        // Load both projects at the same time; recently compared projects are taken from the cache
+        Future<Project> oldProjectFuture = modelCache.getProject( oldProjectOrReleaseFile, oldFindings );
+        Future<Project> newProjectFuture = modelCache.getProject( newProjectOrReleaseFile, newFindings );
+        Project oldProject = DiffModelCache.getResult( oldProjectFuture );
+        Project newProject = DiffModelCache.getResult( newProjectFuture );
         boolean logFindings = false;
 
-        try {
-            Project oldProject = oldProjectManager.loadProject( oldProjectOrReleaseFile, oldFindings );
-            Project newProject = newProjectManager.loadProject( newProjectOrReleaseFile, newFindings );
-
-            if (!oldFindings.hasFinding( FindingType.ERROR ) && !newFindings.hasFinding( FindingType.ERROR )) {
-                File reportFile = File.createTempFile( TEMP_FILE_PREFIX, HTML_EXTENSION );
-
-                try (OutputStream out = new FileOutputStream( reportFile )) {
-                    new ModelComparator( userSettings.getCompareOptions() ).compareProjects( oldProject, newProject,
-                        out );
-                }
-                showReport( reportFile );
-                reportFile.deleteOnExit();
+        if (!oldFindings.hasFinding( FindingType.ERROR ) && !newFindings.hasFinding( FindingType.ERROR )) {
+            File reportFile = File.createTempFile( TEMP_FILE_PREFIX, HTML_EXTENSION );
 
-            } else {
-                logFindings = true;
+            try (OutputStream out = new FileOutputStream( reportFile )) {
+                new ModelComparator( userSettings.getCompareOptions() ).compareProjects( oldProject, newProject,
+                    out );
             }
+            showReport( reportFile );
+            reportFile.deleteOnExit();
 
-        } finally {
-            closeAllProjects( oldProjectManager );
-            closeAllProjects( newProjectManager );
+        } else {
+            logFindings = true;
         }
         return logFindings;
     }
@@ -1017,23 +1019,16 @@ public class DiffUtilityController extends AbstractMainWindowController {
      * @throws IOException thrown if an error occurs while generating report output
      */
     private boolean compareReleases(ValidationFindings oldFindings, ValidationFindings newFindings)
-        throws RepositoryException, IOException {
-        ReleaseManager oldReleaseManager = new ReleaseManager( getRepositoryManager() );
-        ReleaseManager newReleaseManager = new ReleaseManager( getRepositoryManager() );
+        throws LibraryLoaderException, RepositoryException, IOException {
+        // Load both releases at the same time; recently compared releases are taken from the cache
+        Future<ReleaseManager> oldReleaseFuture = modelCache.getRelease( oldProjectOrReleaseFile,
+            oldReleaseRepoItem, getRepositoryManager(), oldFindings );
+        Future<ReleaseManager> newReleaseFuture = modelCache.getRelease( newProjectOrReleaseFile,
+            newReleaseRepoItem, getRepositoryManager(), newFindings );
+        ReleaseManager oldReleaseManager = DiffModelCache.getResult( oldReleaseFuture );
+        ReleaseManager newReleaseManager = DiffModelCache.getResult( newReleaseFuture );
         boolean logFindings = false;
 
-        if (oldProjectOrReleaseFile != null) {
-            oldReleaseManager.loadRelease( oldProjectOrReleaseFile, oldFindings );
-        } else {
-            oldReleaseManager.loadRelease( oldReleaseRepoItem, oldFindings );
-        }
-
-        if (newProjectOrReleaseFile != null) {
-            newReleaseManager.loadRelease( newProjectOrReleaseFile, newFindings );
-        } else {
-            newReleaseManager.loadRelease( newReleaseRepoItem, newFindings );
-        }
-
         if (!oldFindings.hasFinding( FindingType.ERROR ) && !newFindings.hasFinding( FindingType.ERROR )) {
             File reportFile = File.createTempFile( TEMP_FILE_PREFIX, HTML_EXTENSION );
 
@@ -1132,6 +1127,41 @@ public class DiffUtilityController extends AbstractMainWindowController {
         new Thread( r ).start();
     }
 
+    /**
+     * Called when the user clicks the 'Compare All Commits' button to compare each pair of adjacent commits in the
+     * history of a managed library.
+     * 
+     * @param event the action event that triggered this method call
+     */
+    @FXML
+    public void runHistorySweep(ActionEvent event) {
+        final RepositoryItem libraryItem = (oldLibraryRepoItem != null) ? oldLibraryRepoItem : newLibraryRepoItem;
+        Runnable r = new BackgroundTask( "Comparing commit history...", StatusType.INFO ) {
+            public void execute() throws OtmApplicationException {
+                try {
+                    File reportFile = File.createTempFile( TEMP_FILE_PREFIX, HTML_EXTENSION );
+
+                    showReport( null );
+                    File commitReportFolder = CommitHistorySweep.getCommitReportFolder( reportFile );
+
+                    commitReportFolder.deleteOnExit();
+                    new CommitHistorySweep( userSettings.getCompareOptions() ).sweep( libraryItem, reportFile );
+                    showReport( reportFile );
+                    reportFile.deleteOnExit();
+
+                    for (File commitReport : commitReportFolder.listFiles()) {
+                        commitReport.deleteOnExit();
+                    }
+
+                } catch (Exception e) {
+                    throw new OtmApplicationException( e.getMessage(), e );
+                }
+            }
+        };
+
+        new Thread( r ).start();
+    }
+
     /**
      * Assigns the primary stage for the window associated with this controller.
      *
@@ -0,0 +1,127 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.opentravel.diffutil;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+/**
+ * Writes an HTML index of comparison results with a link to the comparison report of each result. Rows are streamed
+ * as each comparison completes.
+ */
+public class HtmlDiffResultWriter implements DiffResultWriter {
+
+    private static final String TD = "td";
+
+    private XMLStreamWriter writer;
+
+    /**
+     * Constructor that specifies the stream to which the index will be written.
+     * 
+     * @param out the output stream for the index
+     * @param title the title of the index page
+     * @throws IOException thrown if the index cannot be started
+     */
+    public HtmlDiffResultWriter(OutputStream out, String title) throws IOException {
+        try {
+            writer = XMLOutputFactory.newInstance().createXMLStreamWriter( out, "UTF-8" );
+            writer.writeStartElement( "html" );
+            writer.writeStartElement( "head" );
+            writeElement( "title", title );
+            writer.writeEndElement();
+            writer.writeStartElement( "body" );
+            writeElement( "h1", title );
+            writer.writeStartElement( "table" );
+            writer.writeAttribute( "border", "1" );
+            writer.writeStartElement( "tr" );
+            writeElement( "th", "Type" );
+            writeElement( "th", "Comparison" );
+            writeElement( "th", "Status" );
+            writeElement( "th", "Time (ms)" );
+            writer.writeEndElement();
+
+        } catch (XMLStreamException e) {
+            throw new IOException( "Unable to start the HTML report.", e );
+        }
+    }
+
+    /**
+     * @see org.opentravel.diffutil.DiffResultWriter#write(org.opentravel.diffutil.DiffResult)
+     */
+    @Override
+    public synchronized void write(DiffResult result) throws IOException {
+        try {
+            writer.writeStartElement( "tr" );
+            writeElement( TD, result.getRequest().getType().toString() );
+            writer.writeStartElement( TD );
+
+            if (result.getReportFile() != null) {
+                writer.writeStartElement( "a" );
+                writer.writeAttribute( "href", result.getReportFile().toURI().toString() );
+                writer.writeCharacters( result.getRequest().getName() );
+                writer.writeEndElement();
+
+            } else {
+                writer.writeCharacters( result.getRequest().getName() );
+            }
+            writer.writeEndElement();
+            writeElement( TD, (result.getError() == null) ? result.getStatus().toString()
+                : (result.getStatus() + ": " + result.getError().getMessage()) );
+            writeElement( TD, String.valueOf( result.getElapsedMillis() ) );
+            writer.writeEndElement();
+            writer.flush();
+
+        } catch (XMLStreamException e) {
+            throw new IOException( "Unable to write the HTML report.", e );
+        }
+    }
+
+    /**
+     * Writes an element with the given text content.
+     * 
+     * @param elementName the name of the element
+     * @param text the text content of the element
+     * @throws XMLStreamException thrown if the element cannot be written
+     */
+    private void writeElement(String elementName, String text) throws XMLStreamException {
+        writer.writeStartElement( elementName );
+        writer.writeCharacters( text );
+        writer.writeEndElement();
+    }
+
+    /**
+     * @see java.io.Closeable#close()
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            writer.writeEndElement(); // table
+            writer.writeEndElement(); // body
+            writer.writeEndElement(); // html
+            writer.writeEndDocument();
+            writer.flush();
+
+        } catch (XMLStreamException e) {
+            throw new IOException( "Unable to complete the HTML report.", e );
+        }
+    }
+
+}
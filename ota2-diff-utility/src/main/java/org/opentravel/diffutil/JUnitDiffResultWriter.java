@@ -0,0 +1,144 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.opentravel.diffutil;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+/**
+ * Writes comparison results as a JUnit XML report so that comparisons can be published by continuous integration
+ * servers. Each comparison is reported as a test case. Because the <code>testsuite</code> element reports the number
+ * of tests, failures and errors, the results are collected as the comparisons complete and the report is written when
+ * the writer is closed.
+ */
+public class JUnitDiffResultWriter implements DiffResultWriter {
+
+    private OutputStream out;
+    private String suiteName;
+    private List<DiffResult> results = new ArrayList<>();
+    private boolean closed;
+
+    /**
+     * Constructor that specifies the stream to which the report will be written.
+     * 
+     * @param out the output stream for the report
+     * @param suiteName the name of the test suite
+     */
+    public JUnitDiffResultWriter(OutputStream out, String suiteName) {
+        this.out = out;
+        this.suiteName = suiteName;
+    }
+
+    /**
+     * @see org.opentravel.diffutil.DiffResultWriter#write(org.opentravel.diffutil.DiffResult)
+     */
+    @Override
+    public synchronized void write(DiffResult result) throws IOException {
+        if (closed) {
+            throw new IOException( "The JUnit report has already been completed." );
+        }
+        results.add( result );
+    }
+
+    /**
+     * @see java.io.Closeable#close()
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        try {
+            XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter( out, "UTF-8" );
+            double totalTime = 0.0;
+
+            for (DiffResult result : results) {
+                totalTime += result.getElapsedMillis() / 1000.0;
+            }
+            writer.writeStartDocument( "UTF-8", "1.0" );
+            writer.writeStartElement( "testsuite" );
+            writer.writeAttribute( "name", suiteName );
+            writer.writeAttribute( "tests", String.valueOf( results.size() ) );
+            writer.writeAttribute( "failures", String.valueOf( count( DiffResult.Status.INVALID ) ) );
+            writer.writeAttribute( "errors", String.valueOf( count( DiffResult.Status.ERROR ) ) );
+            writer.writeAttribute( "skipped", "0" );
+            writer.writeAttribute( "time", String.valueOf( totalTime ) );
+
+            for (DiffResult result : results) {
+                writeTestCase( writer, result );
+            }
+            writer.writeEndElement();
+            writer.writeEndDocument();
+            writer.flush();
+
+        } catch (XMLStreamException e) {
+            throw new IOException( "Unable to write the JUnit report.", e );
+        }
+    }
+
+    /**
+     * Returns the number of results with the given status.
+     * 
+     * @param status the status of the results to count
+     * @return long
+     */
+    private long count(DiffResult.Status status) {
+        return results.stream().filter( r -> r.getStatus() == status ).count();
+    }
+
+    /**
+     * Writes the test case for a single comparison.
+     * 
+     * @param writer the XML writer for the report
+     * @param result the comparison result to write
+     * @throws XMLStreamException thrown if the test case cannot be written
+     */
+    private void writeTestCase(XMLStreamWriter writer, DiffResult result) throws XMLStreamException {
+        writer.writeStartElement( "testcase" );
+        writer.writeAttribute( "classname", result.getRequest().getType().toString().toLowerCase() );
+        writer.writeAttribute( "name", result.getRequest().getName() );
+        writer.writeAttribute( "time", String.valueOf( result.getElapsedMillis() / 1000.0 ) );
+
+        if (result.getStatus() == DiffResult.Status.INVALID) {
+            writer.writeStartElement( "failure" );
+            writer.writeAttribute( "message", "Validation error(s) detected in one or both versions." );
+            writer.writeCharacters( String.join( "\n", result.getMessages() ) );
+            writer.writeEndElement();
+
+        } else if (result.getStatus() == DiffResult.Status.ERROR) {
+            writer.writeStartElement( "error" );
+            writer.writeAttribute( "message", String.valueOf( result.getError().getMessage() ) );
+            writer.writeAttribute( "type", result.getError().getClass().getName() );
+            writer.writeEndElement();
+
+        } else if (result.getReportFile() != null) {
+            writer.writeStartElement( "system-out" );
+            writer.writeCharacters( "Comparison report: " + result.getReportFile().getAbsolutePath() );
+            writer.writeEndElement();
+        }
+        writer.writeEndElement();
+    }
+
+}
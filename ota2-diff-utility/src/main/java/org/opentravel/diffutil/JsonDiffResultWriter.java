@@ -0,0 +1,131 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.opentravel.diffutil;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes comparison results as newline-delimited JSON. Each result is written as a single JSON object on its own line
+ * as soon as the comparison completes.
+ */
+public class JsonDiffResultWriter implements DiffResultWriter {
+
+    private Writer writer;
+
+    /**
+     * Constructor that specifies the stream to which the results will be written.
+     * 
+     * @param out the output stream for the report
+     */
+    public JsonDiffResultWriter(OutputStream out) {
+        this.writer = new OutputStreamWriter( out, StandardCharsets.UTF_8 );
+    }
+
+    /**
+     * @see org.opentravel.diffutil.DiffResultWriter#write(org.opentravel.diffutil.DiffResult)
+     */
+    @Override
+    public synchronized void write(DiffResult result) throws IOException {
+        StringBuilder json = new StringBuilder( "{" );
+        DiffRequest request = result.getRequest();
+
+        appendProperty( json, "type", request.getType().toString() ).append( ',' );
+        appendProperty( json, "old", request.getOldVersion() ).append( ',' );
+        appendProperty( json, "new", request.getNewVersion() ).append( ',' );
+        appendProperty( json, "status", result.getStatus().toString() ).append( ',' );
+        json.append( "\"elapsedMillis\":" ).append( result.getElapsedMillis() ).append( ',' );
+        appendProperty( json, "report",
+            (result.getReportFile() == null) ? null : result.getReportFile().getAbsolutePath() );
+        json.append( ",\"messages\":[" );
+
+        for (int i = 0; i < result.getMessages().size(); i++) {
+            json.append( (i == 0) ? "" : "," ).append( quote( result.getMessages().get( i ) ) );
+        }
+        json.append( ']' );
+
+        if (result.getError() != null) {
+            json.append( ',' );
+            appendProperty( json, "error", String.valueOf( result.getError().getMessage() ) );
+        }
+        json.append( "}\n" );
+        writer.write( json.toString() );
+        writer.flush();
+    }
+
+    /**
+     * Appends a string property to the given JSON text.
+     * 
+     * @param json the JSON text being constructed
+     * @param name the name of the property
+     * @param value the value of the property (may be null)
+     * @return StringBuilder
+     */
+    private StringBuilder appendProperty(StringBuilder json, String name, String value) {
+        return json.append( quote( name ) ).append( ':' ).append( (value == null) ? "null" : quote( value ) );
+    }
+
+    /**
+     * Returns the given value as a quoted JSON string.
+     * 
+     * @param value the string value to quote
+     * @return String
+     */
+    private String quote(String value) {
+        StringBuilder quoted = new StringBuilder( "\"" );
+
+        for (char ch : value.toCharArray()) {
+            switch (ch) {
+                case '"':
+                    quoted.append( "\\\"" );
+                    break;
+                case '\\':
+                    quoted.append( "\\\\" );
+                    break;
+                case '\n':
+                    quoted.append( "\\n" );
+                    break;
+                case '\r':
+                    quoted.append( "\\r" );
+                    break;
+                case '\t':
+                    quoted.append( "\\t" );
+                    break;
+                default:
+                    if (ch < 0x20) {
+                        quoted.append( String.format( "\\u%04x", (int) ch ) );
+                    } else {
+                        quoted.append( ch );
+                    }
+                    break;
+            }
+        }
+        return quoted.append( '"' ).toString();
+    }
+
+    /**
+     * @see java.io.Closeable#close()
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        writer.flush();
+    }
+
+}
@@ -0,0 +1,125 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.opentravel.diffutil;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.opentravel.schemacompiler.loader.LibraryInputSource;
+import org.opentravel.schemacompiler.repository.Repository;
+import org.opentravel.schemacompiler.repository.RepositoryException;
+import org.opentravel.schemacompiler.repository.RepositoryItem;
+import org.opentravel.schemacompiler.repository.RepositoryItemCommit;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Date;
+
+/**
+ * Verifies the local content cache of the <code>CommitHistorySweep</code> class.
+ */
+public class TestCommitHistorySweep {
+
+    private static final String LIBRARY_CONTENT = "<Library/>";
+
+    private File cacheFolder;
+    private Repository repository;
+    private RepositoryItem libraryItem;
+    private RepositoryItemCommit commit;
+
+    @Before
+    public void setupTest() throws Exception {
+        cacheFolder = new File( System.getProperty( "user.dir" ),
+            "/target/test-output/TestCommitHistorySweep/" + System.nanoTime() );
+        cacheFolder.mkdirs();
+
+        repository = mock( Repository.class );
+        libraryItem = mock( RepositoryItem.class );
+        commit = mock( RepositoryItemCommit.class );
+        when( libraryItem.getRepository() ).thenReturn( repository );
+        when( libraryItem.getNamespace() ).thenReturn( "http://www.OpenTravel.org/ns/test/v01_00" );
+        when( libraryItem.getFilename() ).thenReturn( "Test_Library_01_00.otm" );
+        when( commit.getEffectiveOn() ).thenReturn( new Date( 1500000000000L ) );
+    }
+
+    @Test
+    public void testCachedContent() throws Exception {
+        CommitHistorySweep sweep = new CommitHistorySweep( null, cacheFolder, 1 );
+
+        mockContent( new ByteArrayInputStream( LIBRARY_CONTENT.getBytes( StandardCharsets.UTF_8 ) ) );
+        File cacheFile = sweep.getCachedContent( libraryItem, commit );
+
+        assertTrue( cacheFile.isFile() );
+        assertEquals( LIBRARY_CONTENT, new String( Files.readAllBytes( cacheFile.toPath() ), StandardCharsets.UTF_8 ) );
+        assertEquals( 1, cacheFile.getParentFile().listFiles().length );
+
+        // The content of a past commit is only fetched once
+        assertEquals( cacheFile, sweep.getCachedContent( libraryItem, commit ) );
+        verify( repository, times( 1 ) ).getHistoricalContentSource( any(), any() );
+    }
+
+    @Test
+    public void testCachedContent_fetchError() throws Exception {
+        CommitHistorySweep sweep = new CommitHistorySweep( null, cacheFolder, 1 );
+
+        mockContent( new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException( "Connection reset" );
+            }
+        } );
+
+        try {
+            sweep.getCachedContent( libraryItem, commit );
+            fail( "Expected exception not thrown." );
+
+        } catch (RepositoryException e) {
+            // Expected - no partial content is left in the cache
+            for (File itemFolder : cacheFolder.listFiles()) {
+                assertEquals( 0, itemFolder.listFiles().length );
+            }
+        }
+    }
+
+    /**
+     * Configures the mock repository to return the given stream as the historical content of the library.
+     * 
+     * @param content the historical content of the library
+     * @throws Exception thrown if the mock cannot be configured
+     */
+    @SuppressWarnings("unchecked")
+    private void mockContent(InputStream content) throws Exception {
+        LibraryInputSource<InputStream> contentSource = mock( LibraryInputSource.class );
+
+        when( contentSource.getLibraryContent() ).thenReturn( content );
+        when( repository.getHistoricalContentSource( any(), any() ) ).thenReturn( contentSource );
+    }
+
+}
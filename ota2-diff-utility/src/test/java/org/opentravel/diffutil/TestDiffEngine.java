@@ -0,0 +1,187 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.opentravel.diffutil;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opentravel.schemacompiler.diff.ModelCompareOptions;
+import org.opentravel.schemacompiler.repository.RepositoryItem;
+import org.opentravel.schemacompiler.repository.RepositoryManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Verifies the functions of the <code>DiffEngine</code> class.
+ */
+public class TestDiffEngine {
+
+    private static final String LIBRARY_NS = "http://www.OpenTravel.org/ns/OTA2/SchemaCompiler/test/v1";
+    private static final String LIBRARY_NAME = "test_library";
+
+    private static File testDataFolder;
+    private static File testFolder;
+
+    @BeforeClass
+    public static void setupTests() throws Exception {
+        testDataFolder = new File( System.getProperty( "user.dir" ), "/src/test/resources/test-data" );
+        testFolder = new File( System.getProperty( "user.dir" ), "/target/test-output/TestDiffEngine" );
+        testFolder.mkdirs();
+    }
+
+    @Test
+    public void testCompareFiles() throws Exception {
+        File reportFolder = new File( testFolder, "files-" + System.nanoTime() );
+        DiffEngine engine = new DiffEngine( new ModelCompareOptions(), null, reportFolder, 3 );
+        List<DiffRequest> requests = new ArrayList<>();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Map<DiffResult.Status,Integer> counts;
+
+        requests.add( new DiffRequest( getTestFile( "test-model-old.otm" ), getTestFile( "test-model-new.otm" ) ) );
+        requests.add( new DiffRequest( getTestFile( "test-project-old.otp" ), getTestFile( "test-project-new.otp" ) ) );
+        requests.add( new DiffRequest( getTestFile( "test-model-old.otm" ), getTestFile( "missing-model.otm" ) ) );
+
+        try (DiffResultWriter writer = new JsonDiffResultWriter( out )) {
+            counts = engine.compare( requests, writer );
+        }
+        String[] lines = out.toString( StandardCharsets.UTF_8.name() ).split( "\n" );
+
+        assertEquals( 3, lines.length );
+        assertEquals( Integer.valueOf( 2 ), counts.get( DiffResult.Status.COMPARED ) );
+        assertEquals( 3, counts.values().stream().mapToInt( c -> c ).sum() );
+        assertEquals( 2, countLines( lines, "\"status\":\"COMPARED\"" ) );
+        assertEquals( 2, reportFolder.listFiles( (dir, name) -> name.endsWith( ".html" ) ).length );
+    }
+
+    @Test
+    public void testCompareRepositoryItems() throws Exception {
+        RepositoryManager repositoryManager = mock( RepositoryManager.class );
+        Map<String,AtomicInteger> activeLoads = new ConcurrentHashMap<>();
+        AtomicInteger overlapCount = new AtomicInteger();
+        Map<String,RepositoryItem> items = new ConcurrentHashMap<>();
+        List<DiffRequest> requests = new ArrayList<>();
+        Map<DiffResult.Status,Integer> counts;
+
+        for (int i = 0; i < 2; i++) {
+            String baseNamespace = "http://www.OpenTravel.org/ns/test" + i;
+
+            for (String filename : new String[] {"test-model-old.otm", "test-model-new.otm"}) {
+                items.put( baseNamespace + "," + filename, newMockItem( baseNamespace, filename ) );
+            }
+        }
+        when( repositoryManager.getRepositoryItem( anyString(), anyString(), anyString() ) )
+            .thenAnswer( invocation -> items.get( invocation.getArgument( 0 ) + "," + invocation.getArgument( 1 ) ) );
+        doAnswer( invocation -> {
+            RepositoryItem item = invocation.getArgument( 0 );
+            AtomicInteger active = activeLoads.computeIfAbsent( item.getBaseNamespace(), ns -> new AtomicInteger() );
+
+            if (active.incrementAndGet() > 1) {
+                overlapCount.incrementAndGet();
+            }
+            Thread.sleep( 20 );
+            active.decrementAndGet();
+            return new File( testDataFolder, item.getFilename() ).toURI().toURL();
+        } ).when( repositoryManager ).getContentLocation( any( RepositoryItem.class ) );
+
+        for (int i = 0; i < 8; i++) {
+            String baseNamespace = "http://www.OpenTravel.org/ns/test" + (i % 2);
+
+            requests.add( new DiffRequest( "repo:" + baseNamespace + ",test-model-old.otm,1.0.0",
+                "repo:" + baseNamespace + ",test-model-new.otm,1.1.0" ) );
+        }
+
+        try (DiffResultWriter writer = new JsonDiffResultWriter( new ByteArrayOutputStream() )) {
+            counts = new DiffEngine( new ModelCompareOptions(), repositoryManager, new File( testFolder, "repository" ),
+                requests.size() ).compare( requests, writer );
+        }
+        assertEquals( Integer.valueOf( requests.size() ), counts.get( DiffResult.Status.COMPARED ) );
+        assertNull( counts.get( DiffResult.Status.ERROR ) );
+        assertEquals( 0, overlapCount.get() );
+    }
+
+    @Test
+    public void testCompareSingleRequest() throws Exception {
+        DiffEngine engine = new DiffEngine( new ModelCompareOptions(), null, new File( testFolder, "single" ), 1 );
+        DiffResult result = engine.compare(
+            new DiffRequest( getTestFile( "test-model-old.otm" ), getTestFile( "test-model-new.otm" ) ) );
+
+        assertEquals( DiffResult.Status.COMPARED, result.getStatus() );
+        assertNotNull( result.getReportFile() );
+        assertTrue( result.getReportFile().isFile() );
+    }
+
+    /**
+     * Returns the absolute path of the given file in the test data folder.
+     * 
+     * @param filename the name of the test file
+     * @return String
+     */
+    private static String getTestFile(String filename) {
+        return new File( testDataFolder, filename ).getAbsolutePath();
+    }
+
+    /**
+     * Returns the number of lines that contain the given text.
+     * 
+     * @param lines the lines to search
+     * @param text the text to find
+     * @return int
+     */
+    private static int countLines(String[] lines, String text) {
+        int count = 0;
+
+        for (String line : lines) {
+            count += line.contains( text ) ? 1 : 0;
+        }
+        return count;
+    }
+
+    /**
+     * Returns a mock repository item for the test library stored in the given file.
+     * 
+     * @param baseNamespace the base namespace of the repository item
+     * @param filename the name of the test file that contains the library content
+     * @return RepositoryItem
+     */
+    private static RepositoryItem newMockItem(String baseNamespace, String filename) {
+        RepositoryItem item = mock( RepositoryItem.class );
+
+        when( item.getBaseNamespace() ).thenReturn( baseNamespace );
+        when( item.getNamespace() ).thenReturn( LIBRARY_NS );
+        when( item.getLibraryName() ).thenReturn( LIBRARY_NAME );
+        when( item.getFilename() ).thenReturn( filename );
+        return item;
+    }
+
+}
@@ -84,6 +84,23 @@ public class TestDiffManagedModels extends AbstractFxTest {
         assertEquals( "OTM Model Comparison Report", reportViewer.getEngine().getTitle() );
     }
 
+    @Test
+    public void testSweepCommitHistory() throws Exception {
+        robot.clickOn( "Compare Libraries" );
+
+        robot.clickOn( "#oldLibraryRepoButton" ).sleep( 250 );
+        robot.targetWindow( "Select Old Library Version" ).selectTreeItem( "#repositoryTreeView", "OTM Repositories",
+            "OTA2.0 Test Repository", "http://www.OpenTravel.org", "/ns/OTA2/SchemaCompiler/version-test",
+            "Version_Test_1_0_0.otm (1.0.0)" );
+        robot.targetWindow( "Select Old Library Version" ).clickOn( "#okButton" );
+        robot.waitForBackgroundTask( "#sweepHistoryButton" );
+
+        robot.clickOn( "#sweepHistoryButton" );
+        robot.waitForBackgroundTask( "#sweepHistoryButton" );
+        WebView reportViewer = (WebView) robot.lookup( "#reportViewer" ).query();
+        assertEquals( CommitHistorySweep.REPORT_TITLE, reportViewer.getEngine().getTitle() );
+    }
+
     @Test
     public void testCompareManagedReleases() throws Exception {
         robot.clickOn( "#oldReleaseFileButton" ).sleep( 250 );
@@ -0,0 +1,105 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.opentravel.diffutil;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opentravel.schemacompiler.repository.Project;
+import org.opentravel.schemacompiler.validate.FindingType;
+import org.opentravel.schemacompiler.validate.ValidationFindings;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.Future;
+
+/**
+ * Verifies the functions of the <code>DiffModelCache</code> class.
+ */
+public class TestDiffModelCache {
+
+    private static File testFolder;
+
+    @BeforeClass
+    public static void setupTests() throws Exception {
+        File sourceFolder = new File( System.getProperty( "user.dir" ), "/src/test/resources/test-data" );
+
+        testFolder = new File( System.getProperty( "user.dir" ), "/target/test-output/TestDiffModelCache" );
+        testFolder.mkdirs();
+
+        for (String filename : new String[] {"test-project-old.otp", "test-project-new.otp", "test-model-old.otm",
+            "test-model-new.otm"}) {
+            Files.copy( new File( sourceFolder, filename ).toPath(), new File( testFolder, filename ).toPath(),
+                StandardCopyOption.REPLACE_EXISTING );
+        }
+    }
+
+    @Test
+    public void testLoadProjectsConcurrently() throws Exception {
+        DiffModelCache cache = new DiffModelCache( DiffModelCache.DEFAULT_MAX_LIBRARIES );
+        ValidationFindings oldFindings = new ValidationFindings();
+        ValidationFindings newFindings = new ValidationFindings();
+        Future<Project> oldFuture = cache.getProject( new File( testFolder, "test-project-old.otp" ), oldFindings );
+        Future<Project> newFuture = cache.getProject( new File( testFolder, "test-project-new.otp" ), newFindings );
+        Project oldProject = DiffModelCache.getResult( oldFuture );
+        Project newProject = DiffModelCache.getResult( newFuture );
+
+        assertNotNull( oldProject );
+        assertNotNull( newProject );
+        assertNotSame( oldProject, newProject );
+        assertFalse( oldFindings.hasFinding( FindingType.ERROR ) );
+        assertFalse( newFindings.hasFinding( FindingType.ERROR ) );
+        assertEquals( 2, cache.size() );
+    }
+
+    @Test
+    public void testCachedProject() throws Exception {
+        DiffModelCache cache = new DiffModelCache( DiffModelCache.DEFAULT_MAX_LIBRARIES );
+        File projectFile = new File( testFolder, "test-project-old.otp" );
+        Project project1 = DiffModelCache.getResult( cache.getProject( projectFile, new ValidationFindings() ) );
+        Project project2 = DiffModelCache.getResult( cache.getProject( projectFile, new ValidationFindings() ) );
+
+        assertSame( project1, project2 );
+
+        // Modifying a library of the project causes it to be reloaded
+        File libraryFile = new File( testFolder, "test-model-old.otm" );
+
+        libraryFile.setLastModified( libraryFile.lastModified() + 2000 );
+        Project project3 = DiffModelCache.getResult( cache.getProject( projectFile, new ValidationFindings() ) );
+
+        assertNotSame( project1, project3 );
+    }
+
+    @Test
+    public void testEviction() throws Exception {
+        DiffModelCache cache = new DiffModelCache( 1 );
+        File oldProjectFile = new File( testFolder, "test-project-old.otp" );
+        File newProjectFile = new File( testFolder, "test-project-new.otp" );
+
+        DiffModelCache.getResult( cache.getProject( oldProjectFile, new ValidationFindings() ) );
+        DiffModelCache.getResult( cache.getProject( newProjectFile, new ValidationFindings() ) );
+
+        assertEquals( 1, cache.size() );
+    }
+
+}
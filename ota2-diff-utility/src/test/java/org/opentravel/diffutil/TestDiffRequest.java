@@ -0,0 +1,97 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.opentravel.diffutil;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+/**
+ * Verifies the functions of the <code>DiffRequest</code> class.
+ */
+public class TestDiffRequest {
+
+    private static final String LIBRARY_ITEM = "repo:http://ns/test,Test_Library.otm,1.0.0";
+    private static final String RELEASE_ITEM = "repo:http://ns/test,Test_Release.otr,1.0.0";
+
+    @Test
+    public void testParse_explicitType() throws Exception {
+        DiffRequest request = DiffRequest.parse( "release old.otm  new.otm" );
+
+        assertEquals( DiffRequest.Type.RELEASE, request.getType() );
+        assertEquals( "old.otm", request.getOldVersion() );
+        assertEquals( "new.otm", request.getNewVersion() );
+    }
+
+    @Test
+    public void testParse_typeFromExtension() throws Exception {
+        assertEquals( DiffRequest.Type.PROJECT, DiffRequest.parse( "old.otp new.otp" ).getType() );
+        assertEquals( DiffRequest.Type.RELEASE, DiffRequest.parse( "old.OTR new.otr" ).getType() );
+        assertEquals( DiffRequest.Type.LIBRARY, DiffRequest.parse( "old.otm new.otm" ).getType() );
+        assertEquals( DiffRequest.Type.RELEASE, DiffRequest.parse( RELEASE_ITEM + " " + RELEASE_ITEM ).getType() );
+    }
+
+    @Test
+    public void testParse_quotedPaths() throws Exception {
+        DiffRequest request = DiffRequest.parse( "library \"/my models/old lib.otm\" \"/my models/new lib.otm\"" );
+
+        assertEquals( DiffRequest.Type.LIBRARY, request.getType() );
+        assertEquals( "/my models/old lib.otm", request.getOldVersion() );
+        assertEquals( "/my models/new lib.otm", request.getNewVersion() );
+        assertEquals( "old lib.otm -> new lib.otm", request.getName() );
+
+        request = DiffRequest.parse( "\"/my models/old.otp\" /models/new.otp" );
+        assertEquals( DiffRequest.Type.PROJECT, request.getType() );
+        assertEquals( "/my models/old.otp", request.getOldVersion() );
+        assertEquals( "/models/new.otp", request.getNewVersion() );
+    }
+
+    @Test
+    public void testParse_commitSelector() throws Exception {
+        DiffRequest request = DiffRequest.parse( LIBRARY_ITEM + ",~1 " + LIBRARY_ITEM );
+
+        assertEquals( DiffRequest.Type.LIBRARY, request.getType() );
+        assertEquals( "Test_Library.otm -> Test_Library.otm", request.getName() );
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_releaseCommitSelector() throws Exception {
+        DiffRequest.parse( RELEASE_ITEM + ",latest " + RELEASE_ITEM );
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_projectCommitSelector() throws Exception {
+        DiffRequest.parse( "project old.otp repo:http://ns/test,Test_Project.otp,1.0.0,~2" );
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_unterminatedQuote() throws Exception {
+        DiffRequest.parse( "\"/my models/old.otm new.otm" );
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_tooManyTokens() throws Exception {
+        DiffRequest.parse( "library /my models/old.otm /my models/new.otm" );
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParse_invalidType() throws Exception {
+        DiffRequest.parse( "schema old.xsd new.xsd" );
+    }
+
+}
@@ -0,0 +1,152 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.opentravel.diffutil;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+/**
+ * Verifies the functions of the <code>DiffResultWriter</code> implementations.
+ */
+public class TestDiffResultWriters {
+
+    @Test
+    public void testJsonWriter() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (DiffResultWriter writer = new JsonDiffResultWriter( out )) {
+            writeResults( writer );
+        }
+        String[] lines = out.toString( StandardCharsets.UTF_8.name() ).split( "\n" );
+
+        assertEquals( 3, lines.length );
+        assertTrue( lines[0].startsWith( "{\"type\":\"LIBRARY\",\"old\":\"old.otm\",\"new\":\"new.otm\"" ) );
+        assertTrue( lines[0].contains( "\"status\":\"COMPARED\"" ) );
+        assertTrue( lines[0].contains( "\"elapsedMillis\":1500" ) );
+        assertTrue( lines[1].contains( "\"status\":\"INVALID\"" ) );
+        assertTrue( lines[1].contains( "\"messages\":[\"Old: \\\"bad\\\" name\",\"New: line1\\nline2\"]" ) );
+        assertTrue( lines[1].contains( "\"report\":null" ) );
+        assertTrue( lines[2].contains( "\"status\":\"ERROR\"" ) );
+        assertTrue( lines[2].contains( "\"error\":\"Library not accessible\"" ) );
+    }
+
+    @Test
+    public void testJUnitWriter() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (DiffResultWriter writer = new JUnitDiffResultWriter( out, "Test Suite" )) {
+            writeResults( writer );
+        }
+        Element suite = parse( out ).getDocumentElement();
+        NodeList testCases = suite.getElementsByTagName( "testcase" );
+
+        assertEquals( "testsuite", suite.getTagName() );
+        assertEquals( "Test Suite", suite.getAttribute( "name" ) );
+        assertEquals( "3", suite.getAttribute( "tests" ) );
+        assertEquals( "1", suite.getAttribute( "failures" ) );
+        assertEquals( "1", suite.getAttribute( "errors" ) );
+        assertEquals( 3, testCases.getLength() );
+        assertEquals( "library", ((Element) testCases.item( 0 )).getAttribute( "classname" ) );
+        assertEquals( "1.5", ((Element) testCases.item( 0 )).getAttribute( "time" ) );
+        assertEquals( 1, ((Element) testCases.item( 0 )).getElementsByTagName( "system-out" ).getLength() );
+        assertEquals( 1, ((Element) testCases.item( 1 )).getElementsByTagName( "failure" ).getLength() );
+        assertEquals( IOException.class.getName(),
+            ((Element) ((Element) testCases.item( 2 )).getElementsByTagName( "error" ).item( 0 ) )
+                .getAttribute( "type" ) );
+    }
+
+    @Test(expected = IOException.class)
+    public void testJUnitWriter_writeAfterClose() throws Exception {
+        DiffResultWriter writer = new JUnitDiffResultWriter( new ByteArrayOutputStream(), "Test Suite" );
+
+        writer.close();
+        writer.close(); // closing twice has no effect
+        writeResults( writer );
+    }
+
+    @Test
+    public void testHtmlWriter() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (DiffResultWriter writer = new HtmlDiffResultWriter( out, "Test Report" )) {
+            writeResults( writer );
+        }
+        Document doc = parse( out );
+        NodeList rows = doc.getElementsByTagName( "tr" );
+        NodeList links = doc.getElementsByTagName( "a" );
+
+        assertEquals( "Test Report", doc.getElementsByTagName( "title" ).item( 0 ).getTextContent() );
+        assertEquals( 4, rows.getLength() ); // header plus one row per result
+        assertEquals( 1, links.getLength() );
+        assertEquals( new File( "report.html" ).toURI().toString(),
+            ((Element) links.item( 0 )).getAttribute( "href" ) );
+        assertEquals( "ERROR: Library not accessible",
+            ((Element) rows.item( 3 )).getElementsByTagName( "td" ).item( 2 ).getTextContent() );
+    }
+
+    /**
+     * Writes a compared, an invalid and a failed comparison result to the given writer.
+     * 
+     * @param writer the writer to which the results are written
+     * @throws IOException thrown if the results cannot be written
+     */
+    private void writeResults(DiffResultWriter writer) throws IOException {
+        DiffResult compared = new DiffResult( new DiffRequest( "old.otm", "new.otm" ) );
+        DiffResult invalid = new DiffResult( new DiffRequest( "old.otp", "new.otp" ) );
+        DiffResult error = new DiffResult( new DiffRequest( "old.otr", "new.otr" ) );
+        List<String> messages = Arrays.asList( "Old: \"bad\" name", "New: line1\nline2" );
+
+        compared.setReportFile( new File( "report.html" ) );
+        compared.setElapsedMillis( 1500 );
+        invalid.setStatus( DiffResult.Status.INVALID );
+        invalid.getMessages().addAll( messages );
+        error.setError( new IOException( "Library not accessible" ) );
+
+        writer.write( compared );
+        writer.write( invalid );
+        writer.write( error );
+    }
+
+    /**
+     * Parses the XML document written to the given stream.
+     * 
+     * @param out the stream to which the document was written
+     * @return Document
+     * @throws Exception thrown if the document cannot be parsed
+     */
+    private Document parse(ByteArrayOutputStream out) throws Exception {
+        return DocumentBuilderFactory.newInstance().newDocumentBuilder()
+            .parse( new ByteArrayInputStream( out.toByteArray() ) );
+    }
+
+}
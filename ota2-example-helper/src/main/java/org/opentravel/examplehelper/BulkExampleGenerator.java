@@ -0,0 +1,502 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.opentravel.examplehelper;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opentravel.schemacompiler.codegen.example.ExampleDocumentBuilder;
+import org.opentravel.schemacompiler.codegen.example.ExampleGeneratorOptions;
+import org.opentravel.schemacompiler.codegen.example.ExampleJsonBuilder;
+import org.opentravel.schemacompiler.codegen.util.ResourceCodegenUtils;
+import org.opentravel.schemacompiler.codegen.xsd.facet.FacetCodegenDelegateFactory;
+import org.opentravel.schemacompiler.ioc.CompilerExtensionRegistry;
+import org.opentravel.schemacompiler.loader.LibraryInputSource;
+import org.opentravel.schemacompiler.loader.LibraryModelLoader;
+import org.opentravel.schemacompiler.loader.impl.LibraryStreamInputSource;
+import org.opentravel.schemacompiler.model.AbstractLibrary;
+import org.opentravel.schemacompiler.model.NamedEntity;
+import org.opentravel.schemacompiler.model.TLActionFacet;
+import org.opentravel.schemacompiler.model.TLBusinessObject;
+import org.opentravel.schemacompiler.model.TLChoiceObject;
+import org.opentravel.schemacompiler.model.TLFacet;
+import org.opentravel.schemacompiler.model.TLLibrary;
+import org.opentravel.schemacompiler.model.TLModel;
+import org.opentravel.schemacompiler.model.TLOperation;
+import org.opentravel.schemacompiler.model.TLResource;
+import org.opentravel.schemacompiler.repository.ProjectManager;
+import org.opentravel.schemacompiler.repository.ReleaseManager;
+import org.opentravel.schemacompiler.repository.RepositoryManager;
+import org.opentravel.schemacompiler.validate.FindingType;
+import org.opentravel.schemacompiler.validate.ValidationFindings;
+import org.opentravel.schemacompiler.xml.XMLPrettyPrinter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Generates XML and JSON examples for every eligible entity of a model without the user interface. Entities are
+ * processed in parallel and each example is written to the output folder as soon as it is generated. The facet
+ * selections for each entity are the defaults that the Example Helper would display for it.
+ * <p>
+ * Examples are written to a sub-folder for each library that is named after the library's name and version, so that
+ * different versions of a library can be generated together. If two entities would still be written to the same
+ * files, the second entity is reported as an error instead of overwriting the first.
+ */
+public class BulkExampleGenerator {
+
+    private static final FacetCodegenDelegateFactory facetDelegateFactory = new FacetCodegenDelegateFactory( null );
+    private static final Logger log = LogManager.getLogger( BulkExampleGenerator.class );
+
+    private static final String USAGE = "Usage: BulkExampleGenerator [-threads <n>] [-repeat <n>] [-suppressOptional]"
+        + " [-bindingStyle <style>] <project.otp | release.otr | library.otm> <output folder>";
+
+    private File outputFolder;
+    private int threads;
+    private int maxRepeat = 2;
+    private boolean suppressOptionalFields = false;
+
+    /**
+     * The outcome of generating the examples for a single entity.
+     */
+    public static class EntityResult {
+
+        private NamedEntity entity;
+        private List<File> exampleFiles = new ArrayList<>();
+        private long elapsedMillis;
+        private Exception error;
+
+        /**
+         * Constructor that specifies the entity for which examples were generated.
+         * 
+         * @param entity the OTM entity
+         */
+        public EntityResult(NamedEntity entity) {
+            this.entity = entity;
+        }
+
+        /**
+         * Returns the entity for which examples were generated.
+         *
+         * @return NamedEntity
+         */
+        public NamedEntity getEntity() {
+            return entity;
+        }
+
+        /**
+         * Returns the example files that were written for the entity.
+         *
+         * @return List&lt;File&gt;
+         */
+        public List<File> getExampleFiles() {
+            return exampleFiles;
+        }
+
+        /**
+         * Returns the time taken to generate and write the examples.
+         *
+         * @return long
+         */
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        /**
+         * Returns the exception that prevented the examples from being generated or null if they were generated.
+         *
+         * @return Exception
+         */
+        public Exception getError() {
+            return error;
+        }
+
+    }
+
+    /**
+     * Constructor that specifies the output folder and the number of entities to process concurrently.
+     * 
+     * @param outputFolder the folder to which the example files will be written
+     * @param threads the number of entities to process concurrently
+     */
+    public BulkExampleGenerator(File outputFolder, int threads) {
+        this.outputFolder = outputFolder;
+        this.threads = Math.max( 1, threads );
+    }
+
+    /**
+     * Assigns the maximum number of times that repeating elements are generated.
+     * 
+     * @param maxRepeat the maximum repeat count to assign
+     */
+    public void setMaxRepeat(int maxRepeat) {
+        this.maxRepeat = maxRepeat;
+    }
+
+    /**
+     * Assigns the flag indicating whether optional fields are omitted from the examples.
+     * 
+     * @param suppressOptionalFields the flag value to assign
+     */
+    public void setSuppressOptionalFields(boolean suppressOptionalFields) {
+        this.suppressOptionalFields = suppressOptionalFields;
+    }
+
+    /**
+     * Returns the entities of the given library for which examples can be generated. These are the same entities that
+     * the Example Helper offers for selection.
+     * 
+     * @param library the library from which to collect entities
+     * @return List&lt;NamedEntity&gt;
+     */
+    public static List<NamedEntity> getExampleEntities(TLLibrary library) {
+        List<NamedEntity> entities = new ArrayList<>();
+
+        for (TLBusinessObject bo : library.getBusinessObjectTypes()) {
+            entities.add( bo );
+            entities.addAll( bo.getQueryFacets() );
+            entities.addAll( bo.getUpdateFacets() );
+        }
+        entities.addAll( library.getCoreObjectTypes() );
+
+        for (TLChoiceObject choice : library.getChoiceObjectTypes()) {
+            entities.add( choice );
+            entities.addAll( choice.getChoiceFacets() );
+        }
+        for (TLResource resource : library.getResourceTypes()) {
+            for (TLActionFacet actionFacet : resource.getActionFacets()) {
+                NamedEntity payloadType = ResourceCodegenUtils.getPayloadType( actionFacet );
+
+                if ((payloadType instanceof TLActionFacet)
+                    && !ResourceCodegenUtils.isTemplateActionFacet( actionFacet )) {
+                    entities.add( actionFacet );
+                }
+            }
+        }
+        if (library.getService() != null) {
+            for (TLOperation op : library.getService().getOperations()) {
+                addIfHasContent( op.getRequest(), entities );
+                addIfHasContent( op.getResponse(), entities );
+                addIfHasContent( op.getNotification(), entities );
+            }
+        }
+        return entities;
+    }
+
+    /**
+     * Adds the given operation facet to the list if it has content.
+     * 
+     * @param facet the operation facet to add
+     * @param entities the list of entities
+     */
+    private static void addIfHasContent(TLFacet facet, List<NamedEntity> entities) {
+        if (facetDelegateFactory.getDelegate( facet ).hasContent()) {
+            entities.add( facet );
+        }
+    }
+
+    /**
+     * Generates the examples for all eligible entities in the user-defined libraries of the model. The listener is
+     * called as each entity completes.
+     * 
+     * @param model the model for which to generate examples
+     * @param listener the listener to notify of each result (may be null)
+     * @return List&lt;EntityResult&gt;
+     */
+    public List<EntityResult> generateExamples(TLModel model, Consumer<EntityResult> listener) {
+        List<EntityResult> results = new ArrayList<>();
+        Map<File,NamedEntity> baseFiles = new HashMap<>();
+        int taskCount = 0;
+
+        ExecutorService executor = Executors.newFixedThreadPool( threads, newThreadFactory() );
+
+        try {
+            CompletionService<EntityResult> completionService = new ExecutorCompletionService<>( executor );
+
+            for (TLLibrary library : model.getUserDefinedLibraries()) {
+                for (NamedEntity entity : getExampleEntities( library )) {
+                    File baseFile = getBaseFile( entity );
+                    NamedEntity existingEntity = baseFiles.putIfAbsent( baseFile, entity );
+
+                    if (existingEntity == null) {
+                        completionService.submit( () -> generateExamples( entity, baseFile ) );
+                        taskCount++;
+
+                    } else {
+                        EntityResult result = new EntityResult( entity );
+
+                        result.error = new IOException( "Examples for " + HelperUtils.getDisplayName( entity, true )
+                            + " would overwrite the examples for " + HelperUtils.getDisplayName( existingEntity, true )
+                            + " (" + baseFile.getPath() + ")." );
+                        results.add( result );
+
+                        if (listener != null) {
+                            listener.accept( result );
+                        }
+                    }
+                }
+            }
+            for (int i = 0; i < taskCount; i++) {
+                EntityResult result = completionService.take().get();
+
+                results.add( result );
+
+                if (listener != null) {
+                    listener.accept( result );
+                }
+            }
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+        } catch (ExecutionException e) {
+            log.error( "Unexpected exception during example generation.", e.getCause() );
+
+        } finally {
+            executor.shutdownNow();
+        }
+        return results;
+    }
+
+    /**
+     * Returns the location of the example files for the given entity without a file extension. The folder name
+     * contains the name and version of the entity's library.
+     * 
+     * @param entity the entity for which to return the file location
+     * @return File
+     */
+    private File getBaseFile(NamedEntity entity) {
+        AbstractLibrary library = entity.getOwningLibrary();
+        String folderName = library.getName();
+
+        if (library.getVersion() != null) {
+            folderName += "_" + library.getVersion();
+        }
+        return new File( new File( outputFolder, getFileName( folderName ) ),
+            getFileName( HelperUtils.getDisplayName( entity, false ) ) );
+    }
+
+    /**
+     * Generates and writes the XML and JSON examples for a single entity.
+     * 
+     * @param entity the entity for which to generate examples
+     * @param baseFile the location of the example files without a file extension
+     * @return EntityResult
+     */
+    private EntityResult generateExamples(NamedEntity entity, File baseFile) {
+        EntityResult result = new EntityResult( entity );
+        long startTime = System.currentTimeMillis();
+
+        try {
+            File folder = baseFile.getParentFile();
+            File xmlFile = new File( folder, baseFile.getName() + ".xml" );
+            File jsonFile = new File( folder, baseFile.getName() + ".json" );
+            ObjectMapper mapper = new ObjectMapper().enable( SerializationFeature.INDENT_OUTPUT );
+
+            folder.mkdirs();
+
+            try (OutputStream out = new FileOutputStream( xmlFile )) {
+                new XMLPrettyPrinter().formatDocument(
+                    new ExampleDocumentBuilder( newOptions( entity ) ).setModelElement( entity ).buildTree(), out );
+            }
+            result.exampleFiles.add( xmlFile );
+
+            try (OutputStream out = new FileOutputStream( jsonFile )) {
+                ExampleJsonBuilder exampleBuilder = new ExampleJsonBuilder( newOptions( entity ) );
+
+                exampleBuilder.setModelElement( entity );
+                mapper.writeValue( out, exampleBuilder.buildTree() );
+            }
+            result.exampleFiles.add( jsonFile );
+
+        } catch (Exception e) {
+            result.error = e;
+        }
+        result.elapsedMillis = System.currentTimeMillis() - startTime;
+        return result;
+    }
+
+    /**
+     * Returns the generator options for the given entity. The facet selections are the defaults assigned by the
+     * <code>EntityMemberTreeBuilder</code>.
+     * 
+     * @param entity the entity for which to create options
+     * @return ExampleGeneratorOptions
+     */
+    private ExampleGeneratorOptions newOptions(NamedEntity entity) {
+        EntityMemberTreeBuilder treeBuilder = new EntityMemberTreeBuilder( entity );
+        ExampleGeneratorOptions options = new ExampleGeneratorOptions();
+
+        treeBuilder.buildTree();
+        treeBuilder.getFacetSelections().configureExampleOptions( options );
+        options.setMaxRepeat( maxRepeat );
+        options.setSuppressOptionalFields( suppressOptionalFields );
+        return options;
+    }
+
+    /**
+     * Returns a file-system safe version of the given name.
+     * 
+     * @param name the name to convert
+     * @return String
+     */
+    private static String getFileName(String name) {
+        return name.replaceAll( "[^A-Za-z0-9._-]", "_" );
+    }
+
+    /**
+     * Returns a factory for the daemon threads used to generate examples.
+     * 
+     * @return ThreadFactory
+     */
+    private static ThreadFactory newThreadFactory() {
+        AtomicInteger count = new AtomicInteger();
+
+        return r -> {
+            Thread t = new Thread( r, "ExampleGenerator-" + count.incrementAndGet() );
+
+            t.setDaemon( true );
+            return t;
+        };
+    }
+
+    /**
+     * Loads the model from the given project, release, or library file.
+     * 
+     * @param modelFile the project, release, or library file to load
+     * @return TLModel
+     * @throws Exception thrown if the model cannot be loaded or contains errors
+     */
+    private static TLModel loadModel(File modelFile) throws Exception {
+        ValidationFindings findings;
+        TLModel model;
+
+        if (modelFile.getName().endsWith( ".otr" )) {
+            ReleaseManager manager = new ReleaseManager( RepositoryManager.getDefault() );
+
+            findings = new ValidationFindings();
+            manager.loadRelease( modelFile, findings );
+            model = manager.getModel();
+
+        } else if (modelFile.getName().endsWith( ".otp" )) {
+            ProjectManager manager = new ProjectManager( false );
+
+            findings = new ValidationFindings();
+            manager.loadProject( modelFile, findings );
+            model = manager.getModel();
+
+        } else { // assume OTM library file
+            LibraryInputSource<InputStream> libraryInput = new LibraryStreamInputSource( modelFile );
+            LibraryModelLoader<InputStream> modelLoader = new LibraryModelLoader<>();
+
+            findings = modelLoader.loadLibraryModel( libraryInput );
+            model = modelLoader.getLibraryModel();
+        }
+        if ((findings != null) && findings.hasFinding( FindingType.ERROR )) {
+            throw new IOException( "Validation errors detected in model: " + modelFile.getName() );
+        }
+        return model;
+    }
+
+    /**
+     * Generates the examples for the model identified by the command-line arguments and prints the time taken for
+     * each entity.
+     * 
+     * @param args the command-line arguments
+     */
+    public static void main(String[] args) {
+        List<String> files = new ArrayList<>();
+        int threads = Runtime.getRuntime().availableProcessors();
+        int maxRepeat = 2;
+        boolean suppressOptional = false;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "-threads":
+                        threads = Integer.parseInt( args[++i] );
+                        break;
+                    case "-repeat":
+                        maxRepeat = Integer.parseInt( args[++i] );
+                        break;
+                    case "-suppressOptional":
+                        suppressOptional = true;
+                        break;
+                    case "-bindingStyle":
+                        CompilerExtensionRegistry.setActiveExtension( args[++i] );
+                        break;
+                    default:
+                        files.add( args[i] );
+                        break;
+                }
+            }
+            if (files.size() != 2) {
+                System.err.println( USAGE );
+                System.exit( 2 );
+            }
+            BulkExampleGenerator generator = new BulkExampleGenerator( new File( files.get( 1 ) ), threads );
+            AtomicInteger errorCount = new AtomicInteger();
+            long startTime = System.currentTimeMillis();
+
+            generator.setMaxRepeat( maxRepeat );
+            generator.setSuppressOptionalFields( suppressOptional );
+
+            List<EntityResult> results = generator.generateExamples( loadModel( new File( files.get( 0 ) ) ), r -> {
+                String name = HelperUtils.getDisplayName( r.getEntity(), true );
+
+                if (r.getError() == null) {
+                    System.out.println( String.format( "%6d ms  %s", r.getElapsedMillis(), name ) );
+
+                } else {
+                    System.out.println( String.format( "%6d ms  %s  ERROR: %s", r.getElapsedMillis(), name,
+                        r.getError().getMessage() ) );
+                    log.error( "Error generating examples for " + name, r.getError() );
+                    errorCount.incrementAndGet();
+                }
+            } );
+            System.out.println( String.format( "Generated examples for %d entities in %d ms (%d errors).",
+                results.size(), System.currentTimeMillis() - startTime, errorCount.get() ) );
+            System.exit( (errorCount.get() == 0) ? 0 : 1 );
+
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            System.err.println( USAGE );
+            System.exit( 2 );
+
+        } catch (Exception e) {
+            log.error( "Error during example generation.", e );
+            System.exit( 2 );
+        }
+    }
+
+}
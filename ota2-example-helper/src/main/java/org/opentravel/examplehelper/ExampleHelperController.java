@@ -27,29 +27,20 @@ import org.opentravel.application.common.JsonHighlightBuilder;
 import org.opentravel.application.common.OtmApplicationException;
 import org.opentravel.application.common.StatusType;
 import org.opentravel.application.common.SyntaxHighlightBuilder;
+import org.opentravel.application.common.SyntaxHighlighter;
 import org.opentravel.application.common.XmlHighlightBuilder;
 import org.opentravel.schemacompiler.codegen.example.ExampleBuilder;
 import org.opentravel.schemacompiler.codegen.example.ExampleDocumentBuilder;
 import org.opentravel.schemacompiler.codegen.example.ExampleGeneratorOptions;
 import org.opentravel.schemacompiler.codegen.example.ExampleJsonBuilder;
-import org.opentravel.schemacompiler.codegen.util.ResourceCodegenUtils;
-import org.opentravel.schemacompiler.codegen.xsd.facet.FacetCodegenDelegateFactory;
 import org.opentravel.schemacompiler.ioc.CompilerExtensionRegistry;
 import org.opentravel.schemacompiler.loader.LibraryInputSource;
 import org.opentravel.schemacompiler.loader.LibraryLoaderException;
 import org.opentravel.schemacompiler.loader.LibraryModelLoader;
 import org.opentravel.schemacompiler.loader.impl.LibraryStreamInputSource;
 import org.opentravel.schemacompiler.model.NamedEntity;
-import org.opentravel.schemacompiler.model.TLActionFacet;
-import org.opentravel.schemacompiler.model.TLBusinessObject;
-import org.opentravel.schemacompiler.model.TLChoiceObject;
-import org.opentravel.schemacompiler.model.TLContextualFacet;
-import org.opentravel.schemacompiler.model.TLCoreObject;
 import org.opentravel.schemacompiler.model.TLLibrary;
 import org.opentravel.schemacompiler.model.TLModel;
-import org.opentravel.schemacompiler.model.TLOperation;
-import org.opentravel.schemacompiler.model.TLResource;
-import org.opentravel.schemacompiler.model.TLService;
 import org.opentravel.schemacompiler.repository.Project;
 import org.opentravel.schemacompiler.repository.ProjectItem;
 import org.opentravel.schemacompiler.repository.ProjectManager;
@@ -77,6 +68,8 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.BooleanSupplier;
 
 import javafx.application.Platform;
 import javafx.beans.property.ReadOnlyObjectWrapper;
@@ -112,8 +105,11 @@ public class ExampleHelperController extends AbstractMainWindowController {
 
     public static final String FXML_FILE = "/ota2-example-helper.fxml";
 
-    private static final FacetCodegenDelegateFactory facetDelegateFactory = new FacetCodegenDelegateFactory( null );
     private static final Logger log = LogManager.getLogger( ExampleHelperController.class );
+    private static final long EXAMPLE_CACHE_MAX_CHARACTERS = 16L * 1024 * 1024;
+
+    private final SyntaxHighlightBuilder xmlHighlightBuilder = new XmlHighlightBuilder();
+    private final SyntaxHighlightBuilder jsonHighlightBuilder = new JsonHighlightBuilder();
 
     @FXML
     private TextField libraryText;
@@ -149,6 +145,7 @@ public class ExampleHelperController extends AbstractMainWindowController {
     private VBox previewVBox;
     private VirtualizedScrollPane<?> previewScrollPane;
     private CodeArea previewPane;
+    private SyntaxHighlighter previewHighlighter;
 
     private RepositoryAvailabilityChecker availabilityChecker;
     private File modelFile;
@@ -157,6 +154,10 @@ public class ExampleHelperController extends AbstractMainWindowController {
     private NamedEntity oldSelectedObject;
     private FacetSelections facetSelections;
 
+    private final ExampleRequestExecutor exampleRequests = new ExampleRequestExecutor( "ExampleGenerator" );
+    private final ExampleOutputCache<ExampleKey,ExampleOutput> exampleCache =
+        new ExampleOutputCache<>( EXAMPLE_CACHE_MAX_CHARACTERS, o -> o.text.length() );
+
     /**
      * Called when the user clicks the button to load a new project, release, or library file.
      * 
@@ -328,14 +329,15 @@ public class ExampleHelperController extends AbstractMainWindowController {
     private void updateEntityChoices() {
         List<OTMObjectChoice> selectableObjects = new ArrayList<>();
 
+        // Examples generated from the previous model are no longer valid
+        exampleCache.clear();
+
         // Collect the selectable objects for the combo-box
         if (model != null) {
             for (TLLibrary library : model.getUserDefinedLibraries()) {
-                addBusinessObjectChoices( library.getBusinessObjectTypes(), selectableObjects );
-                addCoreObjectChoices( library.getCoreObjectTypes(), selectableObjects );
-                addChoiceObjectChoices( library.getChoiceObjectTypes(), selectableObjects );
-                addResourceChoices( library.getResourceTypes(), selectableObjects );
-                addServiceChoices( library.getService(), selectableObjects );
+                for (NamedEntity entity : BulkExampleGenerator.getExampleEntities( library )) {
+                    selectableObjects.add( new OTMObjectChoice( entity ) );
+                }
             }
 
             // Sort the objects in alphabetical order according to their display label
@@ -351,94 +353,6 @@ public class ExampleHelperController extends AbstractMainWindowController {
         } );
     }
 
-    /**
-     * Adds selectable choices from the given business objects.
-     * 
-     * @param entityList the list of business objects
-     * @param selectableObjects the list of user-selectable options
-     */
-    private void addBusinessObjectChoices(List<TLBusinessObject> entityList, List<OTMObjectChoice> selectableObjects) {
-        for (TLBusinessObject bo : entityList) {
-            selectableObjects.add( new OTMObjectChoice( bo ) );
-
-            for (TLContextualFacet facet : bo.getQueryFacets()) {
-                selectableObjects.add( new OTMObjectChoice( facet ) );
-            }
-            for (TLContextualFacet facet : bo.getUpdateFacets()) {
-                selectableObjects.add( new OTMObjectChoice( facet ) );
-            }
-        }
-    }
-
-    /**
-     * Adds selectable choices from the given core objects.
-     * 
-     * @param entityList the list of core objects
-     * @param selectableObjects the list of user-selectable options
-     */
-    private void addCoreObjectChoices(List<TLCoreObject> entityList, List<OTMObjectChoice> selectableObjects) {
-        for (TLCoreObject core : entityList) {
-            selectableObjects.add( new OTMObjectChoice( core ) );
-        }
-    }
-
-    /**
-     * Adds selectable choices from the given choice objects.
-     * 
-     * @param entityList the list of choice objects
-     * @param selectableObjects the list of user-selectable options
-     */
-    private void addChoiceObjectChoices(List<TLChoiceObject> entityList, List<OTMObjectChoice> selectableObjects) {
-        for (TLChoiceObject choice : entityList) {
-            selectableObjects.add( new OTMObjectChoice( choice ) );
-
-            for (TLContextualFacet facet : choice.getChoiceFacets()) {
-                selectableObjects.add( new OTMObjectChoice( facet ) );
-            }
-        }
-    }
-
-    /**
-     * Adds selectable choices from the given resources.
-     * 
-     * @param entityList the list of resources
-     * @param selectableObjects the list of user-selectable options
-     */
-    private void addResourceChoices(List<TLResource> entityList, List<OTMObjectChoice> selectableObjects) {
-        for (TLResource resource : entityList) {
-            for (TLActionFacet actionFacet : resource.getActionFacets()) {
-                NamedEntity payloadType = ResourceCodegenUtils.getPayloadType( actionFacet );
-
-                if ((payloadType instanceof TLActionFacet)
-                    && !ResourceCodegenUtils.isTemplateActionFacet( actionFacet )) {
-                    selectableObjects.add( new OTMObjectChoice( actionFacet ) );
-                }
-            }
-        }
-    }
-
-    /**
-     * Adds selectable choices from operations of the given service.
-     * 
-     * @param service the service from which to add operation facet choices
-     * @param selectableObjects the list of user-selectable options
-     */
-    private void addServiceChoices(TLService service, List<OTMObjectChoice> selectableObjects) {
-        if (service != null) {
-            for (TLOperation op : service.getOperations()) {
-                if (facetDelegateFactory.getDelegate( op.getRequest() ).hasContent()) {
-                    selectableObjects.add( new OTMObjectChoice( op.getRequest() ) );
-                }
-                if (facetDelegateFactory.getDelegate( op.getResponse() ).hasContent()) {
-                    selectableObjects.add( new OTMObjectChoice( op.getResponse() ) );
-                }
-                if (facetDelegateFactory.getDelegate( op.getNotification() ).hasContent()) {
-                    selectableObjects.add( new OTMObjectChoice( op.getNotification() ) );
-                }
-            }
-        }
-    }
-
     /**
      * Called when the entity selection has been modified by the user.
      */
@@ -466,54 +380,117 @@ public class ExampleHelperController extends AbstractMainWindowController {
     }
 
     /**
-     * Refreshes the contents of the EXAMPLE text viewer.
+     * Refreshes the contents of the EXAMPLE text viewer. The current selections are captured on the UI thread and the
+     * example is generated and highlighted in the background. A newer refresh supersedes one that is still pending or
+     * running, and previously generated examples are displayed from the cache without being generated again.
      */
     private void refreshExample() {
-        Platform.runLater( () -> {
-            if ((model != null) && (selectedObject != null)) {
-                try {
-                    double yScroll = (selectedObject != oldSelectedObject) ? 0.0
-                        : previewScrollPane.estimatedScrollYProperty().getValue();
-                    ExampleGeneratorOptions options = new ExampleGeneratorOptions();
-                    ByteArrayOutputStream out = new ByteArrayOutputStream();
-                    SyntaxHighlightBuilder highlightingBuilder;
-
-                    facetSelections.configureExampleOptions( options );
-                    options.setMaxRepeat( repeatCountSpinner.getValue() );
-                    options.setSuppressOptionalFields( suppressOptionalFields.isSelected() );
-
-                    if (xmlRadio.isSelected()) {
-                        ExampleBuilder<Document> builder =
-                            new ExampleDocumentBuilder( options ).setModelElement( selectedObject );
-                        Document domDocument = builder.buildTree();
-
-                        highlightingBuilder = new XmlHighlightBuilder();
-                        new XMLPrettyPrinter().formatDocument( domDocument, out );
-
-                    } else { // json selected
-                        ExampleJsonBuilder exampleBuilder = new ExampleJsonBuilder( options );
-                        ObjectMapper mapper = new ObjectMapper().enable( SerializationFeature.INDENT_OUTPUT );
-                        JsonNode node;
-
-                        highlightingBuilder = new JsonHighlightBuilder();
-                        exampleBuilder.setModelElement( selectedObject );
-                        node = exampleBuilder.buildTree();
-                        mapper.writeValue( out, node );
-                    }
-                    previewPane.replaceText( new String( out.toByteArray(), StandardCharsets.UTF_8 ) );
-                    previewPane.setStyleSpans( 0, highlightingBuilder.computeHighlighting( previewPane.getText() ) );
-                    Platform.runLater( () -> previewScrollPane.estimatedScrollYProperty().setValue( yScroll ) );
+        if (!Platform.isFxApplicationThread()) {
+            Platform.runLater( this::refreshExample );
+            return;
+        }
+        exampleRequests.cancel();
 
-                } catch (Exception e) {
-                    previewPane.replaceText( "-- Error Generating Example Output --" );
-                    log.error( "Error Generating Example Output", e );
-                }
+        if ((model != null) && (selectedObject != null)) {
+            double yScroll = (selectedObject != oldSelectedObject) ? 0.0
+                : previewScrollPane.estimatedScrollYProperty().getValue();
+            ExampleGeneratorOptions options = new ExampleGeneratorOptions();
+            ExampleKey key = new ExampleKey( selectedObject, facetSelections.getSelectionKey(),
+                repeatCountSpinner.getValue(), suppressOptionalFields.isSelected(), xmlRadio.isSelected(),
+                CompilerExtensionRegistry.getActiveExtension() );
+            ExampleOutput cachedOutput = exampleCache.get( key );
+
+            if (cachedOutput != null) {
+                displayExample( cachedOutput, yScroll );
 
             } else {
-                previewPane.replaceText( "" );
+                NamedEntity entity = selectedObject;
+
+                facetSelections.configureExampleOptions( options );
+                options.setMaxRepeat( key.maxRepeat );
+                options.setSuppressOptionalFields( key.suppressOptional );
+
+                exampleRequests.submit( superseded -> generateExample( entity, options, key.xml, superseded ),
+                    (output, superseded) -> {
+                        if (output.highlightingBuilder != null) {
+                            exampleCache.put( key, output );
+                        }
+                        Platform.runLater( () -> {
+                            if (!superseded.getAsBoolean()) {
+                                displayExample( output, yScroll );
+                            }
+                        } );
+                    } );
             }
-            oldSelectedObject = selectedObject;
-        } );
+
+        } else {
+            previewPane.replaceText( "" );
+        }
+        oldSelectedObject = selectedObject;
+    }
+
+    /**
+     * Generates and formats the EXAMPLE output for the given entity. This method does not access any UI
+     * controls, so it may be called from a background thread. Generation stops after the build step if the request
+     * has been superseded, in which case null is returned.
+     * 
+     * @param entity the entity for which to generate an EXAMPLE
+     * @param options the EXAMPLE generator options
+     * @param xmlFormat flag indicating whether to generate XML (true) or JSON (false) output
+     * @param superseded supplier that returns true once the request has been superseded
+     * @return ExampleOutput
+     */
+    private ExampleOutput generateExample(NamedEntity entity, ExampleGeneratorOptions options, boolean xmlFormat,
+        BooleanSupplier superseded) {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            SyntaxHighlightBuilder highlightingBuilder;
+
+            if (xmlFormat) {
+                ExampleBuilder<Document> builder = new ExampleDocumentBuilder( options ).setModelElement( entity );
+                Document domDocument = builder.buildTree();
+
+                if (superseded.getAsBoolean()) {
+                    return null;
+                }
+                highlightingBuilder = xmlHighlightBuilder;
+                new XMLPrettyPrinter().formatDocument( domDocument, out );
+
+            } else { // json selected
+                ExampleJsonBuilder exampleBuilder = new ExampleJsonBuilder( options );
+                ObjectMapper mapper = new ObjectMapper().enable( SerializationFeature.INDENT_OUTPUT );
+                JsonNode node;
+
+                highlightingBuilder = jsonHighlightBuilder;
+                exampleBuilder.setModelElement( entity );
+                node = exampleBuilder.buildTree();
+
+                if (superseded.getAsBoolean()) {
+                    return null;
+                }
+                mapper.writeValue( out, node );
+            }
+            if (superseded.getAsBoolean()) {
+                return null;
+            }
+            return new ExampleOutput( new String( out.toByteArray(), StandardCharsets.UTF_8 ), highlightingBuilder );
+
+        } catch (Exception e) {
+            log.error( "Error Generating Example Output", e );
+            return new ExampleOutput( "-- Error Generating Example Output --", null );
+        }
+    }
+
+    /**
+     * Displays the given EXAMPLE output in the preview pane. Must be called on the UI thread.
+     * 
+     * @param output the EXAMPLE output to display
+     * @param yScroll the vertical scroll position to restore
+     */
+    private void displayExample(ExampleOutput output, double yScroll) {
+        previewHighlighter.setBuilder( output.highlightingBuilder );
+        previewPane.replaceText( output.text );
+        Platform.runLater( () -> previewScrollPane.estimatedScrollYProperty().setValue( yScroll ) );
     }
 
     /**
@@ -597,6 +574,7 @@ public class ExampleHelperController extends AbstractMainWindowController {
         // Since the preview pane is a custom component, we have to configure it manually
         previewPane = new CodeArea();
         previewPane.setEditable( false );
+        previewHighlighter = new SyntaxHighlighter( previewPane, null );
         previewScrollPane = new VirtualizedScrollPane<>( previewPane );
         Node pane = new StackPane( previewScrollPane );
         previewVBox.getChildren().add( pane );
@@ -759,4 +737,87 @@ public class ExampleHelperController extends AbstractMainWindowController {
 
     }
 
+
+    /**
+     * Identifies the EXAMPLE output generated for an entity with a particular set of user selections.
+     */
+    private static class ExampleKey {
+
+        private final NamedEntity entity;
+        private final String facetSelectionKey;
+        private final int maxRepeat;
+        private final boolean suppressOptional;
+        private final boolean xml;
+        private final String bindingStyle;
+
+        /**
+         * Full constructor.
+         * 
+         * @param entity the entity for which the EXAMPLE is generated
+         * @param facetSelectionKey the key of the user's facet selections
+         * @param maxRepeat the maximum number of repeating elements
+         * @param suppressOptional flag indicating whether optional fields are suppressed
+         * @param xml flag indicating whether the output is XML (true) or JSON (false)
+         * @param bindingStyle the active binding style
+         */
+        public ExampleKey(NamedEntity entity, String facetSelectionKey, int maxRepeat, boolean suppressOptional,
+            boolean xml, String bindingStyle) {
+            this.entity = entity;
+            this.facetSelectionKey = facetSelectionKey;
+            this.maxRepeat = maxRepeat;
+            this.suppressOptional = suppressOptional;
+            this.xml = xml;
+            this.bindingStyle = bindingStyle;
+        }
+
+        /**
+         * @see java.lang.Object#hashCode()
+         */
+        @Override
+        public int hashCode() {
+            return Objects.hash( System.identityHashCode( entity ), facetSelectionKey, maxRepeat, suppressOptional, xml,
+                bindingStyle );
+        }
+
+        /**
+         * @see java.lang.Object#equals(java.lang.Object)
+         */
+        @Override
+        public boolean equals(Object obj) {
+            boolean result = false;
+
+            if (obj instanceof ExampleKey) {
+                ExampleKey other = (ExampleKey) obj;
+
+                result = (entity == other.entity) && facetSelectionKey.equals( other.facetSelectionKey )
+                    && (maxRepeat == other.maxRepeat) && (suppressOptional == other.suppressOptional)
+                    && (xml == other.xml) && Objects.equals( bindingStyle, other.bindingStyle );
+            }
+            return result;
+        }
+
+    }
+
+    /**
+     * The formatted text of a generated EXAMPLE and the builder used to highlight it.
+     */
+    private static class ExampleOutput {
+
+        private final String text;
+        private final SyntaxHighlightBuilder highlightingBuilder;
+
+        /**
+         * Full constructor.
+         * 
+         * @param text the formatted EXAMPLE text
+         * @param highlightingBuilder the syntax highlighting builder for the text (null if the EXAMPLE could not be
+         *        generated)
+         */
+        public ExampleOutput(String text, SyntaxHighlightBuilder highlightingBuilder) {
+            this.text = text;
+            this.highlightingBuilder = highlightingBuilder;
+        }
+
+    }
+
 }
@@ -0,0 +1,116 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.opentravel.examplehelper;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * Least-recently-used cache of generated examples that is bounded by the total number of characters held rather than
+ * by the number of entries. A single example can be several megabytes, so an entry-count bound would not limit the
+ * memory retained by the cache. An example that is larger than the whole cache is not cached at all.
+ *
+ * @param <K> the type of the cache keys
+ * @param <V> the type of the cached examples
+ */
+public class ExampleOutputCache<K,V> {
+
+    private final long maxCharacters;
+    private final ToIntFunction<V> lengthFunction;
+    private final Map<K,V> entries = new LinkedHashMap<>( 16, 0.75f, true );
+    private long totalCharacters = 0;
+
+    /**
+     * Constructor that specifies the maximum number of characters held by the cache and the function that returns the
+     * number of characters in an example.
+     *
+     * @param maxCharacters the maximum number of characters held by the cache
+     * @param lengthFunction function that returns the number of characters in an example
+     */
+    public ExampleOutputCache(long maxCharacters, ToIntFunction<V> lengthFunction) {
+        this.maxCharacters = maxCharacters;
+        this.lengthFunction = lengthFunction;
+    }
+
+    /**
+     * Returns the cached example for the given key, or null if the example is not cached.
+     *
+     * @param key the key of the example to return
+     * @return V
+     */
+    public synchronized V get(K key) {
+        return entries.get( key );
+    }
+
+    /**
+     * Adds the given example to the cache, evicting the least recently used examples until the cache is back within
+     * its character limit.
+     *
+     * @param key the key of the example to add
+     * @param value the example to add
+     */
+    public synchronized void put(K key, V value) {
+        int length = lengthFunction.applyAsInt( value );
+        V oldValue = entries.remove( key );
+
+        if (oldValue != null) {
+            totalCharacters -= lengthFunction.applyAsInt( oldValue );
+        }
+        if (length <= maxCharacters) {
+            Iterator<V> iterator;
+
+            entries.put( key, value );
+            totalCharacters += length;
+            iterator = entries.values().iterator();
+
+            while ((totalCharacters > maxCharacters) && iterator.hasNext()) {
+                totalCharacters -= lengthFunction.applyAsInt( iterator.next() );
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Removes all examples from the cache.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        totalCharacters = 0;
+    }
+
+    /**
+     * Returns the number of examples in the cache.
+     *
+     * @return int
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the total number of characters of all examples in the cache.
+     *
+     * @return long
+     */
+    public synchronized long getTotalCharacters() {
+        return totalCharacters;
+    }
+
+}
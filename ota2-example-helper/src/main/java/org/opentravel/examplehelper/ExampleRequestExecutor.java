@@ -0,0 +1,137 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.opentravel.examplehelper;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Runs example generation requests one at a time on a background thread, where each new request supersedes the
+ * previous one. A superseded request that has not started is never run. A request that is already running is
+ * interrupted, and it can also poll the supplier it is given to stop between steps, so the newest request does not
+ * wait for stale work to finish. The results of superseded requests are never delivered.
+ */
+public class ExampleRequestExecutor {
+
+    /**
+     * Generates the result of a single request.
+     *
+     * @param <T> the type of the generated result
+     */
+    @FunctionalInterface
+    public interface Request<T> {
+
+        /**
+         * Generates the result of the request. Long-running requests should check the given supplier between steps
+         * and stop (returning any value) as soon as it returns true.
+         *
+         * @param superseded supplier that returns true once the request has been superseded
+         * @return T
+         */
+        T generate(BooleanSupplier superseded);
+
+    }
+
+    private final ExecutorService executor;
+    private final AtomicLong currentRequestId = new AtomicLong();
+    private Future<?> pendingRequest;
+
+    /**
+     * Constructor that specifies the name of the background thread.
+     *
+     * @param threadName the name of the background thread
+     */
+    public ExampleRequestExecutor(String threadName) {
+        this.executor = Executors.newSingleThreadExecutor( r -> {
+            Thread t = new Thread( r, threadName );
+
+            t.setDaemon( true );
+            return t;
+        } );
+    }
+
+    /**
+     * Submits a new request that supersedes any request that is pending or running. The result handler is called on
+     * the background thread, and only if the request has not been superseded by then. It also receives the supplier
+     * that reports whether the request has been superseded, so it can check again before work it hands to other
+     * threads.
+     *
+     * @param request the request to run
+     * @param resultHandler the handler for the result of the request
+     * @param <T> the type of the generated result
+     * @return long
+     */
+    public synchronized <T> long submit(Request<T> request, BiConsumer<T,BooleanSupplier> resultHandler) {
+        long requestId = currentRequestId.incrementAndGet();
+        BooleanSupplier superseded =
+            () -> (requestId != currentRequestId.get()) || Thread.currentThread().isInterrupted();
+
+        cancelPendingRequest();
+        pendingRequest = executor.submit( () -> {
+            if (!superseded.getAsBoolean()) {
+                T result = request.generate( superseded );
+
+                if (!superseded.getAsBoolean()) {
+                    resultHandler.accept( result, superseded );
+                }
+            }
+        } );
+        return requestId;
+    }
+
+    /**
+     * Supersedes any request that is pending or running without submitting a new one.
+     */
+    public synchronized void cancel() {
+        currentRequestId.incrementAndGet();
+        cancelPendingRequest();
+    }
+
+    /**
+     * Returns true if the given request has not been superseded.
+     *
+     * @param requestId the identifier of the request to check
+     * @return boolean
+     */
+    public boolean isCurrent(long requestId) {
+        return requestId == currentRequestId.get();
+    }
+
+    /**
+     * Stops the background thread. Requests that are pending or running are abandoned.
+     */
+    public synchronized void shutdown() {
+        cancel();
+        executor.shutdownNow();
+    }
+
+    /**
+     * Cancels the most recently submitted request, interrupting it if it is already running.
+     */
+    private void cancelPendingRequest() {
+        if (pendingRequest != null) {
+            pendingRequest.cancel( true );
+            pendingRequest = null;
+        }
+    }
+
+}
@@ -58,6 +58,28 @@ public class FacetSelections {
         }
     }
 
+    /**
+     * Returns a key that identifies the user's current facet selections. Two calls return equal keys if and only if
+     * the same facet is selected for each entity, so the key can be used to cache generated examples.
+     * 
+     * @return String
+     */
+    public String getSelectionKey() {
+        StringBuilder key = new StringBuilder();
+
+        for (EntityFacetSelection facetSelection : facetSelectionList) {
+            String facetName = facetSelection.getSelectedFacetName();
+
+            if (facetName != null) {
+                NamedEntity e = nonAliasedEntity( facetSelection.getEntityType() );
+
+                key.append( new QName( e.getNamespace(), e.getLocalName() ) ).append( '=' ).append( facetName )
+                    .append( ';' );
+            }
+        }
+        return key.toString();
+    }
+
     /**
      * Returns the <code>EntityFacetSelection</code> for the given entity type. If no selection for the given entity yet
      * exists, this method will return null.
@@ -0,0 +1,96 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.opentravel.examplehelper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opentravel.examplehelper.BulkExampleGenerator.EntityResult;
+import org.opentravel.schemacompiler.loader.LibraryModelLoader;
+import org.opentravel.schemacompiler.loader.impl.LibraryStreamInputSource;
+import org.opentravel.schemacompiler.model.TLLibrary;
+import org.opentravel.schemacompiler.model.TLModel;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Verifies the functions of the <code>BulkExampleGenerator</code> class.
+ */
+public class TestBulkExampleGenerator {
+
+    private static File testFolder;
+
+    @BeforeClass
+    public static void setupTests() throws Exception {
+        File sourceFile = new File( System.getProperty( "user.dir" ), "/src/test/resources/test-data/test-model.otm" );
+        String content = new String( Files.readAllBytes( sourceFile.toPath() ), StandardCharsets.UTF_8 );
+
+        testFolder = new File( System.getProperty( "user.dir" ), "/target/test-output/TestBulkExampleGenerator" );
+        testFolder.mkdirs();
+
+        // Create a second version of the same library in a later version namespace
+        Files.write( new File( testFolder, "test-model_v1.otm" ).toPath(), content.getBytes( StandardCharsets.UTF_8 ) );
+        Files.write( new File( testFolder, "test-model_v1_1.otm" ).toPath(),
+            content.replace( "/SchemaCompiler/test/v1<", "/SchemaCompiler/test/v1_1<" )
+                .getBytes( StandardCharsets.UTF_8 ) );
+    }
+
+    @Test
+    public void testGenerateExamples_multipleVersions() throws Exception {
+        LibraryModelLoader<InputStream> modelLoader = new LibraryModelLoader<>();
+        File outputFolder = new File( testFolder, "output" );
+        BulkExampleGenerator generator = new BulkExampleGenerator( outputFolder, 4 );
+        Set<File> exampleFiles = new HashSet<>();
+        int entityCount = 0;
+
+        modelLoader.loadLibraryModel( new LibraryStreamInputSource( new File( testFolder, "test-model_v1.otm" ) ) );
+        modelLoader.loadLibraryModel( new LibraryStreamInputSource( new File( testFolder, "test-model_v1_1.otm" ) ) );
+        TLModel model = modelLoader.getLibraryModel();
+
+        assertEquals( 2, model.getUserDefinedLibraries().size() );
+
+        for (TLLibrary library : model.getUserDefinedLibraries()) {
+            entityCount += BulkExampleGenerator.getExampleEntities( library ).size();
+        }
+        List<EntityResult> results = generator.generateExamples( model, null );
+
+        assertEquals( entityCount, results.size() );
+
+        for (EntityResult result : results) {
+            assertNull( result.getError() );
+            assertEquals( 2, result.getExampleFiles().size() );
+
+            for (File exampleFile : result.getExampleFiles()) {
+                assertTrue( exampleFile.exists() );
+                assertTrue( exampleFiles.add( exampleFile ) );
+            }
+        }
+        assertEquals( entityCount * 2, exampleFiles.size() );
+        assertEquals( 2, outputFolder.listFiles( File::isDirectory ).length );
+    }
+
+}
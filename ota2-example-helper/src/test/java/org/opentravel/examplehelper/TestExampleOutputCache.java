@@ -0,0 +1,93 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.opentravel.examplehelper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+/**
+ * Verifies the functions of the <code>ExampleOutputCache</code> class.
+ */
+public class TestExampleOutputCache {
+
+    @Test
+    public void testCacheHit() throws Exception {
+        ExampleOutputCache<String,String> cache = new ExampleOutputCache<>( 100, String::length );
+
+        cache.put( "a", "0123456789" );
+        assertEquals( "0123456789", cache.get( "a" ) );
+        assertNull( cache.get( "b" ) );
+        assertEquals( 1, cache.size() );
+        assertEquals( 10, cache.getTotalCharacters() );
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsedByCharacters() throws Exception {
+        ExampleOutputCache<String,String> cache = new ExampleOutputCache<>( 25, String::length );
+
+        cache.put( "a", "0123456789" );
+        cache.put( "b", "0123456789" );
+        cache.get( "a" ); // makes "b" the least recently used entry
+        cache.put( "c", "0123456789" );
+
+        assertEquals( "0123456789", cache.get( "a" ) );
+        assertNull( cache.get( "b" ) );
+        assertEquals( "0123456789", cache.get( "c" ) );
+        assertEquals( 20, cache.getTotalCharacters() );
+    }
+
+    @Test
+    public void testOversizedValueNotCached() throws Exception {
+        ExampleOutputCache<String,String> cache = new ExampleOutputCache<>( 5, String::length );
+
+        cache.put( "a", "0123" );
+        cache.put( "b", "0123456789" );
+
+        assertNull( cache.get( "b" ) );
+        assertEquals( "0123", cache.get( "a" ) );
+        assertEquals( 4, cache.getTotalCharacters() );
+    }
+
+    @Test
+    public void testReplaceUpdatesTotal() throws Exception {
+        ExampleOutputCache<String,String> cache = new ExampleOutputCache<>( 100, String::length );
+
+        cache.put( "a", "0123456789" );
+        cache.put( "a", "01234" );
+
+        assertEquals( "01234", cache.get( "a" ) );
+        assertEquals( 1, cache.size() );
+        assertEquals( 5, cache.getTotalCharacters() );
+    }
+
+    @Test
+    public void testClear() throws Exception {
+        ExampleOutputCache<String,String> cache = new ExampleOutputCache<>( 100, String::length );
+
+        cache.put( "a", "0123456789" );
+        cache.put( "b", "0123456789" );
+        cache.clear();
+
+        assertNull( cache.get( "a" ) );
+        assertEquals( 0, cache.size() );
+        assertEquals( 0, cache.getTotalCharacters() );
+    }
+
+}
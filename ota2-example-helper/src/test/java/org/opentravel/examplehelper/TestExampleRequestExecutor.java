@@ -0,0 +1,175 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.opentravel.examplehelper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Verifies the functions of the <code>ExampleRequestExecutor</code> class.
+ */
+public class TestExampleRequestExecutor {
+
+    private ExampleRequestExecutor executor;
+    private List<String> results;
+
+    @Before
+    public void setup() throws Exception {
+        executor = new ExampleRequestExecutor( "TestExampleGenerator" );
+        results = new CopyOnWriteArrayList<>();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        executor.shutdown();
+    }
+
+    @Test
+    public void testResultDelivered() throws Exception {
+        CountDownLatch delivered = new CountDownLatch( 1 );
+        long requestId = executor.submit( superseded -> "result", (result, superseded) -> {
+            results.add( result );
+            delivered.countDown();
+        } );
+
+        assertTrue( delivered.await( 10, TimeUnit.SECONDS ) );
+        assertEquals( 1, results.size() );
+        assertEquals( "result", results.get( 0 ) );
+        assertTrue( executor.isCurrent( requestId ) );
+    }
+
+    @Test
+    public void testRunningRequestSuperseded() throws Exception {
+        CountDownLatch started = new CountDownLatch( 1 );
+        CountDownLatch stopped = new CountDownLatch( 1 );
+        CountDownLatch delivered = new CountDownLatch( 1 );
+        AtomicBoolean interrupted = new AtomicBoolean();
+        long firstId = executor.submit( superseded -> {
+            started.countDown();
+            try {
+                Thread.sleep( 10000 );
+
+            } catch (InterruptedException e) {
+                interrupted.set( true );
+            }
+            stopped.countDown();
+            return superseded.getAsBoolean() ? "superseded" : "stale";
+        }, (result, superseded) -> results.add( result ) );
+
+        assertTrue( started.await( 10, TimeUnit.SECONDS ) );
+        long secondId = executor.submit( superseded -> "newest", (result, superseded) -> {
+            results.add( result );
+            delivered.countDown();
+        } );
+
+        assertTrue( stopped.await( 10, TimeUnit.SECONDS ) );
+        assertTrue( delivered.await( 10, TimeUnit.SECONDS ) );
+        assertTrue( interrupted.get() );
+        assertFalse( executor.isCurrent( firstId ) );
+        assertTrue( executor.isCurrent( secondId ) );
+        assertEquals( 1, results.size() );
+        assertEquals( "newest", results.get( 0 ) );
+    }
+
+    @Test
+    public void testQueuedRequestNeverRuns() throws Exception {
+        CountDownLatch started = new CountDownLatch( 1 );
+        CountDownLatch release = new CountDownLatch( 1 );
+        CountDownLatch delivered = new CountDownLatch( 1 );
+        AtomicBoolean queuedRan = new AtomicBoolean();
+
+        // Block the worker thread without responding to interrupts so the next request stays queued
+        executor.submit( superseded -> {
+            started.countDown();
+            awaitUninterruptibly( release );
+            return "first";
+        }, (result, superseded) -> results.add( result ) );
+        assertTrue( started.await( 10, TimeUnit.SECONDS ) );
+
+        executor.submit( superseded -> {
+            queuedRan.set( true );
+            return "queued";
+        }, (result, superseded) -> results.add( result ) );
+        executor.submit( superseded -> "newest", (result, superseded) -> {
+            results.add( result );
+            delivered.countDown();
+        } );
+        release.countDown();
+
+        assertTrue( delivered.await( 10, TimeUnit.SECONDS ) );
+        assertFalse( queuedRan.get() );
+        assertEquals( 1, results.size() );
+        assertEquals( "newest", results.get( 0 ) );
+    }
+
+    @Test
+    public void testCancel() throws Exception {
+        CountDownLatch started = new CountDownLatch( 1 );
+        CountDownLatch release = new CountDownLatch( 1 );
+        CountDownLatch finished = new CountDownLatch( 1 );
+        long requestId = executor.submit( superseded -> {
+            started.countDown();
+            awaitUninterruptibly( release );
+            return "cancelled";
+        }, (result, superseded) -> results.add( result ) );
+
+        assertTrue( started.await( 10, TimeUnit.SECONDS ) );
+        executor.cancel();
+        release.countDown();
+
+        // Requests run in order, so this one finishes after the cancelled request's handler would have been called
+        executor.submit( superseded -> {
+            finished.countDown();
+            return null;
+        }, (result, superseded) -> {
+        } );
+        assertTrue( finished.await( 10, TimeUnit.SECONDS ) );
+        assertFalse( executor.isCurrent( requestId ) );
+        assertTrue( results.isEmpty() );
+    }
+
+    /**
+     * Waits for the given latch to reach zero, ignoring any interrupts along the way.
+     * 
+     * @param latch the latch to wait for
+     */
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        boolean done = false;
+
+        while (!done) {
+            try {
+                done = latch.await( 10, TimeUnit.SECONDS );
+
+            } catch (InterruptedException e) {
+                // Ignore and keep waiting
+            }
+        }
+    }
+
+}
@@ -20,18 +20,11 @@ import org.w3c.dom.Attr;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 
-import javafx.scene.image.Image;
-
 /**
  * Tree node that encapsulates a single node from the a DOM tree structure.
  */
 public abstract class AbstractDOMTreeNode {
 
-    protected static final Image attributeIcon =
-        new Image( AbstractDOMTreeNode.class.getResourceAsStream( "/images/nattrib.gif" ) );
-    protected static final Image elementIcon =
-        new Image( AbstractDOMTreeNode.class.getResourceAsStream( "/images/nelem.gif" ) );
-
     private Node domNode;
     private String label;
 
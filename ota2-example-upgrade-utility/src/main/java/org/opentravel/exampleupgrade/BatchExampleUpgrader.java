@@ -0,0 +1,661 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.opentravel.exampleupgrade;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opentravel.schemacompiler.codegen.example.ExampleGeneratorOptions;
+import org.opentravel.schemacompiler.codegen.util.ExtensionPointRegistry;
+import org.opentravel.schemacompiler.loader.LibraryInputSource;
+import org.opentravel.schemacompiler.loader.LibraryModelLoader;
+import org.opentravel.schemacompiler.loader.impl.LibraryStreamInputSource;
+import org.opentravel.schemacompiler.model.TLBusinessObject;
+import org.opentravel.schemacompiler.model.TLChoiceObject;
+import org.opentravel.schemacompiler.model.TLCoreObject;
+import org.opentravel.schemacompiler.model.TLFacet;
+import org.opentravel.schemacompiler.model.TLFacetOwner;
+import org.opentravel.schemacompiler.model.TLLibrary;
+import org.opentravel.schemacompiler.model.TLModel;
+import org.opentravel.schemacompiler.repository.ProjectManager;
+import org.opentravel.schemacompiler.repository.ReleaseManager;
+import org.opentravel.schemacompiler.repository.RepositoryManager;
+import org.opentravel.schemacompiler.validate.FindingType;
+import org.opentravel.schemacompiler.validate.ValidationFindings;
+import org.opentravel.schemacompiler.visitor.ModelNavigator;
+import org.opentravel.schemacompiler.xml.XMLPrettyPrinter;
+import org.w3c.dom.Attr;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import javax.xml.namespace.QName;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import javafx.scene.control.TreeItem;
+
+/**
+ * Upgrades every XML example in a folder without the user interface or the JavaFX toolkit. The model is loaded and
+ * scanned once; the candidate entity tables and preferred facets built from that scan are read-only and shared by all
+ * of the upgrades, which run in parallel. Each worker thread builds its own extension point registry. For each
+ * example, the upgraded XML is written to the output folder along with a report that lists the original nodes that
+ * could not be matched and the nodes that were generated automatically.
+ */
+public class BatchExampleUpgrader {
+
+    private static final Logger log = LogManager.getLogger( BatchExampleUpgrader.class );
+
+    private static final String USAGE = "Usage: BatchExampleUpgrader [-threads <n>] [-repeat <n>]"
+        + " [-namespace <base namespace>] <project.otp | release.otr | library.otm> <example folder> <output folder>";
+
+    private TLModel model;
+    private File outputFolder;
+    private int threads;
+    private int maxRepeat = 2;
+    private SelectionStrategy selectionStrategy = SelectionStrategy.getDefault();
+    private Map<QName,List<OTMObjectChoice>> familyMatches;
+    private Map<String,List<OTMObjectChoice>> allElementsByBaseNS;
+    private Map<TLFacetOwner,TLFacet> preferredFacets = new HashMap<>();
+    private ThreadLocal<ExtensionPointRegistry> extensionPointRegistry;
+
+    /**
+     * The outcome of upgrading a single example file.
+     */
+    public static class FileResult {
+
+        private File exampleFile;
+        private File upgradedFile;
+        private File reportFile;
+        private OTMObjectChoice entity;
+        private List<String> unmatchedNodes = new ArrayList<>();
+        private List<String> autogenNodes = new ArrayList<>();
+        private List<String> missingNodes = new ArrayList<>();
+        private long elapsedMillis;
+        private Exception error;
+
+        /**
+         * Constructor that specifies the example file to be upgraded.
+         * 
+         * @param exampleFile the original example file
+         */
+        public FileResult(File exampleFile) {
+            this.exampleFile = exampleFile;
+        }
+
+        /**
+         * Returns the original example file.
+         *
+         * @return File
+         */
+        public File getExampleFile() {
+            return exampleFile;
+        }
+
+        /**
+         * Returns the file to which the upgraded example was written or null if it was not upgraded.
+         *
+         * @return File
+         */
+        public File getUpgradedFile() {
+            return upgradedFile;
+        }
+
+        /**
+         * Returns the file to which the upgrade report was written or null if it was not upgraded.
+         *
+         * @return File
+         */
+        public File getReportFile() {
+            return reportFile;
+        }
+
+        /**
+         * Returns the OTM entity that was selected for the example's root element or null if no entity matched.
+         *
+         * @return OTMObjectChoice
+         */
+        public OTMObjectChoice getEntity() {
+            return entity;
+        }
+
+        /**
+         * Returns the paths of the original nodes that were not carried over to the upgraded example.
+         *
+         * @return List&lt;String&gt;
+         */
+        public List<String> getUnmatchedNodes() {
+            return Collections.unmodifiableList( unmatchedNodes );
+        }
+
+        /**
+         * Returns the paths of the upgraded nodes whose content was generated automatically.
+         *
+         * @return List&lt;String&gt;
+         */
+        public List<String> getAutogenNodes() {
+            return Collections.unmodifiableList( autogenNodes );
+        }
+
+        /**
+         * Returns the paths of the upgraded nodes for which no content was found or generated.
+         *
+         * @return List&lt;String&gt;
+         */
+        public List<String> getMissingNodes() {
+            return Collections.unmodifiableList( missingNodes );
+        }
+
+        /**
+         * Returns the time taken to upgrade the example and write its output.
+         *
+         * @return long
+         */
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        /**
+         * Returns the exception that prevented the example from being upgraded or null if it was upgraded.
+         *
+         * @return Exception
+         */
+        public Exception getError() {
+            return error;
+        }
+
+    }
+
+    /**
+     * Constructor that scans the given model to build the lookup tables shared by all of the upgrades.
+     * 
+     * @param model the model to which examples will be upgraded
+     * @param outputFolder the folder to which the upgraded examples and reports will be written
+     * @param threads the number of examples to upgrade concurrently
+     */
+    public BatchExampleUpgrader(TLModel model, File outputFolder, int threads) {
+        QNameCandidateVisitor visitor = new QNameCandidateVisitor();
+        FacetSelections facetSelections = new FacetSelections();
+
+        new ModelNavigator( visitor ).navigate( model );
+        this.model = model;
+        this.outputFolder = outputFolder;
+        this.threads = Math.max( 1, threads );
+        this.familyMatches = visitor.getFamilyMatches();
+        this.allElementsByBaseNS = visitor.getAllElementsByBaseNS();
+        this.extensionPointRegistry = ThreadLocal.withInitial( () -> new ExtensionPointRegistry( model ) );
+
+        for (TLLibrary library : model.getUserDefinedLibraries()) {
+            for (TLBusinessObject entity : library.getBusinessObjectTypes()) {
+                facetSelections.addFacetSelection( new EntityFacetSelection( entity ) );
+            }
+            for (TLChoiceObject entity : library.getChoiceObjectTypes()) {
+                facetSelections.addFacetSelection( new EntityFacetSelection( entity ) );
+            }
+            for (TLCoreObject entity : library.getCoreObjectTypes()) {
+                facetSelections.addFacetSelection( new EntityFacetSelection( entity ) );
+            }
+        }
+        for (EntityFacetSelection facetSelection : facetSelections.getAllFacetSelections()) {
+            if ((facetSelection.getFacetOwner() != null) && (facetSelection.getSelectedFacet() != null)) {
+                preferredFacets.put( facetSelection.getFacetOwner(), facetSelection.getSelectedFacet() );
+            }
+        }
+    }
+
+    /**
+     * Assigns the maximum number of times that repeating elements are generated.
+     * 
+     * @param maxRepeat the maximum repeat count to assign
+     */
+    public void setMaxRepeat(int maxRepeat) {
+        this.maxRepeat = maxRepeat;
+    }
+
+    /**
+     * Assigns the strategy used to select the OTM entity for each example's root element.
+     * 
+     * @param selectionStrategy the selection strategy to assign
+     */
+    public void setSelectionStrategy(SelectionStrategy selectionStrategy) {
+        this.selectionStrategy = (selectionStrategy == null) ? SelectionStrategy.getDefault() : selectionStrategy;
+    }
+
+    /**
+     * Upgrades all of the XML examples in the given folder. The listener is called as each example completes. Errors
+     * in individual examples are reported in their results; an exception is only thrown if the batch itself could not
+     * be completed. The output folder must not be the example folder, since the upgraded examples are written with the
+     * same names as the originals.
+     * 
+     * @param exampleFolder the folder that contains the examples to upgrade
+     * @param listener the listener to notify of each result (may be null)
+     * @return List&lt;FileResult&gt;
+     * @throws ExampleUpgradeException thrown if the output folder is the example folder, an upgrade fails
+     *         unexpectedly, or the batch is interrupted
+     */
+    public List<FileResult> upgradeExamples(File exampleFolder, Consumer<FileResult> listener)
+        throws ExampleUpgradeException {
+        checkOutputFolder( exampleFolder );
+        File[] exampleFiles = exampleFolder.listFiles( f -> f.isFile() && f.getName().endsWith( ".xml" ) );
+        List<FileResult> results = new ArrayList<>();
+
+        if (exampleFiles == null) {
+            return results;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool( threads, newThreadFactory() );
+
+        try {
+            CompletionService<FileResult> completionService = new ExecutorCompletionService<>( executor );
+
+            outputFolder.mkdirs();
+
+            for (File exampleFile : exampleFiles) {
+                completionService.submit( () -> upgradeExample( exampleFile ) );
+            }
+            for (int i = 0; i < exampleFiles.length; i++) {
+                FileResult result = completionService.take().get();
+
+                results.add( result );
+
+                if (listener != null) {
+                    listener.accept( result );
+                }
+            }
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExampleUpgradeException( "Example upgrade interrupted.", e );
+
+        } catch (ExecutionException e) {
+            throw new ExampleUpgradeException( "Unexpected exception during example upgrade.", e.getCause() );
+
+        } finally {
+            executor.shutdownNow();
+        }
+        return results;
+    }
+
+    /**
+     * Verifies that the output folder is not the given example folder, so that upgrading an example cannot overwrite
+     * the original.
+     * 
+     * @param exampleFolder the folder that contains the examples to upgrade
+     * @throws ExampleUpgradeException thrown if the output folder is the example folder
+     */
+    private void checkOutputFolder(File exampleFolder) throws ExampleUpgradeException {
+        try {
+            if (exampleFolder.getCanonicalFile().equals( outputFolder.getCanonicalFile() )) {
+                throw new ExampleUpgradeException(
+                    "The output folder must be different from the example folder: " + outputFolder.getPath() );
+            }
+
+        } catch (IOException e) {
+            throw new ExampleUpgradeException( "Unable to resolve the output folder: " + outputFolder.getPath(), e );
+        }
+    }
+
+    /**
+     * Upgrades a single example and writes the upgraded XML and its report to the output folder.
+     * 
+     * @param exampleFile the example file to upgrade
+     * @return FileResult
+     */
+    private FileResult upgradeExample(File exampleFile) {
+        FileResult result = new FileResult( exampleFile );
+        long startTime = System.currentTimeMillis();
+
+        try {
+            DocumentBuilderFactory dbFactory = DocumentBuilderFactory.newInstance();
+            dbFactory.setNamespaceAware( true );
+            DocumentBuilder dBuilder = dbFactory.newDocumentBuilder();
+            Document originalDocument = dBuilder.parse( exampleFile );
+            Element originalRoot = originalDocument.getDocumentElement();
+
+            result.entity = selectEntity( originalRoot );
+
+            if (result.entity == null) {
+                throw new ExampleUpgradeException(
+                    "No OTM entity found for root element: " + HelperUtils.getElementName( originalRoot ) );
+            }
+            UpgradeTreeBuilder treeBuilder = new UpgradeTreeBuilder( newOptions() );
+            String baseName = exampleFile.getName().substring( 0, exampleFile.getName().length() - 4 );
+
+            treeBuilder.setExtensionPointRegistry( model, extensionPointRegistry.get() );
+
+            TreeItem<DOMTreeUpgradeNode> upgradeTree =
+                treeBuilder.buildUpgradeDOMTree( result.entity.getOtmObject(), originalRoot );
+            Document upgradeDocument = upgradeTree.getValue().getDomNode().getOwnerDocument();
+
+            collectUpgradeNodes( upgradeTree, result );
+            collectUnmatchedNodes( originalRoot, result );
+            result.upgradedFile = new File( outputFolder, baseName + ".xml" );
+            result.reportFile = new File( outputFolder, baseName + "-report.txt" );
+
+            try (OutputStream out = new FileOutputStream( result.upgradedFile )) {
+                new XMLPrettyPrinter().formatDocument( upgradeDocument, out );
+            }
+            writeReport( result );
+
+        } catch (Exception e) {
+            result.error = e;
+        }
+        result.elapsedMillis = System.currentTimeMillis() - startTime;
+        return result;
+    }
+
+    /**
+     * Returns the OTM entity to use for the given root element. This is the same entity that the Example Upgrade
+     * utility selects by default: an exact match of the element's qualified name or, if there is none, the first
+     * candidate for the current selection strategy.
+     * 
+     * @param rootElement the root element of the original example
+     * @return OTMObjectChoice
+     */
+    public OTMObjectChoice selectEntity(Element rootElement) {
+        QName rootName = HelperUtils.getElementName( rootElement );
+        String rootBaseNS = HelperUtils.getBaseNamespace( rootName.getNamespaceURI() );
+        List<OTMObjectChoice> candidates = null;
+
+        switch (selectionStrategy.getStrategyType()) {
+            case BASE_FAMILY:
+                candidates = familyMatches.get( new QName( rootBaseNS, rootName.getLocalPart() ) );
+                break;
+            case EXAMPLE_NAMESPACE:
+                candidates = allElementsByBaseNS.get( rootBaseNS );
+                break;
+            case USER_NAMESPACE:
+                candidates = allElementsByBaseNS.get( selectionStrategy.getUserNamespace() );
+                break;
+            default:
+                // No default action required
+        }
+        if ((candidates == null) || candidates.isEmpty()) {
+            return null;
+        }
+        for (OTMObjectChoice candidate : candidates) {
+            if (candidate.getOtmObjectName().equals( rootName )) {
+                return candidate;
+            }
+        }
+        return candidates.get( 0 );
+    }
+
+    /**
+     * Returns the options to use when generating unmatched sections of an upgraded example.
+     * 
+     * @return ExampleGeneratorOptions
+     */
+    private ExampleGeneratorOptions newOptions() {
+        ExampleGeneratorOptions options = new ExampleGeneratorOptions();
+
+        options.setMaxRepeat( maxRepeat );
+        preferredFacets.forEach( options::setPreferredFacet );
+        return options;
+    }
+
+    /**
+     * Records the paths of all auto-generated and missing nodes of the upgrade tree.
+     * 
+     * @param treeItem the upgrade tree item to analyze
+     * @param result the result to which the node paths will be added
+     */
+    private void collectUpgradeNodes(TreeItem<DOMTreeUpgradeNode> treeItem, FileResult result) {
+        DOMTreeUpgradeNode node = treeItem.getValue();
+
+        if (node.getMatchType() == ExampleMatchType.NONE) {
+            result.autogenNodes.add( getNodePath( node.getDomNode() ) );
+
+        } else if (node.getMatchType() == ExampleMatchType.MISSING) {
+            result.missingNodes.add( getNodePath( node.getDomNode() ) );
+        }
+        for (TreeItem<DOMTreeUpgradeNode> childItem : treeItem.getChildren()) {
+            collectUpgradeNodes( childItem, result );
+        }
+    }
+
+    /**
+     * Records the paths of all elements and attributes of the original example that were not referenced by the
+     * upgrade tree.
+     * 
+     * @param originalNode the original DOM node to analyze
+     * @param result the result to which the node paths will be added
+     */
+    private void collectUnmatchedNodes(Node originalNode, FileResult result) {
+        if (!Boolean.TRUE.equals( originalNode.getUserData( DOMTreeOriginalNode.IS_REFERENCED_KEY ) )) {
+            result.unmatchedNodes.add( getNodePath( originalNode ) );
+        }
+        if (originalNode instanceof Element) {
+            NamedNodeMap attrs = originalNode.getAttributes();
+
+            for (int i = 0; i < attrs.getLength(); i++) {
+                Node attr = attrs.item( i );
+
+                if (!attr.getNodeName().equals( "xmlns" ) && !attr.getNodeName().contains( ":" )) {
+                    collectUnmatchedNodes( attr, result );
+                }
+            }
+            for (Node child = originalNode.getFirstChild(); child != null; child = child.getNextSibling()) {
+                if (child instanceof Element) {
+                    collectUnmatchedNodes( child, result );
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns a path expression that identifies the given element or attribute within its document.
+     * 
+     * @param domNode the DOM node for which to return a path
+     * @return String
+     */
+    private static String getNodePath(Node domNode) {
+        StringBuilder path = new StringBuilder();
+        Node currentNode = domNode;
+
+        if (domNode instanceof Attr) {
+            path.append( "/@" ).append( domNode.getNodeName() );
+            currentNode = ((Attr) domNode).getOwnerElement();
+        }
+        while (currentNode instanceof Element) {
+            path.insert( 0, currentNode.getNodeName() ).insert( 0, '/' );
+            currentNode = currentNode.getParentNode();
+        }
+        return path.toString();
+    }
+
+    /**
+     * Writes the report of unmatched, auto-generated, and missing nodes for an upgraded example.
+     * 
+     * @param result the result for which to write the report
+     * @throws IOException thrown if the report cannot be written
+     */
+    private void writeReport(FileResult result) throws IOException {
+        try (PrintWriter out = new PrintWriter( result.reportFile, StandardCharsets.UTF_8.name() )) {
+            out.println( "Example:  " + result.exampleFile.getName() );
+            out.println( "Entity:   " + result.entity.getOtmObjectName() );
+            out.println( "Upgraded: " + result.upgradedFile.getName() );
+            writeSection( out, "Unmatched Original Nodes", result.unmatchedNodes );
+            writeSection( out, "Auto-Generated Nodes", result.autogenNodes );
+            writeSection( out, "Missing Nodes", result.missingNodes );
+        }
+    }
+
+    /**
+     * Writes a titled list of node paths to the report.
+     * 
+     * @param out the writer to which the section will be written
+     * @param title the title of the section
+     * @param nodePaths the node paths to list
+     */
+    private void writeSection(PrintWriter out, String title, List<String> nodePaths) {
+        out.println();
+        out.println( String.format( "%s (%d):", title, nodePaths.size() ) );
+
+        for (String nodePath : nodePaths) {
+            out.println( "  " + nodePath );
+        }
+    }
+
+    /**
+     * Returns a factory for the daemon threads used to upgrade examples.
+     * 
+     * @return ThreadFactory
+     */
+    private static ThreadFactory newThreadFactory() {
+        AtomicInteger count = new AtomicInteger();
+
+        return r -> {
+            Thread t = new Thread( r, "ExampleUpgrade-" + count.incrementAndGet() );
+
+            t.setDaemon( true );
+            return t;
+        };
+    }
+
+    /**
+     * Loads the model from the given project, release, or library file.
+     * 
+     * @param modelFile the project, release, or library file to load
+     * @return TLModel
+     * @throws Exception thrown if the model cannot be loaded or contains errors
+     */
+    private static TLModel loadModel(File modelFile) throws Exception {
+        ValidationFindings findings;
+        TLModel model;
+
+        if (modelFile.getName().endsWith( ".otr" )) {
+            ReleaseManager manager = new ReleaseManager( RepositoryManager.getDefault() );
+
+            findings = new ValidationFindings();
+            manager.loadRelease( modelFile, findings );
+            model = manager.getModel();
+
+        } else if (modelFile.getName().endsWith( ".otp" )) {
+            ProjectManager manager = new ProjectManager( false );
+
+            findings = new ValidationFindings();
+            manager.loadProject( modelFile, findings );
+            model = manager.getModel();
+
+        } else { // assume OTM library file
+            LibraryInputSource<InputStream> libraryInput = new LibraryStreamInputSource( modelFile );
+            LibraryModelLoader<InputStream> modelLoader = new LibraryModelLoader<>();
+
+            findings = modelLoader.loadLibraryModel( libraryInput );
+            model = modelLoader.getLibraryModel();
+        }
+        if ((findings != null) && findings.hasFinding( FindingType.ERROR )) {
+            throw new IOException( "Validation errors detected in model: " + modelFile.getName() );
+        }
+        return model;
+    }
+
+    /**
+     * Upgrades the examples identified by the command-line arguments and prints a summary for each file.
+     * 
+     * @param args the command-line arguments
+     */
+    public static void main(String[] args) {
+        List<String> files = new ArrayList<>();
+        int threads = Runtime.getRuntime().availableProcessors();
+        int maxRepeat = 2;
+        String userNamespace = null;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "-threads":
+                        threads = Integer.parseInt( args[++i] );
+                        break;
+                    case "-repeat":
+                        maxRepeat = Integer.parseInt( args[++i] );
+                        break;
+                    case "-namespace":
+                        userNamespace = args[++i];
+                        break;
+                    default:
+                        files.add( args[i] );
+                        break;
+                }
+            }
+            if (files.size() != 3) {
+                System.err.println( USAGE );
+                System.exit( 2 );
+            }
+            TLModel model = loadModel( new File( files.get( 0 ) ) );
+            BatchExampleUpgrader upgrader = new BatchExampleUpgrader( model, new File( files.get( 2 ) ), threads );
+            AtomicInteger errorCount = new AtomicInteger();
+            long startTime = System.currentTimeMillis();
+
+            upgrader.setMaxRepeat( maxRepeat );
+
+            if (userNamespace != null) {
+                upgrader.setSelectionStrategy(
+                    new SelectionStrategy( SelectionStrategy.Type.USER_NAMESPACE, userNamespace ) );
+            }
+            List<FileResult> results = upgrader.upgradeExamples( new File( files.get( 1 ) ), r -> {
+                String name = r.getExampleFile().getName();
+
+                if (r.getError() == null) {
+                    System.out.println( String.format( "%6d ms  %s  (%d unmatched, %d auto-generated, %d missing)",
+                        r.getElapsedMillis(), name, r.getUnmatchedNodes().size(), r.getAutogenNodes().size(),
+                        r.getMissingNodes().size() ) );
+
+                } else {
+                    System.out.println( String.format( "%6d ms  %s  ERROR: %s", r.getElapsedMillis(), name,
+                        r.getError().getMessage() ) );
+                    log.error( "Error upgrading example " + name, r.getError() );
+                    errorCount.incrementAndGet();
+                }
+            } );
+            System.out.println( String.format( "Upgraded %d examples in %d ms (%d errors).", results.size(),
+                System.currentTimeMillis() - startTime, errorCount.get() ) );
+            System.exit( (errorCount.get() == 0) ? 0 : 1 );
+
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            System.err.println( USAGE );
+            System.exit( 2 );
+
+        } catch (Exception e) {
+            System.err.println( "ERROR: " + HelperUtils.getErrorMessage( e ) );
+            log.error( "Error during example upgrade.", e );
+            System.exit( 2 );
+        }
+    }
+
+}
@@ -64,10 +64,10 @@ public class DOMTreeOriginalNode extends AbstractDOMTreeNode {
                     treeItem.getChildren().add( createTree( domAttr ) );
                 }
             }
-            nodeImage = elementIcon;
+            nodeImage = Images.elementIcon;
 
         } else { // must be an attribute
-            nodeImage = attributeIcon;
+            nodeImage = Images.attributeIcon;
         }
         treeItem.setGraphic( new ImageView( nodeImage ) );
 
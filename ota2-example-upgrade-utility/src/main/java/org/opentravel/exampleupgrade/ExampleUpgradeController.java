@@ -24,7 +24,7 @@ import org.opentravel.application.common.AbstractMainWindowController;
 import org.opentravel.application.common.FileChooserDelegate;
 import org.opentravel.application.common.OtmApplicationException;
 import org.opentravel.application.common.StatusType;
-import org.opentravel.application.common.SyntaxHighlightBuilder;
+import org.opentravel.application.common.SyntaxHighlighter;
 import org.opentravel.application.common.XmlHighlightBuilder;
 import org.opentravel.schemacompiler.codegen.example.ExampleGeneratorOptions;
 import org.opentravel.schemacompiler.ioc.CompilerExtensionRegistry;
@@ -47,6 +47,7 @@ import org.opentravel.schemacompiler.validate.FindingType;
 import org.opentravel.schemacompiler.validate.ValidationFindings;
 import org.opentravel.schemacompiler.visitor.ModelNavigator;
 import org.opentravel.schemacompiler.xml.XMLPrettyPrinter;
+import org.w3c.dom.Attr;
 import org.w3c.dom.Document;
 
 import java.io.ByteArrayOutputStream;
@@ -99,6 +100,8 @@ import javafx.scene.control.TreeItem.TreeModificationEvent;
 import javafx.scene.control.TreeView;
 import javafx.scene.control.cell.ChoiceBoxTableCell;
 import javafx.scene.effect.Lighting;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
 import javafx.scene.input.DataFormat;
 import javafx.scene.input.DragEvent;
 import javafx.scene.input.Dragboard;
@@ -171,6 +174,7 @@ public class ExampleUpgradeController extends AbstractMainWindowController {
     private Label statusBarLabel;
     private VirtualizedScrollPane<?> previewScrollPane;
     private CodeArea previewPane;
+    private SyntaxHighlighter previewHighlighter;
     private ContextMenu upgradeContextMenu;
 
     private File modelFile;
@@ -452,6 +456,7 @@ public class ExampleUpgradeController extends AbstractMainWindowController {
                     TreeItem<DOMTreeUpgradeNode> upgradeTree = new UpgradeTreeBuilder( getExampleOptions() )
                         .buildUpgradeDOMTree( selectedEntity.getOtmObject(), originalDocument.getDocumentElement() );
 
+                    setUpgradeIcons( upgradeTree );
                     upgradedTreeView.setRoot( upgradeTree );
                     upgradeDocument = upgradeTree.getValue().getDomNode().getOwnerDocument();
                     upgradeDocumentDirty = true;
@@ -482,18 +487,13 @@ public class ExampleUpgradeController extends AbstractMainWindowController {
                 double yScroll = newObjectSelected ? 0.0 : previewScrollPane.estimatedScrollYProperty().getValue();
                 ByteArrayOutputStream out = new ByteArrayOutputStream();
                 OTMObjectChoice selectedEntity = entityChoice.getValue();
-                SyntaxHighlightBuilder highlightingBuilder;
 
                 if (selectedEntity != null) {
-                    highlightingBuilder = new XmlHighlightBuilder();
                     new XMLPrettyPrinter().formatDocument( upgradeDocument, out );
-
-                } else {
-                    highlightingBuilder = new XmlHighlightBuilder();
                 }
 
+                // Highlighting is applied by the preview highlighter as the text changes
                 previewPane.replaceText( new String( out.toByteArray(), StandardCharsets.UTF_8 ) );
-                previewPane.setStyleSpans( 0, highlightingBuilder.computeHighlighting( previewPane.getText() ) );
                 previewScrollPane.estimatedScrollYProperty().setValue( yScroll );
 
             } catch (Exception e) {
@@ -726,6 +726,21 @@ public class ExampleUpgradeController extends AbstractMainWindowController {
         return expandParent || !ExampleMatchType.isMatch( treeItem.getValue().getMatchType() );
     }
 
+    /**
+     * Assigns the element or attribute icon to the given upgrade tree item and all of its children.
+     * 
+     * @param treeItem the tree item to configure
+     */
+    private static void setUpgradeIcons(TreeItem<DOMTreeUpgradeNode> treeItem) {
+        Image nodeIcon = (treeItem.getValue().getDomNode() instanceof Attr) ? Images.attributeIcon : Images.elementIcon;
+
+        treeItem.setGraphic( new ImageView( nodeIcon ) );
+
+        for (TreeItem<DOMTreeUpgradeNode> childItem : treeItem.getChildren()) {
+            setUpgradeIcons( childItem );
+        }
+    }
+
     /**
      * Traverses the given tree and sets the expanded states such that the parents of any unreferenced items are
      * expanded.
@@ -798,6 +813,7 @@ public class ExampleUpgradeController extends AbstractMainWindowController {
         // Since the preview pane is a custom component, we have to configure it manually
         previewPane = new CodeArea();
         previewPane.setEditable( false );
+        previewHighlighter = new SyntaxHighlighter( previewPane, new XmlHighlightBuilder() );
         previewScrollPane = new VirtualizedScrollPane<>( previewPane );
         Node pane = new StackPane( previewScrollPane );
         previewTab.getChildren().add( pane );
@@ -1073,6 +1089,8 @@ public class ExampleUpgradeController extends AbstractMainWindowController {
                     new UpgradeTreeBuilder( upgradeDocument, getExampleOptions() ).replaceUpgradeDOMBranch( upgradeItem,
                         originalItem.getValue().getDomNode() );
 
+                setUpgradeIcons( newUpgradeItem );
+
                 if (newUpgradeItem.getParent() == null) {
                     upgradedTreeView.setRoot( newUpgradeItem );
                 }
@@ -1164,6 +1182,8 @@ public class ExampleUpgradeController extends AbstractMainWindowController {
                     new UpgradeTreeBuilder( upgradeDocument, getExampleOptions() ).replaceUpgradeDOMBranch( upgradeItem,
                         null );
 
+                setUpgradeIcons( newUpgradeItem );
+
                 if (newUpgradeItem.getParent() == null) {
                     upgradedTreeView.setRoot( newUpgradeItem );
                 }
@@ -1190,6 +1210,8 @@ public class ExampleUpgradeController extends AbstractMainWindowController {
             TreeItem<DOMTreeUpgradeNode> newUpgradeItem =
                 new UpgradeTreeBuilder( upgradeDocument, getExampleOptions() ).clearUpgradeDOMBranch( upgradeItem );
 
+            setUpgradeIcons( newUpgradeItem );
+
             if (newUpgradeItem.getParent() == null) {
                 upgradedTreeView.setRoot( newUpgradeItem );
             }
@@ -25,6 +25,8 @@ public class Images {
 
     public static final Image launcherIcon = new Image(
         Images.class.getResourceAsStream( "/org/opentravel/exampleupgrade/images/otm_example_upgrade.png" ) );
+    public static final Image attributeIcon = new Image( Images.class.getResourceAsStream( "/images/nattrib.gif" ) );
+    public static final Image elementIcon = new Image( Images.class.getResourceAsStream( "/images/nelem.gif" ) );
 
     /**
      * Private constructor to prevent instantiation.
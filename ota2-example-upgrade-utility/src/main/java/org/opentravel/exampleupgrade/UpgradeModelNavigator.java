@@ -77,10 +77,24 @@ public class UpgradeModelNavigator extends AbstractNavigator<NamedEntity> {
      * @param exampleOptions the EXAMPLE generation options
      */
     public UpgradeModelNavigator(UpgradeModelVisitor visitor, TLModel model, ExampleGeneratorOptions exampleOptions) {
+        this( visitor, (model == null) ? null : new ExtensionPointRegistry( model ), exampleOptions );
+    }
+
+    /**
+     * Constructor that supplies an extension point registry that was already built for the model. Building the
+     * registry requires a scan of the entire model, so callers that create many navigators for the same model should
+     * build it once and share it.
+     * 
+     * @param visitor the visitor to be notified when model elements are encountered
+     * @param extensionPointRegistry the extension point registry for the model being navigated (may be null)
+     * @param exampleOptions the EXAMPLE generation options
+     */
+    public UpgradeModelNavigator(UpgradeModelVisitor visitor, ExtensionPointRegistry extensionPointRegistry,
+        ExampleGeneratorOptions exampleOptions) {
         super( visitor );
         this.upgradeVisitor = visitor;
         this.exampleOptions = (exampleOptions == null) ? new ExampleGeneratorOptions() : exampleOptions;
-        extensionPointRegistry = (model == null) ? null : new ExtensionPointRegistry( model );
+        this.extensionPointRegistry = extensionPointRegistry;
     }
 
     /**
@@ -22,6 +22,7 @@ import org.opentravel.application.common.OtmApplicationRuntimeException;
 import org.opentravel.schemacompiler.codegen.example.ExampleGeneratorOptions;
 import org.opentravel.schemacompiler.codegen.example.ExampleValueGenerator;
 import org.opentravel.schemacompiler.codegen.util.AliasCodegenUtils;
+import org.opentravel.schemacompiler.codegen.util.ExtensionPointRegistry;
 import org.opentravel.schemacompiler.codegen.util.FacetCodegenUtils;
 import org.opentravel.schemacompiler.codegen.util.XsdCodegenUtils;
 import org.opentravel.schemacompiler.ioc.SchemaDependency;
@@ -51,6 +52,7 @@ import org.w3c.dom.Node;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -63,12 +65,12 @@ import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 
 import javafx.scene.control.TreeItem;
-import javafx.scene.image.Image;
-import javafx.scene.image.ImageView;
 
 /**
  * Utility class that handles the construction of the upgraded DOM tree structure by comparing items from the OTM model
- * and attempting to match them with the original DOM example tree.
+ * and attempting to match them with the original DOM example tree. The tree items that are constructed do not have
+ * graphics, so upgrades can be performed without starting the JavaFX toolkit; icons are assigned by the visual
+ * interface when the tree is displayed.
  */
 public class UpgradeTreeBuilder {
 
@@ -79,6 +81,8 @@ public class UpgradeTreeBuilder {
     private Map<String,String> namespaceMappings;
     private ExampleValueGenerator exampleValueGenerator;
     private ExampleGeneratorOptions exampleOptions;
+    private ExtensionPointRegistry extensionPointRegistry;
+    private TLModel registryModel;
     private Deque<UpgradeNodeContext> elementStack = new ArrayDeque<>();
 
     /**
@@ -102,6 +106,18 @@ public class UpgradeTreeBuilder {
         this.exampleOptions = exampleOptions;
     }
 
+    /**
+     * Assigns an extension point registry that was already built for the model of the entities to be upgraded. If no
+     * registry is assigned, one is built the first time it is needed and reused for the rest of the tree.
+     * 
+     * @param model the model for which the registry was built
+     * @param extensionPointRegistry the extension point registry to assign
+     */
+    public void setExtensionPointRegistry(TLModel model, ExtensionPointRegistry extensionPointRegistry) {
+        this.registryModel = model;
+        this.extensionPointRegistry = extensionPointRegistry;
+    }
+
     /**
      * Constructs the upgraded DOM tree along with the <code>TreeItem</code> structure that will be displayed in the
      * visual interface.
@@ -124,11 +140,9 @@ public class UpgradeTreeBuilder {
         DOMTreeUpgradeNode node = new DOMTreeUpgradeNode( otmEntity, otmEntity, rootElement, matchType );
         TreeItem<DOMTreeUpgradeNode> treeItem = new TreeItem<>( node );
         UpgradeModelVisitor visitor = new UMVisitor();
-        UpgradeModelNavigator navigator =
-            new UpgradeModelNavigator( visitor, otmEntity.getOwningModel(), exampleOptions );
+        UpgradeModelNavigator navigator = newNavigator( visitor, otmEntity.getOwningModel() );
 
         upgradeDocument.appendChild( rootElement );
-        treeItem.setGraphic( new ImageView( AbstractDOMTreeNode.elementIcon ) );
         elementStack.push(
             new UpgradeNodeContext( treeItem, originalRoot, otmEntity, !ExampleMatchType.isMatch( matchType ) ) );
         navigator.navigate( otmEntity );
@@ -201,11 +215,9 @@ public class UpgradeTreeBuilder {
                 isAutoGen ? ExampleMatchType.NONE : getMatchType( elementType, (Element) originalNode );
             DOMTreeUpgradeNode node = new DOMTreeUpgradeNode( elementType, declaredType, upgradeElement, matchType );
             UpgradeModelVisitor visitor = new UMVisitor();
-            UpgradeModelNavigator navigator =
-                new UpgradeModelNavigator( visitor, elementType.getOwningModel(), exampleOptions );
+            UpgradeModelNavigator navigator = newNavigator( visitor, elementType.getOwningModel() );
 
             upgradeTreeItem = new TreeItem<>( node );
-            upgradeTreeItem.setGraphic( new ImageView( AbstractDOMTreeNode.elementIcon ) );
             elementStack
                 .push( new UpgradeNodeContext( upgradeTreeItem, (Element) originalNode, elementType, isAutoGen ) );
             navigator.navigate( elementType );
@@ -276,8 +288,7 @@ public class UpgradeTreeBuilder {
             new DOMTreeUpgradeNode( otmEntity, otmEntity, dummyElement, ExampleMatchType.MANUAL );
         TreeItem<DOMTreeUpgradeNode> dummyItem = new TreeItem<>( dummyNode );
         UpgradeModelVisitor visitor = new UMVisitor();
-        UpgradeModelNavigator navigator =
-            new UpgradeModelNavigator( visitor, otmField.getOwningModel(), exampleOptions );
+        UpgradeModelNavigator navigator = newNavigator( visitor, otmField.getOwningModel() );
         Element parentElement = (originalNode == null) ? null : (Element) originalNode.getParentNode();
         TreeItem<DOMTreeUpgradeNode> upgradeTreeItem;
 
@@ -366,15 +377,12 @@ public class UpgradeTreeBuilder {
         Node origDomNode = treeItem.getValue().getDomNode();
         DOMTreeUpgradeNode newUpgradeNode;
         Node newDomNode;
-        Image nodeIcon;
 
         // Build the placeholder DOM node and remove the original node from its parent
         if (origDomNode instanceof Element) {
             newDomNode = upgradeDocument.createElementNS( origDomNode.getNamespaceURI(), origDomNode.getNodeName() );
-            nodeIcon = AbstractDOMTreeNode.elementIcon;
         } else {
             newDomNode = upgradeDocument.createAttribute( origDomNode.getNodeName() );
-            nodeIcon = AbstractDOMTreeNode.attributeIcon;
         }
         if (origDomNode.getParentNode() != null) {
             origDomNode.getParentNode().removeChild( origDomNode );
@@ -391,7 +399,6 @@ public class UpgradeTreeBuilder {
                 new DOMTreeUpgradeNode( treeItem.getValue().getOtmField(), newDomNode, ExampleMatchType.MISSING );
         }
         newTreeItem = new TreeItem<>( newUpgradeNode );
-        newTreeItem.setGraphic( new ImageView( nodeIcon ) );
         parentTreeItem.getChildren().add( childIndex, newTreeItem );
         parentTreeItem.getChildren().remove( treeItem );
 
@@ -460,23 +467,6 @@ public class UpgradeTreeBuilder {
         return matchType;
     }
 
-    /**
-     * Returns the type of match between the given OTM entity and the DOM element provided.
-     * 
-     * @param otmEntity the OTM entity with which to compare the DOM element
-     * @param domElement the DOM element to be compared
-     * @return ExampleMatchType
-     */
-    private ExampleMatchType getElementMatchType(Element originalElement, Element upgradeElement) {
-        QName entityName = new QName( upgradeElement.getNamespaceURI(), upgradeElement.getLocalName() );
-        ExampleMatchType matchType = ExampleMatchType.NONE;
-
-        if (entityName.getLocalPart().equals( originalElement.getLocalName() )) {
-            matchType = getMatchType( entityName.getNamespaceURI(), originalElement.getNamespaceURI() );
-        }
-        return matchType;
-    }
-
     /**
      * Creates a new DOM element for the given entity.
      * 
@@ -752,6 +742,22 @@ public class UpgradeTreeBuilder {
         }
     }
 
+    /**
+     * Returns a new navigator for the given model. The extension point registry is only rebuilt when the model is
+     * different from the one used by the previous navigator.
+     * 
+     * @param visitor the visitor to be notified when model elements are encountered
+     * @param model the model containing the entities to be navigated
+     * @return UpgradeModelNavigator
+     */
+    private UpgradeModelNavigator newNavigator(UpgradeModelVisitor visitor, TLModel model) {
+        if ((model != null) && ((extensionPointRegistry == null) || (model != registryModel))) {
+            extensionPointRegistry = new ExtensionPointRegistry( model );
+            registryModel = model;
+        }
+        return new UpgradeModelNavigator( visitor, (model == null) ? null : extensionPointRegistry, exampleOptions );
+    }
+
     /**
      * Context that captures the pairing between the upgrade tree node and the original DOM element (if any).
      */
@@ -759,7 +765,9 @@ public class UpgradeTreeBuilder {
 
         private TreeItem<DOMTreeUpgradeNode> upgradeItem;
         private Element originalElement;
-        private Node nextOriginalChild;
+        private List<Element> originalChildren = new ArrayList<>();
+        private OriginalChildIndex originalChildIndex;
+        private int nextChildIndex = 0;
         private NamedEntity otmElementType;
         private boolean autogenNode = false;
         private String manualValue;
@@ -774,14 +782,18 @@ public class UpgradeTreeBuilder {
          */
         public UpgradeNodeContext(TreeItem<DOMTreeUpgradeNode> upgradeItem, Element originalElement,
             NamedEntity otmElementType, boolean autoGenNode) {
+            Node childNode = (originalElement == null) ? null : originalElement.getFirstChild();
+
             this.upgradeItem = upgradeItem;
             this.originalElement = originalElement;
             this.otmElementType = otmElementType;
             this.autogenNode = autoGenNode;
-            this.nextOriginalChild = (originalElement == null) ? null : originalElement.getFirstChild();
 
-            while ((nextOriginalChild != null) && (nextOriginalChild.getNodeType() != Node.ELEMENT_NODE)) {
-                nextOriginalChild = nextOriginalChild.getNextSibling();
+            while (childNode != null) {
+                if (childNode.getNodeType() == Node.ELEMENT_NODE) {
+                    originalChildren.add( (Element) childNode );
+                }
+                childNode = childNode.getNextSibling();
             }
         }
 
@@ -846,7 +858,7 @@ public class UpgradeTreeBuilder {
          * @return Element
          */
         public Element nextOriginalChild() {
-            Element nextChild = (Element) nextOriginalChild;
+            Element nextChild = peekNextOriginalChild();
             advanceToNextOriginalChild();
 
             return nextChild;
@@ -859,7 +871,7 @@ public class UpgradeTreeBuilder {
          * @return Element
          */
         public Element peekNextOriginalChild() {
-            return (Element) nextOriginalChild;
+            return originalChildren.isEmpty() ? null : originalChildren.get( nextChildIndex );
         }
 
         /**
@@ -870,16 +882,8 @@ public class UpgradeTreeBuilder {
          * @return Element
          */
         public Element findNextOriginalChild(Element upgradeElement) {
-            List<Element> elementList = getElementSiblings( peekNextOriginalChild() );
-            Element foundElement = null;
-
-            for (Element nextChild : elementList) {
-                if (ExampleMatchType.isMatch( getElementMatchType( nextChild, upgradeElement ) )) {
-                    nextOriginalChild = foundElement = nextChild;
-                    break;
-                }
-            }
-            return foundElement;
+            return findNextOriginalChild(
+                getIndexKey( upgradeElement.getNamespaceURI(), upgradeElement.getLocalName() ), null );
         }
 
         /**
@@ -890,67 +894,190 @@ public class UpgradeTreeBuilder {
          * @return Element
          */
         public Element findNextOriginalChild(NamedEntity otmEntity) {
-            List<Element> elementList = getElementSiblings( peekNextOriginalChild() );
-            Element foundElement = null;
+            QName entityName = XsdCodegenUtils.getGlobalElementName( otmEntity );
+            QName substitutableName = (entityName == null) ? null : getSubstitutableElementName( otmEntity );
 
-            for (Element nextChild : elementList) {
-                if (ExampleMatchType.isMatch( getMatchType( otmEntity, nextChild ) )) {
-                    nextOriginalChild = foundElement = nextChild;
-                    break;
-                }
+            if (entityName == null) {
+                return null;
             }
-            return foundElement;
+            return findNextOriginalChild( getIndexKey( entityName ),
+                (substitutableName == null) ? null : getIndexKey( substitutableName ) );
         }
 
         /**
-         * Returns a list of all sibling elements (including the one provided). The given element is guranteed to be the
-         * first element in the list followed by all subsequent sibling. Any prior sibling elements, will be appended to
-         * the end of the resulting list.
+         * Returns the first original child at or after the next-original-child position (wrapping around to the start
+         * of the list) whose index key is equal to either of the keys provided. If a matching element is found, it
+         * will be assigned as the next-original-child.
          * 
-         * @param startingElement the starting element in the list of siblings
-         * @return List&lt;Element&gt;
+         * @param indexKey the index key of the element to find
+         * @param altIndexKey an alternate index key of the element to find (may be null)
+         * @return Element
          */
-        private List<Element> getElementSiblings(Element startingElement) {
-            List<Element> siblingList = new ArrayList<>();
-            Node parentNode = (startingElement == null) ? null : startingElement.getParentNode();
-            Node currentNode = startingElement;
-
-            while (currentNode != null) {
-                if (currentNode instanceof Element) {
-                    siblingList.add( (Element) currentNode );
-                }
-                currentNode = currentNode.getNextSibling();
+        private Element findNextOriginalChild(QName indexKey, QName altIndexKey) {
+            if (originalChildren.isEmpty()) {
+                return null;
+            }
+            if (originalChildIndex == null) {
+                originalChildIndex = new OriginalChildIndex( originalChildren );
             }
-            currentNode = (parentNode == null) ? null : parentNode.getFirstChild();
+            int foundIndex = originalChildIndex.find( indexKey, altIndexKey, nextChildIndex );
 
-            while ((currentNode != null) && (currentNode != startingElement)) {
-                if (currentNode instanceof Element) {
-                    siblingList.add( (Element) currentNode );
-                }
-                currentNode = currentNode.getNextSibling();
+            if (foundIndex < 0) {
+                return null;
             }
-            return siblingList;
+            nextChildIndex = foundIndex;
+            return originalChildren.get( foundIndex );
         }
 
         /**
          * Advances to the next DOM element child of the original DOM element. If the end of the child list has been
-         * reached, this method will return null.
+         * reached, this method will wrap around to the first child.
          */
         private void advanceToNextOriginalChild() {
-            while (nextOriginalChild != null) {
-                nextOriginalChild = nextOriginalChild.getNextSibling();
+            if (!originalChildren.isEmpty()) {
+                nextChildIndex = (nextChildIndex + 1) % originalChildren.size();
+            }
+        }
 
-                if ((nextOriginalChild != null) && (nextOriginalChild.getNodeType() == Node.ELEMENT_NODE)) {
-                    break;
+    }
+
+    /**
+     * Returns the key under which elements with the given name are indexed. Two elements match (either partially or
+     * exactly) when they have the same local name and base namespace, so the key is the combination of the two.
+     * 
+     * @param elementName the qualified name of the element
+     * @return QName
+     */
+    static QName getIndexKey(QName elementName) {
+        return getIndexKey( elementName.getNamespaceURI(), elementName.getLocalPart() );
+    }
+
+    /**
+     * Returns the key under which elements with the given namespace and local name are indexed.
+     * 
+     * @param namespace the namespace of the element
+     * @param localName the local name of the element
+     * @return QName
+     */
+    private static QName getIndexKey(String namespace, String localName) {
+        String baseNS = (namespace == null) ? "" : HelperUtils.getBaseNamespace( namespace );
+
+        return new QName( (baseNS == null) ? "" : baseNS, (localName == null) ? "" : localName );
+    }
+
+    /**
+     * Index of the child elements of an original DOM element by base namespace and local name. For each key, the
+     * index keeps the sorted positions of the matching children along with a cursor to the last position found.
+     * Since the children are usually matched in document order, most lookups are a hash lookup followed by a check
+     * of the cursor or the position after it. Otherwise the positions are searched with a binary search.
+     */
+    static class OriginalChildIndex {
+
+        private int childCount;
+        private Map<QName,int[]> positionsByKey = new HashMap<>();
+        private Map<QName,Integer> cursorsByKey = new HashMap<>();
+
+        /**
+         * Constructor that builds the index for the list of child elements provided.
+         * 
+         * @param childElements the child elements to be indexed
+         */
+        public OriginalChildIndex(List<Element> childElements) {
+            Map<QName,List<Integer>> positionLists = new HashMap<>();
+
+            this.childCount = childElements.size();
+
+            for (int i = 0; i < childElements.size(); i++) {
+                Element child = childElements.get( i );
+
+                positionLists.computeIfAbsent( getIndexKey( child.getNamespaceURI(), child.getLocalName() ),
+                    k -> new ArrayList<>() ).add( i );
+            }
+            positionLists.forEach(
+                (key, positions) -> positionsByKey.put( key, positions.stream().mapToInt( i -> i ).toArray() ) );
+        }
+
+        /**
+         * Returns the position of the first child at or after the starting position (wrapping around to the start of
+         * the list) whose key is equal to either of the keys provided. If no child has either key, this method will
+         * return -1.
+         * 
+         * @param indexKey the index key of the child to find
+         * @param altIndexKey an alternate index key of the child to find (may be null)
+         * @param startPosition the position from which to start the search
+         * @return int
+         */
+        public int find(QName indexKey, QName altIndexKey, int startPosition) {
+            int foundIndex = find( indexKey, startPosition );
+
+            if (altIndexKey != null) {
+                int altIndex = find( altIndexKey, startPosition );
+
+                if ((altIndex >= 0) && ((foundIndex < 0)
+                    || (getDistance( startPosition, altIndex ) < getDistance( startPosition, foundIndex )))) {
+                    foundIndex = altIndex;
                 }
             }
-            if (nextOriginalChild == null) {
-                nextOriginalChild = (originalElement == null) ? null : originalElement.getFirstChild();
+            return foundIndex;
+        }
+
+        /**
+         * Returns the position of the first child with the given key at or after the starting position. If no such
+         * child exists, the position of the first child with the key is returned. If no child has the key, this
+         * method will return -1.
+         * 
+         * @param indexKey the index key of the child to find
+         * @param startPosition the position from which to start the search
+         * @return int
+         */
+        public int find(QName indexKey, int startPosition) {
+            int[] positions = positionsByKey.get( indexKey );
+
+            if (positions == null) {
+                return -1;
+            }
+            int cursor = cursorsByKey.getOrDefault( indexKey, 0 );
 
-                while ((nextOriginalChild != null) && (nextOriginalChild.getNodeType() != Node.ELEMENT_NODE)) {
-                    nextOriginalChild = nextOriginalChild.getNextSibling();
+            if (!isFirstAtOrAfter( positions, cursor, startPosition )) {
+                if (isFirstAtOrAfter( positions, cursor + 1, startPosition )) {
+                    cursor++;
+
+                } else {
+                    cursor = Arrays.binarySearch( positions, startPosition );
+                    cursor = (cursor < 0) ? (-cursor - 1) : cursor;
                 }
             }
+            if (cursor >= positions.length) {
+                cursor = 0; // wrap around to the first matching child
+            }
+            cursorsByKey.put( indexKey, cursor );
+            return positions[cursor];
+        }
+
+        /**
+         * Returns the number of positions from the starting position forward to the given position, wrapping around to
+         * the start of the list.
+         * 
+         * @param startPosition the starting position of the search
+         * @param position the position of a matching child
+         * @return int
+         */
+        private int getDistance(int startPosition, int position) {
+            return (position - startPosition + childCount) % childCount;
+        }
+
+        /**
+         * Returns true if the given cursor is the first of the sorted positions that is at or after the starting
+         * position.
+         * 
+         * @param positions the sorted list of positions
+         * @param cursor the cursor to check
+         * @param startPosition the starting position of the search
+         * @return boolean
+         */
+        private static boolean isFirstAtOrAfter(int[] positions, int cursor, int startPosition) {
+            return (cursor < positions.length) && (positions[cursor] >= startPosition)
+                && ((cursor == 0) || (positions[cursor - 1] < startPosition));
         }
 
     }
@@ -1052,7 +1179,6 @@ public class UpgradeTreeBuilder {
             TreeItem<DOMTreeUpgradeNode> attributeItem =
                 new TreeItem<>( new DOMTreeUpgradeNode( otmAttribute, upgradeAttr, matchType ) );
 
-            attributeItem.setGraphic( new ImageView( AbstractDOMTreeNode.attributeIcon ) );
             currentElementItem.getChildren().add( attributeItem );
         }
 
@@ -1111,7 +1237,6 @@ public class UpgradeTreeBuilder {
             }
 
             elementItem = new TreeItem<>( new DOMTreeUpgradeNode( otmIndicator, indicatorUpgradeElement, matchType ) );
-            elementItem.setGraphic( new ImageView( AbstractDOMTreeNode.elementIcon ) );
             currentElementItem.getChildren().add( elementItem );
         }
 
@@ -1147,7 +1272,6 @@ public class UpgradeTreeBuilder {
             }
 
             attributeItem = new TreeItem<>( new DOMTreeUpgradeNode( otmIndicator, upgradeAttr, matchType ) );
-            attributeItem.setGraphic( new ImageView( AbstractDOMTreeNode.attributeIcon ) );
             currentElementItem.getChildren().add( attributeItem );
         }
 
@@ -1407,7 +1531,6 @@ public class UpgradeTreeBuilder {
                 matchType = ExampleMatchType.MISSING;
                 childElementItem = new TreeItem<>( new DOMTreeUpgradeNode( itemInfo.getOtmElement(),
                     itemInfo.getSimpleChildUpgradeElement(), matchType ) );
-                childElementItem.setGraphic( new ImageView( AbstractDOMTreeNode.elementIcon ) );
                 itemInfo.getCurrentElementItem().getChildren().add( childElementItem );
                 navigateChildren = false;
             }
@@ -1417,7 +1540,6 @@ public class UpgradeTreeBuilder {
                 itemInfo.getUpgradeElement().appendChild( itemInfo.getSimpleChildUpgradeElement() );
                 childElementItem = new TreeItem<>( new DOMTreeUpgradeNode( itemInfo.getOtmElement(),
                     itemInfo.getSimpleChildUpgradeElement(), matchType ) );
-                childElementItem.setGraphic( new ImageView( AbstractDOMTreeNode.elementIcon ) );
                 itemInfo.getCurrentElementItem().getChildren().add( childElementItem );
                 elementStack.peek().nextOriginalChild();
                 elementStack.push( new UpgradeNodeContext( childElementItem, itemInfo.getOriginalChildElement(),
@@ -1476,7 +1598,6 @@ public class UpgradeTreeBuilder {
 
             childElementItem = new TreeItem<>( new DOMTreeUpgradeNode( itemInfo.getElementType(),
                 itemInfo.getOtmElement().getType(), childUpgradeElement, matchType ) );
-            childElementItem.setGraphic( new ImageView( AbstractDOMTreeNode.elementIcon ) );
             itemInfo.getCurrentElementItem().getChildren().add( childElementItem );
 
             if (ExampleMatchType.isMatch( matchType )) {
@@ -1573,7 +1694,6 @@ public class UpgradeTreeBuilder {
                 TreeItem<DOMTreeUpgradeNode> childElementItem =
                     new TreeItem<>( new DOMTreeUpgradeNode( null, null, childUpgradeElement, ExampleMatchType.EXACT ) );
 
-                childElementItem.setGraphic( new ImageView( AbstractDOMTreeNode.elementIcon ) );
                 elementStack.push( new UpgradeNodeContext( childElementItem, originalChildElement, null, false ) );
                 markReferenced( originalChildElement );
                 processChildren = true;
@@ -1646,7 +1766,6 @@ public class UpgradeTreeBuilder {
                 TreeItem<DOMTreeUpgradeNode> childElementItem = new TreeItem<>(
                     new DOMTreeUpgradeNode( otmExtensionPoint, otmExtensionPoint, childUpgradeElement, matchType ) );
 
-                childElementItem.setGraphic( new ImageView( AbstractDOMTreeNode.elementIcon ) );
                 extensionPointElementItem.getValue().getDomNode().appendChild( childUpgradeElement );
                 extensionPointElementItem.getChildren().add( childElementItem );
                 elementStack
@@ -0,0 +1,141 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.opentravel.exampleupgrade;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opentravel.exampleupgrade.BatchExampleUpgrader.FileResult;
+import org.opentravel.schemacompiler.loader.LibraryInputSource;
+import org.opentravel.schemacompiler.loader.LibraryModelLoader;
+import org.opentravel.schemacompiler.loader.impl.LibraryStreamInputSource;
+import org.opentravel.schemacompiler.model.TLModel;
+import org.opentravel.schemacompiler.validate.FindingType;
+import org.opentravel.schemacompiler.validate.ValidationFindings;
+
+import java.io.File;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Verifies the functions of the <code>BatchExampleUpgrader</code> class. These tests do not start the JavaFX toolkit,
+ * since batch upgrades must be able to run without it.
+ */
+public class TestBatchExampleUpgrader {
+
+    private static final String TEST_DATA = System.getProperty( "user.dir" ) + "/src/test/resources/test-data";
+
+    private static TLModel model;
+
+    @BeforeClass
+    public static void setupTests() throws Exception {
+        LibraryInputSource<InputStream> libraryInput =
+            new LibraryStreamInputSource( new File( TEST_DATA, "test-model.otm" ) );
+        LibraryModelLoader<InputStream> modelLoader = new LibraryModelLoader<>();
+        ValidationFindings findings = modelLoader.loadLibraryModel( libraryInput );
+
+        assertFalse( findings.hasFinding( FindingType.ERROR ) );
+        model = modelLoader.getLibraryModel();
+    }
+
+    @Test
+    public void testUpgradeExamples() throws Exception {
+        File outputFolder = newOutputFolder();
+        BatchExampleUpgrader upgrader = new BatchExampleUpgrader( model, outputFolder, 2 );
+        AtomicInteger listenerCount = new AtomicInteger();
+        List<FileResult> results =
+            upgrader.upgradeExamples( new File( TEST_DATA, "examples" ), r -> listenerCount.incrementAndGet() );
+        Map<String,FileResult> resultsByName = new HashMap<>();
+
+        results.forEach( r -> resultsByName.put( r.getExampleFile().getName(), r ) );
+        assertEquals( 2, results.size() );
+        assertEquals( 2, listenerCount.get() );
+
+        FileResult boResult = resultsByName.get( "business-object.xml" );
+
+        assertNotNull( boResult );
+        assertNull( boResult.getError() );
+        assertNotNull( boResult.getEntity() );
+        assertTrue( boResult.getUpgradedFile().exists() );
+        assertTrue( boResult.getReportFile().exists() );
+        assertEquals( outputFolder, boResult.getUpgradedFile().getParentFile() );
+        assertTrue( boResult.getUnmatchedNodes().contains( "/SampleBusinessObjectSummary/obsoleteElement" ) );
+
+        FileResult unknownResult = resultsByName.get( "unknown-entity.xml" );
+
+        assertNotNull( unknownResult );
+        assertTrue( unknownResult.getError() instanceof ExampleUpgradeException );
+        assertNull( unknownResult.getUpgradedFile() );
+        assertFalse( new File( outputFolder, "unknown-entity.xml" ).exists() );
+    }
+
+    @Test
+    public void testConcurrentUpgradesMatchSerial() throws Exception {
+        File exampleFolder = new File( TEST_DATA, "examples" );
+        List<FileResult> serialResults =
+            new BatchExampleUpgrader( model, newOutputFolder(), 1 ).upgradeExamples( exampleFolder, null );
+        Map<String,FileResult> serialByName = new HashMap<>();
+
+        serialResults.forEach( r -> serialByName.put( r.getExampleFile().getName(), r ) );
+
+        for (int i = 0; i < 3; i++) {
+            List<FileResult> results =
+                new BatchExampleUpgrader( model, newOutputFolder(), 4 ).upgradeExamples( exampleFolder, null );
+
+            assertEquals( serialResults.size(), results.size() );
+
+            for (FileResult result : results) {
+                FileResult serialResult = serialByName.get( result.getExampleFile().getName() );
+
+                assertEquals( serialResult.getError() == null, result.getError() == null );
+                assertEquals( serialResult.getUnmatchedNodes(), result.getUnmatchedNodes() );
+                assertEquals( serialResult.getAutogenNodes(), result.getAutogenNodes() );
+                assertEquals( serialResult.getMissingNodes(), result.getMissingNodes() );
+            }
+        }
+    }
+
+    @Test
+    public void testMissingExampleFolder() throws Exception {
+        BatchExampleUpgrader upgrader = new BatchExampleUpgrader( model, newOutputFolder(), 2 );
+
+        assertTrue( upgrader.upgradeExamples( new File( TEST_DATA, "no-such-folder" ), null ).isEmpty() );
+    }
+
+    @Test(expected = ExampleUpgradeException.class)
+    public void testOutputToExampleFolder() throws Exception {
+        File exampleFolder = new File( TEST_DATA, "examples" );
+        File outputFolder = new File( exampleFolder, "../examples" );
+
+        new BatchExampleUpgrader( model, outputFolder, 2 ).upgradeExamples( exampleFolder, null );
+    }
+
+    private static File newOutputFolder() {
+        return new File( System.getProperty( "user.dir" ),
+            "/target/test-output/TestBatchExampleUpgrader/" + System.nanoTime() );
+    }
+
+}
@@ -0,0 +1,238 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.opentravel.exampleupgrade;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+import org.opentravel.exampleupgrade.UpgradeTreeBuilder.OriginalChildIndex;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import javax.xml.namespace.QName;
+import javax.xml.parsers.DocumentBuilderFactory;
+
+/**
+ * Verifies that the <code>OriginalChildIndex</code> used by the <code>UpgradeTreeBuilder</code> finds the same original
+ * child elements as the wrap-around scan of the sibling list that it replaced.
+ */
+public class TestOriginalChildIndex {
+
+    private static final String NS_V1 = "http://www.OpenTravel.org/ns/OTA2/SchemaCompiler/test/v01";
+    private static final String NS_V2 = "http://www.OpenTravel.org/ns/OTA2/SchemaCompiler/test/v02";
+    private static final String OTHER_NS = "http://www.OpenTravel.org/ns/OTA2/SchemaCompiler/other/v01";
+
+    @Test
+    public void testRepeatedSiblings() throws Exception {
+        List<Element> children = newChildren( "A", "A", "A", "B", "B", "C" );
+        OriginalChildIndex index = new OriginalChildIndex( children );
+        QName keyA = key( NS_V1, "A" );
+        QName keyB = key( NS_V1, "B" );
+
+        // Each repeating element is matched in document order as the next-child position advances
+        assertFind( children, index, keyA, null, 0, 0 );
+        assertFind( children, index, keyA, null, 1, 1 );
+        assertFind( children, index, keyA, null, 2, 2 );
+        assertFind( children, index, keyB, null, 3, 3 );
+        assertFind( children, index, keyB, null, 4, 4 );
+        assertFind( children, index, key( NS_V1, "C" ), null, 5, 5 );
+    }
+
+    @Test
+    public void testWrapAround() throws Exception {
+        List<Element> children = newChildren( "A", "B", "C", "A", "D" );
+        OriginalChildIndex index = new OriginalChildIndex( children );
+
+        assertFind( children, index, key( NS_V1, "A" ), null, 4, 0 );
+        assertFind( children, index, key( NS_V1, "B" ), null, 2, 1 );
+        assertFind( children, index, key( NS_V1, "C" ), null, 3, 2 );
+        assertFind( children, index, key( NS_V1, "A" ), null, 1, 3 );
+        assertFind( children, index, key( NS_V1, "D" ), null, 0, 4 );
+    }
+
+    @Test
+    public void testOutOfOrderMatches() throws Exception {
+        List<Element> children = newChildren( "A", "B", "A", "C", "B", "A" );
+        OriginalChildIndex index = new OriginalChildIndex( children );
+        QName keyA = key( NS_V1, "A" );
+
+        // Jump forward, then back, so the cursor for the key cannot simply advance
+        assertFind( children, index, keyA, null, 3, 5 );
+        assertFind( children, index, keyA, null, 1, 2 );
+        assertFind( children, index, key( NS_V1, "B" ), null, 5, 1 );
+        assertFind( children, index, keyA, null, 0, 0 );
+        assertFind( children, index, key( NS_V1, "C" ), null, 0, 3 );
+        assertFind( children, index, key( NS_V1, "missing" ), null, 0, -1 );
+    }
+
+    @Test
+    public void testBaseNamespaceMatches() throws Exception {
+        List<Element> children = new ArrayList<>();
+        Document doc = newDocument();
+
+        children.add( doc.createElementNS( NS_V1, "A" ) );
+        children.add( doc.createElementNS( OTHER_NS, "A" ) );
+        children.add( doc.createElementNS( NS_V2, "A" ) );
+        OriginalChildIndex index = new OriginalChildIndex( children );
+
+        // Elements from a later version of the same base namespace are partial matches
+        assertFind( children, index, key( NS_V2, "A" ), null, 0, 0 );
+        assertFind( children, index, key( NS_V2, "A" ), null, 1, 2 );
+        assertFind( children, index, key( OTHER_NS, "A" ), null, 2, 1 );
+    }
+
+    @Test
+    public void testSubstitutableNames() throws Exception {
+        List<Element> children = newChildren( "Sub", "Base", "Sub", "Other", "Base" );
+        OriginalChildIndex index = new OriginalChildIndex( children );
+        QName keySub = key( NS_V1, "Sub" );
+        QName keyBase = key( NS_V1, "Base" );
+
+        // Whichever of the two names occurs first (after wrapping around) is matched
+        assertFind( children, index, keySub, keyBase, 0, 0 );
+        assertFind( children, index, keySub, keyBase, 1, 1 );
+        assertFind( children, index, keyBase, keySub, 2, 2 );
+        assertFind( children, index, keySub, keyBase, 3, 4 );
+        assertFind( children, index, keySub, key( NS_V1, "missing" ), 3, 0 );
+        assertFind( children, index, key( NS_V1, "missing" ), keyBase, 2, 4 );
+        assertFind( children, index, key( NS_V1, "missing" ), key( NS_V1, "none" ), 2, -1 );
+    }
+
+    @Test
+    public void testRandomLookupsMatchScan() throws Exception {
+        String[] names = {"A", "B", "C", "D"};
+        Random random = new Random( 20200301L );
+
+        for (int run = 0; run < 50; run++) {
+            String[] childNames = new String[1 + random.nextInt( 12 )];
+
+            for (int i = 0; i < childNames.length; i++) {
+                childNames[i] = names[random.nextInt( names.length )];
+            }
+            List<Element> children = newChildren( childNames );
+            OriginalChildIndex index = new OriginalChildIndex( children );
+            int nextChildIndex = 0;
+
+            for (int i = 0; i < 100; i++) {
+                QName indexKey = key( NS_V1, names[random.nextInt( names.length )] );
+                QName altIndexKey = random.nextBoolean() ? null : key( NS_V1, names[random.nextInt( names.length )] );
+                int expected = scan( children, indexKey, altIndexKey, nextChildIndex );
+
+                assertEquals( expected, index.find( indexKey, altIndexKey, nextChildIndex ) );
+
+                // Follow the builder: a match becomes the next child, which is sometimes consumed
+                nextChildIndex = (expected < 0) ? nextChildIndex : expected;
+
+                if (random.nextBoolean()) {
+                    nextChildIndex = (nextChildIndex + 1) % children.size();
+                }
+            }
+        }
+    }
+
+    /**
+     * Asserts that both the index and the wrap-around scan find the expected child position.
+     * 
+     * @param children the child elements that were indexed
+     * @param index the index to check
+     * @param indexKey the index key of the child to find
+     * @param altIndexKey an alternate index key of the child to find (may be null)
+     * @param startPosition the position from which to start the search
+     * @param expectedPosition the expected position of the child found (-1 if none)
+     */
+    private static void assertFind(List<Element> children, OriginalChildIndex index, QName indexKey,
+        QName altIndexKey, int startPosition, int expectedPosition) {
+        assertEquals( expectedPosition, scan( children, indexKey, altIndexKey, startPosition ) );
+        assertEquals( expectedPosition, index.find( indexKey, altIndexKey, startPosition ) );
+    }
+
+    /**
+     * Returns the position of the first child at or after the starting position (wrapping around to the start of the
+     * list) that matches either key. This is the linear scan that the index replaced.
+     * 
+     * @param children the child elements to scan
+     * @param indexKey the index key of the child to find
+     * @param altIndexKey an alternate index key of the child to find (may be null)
+     * @param startPosition the position from which to start the search
+     * @return int
+     */
+    private static int scan(List<Element> children, QName indexKey, QName altIndexKey, int startPosition) {
+        for (int i = 0; i < children.size(); i++) {
+            int position = (startPosition + i) % children.size();
+            Element child = children.get( position );
+            QName childKey = key( child.getNamespaceURI(), child.getLocalName() );
+
+            if (childKey.equals( indexKey ) || childKey.equals( altIndexKey )) {
+                return position;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index key for the given element name.
+     * 
+     * @param namespace the namespace of the element
+     * @param localName the local name of the element
+     * @return QName
+     */
+    private static QName key(String namespace, String localName) {
+        return UpgradeTreeBuilder.getIndexKey( new QName( namespace, localName ) );
+    }
+
+    /**
+     * Returns a list of sibling elements in the test namespace with the given local names.
+     * 
+     * @param localNames the local names of the elements
+     * @return List&lt;Element&gt;
+     * @throws Exception thrown if the DOM document cannot be created
+     */
+    private static List<Element> newChildren(String... localNames) throws Exception {
+        Document doc = newDocument();
+        Element parent = doc.createElementNS( NS_V1, "Parent" );
+        List<Element> children = new ArrayList<>();
+
+        doc.appendChild( parent );
+
+        for (String localName : localNames) {
+            Element child = doc.createElementNS( NS_V1, localName );
+
+            parent.appendChild( child );
+            children.add( child );
+        }
+        return children;
+    }
+
+    /**
+     * Returns a new namespace-aware DOM document.
+     * 
+     * @return Document
+     * @throws Exception thrown if the document cannot be created
+     */
+    private static Document newDocument() throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+
+        factory.setNamespaceAware( true );
+        return factory.newDocumentBuilder().newDocument();
+    }
+
+}
@@ -0,0 +1,520 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.opentravel.messagevalidate;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opentravel.schemacompiler.ioc.CompilerExtensionRegistry;
+import org.opentravel.schemacompiler.task.CompileAllCompilerTask;
+import org.opentravel.schemacompiler.util.SchemaCompilerException;
+import org.opentravel.schemacompiler.validate.FindingMessageFormat;
+import org.opentravel.schemacompiler.validate.FindingType;
+import org.opentravel.schemacompiler.validate.ValidationFindings;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Validates a folder of XML and JSON messages without the user interface. Messages are validated in parallel; the
+ * compiled schemas are shared through the {@link SchemaRegistry} and each thread uses its own validators. Results are
+ * streamed to a {@link ValidationResultWriter} as each message completes.
+ * <p>
+ * In watch mode the folder is monitored after the initial pass and only the messages that are created or modified are
+ * validated again. The same worker threads are used for every batch so that their validators are reused.
+ */
+public class BatchMessageValidator implements Closeable {
+
+    private static final Logger log = LogManager.getLogger( BatchMessageValidator.class );
+
+    public static final String DEFAULT_GLOB = "**.{xml,json}";
+    public static final String FORMAT_JSON = "json";
+    public static final String FORMAT_JUNIT = "junit";
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    private static final String USAGE = "Usage: BatchMessageValidator (-codegen <folder> | -project <file.otp>)"
+        + " [-format json|junit] [-output <file>] [-glob <pattern>] [-threads <n>] [-watch] <messages folder or file>";
+
+    private MessageValidator validator;
+    private ExecutorService executor;
+    private Map<Path,String> fileStamps = new HashMap<>();
+
+    /**
+     * Constructor that specifies the folder of generated schemas and the number of validation threads.
+     * 
+     * @param codegenFolder the folder location that contains the generated XML and JSON schemas
+     * @param threads the number of messages to validate concurrently
+     */
+    public BatchMessageValidator(File codegenFolder, int threads) {
+        this.validator = new MessageValidator( codegenFolder, null );
+        this.executor = Executors.newFixedThreadPool( Math.max( 1, threads ), newThreadFactory() );
+    }
+
+    /**
+     * Returns the message files under the given root that match the glob pattern. The pattern is matched against the
+     * path of each file relative to the root.
+     * 
+     * @param root the root folder (or a single message file)
+     * @param glob the glob pattern for message files
+     * @return List&lt;File&gt;
+     * @throws IOException thrown if the folder cannot be read
+     */
+    public static List<File> findMessageFiles(File root, String glob) throws IOException {
+        List<File> messageFiles = new ArrayList<>();
+
+        if (root.isFile()) {
+            messageFiles.add( root );
+
+        } else {
+            Path rootPath = root.toPath();
+            PathMatcher matcher = FileSystems.getDefault().getPathMatcher( "glob:" + glob );
+
+            Files.walkFileTree( rootPath, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    if (attrs.isRegularFile() && matcher.matches( rootPath.relativize( file ) )) {
+                        messageFiles.add( file.toFile() );
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            } );
+            Collections.sort( messageFiles );
+        }
+        return messageFiles;
+    }
+
+    /**
+     * Validates the given message files in parallel and writes each result as soon as it is available.
+     * 
+     * @param messageFiles the message files to validate
+     * @param writer the writer to which results are reported
+     * @return Map&lt;ValidationResult.Status,Integer&gt;
+     * @throws IOException thrown if the results cannot be written
+     */
+    public Map<ValidationResult.Status,Integer> validate(Collection<File> messageFiles, ValidationResultWriter writer)
+        throws IOException {
+        Map<ValidationResult.Status,Integer> counts = new EnumMap<>( ValidationResult.Status.class );
+        CompletionService<ValidationResult> completionService = new ExecutorCompletionService<>( executor );
+        List<Future<ValidationResult>> futures = new ArrayList<>();
+
+        try {
+            for (File messageFile : messageFiles) {
+                futures.add( completionService.submit( () -> validator.validateMessage( messageFile ) ) );
+            }
+            for (int i = 0; i < messageFiles.size(); i++) {
+                ValidationResult result = completionService.take().get();
+
+                recordStamp( result.getMessageFile().toPath() );
+                counts.merge( result.getStatus(), 1, Integer::sum );
+                writer.write( result );
+            }
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+        } catch (ExecutionException e) {
+            throw new IOException( "Unexpected exception during message validation.", e.getCause() );
+
+        } finally {
+            futures.forEach( f -> f.cancel( true ) );
+        }
+        return counts;
+    }
+
+    /**
+     * Stops the worker threads used to validate messages.
+     * 
+     * @see java.io.Closeable#close()
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Monitors the given folder and validates matching messages each time they are created or modified. This method
+     * does not return until the calling thread is interrupted.
+     * 
+     * @param root the root folder to monitor
+     * @param glob the glob pattern for message files
+     * @param writer the writer to which results are reported
+     * @throws IOException thrown if the folder cannot be monitored or the results cannot be written
+     */
+    public void watch(File root, String glob, ValidationResultWriter writer) throws IOException {
+        Path rootPath = root.toPath();
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher( "glob:" + glob );
+
+        try (WatchService watcher = FileSystems.getDefault().newWatchService()) {
+            Map<WatchKey,Path> watchKeys = new HashMap<>();
+
+            registerAll( rootPath, watcher, watchKeys );
+
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = watcher.take();
+                Path folder = watchKeys.get( key );
+                List<File> changedFiles = new ArrayList<>();
+
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        changedFiles.addAll( findMessageFiles( root, glob ) );
+                        continue;
+                    }
+                    Path file = folder.resolve( (Path) event.context() );
+
+                    if (Files.isDirectory( file )) {
+                        if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE) {
+                            registerAll( file, watcher, watchKeys );
+                            changedFiles.addAll( findMessageFiles( file.toFile(), glob ) );
+                        }
+
+                    } else if (matcher.matches( rootPath.relativize( file ) ) && isChanged( file )) {
+                        changedFiles.add( file.toFile() );
+                    }
+                }
+                if (!key.reset()) {
+                    watchKeys.remove( key );
+                }
+                if (!changedFiles.isEmpty()) {
+                    validate( changedFiles, writer );
+                }
+            }
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Registers the given folder and all of its sub-folders with the watch service.
+     * 
+     * @param folder the folder to register
+     * @param watcher the watch service
+     * @param watchKeys the folders of each registered watch key
+     * @throws IOException thrown if a folder cannot be registered
+     */
+    private void registerAll(Path folder, WatchService watcher, Map<WatchKey,Path> watchKeys) throws IOException {
+        Files.walkFileTree( folder, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                WatchKey key = dir.register( watcher, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY );
+
+                watchKeys.put( key, dir );
+                return FileVisitResult.CONTINUE;
+            }
+        } );
+    }
+
+    /**
+     * Returns true if the modification time or size of the given file differs from when it was last validated. Editors
+     * often report several events for a single save, so this avoids validating the same content more than once.
+     * 
+     * @param file the message file to check
+     * @return boolean
+     */
+    private synchronized boolean isChanged(Path file) {
+        String stamp = getStamp( file );
+        return (stamp != null) && !stamp.equals( fileStamps.get( file ) );
+    }
+
+    /**
+     * Records the modification time and size of the given file after it has been validated.
+     * 
+     * @param file the message file that was validated
+     */
+    private synchronized void recordStamp(Path file) {
+        String stamp = getStamp( file );
+
+        if (stamp != null) {
+            fileStamps.put( file, stamp );
+        }
+    }
+
+    /**
+     * Returns a stamp identifying the current content of the file, or null if the file cannot be read.
+     * 
+     * @param file the file for which to return a stamp
+     * @return String
+     */
+    private String getStamp(Path file) {
+        File f = file.toFile();
+        return f.isFile() ? (f.lastModified() + ":" + f.length()) : null;
+    }
+
+    /**
+     * Returns a factory for the daemon threads used to validate messages.
+     * 
+     * @return ThreadFactory
+     */
+    private static ThreadFactory newThreadFactory() {
+        AtomicInteger count = new AtomicInteger();
+
+        return r -> {
+            Thread t = new Thread( r, "MessageValidator-" + count.incrementAndGet() );
+
+            t.setDaemon( true );
+            return t;
+        };
+    }
+
+    /**
+     * Compiles the given OTM project into a folder next to the project file and returns the location of the generated
+     * schemas.
+     * 
+     * @param projectFile the OTM project file to compile
+     * @return File
+     * @throws SchemaCompilerException thrown if the project contains errors or cannot be compiled
+     */
+    private static File generateSchemas(File projectFile) throws SchemaCompilerException {
+        CompileAllCompilerTask compilerTask = new CompileAllCompilerTask();
+        String folderName = projectFile.getName();
+        int dotIdx = folderName.lastIndexOf( '.' );
+        ValidationFindings findings;
+
+        if (dotIdx >= 0) {
+            folderName = folderName.substring( 0, dotIdx );
+        }
+        File codegenFolder = new File( projectFile.getAbsoluteFile().getParentFile(), folderName + "_ValidatorOutput" );
+
+        CompilerExtensionRegistry.setActiveExtension( "OTA2" );
+        codegenFolder.mkdirs();
+        compilerTask.applyTaskOptions( new ValidationCompileOptions( codegenFolder ) );
+        findings = compilerTask.compileOutput( projectFile );
+
+        if (findings.hasFinding( FindingType.ERROR )) {
+            for (String message : findings.getValidationMessages( FindingType.ERROR,
+                FindingMessageFormat.IDENTIFIED_FORMAT )) {
+                log.error( String.format( "  %s", message ) );
+            }
+            throw new SchemaCompilerException( "Errors in OTM model (see log for DETAILS)." );
+        }
+        return codegenFolder;
+    }
+
+    /**
+     * Validates the messages identified by the command-line arguments. The process exits with a non-zero status if any
+     * message is invalid or could not be validated.
+     * 
+     * @param args the command-line arguments
+     */
+    public static void main(String[] args) {
+        File codegenFolder = null;
+        File projectFile = null;
+        File outputFile = null;
+        File messages = null;
+        String format = "json";
+        String glob = DEFAULT_GLOB;
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean watch = false;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "-codegen":
+                        codegenFolder = new File( args[++i] );
+                        break;
+                    case "-project":
+                        projectFile = new File( args[++i] );
+                        break;
+                    case "-format":
+                        format = args[++i].toLowerCase();
+                        break;
+                    case "-output":
+                        outputFile = new File( args[++i] );
+                        break;
+                    case "-glob":
+                        glob = args[++i];
+                        break;
+                    case "-threads":
+                        threads = Integer.parseInt( args[++i] );
+                        break;
+                    case "-watch":
+                        watch = true;
+                        break;
+                    default:
+                        messages = new File( args[i] );
+                        break;
+                }
+            }
+            if ((messages == null) || ((codegenFolder == null) == (projectFile == null))) {
+                System.err.println( USAGE );
+                System.exit( 2 );
+            }
+            if (!FORMAT_JSON.equals( format ) && !FORMAT_JUNIT.equals( format )) {
+                System.err.println( "Unknown report format: " + format );
+                System.err.println( USAGE );
+                System.exit( 2 );
+            }
+            if (projectFile != null) {
+                codegenFolder = generateSchemas( projectFile );
+            }
+            System.exit( run( codegenFolder, messages, glob, threads, format, outputFile, watch ) ? 0 : 1 );
+
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            System.err.println( USAGE );
+            System.exit( 2 );
+
+        } catch (Exception e) {
+            log.error( "Error during batch message validation.", e );
+            System.exit( 2 );
+        }
+    }
+
+    /**
+     * Validates the messages and writes the report in the requested format. Returns true if all of the messages were
+     * validated without errors.
+     * <p>
+     * In watch mode this method only returns if the calling thread is interrupted. When the process is stopped, a
+     * shutdown hook interrupts the calling thread and waits for it to complete the report, so the report is only ever
+     * written and closed by the calling thread.
+     * 
+     * @param codegenFolder the folder location that contains the generated XML and JSON schemas
+     * @param messages the folder of messages (or a single message file) to validate
+     * @param glob the glob pattern for message files
+     * @param threads the number of messages to validate concurrently
+     * @param format the report format (json or junit)
+     * @param outputFile the report file or null to write the report to standard output
+     * @param watch flag indicating whether to monitor the folder after the initial validation
+     * @return boolean
+     * @throws IOException thrown if the messages cannot be read or the report cannot be written
+     */
+    private static boolean run(File codegenFolder, File messages, String glob, int threads, String format,
+        File outputFile, boolean watch) throws IOException {
+        OutputStream out = (outputFile == null) ? System.out : new FileOutputStream( outputFile );
+        CountDownLatch reportComplete = new CountDownLatch( 1 );
+        Map<ValidationResult.Status,Integer> counts;
+
+        try (BatchMessageValidator batchValidator = new BatchMessageValidator( codegenFolder, threads );
+            ValidationResultWriter writer = newWriter( format, out, messages.getName() )) {
+            counts = batchValidator.validate( findMessageFiles( messages, glob ), writer );
+
+            if (watch && messages.isDirectory()) {
+                Thread watchThread = Thread.currentThread();
+                Thread stopWatch = new Thread( () -> stopWatch( watchThread, reportComplete ) );
+
+                Runtime.getRuntime().addShutdownHook( stopWatch );
+                batchValidator.watch( messages, glob, writer );
+                removeShutdownHook( stopWatch );
+            }
+
+        } finally {
+            try {
+                if (outputFile != null) {
+                    out.close();
+                }
+            } finally {
+                reportComplete.countDown();
+            }
+        }
+        log.info( "Message validation complete: " + counts );
+        return !counts.containsKey( ValidationResult.Status.INVALID )
+            && !counts.containsKey( ValidationResult.Status.ERROR );
+    }
+
+    /**
+     * Returns a new result writer for the given report format.
+     * 
+     * @param format the report format (json or junit)
+     * @param out the output stream for the report
+     * @param suiteName the name of the JUnit test suite
+     * @return ValidationResultWriter
+     * @throws IOException thrown if the report cannot be started
+     * @throws IllegalArgumentException thrown if the report format is not recognized
+     */
+    private static ValidationResultWriter newWriter(String format, OutputStream out, String suiteName)
+        throws IOException {
+        ValidationResultWriter writer;
+
+        if (FORMAT_JUNIT.equalsIgnoreCase( format )) {
+            writer = new JUnitResultWriter( out, suiteName );
+
+        } else if (FORMAT_JSON.equalsIgnoreCase( format )) {
+            writer = new JsonResultWriter( out );
+
+        } else {
+            throw new IllegalArgumentException( "Unknown report format: " + format );
+        }
+        return writer;
+    }
+
+    /**
+     * Stops watch mode when the process is stopped. The watch thread is interrupted, and this method waits until that
+     * thread has completed and closed the report.
+     * 
+     * @param watchThread the thread that is monitoring the messages folder
+     * @param reportComplete latch that is released once the report has been closed
+     */
+    private static void stopWatch(Thread watchThread, CountDownLatch reportComplete) {
+        watchThread.interrupt();
+
+        try {
+            if (!reportComplete.await( SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS )) {
+                log.warn( "Timed out waiting for the validation report to complete." );
+            }
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Removes the given shutdown hook. If the process is already shutting down, the hook is running and is left in
+     * place.
+     * 
+     * @param hook the shutdown hook to remove
+     */
+    private static void removeShutdownHook(Thread hook) {
+        try {
+            Runtime.getRuntime().removeShutdownHook( hook );
+
+        } catch (IllegalStateException e) {
+            // Shutdown in progress - the hook is waiting for the report to complete
+        }
+    }
+
+}
@@ -0,0 +1,152 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.opentravel.messagevalidate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+/**
+ * Writes message validation results as a JUnit XML report so that batch validation can be published by continuous
+ * integration servers. Each message is reported as a test case that is streamed as soon as its result is available.
+ */
+public class JUnitResultWriter implements ValidationResultWriter {
+
+    private XMLStreamWriter writer;
+    private boolean closed;
+
+    /**
+     * Constructor that specifies the stream to which the report will be written.
+     * 
+     * @param out the output stream for the report
+     * @param suiteName the name of the test suite
+     * @throws IOException thrown if the report cannot be started
+     */
+    public JUnitResultWriter(OutputStream out, String suiteName) throws IOException {
+        try {
+            writer = XMLOutputFactory.newInstance().createXMLStreamWriter( out, "UTF-8" );
+            writer.writeStartDocument( "UTF-8", "1.0" );
+            writer.writeStartElement( "testsuite" );
+            writer.writeAttribute( "name", suiteName );
+
+        } catch (XMLStreamException e) {
+            throw new IOException( "Unable to start the JUnit report.", e );
+        }
+    }
+
+    /**
+     * @see org.opentravel.messagevalidate.ValidationResultWriter#write(org.opentravel.messagevalidate.ValidationResult)
+     */
+    @Override
+    public synchronized void write(ValidationResult result) throws IOException {
+        if (closed) {
+            throw new IOException( "The JUnit report has already been completed." );
+        }
+        try {
+            writer.writeStartElement( "testcase" );
+            writer.writeAttribute( "classname", (result.getFormat() == null) ? "message" : result.getFormat() );
+            writer.writeAttribute( "name", result.getMessageFile().getPath() );
+            writer.writeAttribute( "time", String.valueOf( result.getElapsedMillis() / 1000.0 ) );
+
+            switch (result.getStatus()) {
+                case INVALID:
+                    writer.writeStartElement( "failure" );
+                    writer.writeAttribute( "message", result.getFindings().size() + " validation error(s)" );
+                    writer.writeCharacters( getFindingsText( result ) );
+                    writer.writeEndElement();
+                    break;
+                case ERROR:
+                    writer.writeStartElement( "error" );
+                    writer.writeAttribute( "message", String.valueOf( result.getError().getMessage() ) );
+                    writer.writeAttribute( "type", result.getError().getClass().getName() );
+                    writer.writeEndElement();
+                    break;
+                case NO_SCHEMA:
+                    writeSkipped( "No qualifying " + result.getFormat() + " schema found for this document." );
+                    break;
+                case UNSUPPORTED:
+                    writeSkipped( "Unrecognized file format (.json or .xml expected)" );
+                    break;
+                default:
+                    break;
+            }
+            writer.writeEndElement();
+            writer.flush();
+
+        } catch (XMLStreamException e) {
+            throw new IOException( "Unable to write the JUnit report.", e );
+        }
+    }
+
+    /**
+     * Writes a skipped element with the given message.
+     * 
+     * @param message the reason the message was skipped
+     * @throws XMLStreamException thrown if the element cannot be written
+     */
+    private void writeSkipped(String message) throws XMLStreamException {
+        writer.writeStartElement( "skipped" );
+        writer.writeAttribute( "message", message );
+        writer.writeEndElement();
+    }
+
+    /**
+     * Returns the text of all findings for the given result, one per line.
+     * 
+     * @param result the validation results
+     * @return String
+     */
+    private String getFindingsText(ValidationResult result) {
+        StringBuilder text = new StringBuilder();
+
+        for (ValidationResult.Finding finding : result.getFindings()) {
+            if (finding.getLine() >= 0) {
+                text.append( "[" ).append( finding.getLine() ).append( ':' ).append( finding.getColumn() )
+                    .append( "] " );
+
+            } else if (finding.getPath() != null) {
+                text.append( "[" ).append( finding.getPath() ).append( "] " );
+            }
+            text.append( finding.getMessage() ).append( '\n' );
+        }
+        return text.toString();
+    }
+
+    /**
+     * @see java.io.Closeable#close()
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        try {
+            writer.writeEndElement();
+            writer.writeEndDocument();
+            writer.flush();
+
+        } catch (XMLStreamException e) {
+            throw new IOException( "Unable to complete the JUnit report.", e );
+        }
+    }
+
+}
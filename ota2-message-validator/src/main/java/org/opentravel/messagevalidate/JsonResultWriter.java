@@ -0,0 +1,85 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.opentravel.messagevalidate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes message validation results as newline-delimited JSON. Each result is written as a single JSON object on its
+ * own line as soon as it is available, so the report can be consumed while a batch is still running.
+ */
+public class JsonResultWriter implements ValidationResultWriter {
+
+    private ObjectMapper mapper = new ObjectMapper();
+    private Writer writer;
+
+    /**
+     * Constructor that specifies the stream to which the results will be written.
+     * 
+     * @param out the output stream for the report
+     */
+    public JsonResultWriter(OutputStream out) {
+        this.writer = new OutputStreamWriter( out, StandardCharsets.UTF_8 );
+    }
+
+    /**
+     * @see org.opentravel.messagevalidate.ValidationResultWriter#write(org.opentravel.messagevalidate.ValidationResult)
+     */
+    @Override
+    public synchronized void write(ValidationResult result) throws IOException {
+        ObjectNode node = mapper.createObjectNode();
+        ArrayNode findings = node.putArray( "findings" );
+
+        node.put( "file", result.getMessageFile().getPath() );
+        node.put( "format", result.getFormat() );
+        node.put( "schema", (result.getSchemaFile() == null) ? null : result.getSchemaFile().getName() );
+        node.put( "status", result.getStatus().toString() );
+        node.put( "elapsedMillis", result.getElapsedMillis() );
+
+        for (ValidationResult.Finding finding : result.getFindings()) {
+            ObjectNode findingNode = findings.addObject();
+
+            findingNode.put( "message", finding.getMessage() );
+            findingNode.put( "line", finding.getLine() );
+            findingNode.put( "column", finding.getColumn() );
+            findingNode.put( "path", finding.getPath() );
+        }
+        if (result.getError() != null) {
+            node.put( "error", String.valueOf( result.getError().getMessage() ) );
+        }
+        writer.write( mapper.writeValueAsString( node ) );
+        writer.write( '\n' );
+        writer.flush();
+    }
+
+    /**
+     * @see java.io.Closeable#close()
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        writer.flush();
+    }
+
+}
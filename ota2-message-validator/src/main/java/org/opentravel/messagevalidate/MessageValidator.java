@@ -18,12 +18,6 @@ package org.opentravel.messagevalidate;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.opentravel.schemacompiler.codegen.json.JsonSchemaCodegenUtils;
-import org.opentravel.schemacompiler.util.FileUtils;
-import org.w3._2001.xmlschema.OpenAttrs;
-import org.w3._2001.xmlschema.TopLevelElement;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
 import org.xml.sax.ErrorHandler;
 import org.xml.sax.SAXException;
 import org.xml.sax.SAXParseException;
@@ -33,36 +27,29 @@ import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.github.fge.jackson.JsonLoader;
 import com.github.fge.jsonschema.core.exceptions.ProcessingException;
-import com.github.fge.jsonschema.core.load.configuration.LoadingConfiguration;
-import com.github.fge.jsonschema.core.load.uri.URITranslatorConfiguration;
 import com.github.fge.jsonschema.core.report.ListProcessingReport;
 import com.github.fge.jsonschema.core.report.LogLevel;
 import com.github.fge.jsonschema.core.report.ProcessingMessage;
 import com.github.fge.jsonschema.core.report.ProcessingReport;
 import com.github.fge.jsonschema.main.JsonSchema;
-import com.github.fge.jsonschema.main.JsonSchemaFactory;
 
+import java.io.BufferedInputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.PrintStream;
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Set;
 
-import javax.xml.XMLConstants;
-import javax.xml.bind.JAXBContext;
-import javax.xml.bind.JAXBException;
-import javax.xml.bind.Unmarshaller;
 import javax.xml.namespace.QName;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.stream.StreamSource;
-import javax.xml.validation.Schema;
-import javax.xml.validation.SchemaFactory;
+import javax.xml.stream.Location;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.transform.stax.StAXSource;
 import javax.xml.validation.Validator;
 
 /**
@@ -71,8 +58,7 @@ import javax.xml.validation.Validator;
 public class MessageValidator {
 
     private static final Logger log = LogManager.getLogger( MessageValidator.class );
-    private static DocumentBuilderFactory domFactory = DocumentBuilderFactory.newInstance();
-    private static JAXBContext jaxbContext;
+    private static XMLInputFactory staxFactory = XMLInputFactory.newInstance();
 
     private File codegenFolder;
     private PrintStream out;
@@ -81,7 +67,8 @@ public class MessageValidator {
      * Constructor that specifies the print stream to which validation output should be directed.
      * 
      * @param codegenFolder the folder location that contains the generated XML and JSON schemas
-     * @param out the print stream to which validation output should be directed
+     * @param out the print stream to which validation output should be directed (may be null if only
+     *        {@link #validateMessage(File)} is used)
      */
     public MessageValidator(File codegenFolder, PrintStream out) {
         this.codegenFolder = codegenFolder;
@@ -89,23 +76,13 @@ public class MessageValidator {
     }
 
     /**
-     * Perform a format-specific validation check of the given message file.
+     * Perform a format-specific validation check of the given message file and print the results.
      * 
      * @param messageFile the message file to be validated
      */
     public void validate(File messageFile) {
         try {
-            String filename = messageFile.getName().toLowerCase();
-
-            if (filename.endsWith( ".xml" )) {
-                validateXMLDocument( messageFile );
-
-            } else if (filename.endsWith( ".json" )) {
-                validateJSONDocument( messageFile );
-
-            } else {
-                out.print( "ERROR: Unrecognized file format (.json or .xml expected)" );
-            }
+            print( validateMessage( messageFile ) );
 
         } catch (Exception e) {
             log.error( "Unexpected exception during message validation.", e );
@@ -113,183 +90,214 @@ public class MessageValidator {
     }
 
     /**
-     * Validates that the given XML file is syntactically and symantically correct.
+     * Perform a format-specific validation check of the given message file and return the results. Nothing is printed
+     * so this method may be called concurrently from several threads.
      * 
-     * @param xmlFile the XML file to validate
+     * @param messageFile the message file to be validated
+     * @return ValidationResult
      */
-    private void validateXMLDocument(File xmlFile) {
-        try {
-            DocumentBuilder dBuilder = domFactory.newDocumentBuilder();
-            Document xmlDoc = dBuilder.parse( xmlFile );
-            File schemaFile = getSchemaLocation( xmlDoc );
-
-            if (schemaFile != null) {
-                Schema vSchema = getValidationSchema( schemaFile );
-                Validator validator = vSchema.newValidator();
-                final List<String> errorList = new ArrayList<>();
-
-                validator.setErrorHandler( new ErrorHandler() {
-                    public void warning(SAXParseException ex) throws SAXException {
-                        // No action for warnings
-                    }
+    public ValidationResult validateMessage(File messageFile) {
+        String filename = messageFile.getName().toLowerCase();
+        long startTime = System.currentTimeMillis();
+        ValidationResult result;
 
-                    public void error(SAXParseException ex) throws SAXException {
-                        addError( ex );
-                    }
+        if (filename.endsWith( ".xml" )) {
+            result = validateXMLDocument( messageFile );
 
-                    public void fatalError(SAXParseException ex) throws SAXException {
-                        addError( ex );
-                    }
+        } else if (filename.endsWith( ".json" )) {
+            result = validateJSONDocument( messageFile );
 
-                    private void addError(SAXParseException ex) {
-                        errorList.add( ex.getMessage() );
-                    }
-                } );
-                validator.validate( new StreamSource( xmlFile ) );
-                out.println( "Validation Results: " + xmlFile.getName() + "\n" );
+        } else {
+            result = new ValidationResult( messageFile, null );
+        }
+        result.setElapsedMillis( System.currentTimeMillis() - startTime );
+        return result;
+    }
 
-                if (errorList.isEmpty()) {
+    /**
+     * Prints the given results in the same form as the interactive message validation.
+     * 
+     * @param result the validation results to print
+     */
+    private void print(ValidationResult result) {
+        switch (result.getStatus()) {
+            case UNSUPPORTED:
+                out.print( "ERROR: Unrecognized file format (.json or .xml expected)" );
+                break;
+            case NO_SCHEMA:
+                out.println( "No qualifying " + result.getFormat() + " schema found for this document." );
+                break;
+            case ERROR:
+                out.println( "Error validating " + result.getFormat() + " document: "
+                    + result.getMessageFile().getAbsolutePath() );
+                result.getError().printStackTrace( out );
+                break;
+            default:
+                out.println( "Validation Results: " + result.getMessageFile().getName() + "\n" );
+
+                if (result.getFindings().isEmpty()) {
                     out.println( "No validation errors or warnings found." );
 
                 } else {
-                    for (String message : errorList) {
-                        out.println( message );
+                    for (ValidationResult.Finding finding : result.getFindings()) {
+                        out.println( finding.getMessage() );
+                    }
+                    if ("JSON".equals( result.getFormat() )) {
+                        out.println( "ERROR COUNT: " + result.getFindings().size() );
                     }
                 }
-
-            } else {
-                out.println( "No qualifying XML schema found for this document." );
-            }
-
-        } catch (ParserConfigurationException | SAXException | IOException e) {
-            out.println( "Error validating XML document: " + xmlFile.getAbsolutePath() );
-            e.printStackTrace( out );
+                break;
         }
     }
 
     /**
-     * Returns a new validation schema that resolves resource references based on relative file system paths.
+     * Validates that the given XML file is syntactically and symantically correct. The document is read once as a
+     * stream: the root element is located with StAX to select the schema, and validation continues from the same
+     * reader so that the document is never held in memory.
      * 
-     * @return SchemaFactory
-     * @throws SAXException thrown if the new validation schema cannot be created
+     * @param xmlFile the XML file to validate
+     * @return ValidationResult
      */
-    private Schema getValidationSchema(File schemaFile) throws SAXException {
-        SchemaFactory sf = SchemaFactory.newInstance( XMLConstants.W3C_XML_SCHEMA_NS_URI );
+    private ValidationResult validateXMLDocument(File xmlFile) {
+        ValidationResult result = new ValidationResult( xmlFile, "XML" );
+
+        try (InputStream in = new BufferedInputStream( new FileInputStream( xmlFile ) )) {
+            XMLStreamReader reader = staxFactory.createXMLStreamReader( xmlFile.toURI().toString(), in );
+
+            try {
+                File schemaFile = getSchemaLocation( reader );
+
+                if (schemaFile != null) {
+                    Validator validator = getValidator( schemaFile );
+
+                    result.setSchemaFile( schemaFile );
+                    validator.setErrorHandler( new ErrorHandler() {
+                        public void warning(SAXParseException ex) throws SAXException {
+                            // No action for warnings
+                        }
+
+                        public void error(SAXParseException ex) throws SAXException {
+                            addError( ex );
+                        }
+
+                        public void fatalError(SAXParseException ex) throws SAXException {
+                            addError( ex );
+                        }
+
+                        private void addError(SAXParseException ex) {
+                            result.addFinding( new ValidationResult.Finding( ex.getMessage(), ex.getLineNumber(),
+                                ex.getColumnNumber(), null ) );
+                        }
+                    } );
+                    validator.validate( new StAXSource( reader ) );
+                    result.setStatus( result.getFindings().isEmpty() ? ValidationResult.Status.VALID
+                        : ValidationResult.Status.INVALID );
+                }
+
+            } finally {
+                reader.close();
+            }
+
+        } catch (XMLStreamException e) {
+            Location location = e.getLocation();
+
+            if (location != null) {
+                result.addFinding( new ValidationResult.Finding( e.getMessage(), location.getLineNumber(),
+                    location.getColumnNumber(), null ) );
+            }
+            result.setError( e );
 
-        sf.setResourceResolver( new FileSystemResourceResolver( schemaFile ) );
-        return sf.newSchema( schemaFile );
+        } catch (SAXException e) {
+            // Fatal errors are reported to the error handler before the validator stops
+            if (!result.getFindings().isEmpty()) {
+                result.setStatus( ValidationResult.Status.INVALID );
+
+            } else {
+                result.setError( e );
+            }
+
+        } catch (IOException e) {
+            result.setError( e );
+        }
+        return result;
     }
 
     /**
-     * Returns the path of the schema location from the given XML document. If a schema location is not specified, this
-     * method will return null.
+     * Returns a validator for the given schema file. Validators are not thread-safe so each thread is given its own
+     * validator for the shared compiled schema.
      * 
-     * @param xmlDoc the XML document for which to return a schema location
-     * @return File
+     * @param schemaFile the XML schema file
+     * @return Validator
+     * @throws SAXException thrown if the validation schema cannot be created
      */
-    private File getSchemaLocation(Document xmlDoc) {
-        File schemaFolder = new File( codegenFolder.getAbsolutePath() + "/schemas" );
-        Element rootElement = xmlDoc.getDocumentElement();
-        QName rootElementName = new QName( rootElement.getNamespaceURI(), rootElement.getLocalName() );
-        File schemaFile = null;
-
-        for (File xsdFile : schemaFolder.listFiles()) {
-            if (xsdFile.getName().endsWith( ".xsd" )) {
-                Collection<QName> schemaElements = getGlobalElements( xsdFile );
-
-                if (schemaElements.contains( rootElementName )) {
-                    schemaFile = xsdFile;
-                    break;
-                }
-            }
-        }
-        return schemaFile;
+    private Validator getValidator(File schemaFile) throws SAXException {
+        return SchemaRegistry.getInstance( codegenFolder ).getValidator( schemaFile );
     }
 
     /**
-     * Returns the list of global elements defined in the given XSD file. If the schema file cannot be parsed for any
-     * reason, this method will fail silently and return an empty collection.
+     * Returns the path of the schema that declares the root element of the XML document. The reader is advanced to the
+     * root element, which leaves it positioned so that validation can continue from the same stream. If a qualifying
+     * schema cannot be located, this method will return null.
      * 
-     * @param xsdFile the XML schema file
-     * @return Collection&lt;QName&gt;
+     * @param reader the XML stream reader for the document
+     * @return File
+     * @throws XMLStreamException thrown if the document is not well-formed before its root element
      */
-    private Collection<QName> getGlobalElements(File xsdFile) {
-        Set<QName> globalElements = new HashSet<>();
-
-        try {
-            Unmarshaller u = jaxbContext.createUnmarshaller();
-            org.w3._2001.xmlschema.Schema schema =
-                (org.w3._2001.xmlschema.Schema) FileUtils.unmarshalFileContent( xsdFile, u );
-
-            for (OpenAttrs schemaItem : schema.getSimpleTypeOrComplexTypeOrGroup()) {
-                if (schemaItem instanceof TopLevelElement) {
-                    TopLevelElement xsdElement = (TopLevelElement) schemaItem;
-                    QName elementName = xsdElement.getRef();
-
-                    if (elementName == null) {
-                        elementName = new QName( schema.getTargetNamespace(), xsdElement.getName() );
-                    }
-                    globalElements.add( elementName );
-                }
-            }
-
-        } catch (JAXBException | IOException e) {
-            // No action - return an empty collection
+    private File getSchemaLocation(XMLStreamReader reader) throws XMLStreamException {
+        while (reader.hasNext() && (reader.getEventType() != XMLStreamConstants.START_ELEMENT)) {
+            reader.next();
+        }
+        if (reader.getEventType() != XMLStreamConstants.START_ELEMENT) {
+            return null;
         }
-        return globalElements;
+        QName rootElementName = new QName( reader.getNamespaceURI(), reader.getLocalName() );
+
+        return SchemaRegistry.getInstance( codegenFolder ).findXmlSchema( rootElementName );
     }
 
     /**
      * Validates that the given JSON file is syntactically and symantically correct.
      * 
      * @param jsonFile the JSON file to validate
+     * @return ValidationResult
      */
-    private void validateJSONDocument(File jsonFile) {
+    private ValidationResult validateJSONDocument(File jsonFile) {
+        ValidationResult result = new ValidationResult( jsonFile, "JSON" );
+
         try {
             JsonNode jsonNode = JsonLoader.fromFile( jsonFile );
             File jsonSchemaFile = findJsonSchema( jsonNode );
 
             if (jsonSchemaFile != null) {
-                JsonNode schemaNode = JsonLoader.fromFile( jsonSchemaFile );
-                JsonSchema schema = newJsonSchemaFactory( jsonSchemaFile.getParentFile() ).getJsonSchema( schemaNode );
+                JsonSchema schema = SchemaRegistry.getInstance( codegenFolder ).getJsonSchema( jsonSchemaFile );
                 ProcessingReport report = schema.validate( jsonNode );
-                List<ProcessingMessage> errors = getValidationErrors( report );
-
-                out.println( "Validation Results: " + jsonFile.getName() + "\n" );
-
-                if (errors.isEmpty()) {
-                    out.println( "No validation errors or warnings found." );
 
-                } else {
-                    for (ProcessingMessage error : errors) {
-                        out.println( error );
-                    }
-                    out.println( "ERROR COUNT: " + errors.size() );
+                for (ProcessingMessage error : getValidationErrors( report )) {
+                    result.addFinding( new ValidationResult.Finding( error.toString(), -1, -1, getPointer( error ) ) );
                 }
-
-            } else {
-                out.println( "No qualifying JSON schema found for this document." );
+                result.setSchemaFile( jsonSchemaFile );
+                result.setStatus( result.getFindings().isEmpty() ? ValidationResult.Status.VALID
+                    : ValidationResult.Status.INVALID );
             }
 
         } catch (ProcessingException | IOException e) {
-            out.println( "Error validating JSON document: " + jsonFile.getAbsolutePath() );
-            e.printStackTrace( out );
+            result.setError( e );
         }
+        return result;
     }
 
     /**
-     * Returns a new <code>JsonSchemaFactory</code> instance.
+     * Returns the JSON pointer of the message instance that caused the given error, or null if the error does not
+     * identify one.
      * 
-     * @param schemaFolder the folder location where JSON schemas are located
-     * @return JsonSchemaFactory
+     * @param error the JSON validation error
+     * @return String
      */
-    private static JsonSchemaFactory newJsonSchemaFactory(File schemaFolder) {
-        return JsonSchemaFactory.newBuilder().setLoadingConfiguration( LoadingConfiguration.newBuilder()
-            .setURITranslatorConfiguration( URITranslatorConfiguration.newBuilder()
-                .setNamespace( "http://opentravel.org/schemas/json/" )
-                .addPathRedirect( "http://opentravel.org/schemas/json/", schemaFolder.toURI().toString() ).freeze() )
-            .freeze() ).freeze();
+    private String getPointer(ProcessingMessage error) {
+        JsonNode instance = error.asJson().get( "instance" );
+        JsonNode pointer = (instance == null) ? null : instance.get( "pointer" );
 
+        return (pointer == null) ? null : pointer.asText();
     }
 
     /**
@@ -336,53 +344,8 @@ public class MessageValidator {
     private File findJsonSchema(JsonNode jsonDocument) {
         Iterator<String> fieldNames = jsonDocument.fieldNames();
         String rootElement = fieldNames.hasNext() ? fieldNames.next() : null;
-        File schemaFolder = new File( codegenFolder.getAbsolutePath() + "/json" );
-        File schemaFile = null;
-
-        for (File candidateFile : schemaFolder.listFiles()) {
-            if (candidateFile.isFile()
-                && candidateFile.getName().endsWith( JsonSchemaCodegenUtils.JSON_SCHEMA_FILENAME_EXT )) {
-                try {
-                    JsonNode schemaNode = JsonLoader.fromFile( candidateFile );
-
-                    if (canValidate( schemaNode, rootElement )) {
-                        schemaFile = candidateFile;
-                        break;
-                    }
 
-                } catch (IOException e) {
-                    // Ignore error and skip this file
-                }
-            }
-        }
-        return schemaFile;
-    }
-
-    /**
-     * Returns true if the given JSON schema can be used to validate a JSON document with the specified root element.
-     * 
-     * @param jsonSchema the JSON schema that may be used to validate the document
-     * @param rootElement the root element name of the JSON document to be validated
-     * @return boolean
-     */
-    private boolean canValidate(JsonNode jsonSchema, String rootElement) {
-        boolean validatable = false;
-
-        if (rootElement != null) {
-            JsonNode schemaOneOf = jsonSchema.get( "oneOf" );
-
-            if (schemaOneOf instanceof ArrayNode) {
-                for (JsonNode oneOfEntry : (ArrayNode) schemaOneOf) {
-                    JsonNode oneOfProperties = oneOfEntry.get( "properties" );
-
-                    if ((oneOfProperties != null) && (oneOfProperties.get( rootElement ) != null)) {
-                        validatable = true;
-                        break;
-                    }
-                }
-            }
-        }
-        return validatable;
+        return SchemaRegistry.getInstance( codegenFolder ).findJsonSchema( rootElement );
     }
 
     /**
@@ -487,15 +450,9 @@ public class MessageValidator {
     }
 
     /**
-     * Initializes the JAXB context for the XML schema-for-schemas.
+     * Configures the StAX input factory to report namespace-aware events.
      */
     static {
-        try {
-            jaxbContext = JAXBContext.newInstance( "org.w3._2001.xmlschema" );
-            domFactory.setNamespaceAware( true );
-
-        } catch (Exception e) {
-            throw new ExceptionInInitializerError( e );
-        }
+        staxFactory.setProperty( XMLInputFactory.IS_NAMESPACE_AWARE, true );
     }
 }
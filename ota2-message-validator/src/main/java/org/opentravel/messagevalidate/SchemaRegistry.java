@@ -0,0 +1,508 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.opentravel.messagevalidate;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opentravel.schemacompiler.codegen.json.JsonSchemaCodegenUtils;
+import org.opentravel.schemacompiler.util.FileUtils;
+import org.w3._2001.xmlschema.OpenAttrs;
+import org.w3._2001.xmlschema.TopLevelElement;
+import org.xml.sax.SAXException;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.github.fge.jackson.JsonLoader;
+import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import com.github.fge.jsonschema.core.load.configuration.LoadingConfiguration;
+import com.github.fge.jsonschema.core.load.uri.URITranslatorConfiguration;
+import com.github.fge.jsonschema.main.JsonSchema;
+import com.github.fge.jsonschema.main.JsonSchemaFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import javax.xml.XMLConstants;
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.namespace.QName;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+import javax.xml.validation.Validator;
+
+/**
+ * Registry of the XML and JSON schemas generated into a codegen folder. The schemas are indexed by the XML root element
+ * and JSON root property they can validate, and compiled schemas are cached so they can be reused across messages.
+ * <p>
+ * Before each lookup the registry checks whether the schema folder has changed. The folder is only scanned when its
+ * modification time changes or when the last scan is older than {@link #CHECK_INTERVAL_MILLIS}, and the scan runs
+ * without holding the registry lock. Only new or changed files are re-indexed, and compiled schemas are discarded when
+ * any schema file in the folder has changed because a schema may import or reference the others.
+ * <p>
+ * Registries are shared per codegen folder. Registries for folders that no longer exist are discarded whenever a new
+ * registry is created, and at most {@link #MAX_REGISTRIES} registries are retained (least recently used first out).
+ */
+public class SchemaRegistry {
+
+    /**
+     * Maximum time between scans of an unchanged schema folder, in milliseconds.
+     */
+    public static final long CHECK_INTERVAL_MILLIS = 1000;
+
+    /**
+     * Maximum number of codegen folders whose registries are retained.
+     */
+    public static final int MAX_REGISTRIES = 8;
+
+    private static final Logger log = LogManager.getLogger( SchemaRegistry.class );
+    private static final String JSON_NAMESPACE = "http://opentravel.org/schemas/json/";
+    private static final Map<File,SchemaRegistry> registries =
+        new LinkedHashMap<File,SchemaRegistry>( 16, 0.75f, true ) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<File,SchemaRegistry> eldest) {
+                return size() > MAX_REGISTRIES;
+            }
+        };
+    private static JAXBContext jaxbContext;
+
+    private File xmlSchemaFolder;
+    private File jsonSchemaFolder;
+    private FolderMonitor xmlFolderMonitor;
+    private FolderMonitor jsonFolderMonitor;
+
+    private long xmlFingerprint = 0;
+    private Map<File,Long> xsdModified = new HashMap<>();
+    private Map<File,Collection<QName>> xsdElements = new LinkedHashMap<>();
+    private Map<QName,File> elementIndex = new HashMap<>();
+    private Map<File,CompiledSchema> xmlSchemas = new HashMap<>();
+
+    private long jsonFingerprint = 0;
+    private Map<File,Long> jsonModified = new HashMap<>();
+    private Map<File,Collection<String>> jsonRoots = new LinkedHashMap<>();
+    private Map<String,File> rootIndex = new HashMap<>();
+    private Map<File,JsonSchema> jsonSchemas = new HashMap<>();
+    private JsonSchemaFactory jsonSchemaFactory = null;
+
+    /**
+     * Returns the registry for the given codegen folder, creating it if this is the first request for the folder. When
+     * a new registry is created, the registries of folders that no longer exist are discarded.
+     *
+     * @param codegenFolder the folder location that contains the generated XML and JSON schemas
+     * @return SchemaRegistry
+     */
+    public static SchemaRegistry getInstance(File codegenFolder) {
+        File folder = codegenFolder.getAbsoluteFile();
+
+        synchronized (registries) {
+            SchemaRegistry registry = registries.get( folder );
+
+            if (registry == null) {
+                registries.keySet().removeIf( f -> !f.exists() );
+                registry = new SchemaRegistry( folder );
+                registries.put( folder, registry );
+            }
+            return registry;
+        }
+    }
+
+    /**
+     * Constructor that specifies the codegen folder. Use {@link #getInstance(File)} to share the registry.
+     *
+     * @param codegenFolder the folder location that contains the generated XML and JSON schemas
+     */
+    private SchemaRegistry(File codegenFolder) {
+        this.xmlSchemaFolder = new File( codegenFolder.getAbsolutePath() + "/schemas" );
+        this.jsonSchemaFolder = new File( codegenFolder.getAbsolutePath() + "/json" );
+        this.xmlFolderMonitor = new FolderMonitor( xmlSchemaFolder );
+        this.jsonFolderMonitor = new FolderMonitor( jsonSchemaFolder );
+    }
+
+    /**
+     * Returns the XML schema file that declares the given global element. If no qualifying schema can be located, this
+     * method will return null.
+     *
+     * @param rootElementName the qualified name of the document's root element
+     * @return File
+     */
+    public File findXmlSchema(QName rootElementName) {
+        long fingerprint = xmlFolderMonitor.getFingerprint();
+
+        synchronized (this) {
+            refreshXmlIndex( fingerprint );
+            return elementIndex.get( rootElementName );
+        }
+    }
+
+    /**
+     * Returns the compiled validation schema for the given schema file. Resource references are resolved based on
+     * relative file system paths.
+     *
+     * @param schemaFile the XML schema file
+     * @return Schema
+     * @throws SAXException thrown if the validation schema cannot be created
+     */
+    public Schema getValidationSchema(File schemaFile) throws SAXException {
+        return getCompiledSchema( schemaFile ).schema;
+    }
+
+    /**
+     * Returns a validator for the given schema file that belongs to the calling thread. Validators are not thread-safe,
+     * so each thread keeps its own validator for each compiled schema. The validators are held by the cached schema, so
+     * they are released together with the schema when the schema folder changes. The validator is reset before it is
+     * returned.
+     *
+     * @param schemaFile the XML schema file
+     * @return Validator
+     * @throws SAXException thrown if the validation schema cannot be created
+     */
+    public Validator getValidator(File schemaFile) throws SAXException {
+        Validator validator = getCompiledSchema( schemaFile ).validators.get();
+
+        validator.reset();
+        return validator;
+    }
+
+    /**
+     * Returns the cached compiled schema for the given schema file, compiling it if necessary.
+     *
+     * @param schemaFile the XML schema file
+     * @return CompiledSchema
+     * @throws SAXException thrown if the validation schema cannot be created
+     */
+    private CompiledSchema getCompiledSchema(File schemaFile) throws SAXException {
+        long fingerprint = xmlFolderMonitor.getFingerprint();
+
+        synchronized (this) {
+            refreshXmlIndex( fingerprint );
+            CompiledSchema compiledSchema = xmlSchemas.get( schemaFile );
+
+            if (compiledSchema == null) {
+                SchemaFactory sf = SchemaFactory.newInstance( XMLConstants.W3C_XML_SCHEMA_NS_URI );
+
+                sf.setResourceResolver( new FileSystemResourceResolver( schemaFile ) );
+                compiledSchema = new CompiledSchema( sf.newSchema( schemaFile ) );
+                xmlSchemas.put( schemaFile, compiledSchema );
+            }
+            return compiledSchema;
+        }
+    }
+
+    /**
+     * Returns the JSON schema file that can validate a document with the given root property. If no qualifying schema
+     * can be located, this method will return null.
+     *
+     * @param rootProperty the name of the first property of the JSON document
+     * @return File
+     */
+    public File findJsonSchema(String rootProperty) {
+        long fingerprint = jsonFolderMonitor.getFingerprint();
+
+        synchronized (this) {
+            refreshJsonIndex( fingerprint );
+            return (rootProperty == null) ? null : rootIndex.get( rootProperty );
+        }
+    }
+
+    /**
+     * Returns the compiled JSON schema for the given schema file.
+     *
+     * @param schemaFile the JSON schema file
+     * @return JsonSchema
+     * @throws IOException thrown if the schema file cannot be read
+     * @throws ProcessingException thrown if the JSON schema cannot be created
+     */
+    public JsonSchema getJsonSchema(File schemaFile) throws IOException, ProcessingException {
+        long fingerprint = jsonFolderMonitor.getFingerprint();
+
+        synchronized (this) {
+            refreshJsonIndex( fingerprint );
+            JsonSchema schema = jsonSchemas.get( schemaFile );
+
+            if (schema == null) {
+                if (jsonSchemaFactory == null) {
+                    jsonSchemaFactory = newJsonSchemaFactory( jsonSchemaFolder );
+                }
+                schema = jsonSchemaFactory.getJsonSchema( JsonLoader.fromFile( schemaFile ) );
+                jsonSchemas.put( schemaFile, schema );
+            }
+            return schema;
+        }
+    }
+
+    /**
+     * Brings the XML element index up to date with the schema files on disk. Only new or changed files are re-parsed.
+     * The caller must hold the registry lock.
+     *
+     * @param fingerprint the current fingerprint of the XML schema folder
+     */
+    private void refreshXmlIndex(long fingerprint) {
+        if (fingerprint != xmlFingerprint) {
+            File[] xsdFiles = listFiles( xmlSchemaFolder, ".xsd" );
+            Map<File,Collection<QName>> elements = new LinkedHashMap<>();
+
+            for (File xsdFile : xsdFiles) {
+                Long modified = xsdModified.get( xsdFile );
+                Collection<QName> fileElements = xsdElements.get( xsdFile );
+
+                if ((modified == null) || (modified != xsdFile.lastModified()) || (fileElements == null)) {
+                    fileElements = getGlobalElements( xsdFile );
+                    xsdModified.put( xsdFile, xsdFile.lastModified() );
+                }
+                elements.put( xsdFile, fileElements );
+            }
+            xsdModified.keySet().retainAll( elements.keySet() );
+            xsdElements = elements;
+
+            // The first schema that declares an element is used
+            elementIndex.clear();
+            elements.forEach( (f, names) -> names.forEach( n -> elementIndex.putIfAbsent( n, f ) ) );
+
+            xmlSchemas.clear();
+            xmlFingerprint = fingerprint;
+        }
+    }
+
+    /**
+     * Brings the JSON root property index up to date with the schema files on disk. Only new or changed files are
+     * re-parsed. The caller must hold the registry lock.
+     *
+     * @param fingerprint the current fingerprint of the JSON schema folder
+     */
+    private void refreshJsonIndex(long fingerprint) {
+        if (fingerprint != jsonFingerprint) {
+            File[] schemaFiles = listFiles( jsonSchemaFolder, JsonSchemaCodegenUtils.JSON_SCHEMA_FILENAME_EXT );
+            Map<File,Collection<String>> roots = new LinkedHashMap<>();
+
+            for (File schemaFile : schemaFiles) {
+                Long modified = jsonModified.get( schemaFile );
+                Collection<String> fileRoots = jsonRoots.get( schemaFile );
+
+                if ((modified == null) || (modified != schemaFile.lastModified()) || (fileRoots == null)) {
+                    fileRoots = getRootProperties( schemaFile );
+                    jsonModified.put( schemaFile, schemaFile.lastModified() );
+                }
+                roots.put( schemaFile, fileRoots );
+            }
+            jsonModified.keySet().retainAll( roots.keySet() );
+            jsonRoots = roots;
+
+            // The first schema that can validate a root property is used
+            rootIndex.clear();
+            roots.forEach( (f, names) -> names.forEach( n -> rootIndex.putIfAbsent( n, f ) ) );
+
+            jsonSchemas.clear();
+            jsonSchemaFactory = null;
+            jsonFingerprint = fingerprint;
+        }
+    }
+
+    /**
+     * Returns the files in the given folder with the given extension, or an empty array if the folder does not exist.
+     */
+    private static File[] listFiles(File folder, String extension) {
+        File[] files = folder.listFiles( f -> f.isFile() && f.getName().endsWith( extension ) );
+        return (files == null) ? new File[0] : files;
+    }
+
+    /**
+     * Returns a value that changes when any file in the folder or its sub-folders is added, removed or modified.
+     *
+     * @param folder the schema folder
+     * @return long
+     */
+    private static long getFingerprint(File folder) {
+        long fingerprint = 17;
+        File[] files = folder.listFiles();
+
+        if (files != null) {
+            for (File file : files) {
+                if (file.isDirectory()) {
+                    fingerprint = 31 * fingerprint + getFingerprint( file );
+                } else {
+                    fingerprint = 31 * fingerprint + file.getName().hashCode();
+                    fingerprint = 31 * fingerprint + file.lastModified();
+                    fingerprint = 31 * fingerprint + file.length();
+                }
+            }
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Returns the list of global elements defined in the given XSD file. If the schema file cannot be parsed for any
+     * reason, this method will fail silently and return an empty collection.
+     *
+     * @param xsdFile the XML schema file
+     * @return Collection&lt;QName&gt;
+     */
+    private static Collection<QName> getGlobalElements(File xsdFile) {
+        Set<QName> globalElements = new HashSet<>();
+
+        try {
+            Unmarshaller u = jaxbContext.createUnmarshaller();
+            org.w3._2001.xmlschema.Schema schema =
+                (org.w3._2001.xmlschema.Schema) FileUtils.unmarshalFileContent( xsdFile, u );
+
+            for (OpenAttrs schemaItem : schema.getSimpleTypeOrComplexTypeOrGroup()) {
+                if (schemaItem instanceof TopLevelElement) {
+                    TopLevelElement xsdElement = (TopLevelElement) schemaItem;
+                    QName elementName = xsdElement.getRef();
+
+                    if (elementName == null) {
+                        elementName = new QName( schema.getTargetNamespace(), xsdElement.getName() );
+                    }
+                    globalElements.add( elementName );
+                }
+            }
+
+        } catch (JAXBException | IOException e) {
+            // No action - return an empty collection
+        }
+        return globalElements;
+    }
+
+    /**
+     * Returns the names of the root properties the given JSON schema file can validate. These are the properties of
+     * the schema's <code>oneOf</code> entries. If the file cannot be read, this method will return an empty collection.
+     *
+     * @param schemaFile the JSON schema file
+     * @return Collection&lt;String&gt;
+     */
+    private static Collection<String> getRootProperties(File schemaFile) {
+        Set<String> rootProperties = new HashSet<>();
+
+        try {
+            JsonNode schemaOneOf = JsonLoader.fromFile( schemaFile ).get( "oneOf" );
+
+            if (schemaOneOf instanceof ArrayNode) {
+                for (JsonNode oneOfEntry : (ArrayNode) schemaOneOf) {
+                    JsonNode oneOfProperties = oneOfEntry.get( "properties" );
+
+                    if (oneOfProperties != null) {
+                        Iterator<String> fieldNames = oneOfProperties.fieldNames();
+
+                        while (fieldNames.hasNext()) {
+                            rootProperties.add( fieldNames.next() );
+                        }
+                    }
+                }
+            }
+
+        } catch (IOException e) {
+            log.debug( "Unable to read JSON schema: " + schemaFile.getName() );
+            return Collections.emptySet();
+        }
+        return rootProperties;
+    }
+
+    /**
+     * Returns a new <code>JsonSchemaFactory</code> instance.
+     *
+     * @param schemaFolder the folder location where JSON schemas are located
+     * @return JsonSchemaFactory
+     */
+    private static JsonSchemaFactory newJsonSchemaFactory(File schemaFolder) {
+        return JsonSchemaFactory.newBuilder()
+            .setLoadingConfiguration( LoadingConfiguration.newBuilder()
+                .setURITranslatorConfiguration( URITranslatorConfiguration.newBuilder().setNamespace( JSON_NAMESPACE )
+                    .addPathRedirect( JSON_NAMESPACE, schemaFolder.toURI().toString() ).freeze() )
+                .freeze() )
+            .freeze();
+    }
+
+    /**
+     * A compiled XML schema and the validators created from it by each thread.
+     */
+    private static class CompiledSchema {
+
+        private final Schema schema;
+        private final ThreadLocal<Validator> validators;
+
+        /**
+         * Constructor that specifies the compiled schema.
+         *
+         * @param schema the compiled validation schema
+         */
+        public CompiledSchema(Schema schema) {
+            this.schema = schema;
+            this.validators = ThreadLocal.withInitial( schema::newValidator );
+        }
+
+    }
+
+    /**
+     * Tracks the fingerprint of a schema folder. The folder is scanned again only when its modification time changes or
+     * when the last scan is older than the check interval. Scans do not require the registry lock.
+     */
+    private static class FolderMonitor {
+
+        private final File folder;
+        private volatile long folderStamp = Long.MIN_VALUE;
+        private volatile long checkedAt = 0;
+        private volatile long fingerprint = 0;
+
+        /**
+         * Constructor that specifies the folder to monitor.
+         *
+         * @param folder the schema folder
+         */
+        public FolderMonitor(File folder) {
+            this.folder = folder;
+        }
+
+        /**
+         * Returns the current fingerprint of the folder.
+         *
+         * @return long
+         */
+        public long getFingerprint() {
+            long now = System.currentTimeMillis();
+            long stamp = folder.lastModified();
+
+            if ((stamp != folderStamp) || ((now - checkedAt) >= CHECK_INTERVAL_MILLIS)) {
+                fingerprint = SchemaRegistry.getFingerprint( folder );
+                folderStamp = stamp;
+                checkedAt = now;
+            }
+            return fingerprint;
+        }
+
+    }
+
+    /**
+     * Initializes the JAXB context for the XML schema-for-schemas.
+     */
+    static {
+        try {
+            jaxbContext = JAXBContext.newInstance( "org.w3._2001.xmlschema" );
+
+        } catch (Exception e) {
+            throw new ExceptionInInitializerError( e );
+        }
+    }
+}
@@ -0,0 +1,237 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.opentravel.messagevalidate;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Structured results of validating a single message file.
+ */
+public class ValidationResult {
+
+    /**
+     * Overall outcome of a message validation.
+     */
+    public enum Status {
+        /** The message was validated and no errors were found. */
+        VALID,
+        /** The message was validated and errors were found. */
+        INVALID,
+        /** No generated schema declares the message's root element. */
+        NO_SCHEMA,
+        /** The file is not an XML or JSON message. */
+        UNSUPPORTED,
+        /** The message or its schema could not be read. */
+        ERROR
+    }
+
+    /**
+     * A single validation error reported for a message.
+     */
+    public static class Finding {
+
+        private String message;
+        private int line;
+        private int column;
+        private String path;
+
+        /**
+         * Full constructor.
+         *
+         * @param message the validation error message
+         * @param line the line number of the error or -1 if not known
+         * @param column the column number of the error or -1 if not known
+         * @param path the JSON pointer of the error or null if not known
+         */
+        public Finding(String message, int line, int column, String path) {
+            this.message = message;
+            this.line = line;
+            this.column = column;
+            this.path = path;
+        }
+
+        /**
+         * Returns the validation error message.
+         *
+         * @return String
+         */
+        public String getMessage() {
+            return message;
+        }
+
+        /**
+         * Returns the line number of the error or -1 if not known.
+         *
+         * @return int
+         */
+        public int getLine() {
+            return line;
+        }
+
+        /**
+         * Returns the column number of the error or -1 if not known.
+         *
+         * @return int
+         */
+        public int getColumn() {
+            return column;
+        }
+
+        /**
+         * Returns the JSON pointer of the error or null if not known.
+         *
+         * @return String
+         */
+        public String getPath() {
+            return path;
+        }
+
+    }
+
+    private File messageFile;
+    private String format;
+    private File schemaFile;
+    private Status status;
+    private List<Finding> findings = new ArrayList<>();
+    private Exception error;
+    private long elapsedMillis;
+
+    /**
+     * Constructor that specifies the message file and its format.
+     *
+     * @param messageFile the message file that was validated
+     * @param format the message format (XML or JSON) or null if the format is not supported
+     */
+    public ValidationResult(File messageFile, String format) {
+        this.messageFile = messageFile;
+        this.format = format;
+        this.status = (format == null) ? Status.UNSUPPORTED : Status.NO_SCHEMA;
+    }
+
+    /**
+     * Returns the message file that was validated.
+     *
+     * @return File
+     */
+    public File getMessageFile() {
+        return messageFile;
+    }
+
+    /**
+     * Returns the message format (XML or JSON) or null if the format is not supported.
+     *
+     * @return String
+     */
+    public String getFormat() {
+        return format;
+    }
+
+    /**
+     * Returns the schema file used to validate the message or null if no schema was found.
+     *
+     * @return File
+     */
+    public File getSchemaFile() {
+        return schemaFile;
+    }
+
+    /**
+     * Assigns the schema file used to validate the message.
+     *
+     * @param schemaFile the schema file to assign
+     */
+    public void setSchemaFile(File schemaFile) {
+        this.schemaFile = schemaFile;
+    }
+
+    /**
+     * Returns the overall outcome of the validation.
+     *
+     * @return Status
+     */
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Assigns the overall outcome of the validation.
+     *
+     * @param status the status to assign
+     */
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    /**
+     * Returns the validation errors reported for the message.
+     *
+     * @return List&lt;Finding&gt;
+     */
+    public List<Finding> getFindings() {
+        return Collections.unmodifiableList( findings );
+    }
+
+    /**
+     * Adds a validation error to the results.
+     *
+     * @param finding the finding to add
+     */
+    public void addFinding(Finding finding) {
+        findings.add( finding );
+    }
+
+    /**
+     * Returns the exception that prevented validation or null if the message was validated.
+     *
+     * @return Exception
+     */
+    public Exception getError() {
+        return error;
+    }
+
+    /**
+     * Assigns the exception that prevented validation and sets the status to {@link Status#ERROR}.
+     *
+     * @param error the exception to assign
+     */
+    public void setError(Exception error) {
+        this.error = error;
+        this.status = Status.ERROR;
+    }
+
+    /**
+     * Returns the time taken to validate the message.
+     *
+     * @return long
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * Assigns the time taken to validate the message.
+     *
+     * @param elapsedMillis the elapsed time to assign
+     */
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+}
@@ -0,0 +1,37 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.opentravel.messagevalidate;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Writes message validation results to a report as each message is validated. Implementations must allow results to
+ * be written from several threads. Closing the writer completes the report but does not close the underlying stream;
+ * closing a writer that is already closed has no effect.
+ */
+public interface ValidationResultWriter extends Closeable {
+
+    /**
+     * Writes the results for a single message to the report.
+     * 
+     * @param result the validation results to write
+     * @throws IOException thrown if the report cannot be written
+     */
+    public void write(ValidationResult result) throws IOException;
+
+}
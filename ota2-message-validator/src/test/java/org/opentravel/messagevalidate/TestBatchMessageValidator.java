@@ -0,0 +1,125 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.opentravel.messagevalidate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+/**
+ * Verifies the functions of the <code>BatchMessageValidator</code> class.
+ */
+public class TestBatchMessageValidator {
+
+    private static final File testDataFolder =
+        new File( System.getProperty( "user.dir" ), "/src/test/resources/test-data" );
+    private static final File codegenFolder = new File( testDataFolder, "/codegen" );
+    private static final File messagesFolder = new File( testDataFolder, "/messages" );
+
+    @Test
+    public void testFindMessageFiles() throws Exception {
+        List<String> filenames = new ArrayList<>();
+
+        for (File messageFile : BatchMessageValidator.findMessageFiles( messagesFolder,
+            BatchMessageValidator.DEFAULT_GLOB )) {
+            filenames.add( messageFile.getName() );
+        }
+        assertEquals( 3, filenames.size() );
+        assertTrue( filenames.contains( "valid-message.xml" ) );
+        assertTrue( filenames.contains( "invalid-message.xml" ) );
+        assertTrue( filenames.contains( "unknown-message.xml" ) );
+    }
+
+    @Test
+    public void testValidateWithJsonWriter() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Map<ValidationResult.Status,Integer> counts;
+
+        try (BatchMessageValidator validator = new BatchMessageValidator( codegenFolder, 2 );
+            ValidationResultWriter writer = new JsonResultWriter( out )) {
+            counts = validator.validate( findMessageFiles(), writer );
+        }
+        assertCounts( counts );
+
+        ObjectMapper mapper = new ObjectMapper();
+        Map<String,String> statuses = new HashMap<>();
+
+        for (String line : new String( out.toByteArray(), StandardCharsets.UTF_8 ).split( "\n" )) {
+            JsonNode node = mapper.readTree( line );
+
+            statuses.put( new File( node.get( "file" ).asText() ).getName(), node.get( "status" ).asText() );
+        }
+        assertEquals( 3, statuses.size() );
+        assertEquals( "VALID", statuses.get( "valid-message.xml" ) );
+        assertEquals( "INVALID", statuses.get( "invalid-message.xml" ) );
+        assertEquals( "NO_SCHEMA", statuses.get( "unknown-message.xml" ) );
+    }
+
+    @Test
+    public void testValidateWithJUnitWriter() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Map<ValidationResult.Status,Integer> counts;
+
+        try (BatchMessageValidator validator = new BatchMessageValidator( codegenFolder, 2 );
+            ValidationResultWriter writer = new JUnitResultWriter( out, "messages" )) {
+            counts = validator.validate( findMessageFiles(), writer );
+        }
+        assertCounts( counts );
+
+        Document report = DocumentBuilderFactory.newInstance().newDocumentBuilder()
+            .parse( new ByteArrayInputStream( out.toByteArray() ) );
+        Element suite = report.getDocumentElement();
+        NodeList testCases = suite.getElementsByTagName( "testcase" );
+
+        assertEquals( "testsuite", suite.getTagName() );
+        assertEquals( "messages", suite.getAttribute( "name" ) );
+        assertEquals( 3, testCases.getLength() );
+        assertEquals( 1, suite.getElementsByTagName( "failure" ).getLength() );
+        assertEquals( 1, suite.getElementsByTagName( "skipped" ).getLength() );
+        assertEquals( 0, suite.getElementsByTagName( "error" ).getLength() );
+    }
+
+    private static List<File> findMessageFiles() throws Exception {
+        return BatchMessageValidator.findMessageFiles( messagesFolder, BatchMessageValidator.DEFAULT_GLOB );
+    }
+
+    private static void assertCounts(Map<ValidationResult.Status,Integer> counts) {
+        assertEquals( Integer.valueOf( 1 ), counts.get( ValidationResult.Status.VALID ) );
+        assertEquals( Integer.valueOf( 1 ), counts.get( ValidationResult.Status.INVALID ) );
+        assertEquals( Integer.valueOf( 1 ), counts.get( ValidationResult.Status.NO_SCHEMA ) );
+    }
+
+}
@@ -0,0 +1,72 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.opentravel.messagevalidate;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.io.File;
+
+/**
+ * Verifies the functions of the <code>SchemaRegistry</code> class.
+ */
+public class TestSchemaRegistry {
+
+    private static final File testFolder =
+        new File( System.getProperty( "user.dir" ), "/target/test-output/TestSchemaRegistry" );
+
+    @Test
+    public void testSharedPerFolder() throws Exception {
+        File codegenFolder = newCodegenFolder( "shared" );
+
+        assertSame( SchemaRegistry.getInstance( codegenFolder ), SchemaRegistry.getInstance( codegenFolder ) );
+    }
+
+    @Test
+    public void testMissingFolderEvicted() throws Exception {
+        File deletedFolder = newCodegenFolder( "deleted" );
+        SchemaRegistry deletedRegistry = SchemaRegistry.getInstance( deletedFolder );
+
+        assertTrue( deletedFolder.delete() );
+        SchemaRegistry.getInstance( newCodegenFolder( "replacement" ) );
+
+        assertNotSame( deletedRegistry, SchemaRegistry.getInstance( deletedFolder ) );
+    }
+
+    @Test
+    public void testRegistriesBounded() throws Exception {
+        File firstFolder = newCodegenFolder( "bounded-0" );
+        SchemaRegistry firstRegistry = SchemaRegistry.getInstance( firstFolder );
+
+        for (int i = 1; i <= SchemaRegistry.MAX_REGISTRIES; i++) {
+            SchemaRegistry.getInstance( newCodegenFolder( "bounded-" + i ) );
+        }
+        assertNotSame( firstRegistry, SchemaRegistry.getInstance( firstFolder ) );
+    }
+
+    private static File newCodegenFolder(String name) {
+        File folder = new File( testFolder, name );
+
+        folder.mkdirs();
+        return folder;
+    }
+
+}
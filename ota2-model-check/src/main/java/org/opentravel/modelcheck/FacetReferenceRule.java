@@ -0,0 +1,52 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opentravel.modelcheck;
+
+import org.opentravel.schemacompiler.model.NamedEntity;
+import org.opentravel.schemacompiler.model.TLAlias;
+import org.opentravel.schemacompiler.model.TLFacet;
+import org.opentravel.schemacompiler.model.TLProperty;
+
+/**
+ * Reports elements that are assigned directly to a facet (or an alias of a facet) instead of the object that owns the
+ * facet.
+ */
+public class FacetReferenceRule extends ModelCheckRule {
+
+    /**
+     * @see org.opentravel.modelcheck.ModelCheckRule#getName()
+     */
+    @Override
+    public String getName() {
+        return "Facet References";
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitElement(org.opentravel.schemacompiler.model.TLProperty)
+     */
+    @Override
+    public boolean visitElement(TLProperty element) {
+        NamedEntity elementType = element.getType();
+        boolean facetReference = (elementType instanceof TLFacet) || ((elementType instanceof TLAlias)
+            && (((TLAlias) elementType).getOwningEntity() instanceof TLFacet));
+
+        if (facetReference) {
+            addFinding( element, "Element is assigned directly to facet " + elementType.getLocalName() + "." );
+        }
+        return true;
+    }
+
+}
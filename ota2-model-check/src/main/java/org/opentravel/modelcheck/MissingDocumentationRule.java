@@ -0,0 +1,187 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opentravel.modelcheck;
+
+import org.opentravel.schemacompiler.model.TLAttribute;
+import org.opentravel.schemacompiler.model.TLBusinessObject;
+import org.opentravel.schemacompiler.model.TLChoiceObject;
+import org.opentravel.schemacompiler.model.TLClosedEnumeration;
+import org.opentravel.schemacompiler.model.TLContextualFacet;
+import org.opentravel.schemacompiler.model.TLCoreObject;
+import org.opentravel.schemacompiler.model.TLDocumentation;
+import org.opentravel.schemacompiler.model.TLDocumentationOwner;
+import org.opentravel.schemacompiler.model.TLIndicator;
+import org.opentravel.schemacompiler.model.TLOpenEnumeration;
+import org.opentravel.schemacompiler.model.TLOperation;
+import org.opentravel.schemacompiler.model.TLProperty;
+import org.opentravel.schemacompiler.model.TLResource;
+import org.opentravel.schemacompiler.model.TLService;
+import org.opentravel.schemacompiler.model.TLSimple;
+import org.opentravel.schemacompiler.model.TLValueWithAttributes;
+
+/**
+ * Reports library members and member fields that do not have a documentation description.
+ */
+public class MissingDocumentationRule extends ModelCheckRule {
+
+    /**
+     * @see org.opentravel.modelcheck.ModelCheckRule#getName()
+     */
+    @Override
+    public String getName() {
+        return "Missing Documentation";
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitSimple(org.opentravel.schemacompiler.model.TLSimple)
+     */
+    @Override
+    public boolean visitSimple(TLSimple simple) {
+        checkDocumentation( simple );
+        return true;
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitValueWithAttributes(org.opentravel.schemacompiler.model.TLValueWithAttributes)
+     */
+    @Override
+    public boolean visitValueWithAttributes(TLValueWithAttributes vwa) {
+        checkDocumentation( vwa );
+        return true;
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitClosedEnumeration(org.opentravel.schemacompiler.model.TLClosedEnumeration)
+     */
+    @Override
+    public boolean visitClosedEnumeration(TLClosedEnumeration enumeration) {
+        checkDocumentation( enumeration );
+        return true;
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitOpenEnumeration(org.opentravel.schemacompiler.model.TLOpenEnumeration)
+     */
+    @Override
+    public boolean visitOpenEnumeration(TLOpenEnumeration enumeration) {
+        checkDocumentation( enumeration );
+        return true;
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitChoiceObject(org.opentravel.schemacompiler.model.TLChoiceObject)
+     */
+    @Override
+    public boolean visitChoiceObject(TLChoiceObject choiceObject) {
+        checkDocumentation( choiceObject );
+        return true;
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitCoreObject(org.opentravel.schemacompiler.model.TLCoreObject)
+     */
+    @Override
+    public boolean visitCoreObject(TLCoreObject coreObject) {
+        checkDocumentation( coreObject );
+        return true;
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitBusinessObject(org.opentravel.schemacompiler.model.TLBusinessObject)
+     */
+    @Override
+    public boolean visitBusinessObject(TLBusinessObject businessObject) {
+        checkDocumentation( businessObject );
+        return true;
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitContextualFacet(org.opentravel.schemacompiler.model.TLContextualFacet)
+     */
+    @Override
+    public boolean visitContextualFacet(TLContextualFacet facet) {
+        checkDocumentation( facet );
+        return true;
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitResource(org.opentravel.schemacompiler.model.TLResource)
+     */
+    @Override
+    public boolean visitResource(TLResource resource) {
+        checkDocumentation( resource );
+        return true;
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitService(org.opentravel.schemacompiler.model.TLService)
+     */
+    @Override
+    public boolean visitService(TLService service) {
+        checkDocumentation( service );
+        return true;
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitOperation(org.opentravel.schemacompiler.model.TLOperation)
+     */
+    @Override
+    public boolean visitOperation(TLOperation operation) {
+        checkDocumentation( operation );
+        return true;
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitAttribute(org.opentravel.schemacompiler.model.TLAttribute)
+     */
+    @Override
+    public boolean visitAttribute(TLAttribute attribute) {
+        checkDocumentation( attribute );
+        return true;
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitElement(org.opentravel.schemacompiler.model.TLProperty)
+     */
+    @Override
+    public boolean visitElement(TLProperty element) {
+        checkDocumentation( element );
+        return true;
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitIndicator(org.opentravel.schemacompiler.model.TLIndicator)
+     */
+    @Override
+    public boolean visitIndicator(TLIndicator indicator) {
+        checkDocumentation( indicator );
+        return true;
+    }
+
+    /**
+     * Reports a finding if the given element does not have a documentation description.
+     * 
+     * @param docOwner the model element to check
+     */
+    private void checkDocumentation(TLDocumentationOwner docOwner) {
+        TLDocumentation doc = docOwner.getDocumentation();
+
+        if ((doc == null) || (doc.getDescription() == null) || doc.getDescription().trim().isEmpty()) {
+            addFinding( docOwner, "No documentation description has been provided." );
+        }
+    }
+
+}
@@ -0,0 +1,75 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opentravel.modelcheck;
+
+import org.opentravel.schemacompiler.model.NamedEntity;
+import org.opentravel.schemacompiler.model.TLAttribute;
+import org.opentravel.schemacompiler.model.TLExampleOwner;
+import org.opentravel.schemacompiler.model.TLProperty;
+import org.opentravel.schemacompiler.model.TLSimple;
+import org.opentravel.schemacompiler.model.TLValueWithAttributes;
+import org.opentravel.schemacompiler.model.XSDSimpleType;
+
+/**
+ * Reports attributes and elements of a simple type that have no example value, either on the field itself or on its
+ * assigned type.
+ */
+public class MissingExamplesRule extends ModelCheckRule {
+
+    /**
+     * @see org.opentravel.modelcheck.ModelCheckRule#getName()
+     */
+    @Override
+    public String getName() {
+        return "Missing Examples";
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitAttribute(org.opentravel.schemacompiler.model.TLAttribute)
+     */
+    @Override
+    public boolean visitAttribute(TLAttribute attribute) {
+        checkExamples( attribute, attribute.getType() );
+        return true;
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitElement(org.opentravel.schemacompiler.model.TLProperty)
+     */
+    @Override
+    public boolean visitElement(TLProperty element) {
+        checkExamples( element, element.getType() );
+        return true;
+    }
+
+    /**
+     * Reports a finding if the given field is of a simple type and neither the field nor its type provides an example
+     * value.
+     * 
+     * @param field the attribute or element to check
+     * @param fieldType the assigned type of the field
+     */
+    private void checkExamples(TLExampleOwner field, NamedEntity fieldType) {
+        boolean simpleType = (fieldType instanceof TLSimple) || (fieldType instanceof TLValueWithAttributes)
+            || (fieldType instanceof XSDSimpleType);
+
+        if (simpleType && field.getExamples().isEmpty()
+            && (!(fieldType instanceof TLExampleOwner) || ((TLExampleOwner) fieldType).getExamples().isEmpty())) {
+            addFinding( field, "No example value has been provided for the field or its type." );
+        }
+    }
+
+}
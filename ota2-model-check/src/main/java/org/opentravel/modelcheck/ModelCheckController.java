@@ -17,14 +17,37 @@
 package org.opentravel.modelcheck;
 
 import org.opentravel.application.common.AbstractMainWindowController;
+import org.opentravel.application.common.BrowseRepositoryDialogController;
+import org.opentravel.application.common.FileChooserDelegate;
+import org.opentravel.application.common.OtmApplicationException;
 import org.opentravel.application.common.StatusType;
+import org.opentravel.schemacompiler.model.TLLibrary;
+import org.opentravel.schemacompiler.model.TLModel;
+import org.opentravel.schemacompiler.repository.ProjectManager;
+import org.opentravel.schemacompiler.repository.ReleaseManager;
+import org.opentravel.schemacompiler.repository.RepositoryItem;
+import org.opentravel.schemacompiler.repository.RepositoryItemType;
+import org.opentravel.schemacompiler.util.SchemaCompilerException;
+import org.opentravel.schemacompiler.validate.FindingMessageFormat;
+import org.opentravel.schemacompiler.validate.FindingType;
+import org.opentravel.schemacompiler.validate.ValidationFindings;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javafx.application.Platform;
+import javafx.concurrent.Worker;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.Node;
@@ -42,6 +65,10 @@ public class ModelCheckController extends AbstractMainWindowController {
 
     public static final String FXML_FILE = "/ota2-model-check.fxml";
 
+    private static final String TEMP_FILE_PREFIX = "modelcheck-";
+    private static final String HTML_EXTENSION = ".html";
+    private static final long REPORT_REFRESH_INTERVAL = 1000L;
+
     private static final Logger log = LoggerFactory.getLogger( ModelCheckController.class );
 
     @FXML
@@ -65,6 +92,9 @@ public class ModelCheckController extends AbstractMainWindowController {
     @FXML
     private Label statusBarLabel;
 
+    private UserSettings userSettings;
+    private ModelCheckFindingsCache findingsCache = new ModelCheckFindingsCache();
+
     /**
      * Called when the user clicks the button to select a release or project file from the local file system.
      * 
@@ -72,7 +102,16 @@ public class ModelCheckController extends AbstractMainWindowController {
      */
     @FXML
     public void selectLocalFile(ActionEvent event) {
-        log.info( "selectLocalFile()" );
+        FileChooserDelegate chooser = newFileChooser( "Select Project or Release", userSettings.getProjectFolder(),
+            OTP_EXTENSION_FILTER, OTR_EXTENSION_FILTER, ALL_EXTENSION_FILTER );
+        File selectedFile = chooser.showOpenDialog( getPrimaryStage() );
+
+        if (selectedFile != null) {
+            filenameText.setText( selectedFile.getName() );
+            userSettings.setProjectFolder( selectedFile.getParentFile() );
+            userSettings.save();
+            runModelCheck( selectedFile, null );
+        }
     }
 
     /**
@@ -82,7 +121,19 @@ public class ModelCheckController extends AbstractMainWindowController {
      */
     @FXML
     public void selectManagedRelease(ActionEvent event) {
-        log.info( "selectManagedRelease()" );
+        BrowseRepositoryDialogController controller = BrowseRepositoryDialogController.createDialog(
+            "Select Managed Release", RepositoryItemType.RELEASE, getPrimaryStage(), getRepositoryManager() );
+
+        if (controller != null) {
+            controller.showAndWait();
+
+            if (controller.isOkSelected()) {
+                RepositoryItem releaseItem = controller.getSelectedRepositoryItem();
+
+                filenameText.setText( releaseItem.getFilename() );
+                runModelCheck( null, releaseItem );
+            }
+        }
     }
 
     /**
@@ -102,7 +153,8 @@ public class ModelCheckController extends AbstractMainWindowController {
      */
     @FXML
     public void navigateBack(ActionEvent event) {
-        log.info( "navigateBack()" );
+        reportViewer.getEngine().getHistory().go( -1 );
+        updateControlStates();
     }
 
     /**
@@ -112,7 +164,8 @@ public class ModelCheckController extends AbstractMainWindowController {
      */
     @FXML
     public void navigateForward(ActionEvent event) {
-        log.info( "navigateForward()" );
+        reportViewer.getEngine().getHistory().go( 1 );
+        updateControlStates();
     }
 
     /**
@@ -122,7 +175,174 @@ public class ModelCheckController extends AbstractMainWindowController {
      */
     @FXML
     public void saveReport(ActionEvent event) {
-        log.info( "saveReport()" );
+        FileChooserDelegate chooser = newFileChooser( "Save Report", userSettings.getReportFolder(),
+            HTML_EXTENSION_FILTER, ALL_EXTENSION_FILTER );
+        File targetFile = chooser.showSaveDialog( getPrimaryStage() );
+
+        if (targetFile != null) {
+            String reportLocation = reportViewer.getEngine().getLocation();
+            Runnable r = new BackgroundTask( "Saving Report", StatusType.INFO ) {
+                protected void execute() throws OtmApplicationException {
+                    try {
+                        File reportFile = new File( new URL( reportLocation ).toURI() );
+
+                        Files.copy( reportFile.toPath(), targetFile.toPath(), StandardCopyOption.REPLACE_EXISTING );
+
+                    } catch (Exception e) {
+                        throw new OtmApplicationException( e.getMessage(), e );
+
+                    } finally {
+                        userSettings.setReportFolder( targetFile.getParentFile() );
+                        userSettings.save();
+                    }
+                }
+            };
+
+            new Thread( r ).start();
+        }
+    }
+
+    /**
+     * Loads the given project or release in the background, checks each of its libraries against the enabled rules,
+     * and displays the resulting report. Library results are written to the report and displayed as soon as they are
+     * available.
+     * 
+     * @param modelFile the project or release file to check (null if a managed release is to be checked)
+     * @param releaseItem the managed release to check (null if a local file is to be checked)
+     */
+    private void runModelCheck(File modelFile, RepositoryItem releaseItem) {
+        Runnable r = new BackgroundTask( "Running model check...", StatusType.INFO ) {
+            protected void execute() throws OtmApplicationException {
+                ProjectManager projectManager = null;
+
+                try {
+                    ValidationFindings findings = new ValidationFindings();
+                    ModelCheckEngine engine = new ModelCheckEngine( userSettings.getModelCheckOptions() );
+                    File reportFile = File.createTempFile( TEMP_FILE_PREFIX, HTML_EXTENSION );
+                    String modelName = (modelFile != null) ? modelFile.getName() : releaseItem.getFilename();
+                    TLModel model;
+
+                    showReport( null );
+
+                    if ((modelFile != null) && modelFile.getName().toLowerCase().endsWith( ".otp" )) {
+                        projectManager = new ProjectManager( new TLModel(), false, getRepositoryManager() );
+                        projectManager.loadProject( modelFile, findings );
+                        model = projectManager.getModel();
+
+                    } else {
+                        ReleaseManager releaseManager = new ReleaseManager( getRepositoryManager() );
+
+                        if (modelFile != null) {
+                            releaseManager.loadRelease( modelFile, findings );
+                        } else {
+                            releaseManager.loadRelease( releaseItem, findings );
+                        }
+                        model = releaseManager.getModel();
+                    }
+                    if (findings.hasFinding( FindingType.ERROR )) {
+                        reportValidationErrors( findings, modelName, reportFile );
+                        throw new OtmApplicationException( "The model contains one or more validation errors." );
+                    }
+                    findingsCache.purge();
+                    engine.setFindingsCache( findingsCache );
+                    checkModel( engine, model.getUserDefinedLibraries(), modelName, reportFile );
+                    showReport( reportFile );
+                    reportFile.deleteOnExit();
+
+                } catch (SchemaCompilerException | IOException e) {
+                    throw new OtmApplicationException( e.getMessage(), e );
+
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new OtmApplicationException( "The model check was interrupted.", e );
+
+                } finally {
+                    if (projectManager != null) {
+                        projectManager.closeAll();
+                    }
+                }
+            }
+        };
+
+        new Thread( r ).start();
+    }
+
+    /**
+     * Writes a report that lists the validation errors which prevented the model from being checked, and displays it
+     * to the user.
+     * 
+     * @param findings the validation findings from loading the model
+     * @param modelName the name of the project or release being checked
+     * @param reportFile the file to which the HTML report is written
+     * @throws IOException thrown if the report cannot be written
+     */
+    private void reportValidationErrors(ValidationFindings findings, String modelName, File reportFile)
+        throws IOException {
+        try (OutputStream out = new FileOutputStream( reportFile );
+            ModelCheckReportWriter writer = new ModelCheckReportWriter( out, modelName )) {
+            writer.writeMessage( "The model was not checked because it contains validation errors:" );
+
+            for (String message : findings.getValidationMessages( FindingType.ERROR,
+                FindingMessageFormat.IDENTIFIED_FORMAT )) {
+                writer.writeMessage( message );
+            }
+        }
+        showReport( reportFile );
+        reportFile.deleteOnExit();
+    }
+
+    /**
+     * Checks the given libraries and streams the findings for each library to the report file as it completes. The
+     * report viewer is refreshed with the partial report as libraries complete, at most once per refresh interval.
+     * 
+     * @param engine the model-check engine that enforces the enabled rules
+     * @param libraries the libraries to check
+     * @param modelName the name of the project or release being checked
+     * @param reportFile the file to which the HTML report is written
+     * @throws IOException thrown if the report cannot be written
+     * @throws InterruptedException thrown if the check is interrupted
+     */
+    private void checkModel(ModelCheckEngine engine, List<TLLibrary> libraries, String modelName, File reportFile)
+        throws IOException, InterruptedException {
+        AtomicInteger checkedCount = new AtomicInteger();
+        AtomicLong lastRefresh = new AtomicLong();
+        long startTime = System.currentTimeMillis();
+        int findingCount;
+
+        try (OutputStream out = new FileOutputStream( reportFile );
+            ModelCheckReportWriter writer = new ModelCheckReportWriter( out, modelName )) {
+            if (engine.getRuleCount() == 0) {
+                writer.writeMessage( "No model-check rules are enabled in the current options." );
+            }
+            findingCount = engine.check( libraries, (library, findings) -> {
+                writer.write( library, findings );
+
+                if ((System.currentTimeMillis() - lastRefresh.get()) >= REPORT_REFRESH_INTERVAL) {
+                    showReport( reportFile );
+                    lastRefresh.set( System.currentTimeMillis() );
+                }
+                setStatusMessage( String.format( "Checked %d of %d libraries...", checkedCount.incrementAndGet(),
+                    libraries.size() ), StatusType.INFO, true );
+            } );
+        }
+        log.info( "Model check of {} complete: {} libraries, {} findings, {}ms", modelName, libraries.size(),
+            findingCount, System.currentTimeMillis() - startTime );
+    }
+
+    /**
+     * Displays the contents of the specified file in the HTML report viewer.
+     * 
+     * @param reportFile the HTML report file to display
+     */
+    private void showReport(final File reportFile) {
+        Platform.runLater( () -> {
+            if (reportFile != null) {
+                reportViewer.getEngine().load( reportFile.toURI().toString() );
+
+            } else {
+                reportViewer.getEngine().loadContent( "" );
+            }
+        } );
     }
 
     /**
@@ -172,6 +392,12 @@ public class ModelCheckController extends AbstractMainWindowController {
     @Override
     protected void initialize(Stage primaryStage) {
         super.initialize( primaryStage );
+        this.userSettings = UserSettings.load();
+        reportViewer.getEngine().getLoadWorker().stateProperty().addListener( (observable, oldState, newState) -> {
+            if (newState == Worker.State.SUCCEEDED) {
+                updateControlStates();
+            }
+        } );
         updateControlStates();
     }
 
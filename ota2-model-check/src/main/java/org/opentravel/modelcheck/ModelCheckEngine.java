@@ -0,0 +1,231 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opentravel.modelcheck;
+
+import org.opentravel.schemacompiler.model.TLLibrary;
+import org.opentravel.schemacompiler.visitor.ModelNavigator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Performs model-check analysis by evaluating the enabled rules against each library of a model. The rules for a
+ * library are evaluated during a single navigation pass, and libraries are checked concurrently. If a findings cache
+ * is assigned, libraries that have not changed since a previous check are not checked again.
+ */
+public class ModelCheckEngine {
+
+    private static final Logger log = LoggerFactory.getLogger( ModelCheckEngine.class );
+
+    private List<Supplier<? extends ModelCheckRule>> ruleFactories = new ArrayList<>();
+    private List<Class<? extends ModelCheckRule>> ruleTypes = new ArrayList<>();
+    private ModelCheckFindingsCache findingsCache;
+    private int threads;
+
+    /**
+     * Constructor that enables the rules selected in the given options and checks libraries using one thread per
+     * available processor.
+     * 
+     * @param options the options that specify which rules are enforced
+     */
+    public ModelCheckEngine(ModelCheckOptions options) {
+        this( options, Runtime.getRuntime().availableProcessors() );
+    }
+
+    /**
+     * Constructor that enables the rules selected in the given options.
+     * 
+     * @param options the options that specify which rules are enforced
+     * @param threads the number of libraries to check concurrently
+     */
+    public ModelCheckEngine(ModelCheckOptions options, int threads) {
+        this.threads = Math.max( 1, threads );
+
+        if (options.isCheckMissingDocumentation()) {
+            addRule( MissingDocumentationRule.class, MissingDocumentationRule::new );
+        }
+        if (options.isCheckMissingExamples()) {
+            addRule( MissingExamplesRule.class, MissingExamplesRule::new );
+        }
+        if (options.isCheckFacetReferences()) {
+            addRule( FacetReferenceRule.class, FacetReferenceRule::new );
+        }
+        if (options.isCheckMultiVersionReferences()) {
+            addRule( MultiVersionReferenceRule.class, MultiVersionReferenceRule::new );
+        }
+    }
+
+    /**
+     * Adds a rule to be enforced by this engine. The factory is called once for each library that is checked.
+     * 
+     * @param ruleType the type of rule created by the factory
+     * @param ruleFactory the factory that creates instances of the rule
+     * @param <R> the type of the rule
+     */
+    public <R extends ModelCheckRule> void addRule(Class<R> ruleType, Supplier<R> ruleFactory) {
+        ruleTypes.add( ruleType );
+        ruleFactories.add( ruleFactory );
+    }
+
+    /**
+     * Returns the number of rules enforced by this engine.
+     * 
+     * @return int
+     */
+    public int getRuleCount() {
+        return ruleFactories.size();
+    }
+
+    /**
+     * Returns a value that identifies the set of rules enforced by this engine.
+     * 
+     * @return String
+     */
+    public String getRuleSignature() {
+        List<String> ruleNames = new ArrayList<>();
+
+        ruleTypes.forEach( t -> ruleNames.add( t.getName() ) );
+        Collections.sort( ruleNames );
+        return String.join( ",", ruleNames );
+    }
+
+    /**
+     * Assigns the cache of findings from previous checks (may be null).
+     * 
+     * @param findingsCache the findings cache to assign
+     */
+    public void setFindingsCache(ModelCheckFindingsCache findingsCache) {
+        this.findingsCache = findingsCache;
+    }
+
+    /**
+     * Evaluates all of the rules against the given library and returns the findings.
+     * 
+     * @param library the library to check
+     * @return List&lt;ModelCheckFinding&gt;
+     */
+    public List<ModelCheckFinding> checkLibrary(TLLibrary library) {
+        List<ModelCheckRule> rules = new ArrayList<>();
+        List<ModelCheckFinding> findings = new ArrayList<>();
+
+        ruleFactories.forEach( f -> rules.add( f.get() ) );
+        rules.forEach( r -> r.startLibrary( library ) );
+        new ModelNavigator( new ModelCheckVisitor( rules ) ).navigateLibrary( library );
+        rules.forEach( ModelCheckRule::endLibrary );
+        rules.forEach( r -> findings.addAll( r.getFindings() ) );
+        return findings;
+    }
+
+    /**
+     * Checks the given libraries concurrently. The listener is called on the calling thread as each library's check
+     * completes, so findings can be reported without waiting for the entire model to be checked. Libraries with
+     * cached findings are reported first, without being checked again.
+     * 
+     * @param libraries the libraries to check
+     * @param listener the listener that receives each library and its findings
+     * @return int
+     * @throws InterruptedException thrown if the calling thread is interrupted while waiting for results
+     */
+    public int check(List<TLLibrary> libraries, BiConsumer<TLLibrary,List<ModelCheckFinding>> listener)
+        throws InterruptedException {
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool( threads, r -> {
+            Thread t = new Thread( r, "ModelCheck-" + threadCount.incrementAndGet() );
+
+            t.setDaemon( true );
+            return t;
+        } );
+        Map<TLLibrary,String> cacheKeys = (findingsCache == null) ? Collections.emptyMap()
+            : findingsCache.getCacheKeys( libraries, getRuleSignature() );
+        int findingCount = 0;
+
+        try {
+            CompletionService<List<ModelCheckFinding>> completionService = new ExecutorCompletionService<>( executor );
+            Map<Future<List<ModelCheckFinding>>,TLLibrary> futureLibraries = new HashMap<>();
+
+            for (TLLibrary library : libraries) {
+                String cacheKey = cacheKeys.get( library );
+                List<ModelCheckFinding> cachedFindings = (cacheKey == null) ? null : findingsCache.get( cacheKey );
+
+                if (cachedFindings != null) {
+                    findingCount += cachedFindings.size();
+                    listener.accept( library, cachedFindings );
+
+                } else {
+                    futureLibraries.put( completionService.submit( () -> checkLibrary( library ) ), library );
+                }
+            }
+            log.info( "Checking {} of {} libraries ({} unchanged).", futureLibraries.size(), libraries.size(),
+                libraries.size() - futureLibraries.size() );
+
+            for (int i = 0; i < futureLibraries.size(); i++) {
+                Future<List<ModelCheckFinding>> future = completionService.take();
+                List<ModelCheckFinding> findings = getFindings( future );
+                TLLibrary library = futureLibraries.get( future );
+                String cacheKey = cacheKeys.get( library );
+
+                if (cacheKey != null) {
+                    findingsCache.put( cacheKey, findings );
+                }
+                findingCount += findings.size();
+                listener.accept( library, findings );
+            }
+
+        } finally {
+            executor.shutdownNow();
+        }
+        return findingCount;
+    }
+
+    /**
+     * Returns the findings from the given completed check.
+     * 
+     * @param future the completed check of a library
+     * @return List&lt;ModelCheckFinding&gt;
+     * @throws InterruptedException thrown if the calling thread is interrupted
+     */
+    private static List<ModelCheckFinding> getFindings(Future<List<ModelCheckFinding>> future)
+        throws InterruptedException {
+        try {
+            return future.get();
+
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+
+            } else {
+                throw new IllegalStateException( "Error during model check.", cause );
+            }
+        }
+    }
+
+}
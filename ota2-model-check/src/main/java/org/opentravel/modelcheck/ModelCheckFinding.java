@@ -0,0 +1,79 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opentravel.modelcheck;
+
+/**
+ * A single rule violation reported by the model-check analysis.
+ */
+public class ModelCheckFinding {
+
+    private String ruleName;
+    private String libraryName;
+    private String location;
+    private String message;
+
+    /**
+     * Full constructor.
+     * 
+     * @param ruleName the name of the rule that reported the finding
+     * @param libraryName the name of the library that contains the violation
+     * @param location the validation identity of the model element that violates the rule
+     * @param message the description of the violation
+     */
+    public ModelCheckFinding(String ruleName, String libraryName, String location, String message) {
+        this.ruleName = ruleName;
+        this.libraryName = libraryName;
+        this.location = location;
+        this.message = message;
+    }
+
+    /**
+     * Returns the name of the rule that reported the finding.
+     *
+     * @return String
+     */
+    public String getRuleName() {
+        return ruleName;
+    }
+
+    /**
+     * Returns the name of the library that contains the violation.
+     *
+     * @return String
+     */
+    public String getLibraryName() {
+        return libraryName;
+    }
+
+    /**
+     * Returns the validation identity of the model element that violates the rule.
+     *
+     * @return String
+     */
+    public String getLocation() {
+        return location;
+    }
+
+    /**
+     * Returns the description of the violation.
+     *
+     * @return String
+     */
+    public String getMessage() {
+        return message;
+    }
+
+}
@@ -0,0 +1,304 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opentravel.modelcheck;
+
+import org.opentravel.schemacompiler.model.AbstractLibrary;
+import org.opentravel.schemacompiler.model.TLLibrary;
+import org.opentravel.schemacompiler.model.TLModel;
+import org.opentravel.schemacompiler.model.TLNamespaceImport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Disk cache of the model-check findings for each library. The cache key of a library is a hash of its identity and
+ * content, the content of every library it depends on, and the set of enabled rules. A library therefore only needs
+ * to be checked again when it, one of its dependencies, or the rule selection has changed.
+ */
+public class ModelCheckFindingsCache {
+
+    private static final String DEFAULT_CACHE_FOLDER = "/.ota2/.mc-findings-cache";
+    private static final String CACHE_FILE_EXTENSION = ".findings";
+    private static final int CACHE_FORMAT_VERSION = 2;
+    private static final long MAX_ENTRY_AGE = TimeUnit.DAYS.toMillis( 30 );
+
+    private static final Logger log = LoggerFactory.getLogger( ModelCheckFindingsCache.class );
+
+    private File cacheFolder;
+
+    /**
+     * Default constructor that uses a cache folder in the user's home folder.
+     */
+    public ModelCheckFindingsCache() {
+        this( new File( System.getProperty( "user.home" ), DEFAULT_CACHE_FOLDER ) );
+    }
+
+    /**
+     * Constructor that specifies the location of the cache.
+     * 
+     * @param cacheFolder the folder in which cached findings are stored
+     */
+    public ModelCheckFindingsCache(File cacheFolder) {
+        this.cacheFolder = cacheFolder;
+    }
+
+    /**
+     * Returns the cache key for each of the given libraries. Libraries whose content cannot be read are omitted from
+     * the map that is returned and will always be checked.
+     * 
+     * @param libraries the libraries to be checked
+     * @param ruleSignature the identity of the rules that are enforced
+     * @return Map&lt;TLLibrary,String&gt;
+     */
+    public Map<TLLibrary,String> getCacheKeys(List<TLLibrary> libraries, String ruleSignature) {
+        Map<AbstractLibrary,String> contentHashes = new HashMap<>();
+        Map<TLLibrary,String> cacheKeys = new HashMap<>();
+
+        for (TLLibrary library : libraries) {
+            StringBuilder keySource = new StringBuilder();
+            String libraryHash = contentHashes.computeIfAbsent( library, this::getContentHash );
+            boolean readable = !libraryHash.isEmpty();
+
+            keySource.append( library.getNamespace() ).append( ':' ).append( library.getName() ).append( ':' )
+                .append( library.getVersion() ).append( '=' ).append( libraryHash );
+            keySource.append( '|' ).append( CACHE_FORMAT_VERSION ).append( '|' ).append( ruleSignature );
+
+            for (TLLibrary dependency : getDependencies( library )) {
+                String contentHash = contentHashes.computeIfAbsent( dependency, this::getContentHash );
+
+                readable &= !contentHash.isEmpty();
+                keySource.append( '|' ).append( dependency.getNamespace() ).append( ':' )
+                    .append( dependency.getName() ).append( ':' ).append( dependency.getVersion() ).append( '=' )
+                    .append( contentHash );
+            }
+            if (readable) {
+                cacheKeys.put( library, hash( keySource.toString().getBytes( StandardCharsets.UTF_8 ) ) );
+            }
+        }
+        return cacheKeys;
+    }
+
+    /**
+     * Returns the cached findings for the given key, or null if no findings have been cached.
+     * 
+     * @param cacheKey the cache key of a library
+     * @return List&lt;ModelCheckFinding&gt;
+     */
+    public List<ModelCheckFinding> get(String cacheKey) {
+        File cacheFile = new File( cacheFolder, cacheKey + CACHE_FILE_EXTENSION );
+        List<ModelCheckFinding> findings = null;
+
+        if (cacheFile.exists()) {
+            try (DataInputStream in = new DataInputStream( Files.newInputStream( cacheFile.toPath() ) )) {
+                int count = in.readInt();
+
+                findings = new ArrayList<>( count );
+
+                for (int i = 0; i < count; i++) {
+                    findings.add( new ModelCheckFinding( readString( in ), readString( in ), readString( in ),
+                        readString( in ) ) );
+                }
+                cacheFile.setLastModified( System.currentTimeMillis() );
+
+            } catch (IOException e) {
+                log.warn( "Unable to read cached findings: " + cacheFile.getName(), e );
+                findings = null;
+            }
+        }
+        return findings;
+    }
+
+    /**
+     * Saves the findings for the given key.
+     * 
+     * @param cacheKey the cache key of a library
+     * @param findings the findings to be cached
+     */
+    public void put(String cacheKey, List<ModelCheckFinding> findings) {
+        try {
+            File tempFile;
+
+            cacheFolder.mkdirs();
+            tempFile = File.createTempFile( "findings", ".tmp", cacheFolder );
+
+            try (DataOutputStream out = new DataOutputStream( Files.newOutputStream( tempFile.toPath() ) )) {
+                out.writeInt( findings.size() );
+
+                for (ModelCheckFinding finding : findings) {
+                    writeString( out, finding.getRuleName() );
+                    writeString( out, finding.getLibraryName() );
+                    writeString( out, finding.getLocation() );
+                    writeString( out, finding.getMessage() );
+                }
+            }
+            Files.move( tempFile.toPath(), new File( cacheFolder, cacheKey + CACHE_FILE_EXTENSION ).toPath(),
+                StandardCopyOption.REPLACE_EXISTING );
+
+        } catch (IOException e) {
+            log.warn( "Unable to cache findings.", e );
+        }
+    }
+
+    /**
+     * Deletes cached findings that have not been used in the last 30 days.
+     */
+    public void purge() {
+        File[] cacheFiles = cacheFolder.listFiles();
+        long oldestAllowed = System.currentTimeMillis() - MAX_ENTRY_AGE;
+
+        if (cacheFiles != null) {
+            for (File cacheFile : cacheFiles) {
+                if (cacheFile.lastModified() < oldestAllowed) {
+                    cacheFile.delete();
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the given library and all of the user-defined libraries that it depends on, either directly or
+     * indirectly. All libraries that share a namespace with the library or one of its imports are included, since
+     * references within a namespace do not require an import.
+     * 
+     * @param library the library for which to return dependencies
+     * @return Set&lt;TLLibrary&gt;
+     */
+    private Set<TLLibrary> getDependencies(TLLibrary library) {
+        Set<TLLibrary> dependencies = new TreeSet<>( (l1, l2) -> {
+            int result = String.valueOf( l1.getNamespace() ).compareTo( String.valueOf( l2.getNamespace() ) );
+
+            if (result == 0) {
+                result = String.valueOf( l1.getName() ).compareTo( String.valueOf( l2.getName() ) );
+            }
+            if (result == 0) {
+                result = String.valueOf( l1.getVersion() ).compareTo( String.valueOf( l2.getVersion() ) );
+            }
+            return result;
+        } );
+        TLModel model = library.getOwningModel();
+        Set<String> visitedNamespaces = new HashSet<>();
+        Deque<String> namespaces = new ArrayDeque<>();
+
+        dependencies.add( library );
+        namespaces.add( library.getNamespace() );
+
+        while (!namespaces.isEmpty()) {
+            String namespace = namespaces.remove();
+
+            if (visitedNamespaces.add( namespace ) && (model != null)) {
+                for (AbstractLibrary nsLibrary : model.getLibraries( namespace )) {
+                    if (nsLibrary instanceof TLLibrary) {
+                        dependencies.add( (TLLibrary) nsLibrary );
+
+                        for (TLNamespaceImport nsImport : ((TLLibrary) nsLibrary).getNamespaceImports()) {
+                            namespaces.add( nsImport.getNamespace() );
+                        }
+                    }
+                }
+            }
+        }
+        return dependencies;
+    }
+
+    /**
+     * Returns a hash of the saved content of the given library, or an empty string if the content cannot be read.
+     * 
+     * @param library the library whose content is to be hashed
+     * @return String
+     */
+    private String getContentHash(AbstractLibrary library) {
+        URL libraryUrl = library.getLibraryUrl();
+        String contentHash = "";
+
+        if (libraryUrl != null) {
+            try (InputStream in = libraryUrl.openStream()) {
+                contentHash = hash( in.readAllBytes() );
+
+            } catch (IOException e) {
+                log.debug( "Unable to read library content: " + libraryUrl );
+            }
+        }
+        return contentHash;
+    }
+
+    /**
+     * Returns the SHA-256 hash of the given bytes as a hexadecimal string.
+     * 
+     * @param content the content to hash
+     * @return String
+     */
+    private static String hash(byte[] content) {
+        try {
+            StringBuilder hex = new StringBuilder();
+
+            for (byte b : MessageDigest.getInstance( "SHA-256" ).digest( content )) {
+                hex.append( String.format( "%02x", b ) );
+            }
+            return hex.toString();
+
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException( e );
+        }
+    }
+
+    /**
+     * Writes a string value that may be null.
+     * 
+     * @param out the stream to which the value is written
+     * @param value the value to write
+     * @throws IOException thrown if the value cannot be written
+     */
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean( value != null );
+
+        if (value != null) {
+            out.writeUTF( value );
+        }
+    }
+
+    /**
+     * Reads a string value that may be null.
+     * 
+     * @param in the stream from which the value is read
+     * @return String
+     * @throws IOException thrown if the value cannot be read
+     */
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+}
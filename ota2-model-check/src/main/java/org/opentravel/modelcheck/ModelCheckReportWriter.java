@@ -0,0 +1,114 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opentravel.modelcheck;
+
+import org.opentravel.schemacompiler.model.TLLibrary;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Writes an HTML model-check report one library at a time, so that the findings for a large model never need to be
+ * held in memory all at once.
+ */
+public class ModelCheckReportWriter implements Closeable {
+
+    public static final String REPORT_TITLE = "OTM Model Check Report";
+
+    private PrintWriter out;
+    private int libraryCount;
+    private int findingCount;
+
+    /**
+     * Constructor that writes the start of the report to the given output stream.
+     * 
+     * @param out the output stream to which the report is written
+     * @param modelName the name of the project or release being checked
+     */
+    public ModelCheckReportWriter(OutputStream out, String modelName) {
+        this.out = new PrintWriter( new OutputStreamWriter( out, StandardCharsets.UTF_8 ) );
+        this.out.println( "<html><head><title>" + REPORT_TITLE + "</title>" );
+        this.out.println( "<style>body { font-family: sans-serif; font-size: 10pt; } "
+            + "table { border-collapse: collapse; width: 100%; } "
+            + "th, td { border: 1px solid #c0c0c0; padding: 3px; text-align: left; vertical-align: top; } "
+            + "th { background-color: #e0e0e0; }</style></head><body>" );
+        this.out.println( "<h1>" + escape( modelName ) + "</h1>" );
+    }
+
+    /**
+     * Writes an informational message to the report.
+     * 
+     * @param message the message to write
+     */
+    public void writeMessage(String message) {
+        out.println( "<p><i>" + escape( message ) + "</i></p>" );
+    }
+
+    /**
+     * Writes the findings for a single library.
+     * 
+     * @param library the library that was checked
+     * @param findings the findings reported for the library
+     */
+    public void write(TLLibrary library, List<ModelCheckFinding> findings) {
+        libraryCount++;
+        findingCount += findings.size();
+        out.println( "<h2>" + escape( library.getName() ) + " (" + escape( library.getVersion() ) + ")</h2>" );
+
+        if (findings.isEmpty()) {
+            out.println( "<p>No findings.</p>" );
+
+        } else {
+            out.println( "<table><tr><th>Rule</th><th>Location</th><th>Finding</th></tr>" );
+
+            for (ModelCheckFinding finding : findings) {
+                out.println( "<tr><td>" + escape( finding.getRuleName() ) + "</td><td>"
+                    + escape( finding.getLocation() ) + "</td><td>" + escape( finding.getMessage() ) + "</td></tr>" );
+            }
+            out.println( "</table>" );
+        }
+        out.flush();
+    }
+
+    /**
+     * Writes the report summary and closes the underlying output stream.
+     * 
+     * @see java.io.Closeable#close()
+     */
+    @Override
+    public void close() throws IOException {
+        out.println( "<hr/><p>" + libraryCount + " libraries checked, " + findingCount + " findings.</p>" );
+        out.println( "</body></html>" );
+        out.close();
+    }
+
+    /**
+     * Escapes the given text for inclusion in an HTML document.
+     * 
+     * @param text the text to escape
+     * @return String
+     */
+    private static String escape(String text) {
+        return (text == null) ? ""
+            : text.replace( "&", "&amp;" ).replace( "<", "&lt;" ).replace( ">", "&gt;" ).replace( "\"", "&quot;" );
+    }
+
+}
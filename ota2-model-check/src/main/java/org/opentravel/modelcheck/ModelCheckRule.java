@@ -0,0 +1,88 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opentravel.modelcheck;
+
+import org.opentravel.schemacompiler.model.TLLibrary;
+import org.opentravel.schemacompiler.model.TLModelElement;
+import org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Base class for the rules enforced during model-check analysis. Each rule is a visitor that is called for the
+ * elements of one library during a single navigation pass that is shared by all of the enabled rules. A new rule
+ * instance is created for each library, so rules may keep state without synchronization.
+ */
+public abstract class ModelCheckRule extends ModelElementVisitorAdapter {
+
+    private TLLibrary library;
+    private List<ModelCheckFinding> findings = new ArrayList<>();
+
+    /**
+     * Returns the display name of this rule.
+     * 
+     * @return String
+     */
+    public abstract String getName();
+
+    /**
+     * Called before any of the library's elements are visited.
+     * 
+     * @param library the library to be checked
+     */
+    public void startLibrary(TLLibrary library) {
+        this.library = library;
+    }
+
+    /**
+     * Called after all of the library's elements have been visited. Rules that report on the library as a whole
+     * should override this method.
+     */
+    public void endLibrary() {
+        // No default action required
+    }
+
+    /**
+     * Returns the library being checked.
+     * 
+     * @return TLLibrary
+     */
+    protected TLLibrary getLibrary() {
+        return library;
+    }
+
+    /**
+     * Reports a violation of this rule.
+     * 
+     * @param element the model element that violates the rule
+     * @param message the description of the violation
+     */
+    protected void addFinding(TLModelElement element, String message) {
+        findings.add( new ModelCheckFinding( getName(), library.getName(), element.getValidationIdentity(), message ) );
+    }
+
+    /**
+     * Returns the violations reported by this rule.
+     * 
+     * @return List&lt;ModelCheckFinding&gt;
+     */
+    public List<ModelCheckFinding> getFindings() {
+        return Collections.unmodifiableList( findings );
+    }
+
+}
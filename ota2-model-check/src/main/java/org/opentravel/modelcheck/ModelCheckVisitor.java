@@ -0,0 +1,431 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opentravel.modelcheck;
+
+import org.opentravel.schemacompiler.model.BuiltInLibrary;
+import org.opentravel.schemacompiler.model.TLAction;
+import org.opentravel.schemacompiler.model.TLActionFacet;
+import org.opentravel.schemacompiler.model.TLActionRequest;
+import org.opentravel.schemacompiler.model.TLActionResponse;
+import org.opentravel.schemacompiler.model.TLAlias;
+import org.opentravel.schemacompiler.model.TLAttribute;
+import org.opentravel.schemacompiler.model.TLBusinessObject;
+import org.opentravel.schemacompiler.model.TLChoiceObject;
+import org.opentravel.schemacompiler.model.TLClosedEnumeration;
+import org.opentravel.schemacompiler.model.TLContext;
+import org.opentravel.schemacompiler.model.TLContextualFacet;
+import org.opentravel.schemacompiler.model.TLCoreObject;
+import org.opentravel.schemacompiler.model.TLDocumentation;
+import org.opentravel.schemacompiler.model.TLEnumValue;
+import org.opentravel.schemacompiler.model.TLEquivalent;
+import org.opentravel.schemacompiler.model.TLExample;
+import org.opentravel.schemacompiler.model.TLExtension;
+import org.opentravel.schemacompiler.model.TLExtensionPointFacet;
+import org.opentravel.schemacompiler.model.TLFacet;
+import org.opentravel.schemacompiler.model.TLIndicator;
+import org.opentravel.schemacompiler.model.TLLibrary;
+import org.opentravel.schemacompiler.model.TLListFacet;
+import org.opentravel.schemacompiler.model.TLOpenEnumeration;
+import org.opentravel.schemacompiler.model.TLOperation;
+import org.opentravel.schemacompiler.model.TLParamGroup;
+import org.opentravel.schemacompiler.model.TLParameter;
+import org.opentravel.schemacompiler.model.TLProperty;
+import org.opentravel.schemacompiler.model.TLResource;
+import org.opentravel.schemacompiler.model.TLResourceParentRef;
+import org.opentravel.schemacompiler.model.TLRole;
+import org.opentravel.schemacompiler.model.TLService;
+import org.opentravel.schemacompiler.model.TLSimple;
+import org.opentravel.schemacompiler.model.TLSimpleFacet;
+import org.opentravel.schemacompiler.model.TLValueWithAttributes;
+import org.opentravel.schemacompiler.model.XSDComplexType;
+import org.opentravel.schemacompiler.model.XSDElement;
+import org.opentravel.schemacompiler.model.XSDLibrary;
+import org.opentravel.schemacompiler.model.XSDSimpleType;
+import org.opentravel.schemacompiler.visitor.ModelElementVisitor;
+import org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter;
+
+import java.util.List;
+
+/**
+ * Visitor that forwards each model element to all of the enabled rules so that every rule is evaluated during a
+ * single navigation pass over a library. Every method of {@link ModelElementVisitor} is forwarded, so a rule can
+ * override any of them.
+ */
+class ModelCheckVisitor extends ModelElementVisitorAdapter {
+
+    private List<ModelCheckRule> rules;
+
+    /**
+     * Constructor that specifies the rules to which model elements are forwarded.
+     * 
+     * @param rules the rules to be evaluated
+     */
+    public ModelCheckVisitor(List<ModelCheckRule> rules) {
+        this.rules = rules;
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitBuiltInLibrary(org.opentravel.schemacompiler.model.BuiltInLibrary)
+     */
+    @Override
+    public boolean visitBuiltInLibrary(BuiltInLibrary library) {
+        rules.forEach( r -> r.visitBuiltInLibrary( library ) );
+        return true;
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitLegacySchemaLibrary(org.opentravel.schemacompiler.model.XSDLibrary)
+     */
+    @Override
+    public boolean visitLegacySchemaLibrary(XSDLibrary library) {
+        rules.forEach( r -> r.visitLegacySchemaLibrary( library ) );
+        return true;
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitUserDefinedLibrary(org.opentravel.schemacompiler.model.TLLibrary)
+     */
+    @Override
+    public boolean visitUserDefinedLibrary(TLLibrary library) {
+        rules.forEach( r -> r.visitUserDefinedLibrary( library ) );
+        return true;
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitContext(org.opentravel.schemacompiler.model.TLContext)
+     */
+    @Override
+    public boolean visitContext(TLContext context) {
+        rules.forEach( r -> r.visitContext( context ) );
+        return true;
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitSimple(org.opentravel.schemacompiler.model.TLSimple)
+     */
+    @Override
+    public boolean visitSimple(TLSimple simple) {
+        rules.forEach( r -> r.visitSimple( simple ) );
+        return true;
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitValueWithAttributes(org.opentravel.schemacompiler.model.TLValueWithAttributes)
+     */
+    @Override
+    public boolean visitValueWithAttributes(TLValueWithAttributes vwa) {
+        rules.forEach( r -> r.visitValueWithAttributes( vwa ) );
+        return true;
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitClosedEnumeration(org.opentravel.schemacompiler.model.TLClosedEnumeration)
+     */
+    @Override
+    public boolean visitClosedEnumeration(TLClosedEnumeration enumeration) {
+        rules.forEach( r -> r.visitClosedEnumeration( enumeration ) );
+        return true;
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitOpenEnumeration(org.opentravel.schemacompiler.model.TLOpenEnumeration)
+     */
+    @Override
+    public boolean visitOpenEnumeration(TLOpenEnumeration enumeration) {
+        rules.forEach( r -> r.visitOpenEnumeration( enumeration ) );
+        return true;
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitChoiceObject(org.opentravel.schemacompiler.model.TLChoiceObject)
+     */
+    @Override
+    public boolean visitChoiceObject(TLChoiceObject choiceObject) {
+        rules.forEach( r -> r.visitChoiceObject( choiceObject ) );
+        return true;
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitCoreObject(org.opentravel.schemacompiler.model.TLCoreObject)
+     */
+    @Override
+    public boolean visitCoreObject(TLCoreObject coreObject) {
+        rules.forEach( r -> r.visitCoreObject( coreObject ) );
+        return true;
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitBusinessObject(org.opentravel.schemacompiler.model.TLBusinessObject)
+     */
+    @Override
+    public boolean visitBusinessObject(TLBusinessObject businessObject) {
+        rules.forEach( r -> r.visitBusinessObject( businessObject ) );
+        return true;
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitContextualFacet(org.opentravel.schemacompiler.model.TLContextualFacet)
+     */
+    @Override
+    public boolean visitContextualFacet(TLContextualFacet facet) {
+        rules.forEach( r -> r.visitContextualFacet( facet ) );
+        return true;
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitResource(org.opentravel.schemacompiler.model.TLResource)
+     */
+    @Override
+    public boolean visitResource(TLResource resource) {
+        rules.forEach( r -> r.visitResource( resource ) );
+        return true;
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitService(org.opentravel.schemacompiler.model.TLService)
+     */
+    @Override
+    public boolean visitService(TLService service) {
+        rules.forEach( r -> r.visitService( service ) );
+        return true;
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitOperation(org.opentravel.schemacompiler.model.TLOperation)
+     */
+    @Override
+    public boolean visitOperation(TLOperation operation) {
+        rules.forEach( r -> r.visitOperation( operation ) );
+        return true;
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitExtensionPointFacet(org.opentravel.schemacompiler.model.TLExtensionPointFacet)
+     */
+    @Override
+    public boolean visitExtensionPointFacet(TLExtensionPointFacet extensionPointFacet) {
+        rules.forEach( r -> r.visitExtensionPointFacet( extensionPointFacet ) );
+        return true;
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitXSDSimpleType(org.opentravel.schemacompiler.model.XSDSimpleType)
+     */
+    @Override
+    public boolean visitXSDSimpleType(XSDSimpleType xsdSimple) {
+        rules.forEach( r -> r.visitXSDSimpleType( xsdSimple ) );
+        return true;
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitXSDComplexType(org.opentravel.schemacompiler.model.XSDComplexType)
+     */
+    @Override
+    public boolean visitXSDComplexType(XSDComplexType xsdComplex) {
+        rules.forEach( r -> r.visitXSDComplexType( xsdComplex ) );
+        return true;
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitXSDElement(org.opentravel.schemacompiler.model.XSDElement)
+     */
+    @Override
+    public boolean visitXSDElement(XSDElement xsdElement) {
+        rules.forEach( r -> r.visitXSDElement( xsdElement ) );
+        return true;
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitExtension(org.opentravel.schemacompiler.model.TLExtension)
+     */
+    @Override
+    public boolean visitExtension(TLExtension extension) {
+        rules.forEach( r -> r.visitExtension( extension ) );
+        return true;
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitFacet(org.opentravel.schemacompiler.model.TLFacet)
+     */
+    @Override
+    public boolean visitFacet(TLFacet facet) {
+        rules.forEach( r -> r.visitFacet( facet ) );
+        return true;
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitSimpleFacet(org.opentravel.schemacompiler.model.TLSimpleFacet)
+     */
+    @Override
+    public boolean visitSimpleFacet(TLSimpleFacet simpleFacet) {
+        rules.forEach( r -> r.visitSimpleFacet( simpleFacet ) );
+        return true;
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitListFacet(org.opentravel.schemacompiler.model.TLListFacet)
+     */
+    @Override
+    public boolean visitListFacet(TLListFacet listFacet) {
+        rules.forEach( r -> r.visitListFacet( listFacet ) );
+        return true;
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitAlias(org.opentravel.schemacompiler.model.TLAlias)
+     */
+    @Override
+    public boolean visitAlias(TLAlias alias) {
+        rules.forEach( r -> r.visitAlias( alias ) );
+        return true;
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitAttribute(org.opentravel.schemacompiler.model.TLAttribute)
+     */
+    @Override
+    public boolean visitAttribute(TLAttribute attribute) {
+        rules.forEach( r -> r.visitAttribute( attribute ) );
+        return true;
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitElement(org.opentravel.schemacompiler.model.TLProperty)
+     */
+    @Override
+    public boolean visitElement(TLProperty element) {
+        rules.forEach( r -> r.visitElement( element ) );
+        return true;
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitIndicator(org.opentravel.schemacompiler.model.TLIndicator)
+     */
+    @Override
+    public boolean visitIndicator(TLIndicator indicator) {
+        rules.forEach( r -> r.visitIndicator( indicator ) );
+        return true;
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitRole(org.opentravel.schemacompiler.model.TLRole)
+     */
+    @Override
+    public boolean visitRole(TLRole role) {
+        rules.forEach( r -> r.visitRole( role ) );
+        return true;
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitEnumValue(org.opentravel.schemacompiler.model.TLEnumValue)
+     */
+    @Override
+    public boolean visitEnumValue(TLEnumValue enumValue) {
+        rules.forEach( r -> r.visitEnumValue( enumValue ) );
+        return true;
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitDocumentation(org.opentravel.schemacompiler.model.TLDocumentation)
+     */
+    @Override
+    public boolean visitDocumentation(TLDocumentation documentation) {
+        rules.forEach( r -> r.visitDocumentation( documentation ) );
+        return true;
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitEquivalent(org.opentravel.schemacompiler.model.TLEquivalent)
+     */
+    @Override
+    public boolean visitEquivalent(TLEquivalent equivalent) {
+        rules.forEach( r -> r.visitEquivalent( equivalent ) );
+        return true;
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitExample(org.opentravel.schemacompiler.model.TLExample)
+     */
+    @Override
+    public boolean visitExample(TLExample example) {
+        rules.forEach( r -> r.visitExample( example ) );
+        return true;
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitResourceParentRef(org.opentravel.schemacompiler.model.TLResourceParentRef)
+     */
+    @Override
+    public boolean visitResourceParentRef(TLResourceParentRef parentRef) {
+        rules.forEach( r -> r.visitResourceParentRef( parentRef ) );
+        return true;
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitParamGroup(org.opentravel.schemacompiler.model.TLParamGroup)
+     */
+    @Override
+    public boolean visitParamGroup(TLParamGroup paramGroup) {
+        rules.forEach( r -> r.visitParamGroup( paramGroup ) );
+        return true;
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitParameter(org.opentravel.schemacompiler.model.TLParameter)
+     */
+    @Override
+    public boolean visitParameter(TLParameter parameter) {
+        rules.forEach( r -> r.visitParameter( parameter ) );
+        return true;
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitAction(org.opentravel.schemacompiler.model.TLAction)
+     */
+    @Override
+    public boolean visitAction(TLAction action) {
+        rules.forEach( r -> r.visitAction( action ) );
+        return true;
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitActionRequest(org.opentravel.schemacompiler.model.TLActionRequest)
+     */
+    @Override
+    public boolean visitActionRequest(TLActionRequest actionRequest) {
+        rules.forEach( r -> r.visitActionRequest( actionRequest ) );
+        return true;
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitActionResponse(org.opentravel.schemacompiler.model.TLActionResponse)
+     */
+    @Override
+    public boolean visitActionResponse(TLActionResponse actionResponse) {
+        rules.forEach( r -> r.visitActionResponse( actionResponse ) );
+        return true;
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitActionFacet(org.opentravel.schemacompiler.model.TLActionFacet)
+     */
+    @Override
+    public boolean visitActionFacet(TLActionFacet facet) {
+        rules.forEach( r -> r.visitActionFacet( facet ) );
+        return true;
+    }
+
+}
@@ -0,0 +1,170 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.opentravel.modelcheck;
+
+import org.opentravel.schemacompiler.model.AbstractLibrary;
+import org.opentravel.schemacompiler.model.NamedEntity;
+import org.opentravel.schemacompiler.model.TLActionFacet;
+import org.opentravel.schemacompiler.model.TLAttribute;
+import org.opentravel.schemacompiler.model.TLContextualFacet;
+import org.opentravel.schemacompiler.model.TLExtension;
+import org.opentravel.schemacompiler.model.TLLibrary;
+import org.opentravel.schemacompiler.model.TLProperty;
+import org.opentravel.schemacompiler.model.TLResource;
+import org.opentravel.schemacompiler.model.TLSimple;
+import org.opentravel.schemacompiler.model.TLValueWithAttributes;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Reports libraries that reference more than one major version of another library. References to several minor
+ * versions of the same major version are expected and are not reported.
+ */
+public class MultiVersionReferenceRule extends ModelCheckRule {
+
+    private Map<String,Set<String>> referencedVersions = new TreeMap<>();
+
+    /**
+     * @see org.opentravel.modelcheck.ModelCheckRule#getName()
+     */
+    @Override
+    public String getName() {
+        return "Multi-Version References";
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitAttribute(org.opentravel.schemacompiler.model.TLAttribute)
+     */
+    @Override
+    public boolean visitAttribute(TLAttribute attribute) {
+        addReference( attribute.getType() );
+        return true;
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitElement(org.opentravel.schemacompiler.model.TLProperty)
+     */
+    @Override
+    public boolean visitElement(TLProperty element) {
+        addReference( element.getType() );
+        return true;
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitExtension(org.opentravel.schemacompiler.model.TLExtension)
+     */
+    @Override
+    public boolean visitExtension(TLExtension extension) {
+        addReference( extension.getExtendsEntity() );
+        return true;
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitSimple(org.opentravel.schemacompiler.model.TLSimple)
+     */
+    @Override
+    public boolean visitSimple(TLSimple simple) {
+        addReference( simple.getParentType() );
+        return true;
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitValueWithAttributes(org.opentravel.schemacompiler.model.TLValueWithAttributes)
+     */
+    @Override
+    public boolean visitValueWithAttributes(TLValueWithAttributes vwa) {
+        addReference( vwa.getParentType() );
+        return true;
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitContextualFacet(org.opentravel.schemacompiler.model.TLContextualFacet)
+     */
+    @Override
+    public boolean visitContextualFacet(TLContextualFacet facet) {
+        addReference( facet.getOwningEntity() );
+        return true;
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitResource(org.opentravel.schemacompiler.model.TLResource)
+     */
+    @Override
+    public boolean visitResource(TLResource resource) {
+        addReference( resource.getBusinessObjectRef() );
+        return true;
+    }
+
+    /**
+     * @see org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter#visitActionFacet(org.opentravel.schemacompiler.model.TLActionFacet)
+     */
+    @Override
+    public boolean visitActionFacet(TLActionFacet facet) {
+        addReference( facet.getBasePayload() );
+        return true;
+    }
+
+    /**
+     * @see org.opentravel.modelcheck.ModelCheckRule#endLibrary()
+     */
+    @Override
+    public void endLibrary() {
+        for (Map.Entry<String,Set<String>> entry : referencedVersions.entrySet()) {
+            Set<String> majorVersions = new TreeSet<>();
+
+            entry.getValue().forEach( v -> majorVersions.add( v.split( "\\." )[0] ) );
+
+            if (majorVersions.size() > 1) {
+                addFinding( getLibrary(), "References multiple major versions of library " + entry.getKey() + ": "
+                    + String.join( ", ", entry.getValue() ) );
+            }
+        }
+    }
+
+    /**
+     * Records the version of the library that owns the referenced entity.
+     * 
+     * @param referencedEntity the entity referenced by the library being checked (may be null)
+     */
+    private void addReference(NamedEntity referencedEntity) {
+        AbstractLibrary referencedLibrary = (referencedEntity == null) ? null : referencedEntity.getOwningLibrary();
+
+        if ((referencedLibrary instanceof TLLibrary) && (referencedLibrary != getLibrary())) {
+            TLLibrary library = (TLLibrary) referencedLibrary;
+            String libraryKey = library.getName() + " (" + library.getBaseNamespace() + ")";
+
+            if (!isSameLibrary( library ) && (library.getVersion() != null)) {
+                referencedVersions.computeIfAbsent( libraryKey, k -> new TreeSet<>() ).add( library.getVersion() );
+            }
+        }
+    }
+
+    /**
+     * Returns true if the given library is a version of the library being checked.
+     * 
+     * @param library the referenced library
+     * @return boolean
+     */
+    private boolean isSameLibrary(TLLibrary library) {
+        return Objects.equals( library.getName(), getLibrary().getName() )
+            && Objects.equals( library.getBaseNamespace(), getLibrary().getBaseNamespace() );
+    }
+
+}
@@ -0,0 +1,162 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.opentravel.modelcheck;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.opentravel.modelcheck.TestModelCheckRules.newAttribute;
+import static org.opentravel.modelcheck.TestModelCheckRules.newCoreObject;
+import static org.opentravel.modelcheck.TestModelCheckRules.newDocumentation;
+import static org.opentravel.modelcheck.TestModelCheckRules.newElement;
+import static org.opentravel.modelcheck.TestModelCheckRules.newLibrary;
+import static org.opentravel.modelcheck.TestModelCheckRules.newSimple;
+
+import org.junit.Test;
+import org.opentravel.schemacompiler.model.TLCoreObject;
+import org.opentravel.schemacompiler.model.TLLibrary;
+import org.opentravel.schemacompiler.model.TLModel;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Verifies the functions of the <code>ModelCheckEngine</code> class.
+ */
+public class TestModelCheckEngine {
+
+    private static final String BASE_NS = "http://www.OpenTravel.org/ns/OTA2/SchemaCompiler/model-check";
+
+    @Test
+    public void testRulesEnabledByOptions() throws Exception {
+        ModelCheckOptions options = new ModelCheckOptions();
+
+        assertEquals( 0, new ModelCheckEngine( options, 1 ).getRuleCount() );
+
+        options.setCheckMissingDocumentation( true );
+        options.setCheckFacetReferences( true );
+        assertEquals( 2, new ModelCheckEngine( options, 1 ).getRuleCount() );
+
+        options.setCheckMissingExamples( true );
+        options.setCheckMultiVersionReferences( true );
+        assertEquals( 4, new ModelCheckEngine( options, 1 ).getRuleCount() );
+    }
+
+    @Test
+    public void testCheckLibrary() throws Exception {
+        TLLibrary library = newTestLibrary( new TLModel(), "TestLibrary", BASE_NS + "/v01" );
+        ModelCheckOptions options = new ModelCheckOptions();
+
+        options.setCheckMissingDocumentation( true );
+        options.setCheckMissingExamples( true );
+        options.setCheckFacetReferences( true );
+        options.setCheckMultiVersionReferences( true );
+
+        List<ModelCheckFinding> findings = new ModelCheckEngine( options, 1 ).checkLibrary( library );
+        Set<String> ruleNames = new HashSet<>();
+
+        findings.forEach( f -> ruleNames.add( f.getRuleName() ) );
+        findings.forEach( f -> assertEquals( "TestLibrary", f.getLibraryName() ) );
+        assertTrue( ruleNames.contains( "Missing Documentation" ) );
+        assertTrue( ruleNames.contains( "Missing Examples" ) );
+        assertTrue( ruleNames.contains( "Facet References" ) );
+        assertFalse( ruleNames.contains( "Multi-Version References" ) );
+    }
+
+    @Test
+    public void testCheckMultipleLibraries() throws Exception {
+        TLModel model = new TLModel();
+        List<TLLibrary> libraries = new ArrayList<>();
+        Map<TLLibrary,List<ModelCheckFinding>> results = new ConcurrentHashMap<>();
+        ModelCheckOptions options = new ModelCheckOptions();
+        ModelCheckEngine engine;
+        int expectedCount = 0;
+
+        options.setCheckMissingDocumentation( true );
+        options.setCheckFacetReferences( true );
+        engine = new ModelCheckEngine( options, 4 );
+
+        for (int i = 0; i < 10; i++) {
+            libraries.add( newTestLibrary( model, "TestLibrary" + i, BASE_NS + "/lib" + i + "/v01" ) );
+        }
+        for (TLLibrary library : libraries) {
+            expectedCount += engine.checkLibrary( library ).size();
+        }
+
+        int findingCount = engine.check( libraries, (library, findings) -> {
+            assertFalse( results.containsKey( library ) );
+            results.put( library, findings );
+        } );
+
+        assertEquals( expectedCount, findingCount );
+        assertEquals( libraries.size(), results.size() );
+
+        for (TLLibrary library : libraries) {
+            assertEquals( engine.checkLibrary( library ).size(), results.get( library ).size() );
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testRuleFailure() throws Exception {
+        TLModel model = new TLModel();
+        List<TLLibrary> libraries = new ArrayList<>();
+        ModelCheckEngine engine = new ModelCheckEngine( new ModelCheckOptions(), 2 );
+
+        libraries.add( newTestLibrary( model, "TestLibrary1", BASE_NS + "/lib1/v01" ) );
+        libraries.add( newTestLibrary( model, "TestLibrary2", BASE_NS + "/lib2/v01" ) );
+        engine.addRule( FailingRule.class, FailingRule::new );
+        engine.check( libraries, (library, findings) -> {
+        } );
+    }
+
+    /**
+     * Creates a library with a core object that violates the documentation, example and facet reference rules.
+     */
+    private static TLLibrary newTestLibrary(TLModel model, String name, String namespace) throws Exception {
+        TLLibrary library = newLibrary( model, name, namespace );
+        TLCoreObject referencedCore = newCoreObject( library, "ReferencedCore" );
+        TLCoreObject core = newCoreObject( library, "TestCore" );
+
+        referencedCore.setDocumentation( newDocumentation( "A documented core object." ) );
+        newAttribute( core, "testAttr", newSimple( library, "TestSimple" ) );
+        newElement( core, "FacetRef", referencedCore.getSummaryFacet() );
+        return library;
+    }
+
+    /**
+     * Rule that fails when it is called for a core object.
+     */
+    public static class FailingRule extends ModelCheckRule {
+
+        @Override
+        public String getName() {
+            return "Failing Rule";
+        }
+
+        @Override
+        public boolean visitCoreObject(TLCoreObject coreObject) {
+            throw new IllegalStateException( "Rule failure" );
+        }
+
+    }
+
+}
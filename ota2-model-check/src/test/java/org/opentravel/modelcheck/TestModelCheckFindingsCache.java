@@ -0,0 +1,115 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.opentravel.modelcheck;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.opentravel.modelcheck.TestModelCheckRules.newLibrary;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opentravel.schemacompiler.model.TLLibrary;
+import org.opentravel.schemacompiler.model.TLModel;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Verifies the functions of the <code>ModelCheckFindingsCache</code> class.
+ */
+public class TestModelCheckFindingsCache {
+
+    private static final String NAMESPACE = "http://www.OpenTravel.org/ns/OTA2/SchemaCompiler/model-check/v01";
+
+    private static File testFolder;
+
+    @BeforeClass
+    public static void setupTests() throws Exception {
+        testFolder = new File( System.getProperty( "user.dir" ),
+            "/target/test-output/TestModelCheckFindingsCache/" + System.nanoTime() );
+        testFolder.mkdirs();
+    }
+
+    @Test
+    public void testLibrariesInSameNamespace() throws Exception {
+        TLModel model = new TLModel();
+        TLLibrary libraryA = newSavedLibrary( model, "LibraryA", "library-a-content" );
+        TLLibrary libraryB = newSavedLibrary( model, "LibraryB", "library-b-content" );
+        List<TLLibrary> libraries = Arrays.asList( libraryA, libraryB );
+        ModelCheckFindingsCache cache = new ModelCheckFindingsCache( new File( testFolder, "cache-1" ) );
+        Map<TLLibrary,String> cacheKeys = cache.getCacheKeys( libraries, "rules" );
+
+        assertNotNull( cacheKeys.get( libraryA ) );
+        assertNotNull( cacheKeys.get( libraryB ) );
+        assertNotEquals( cacheKeys.get( libraryA ), cacheKeys.get( libraryB ) );
+
+        cache.put( cacheKeys.get( libraryA ), Collections.singletonList(
+            new ModelCheckFinding( "Test Rule", "LibraryA", "LibraryA", "Finding for library A." ) ) );
+        assertEquals( 1, cache.get( cacheKeys.get( libraryA ) ).size() );
+        assertEquals( "LibraryA", cache.get( cacheKeys.get( libraryA ) ).get( 0 ).getLibraryName() );
+        assertNull( cache.get( cacheKeys.get( libraryB ) ) );
+    }
+
+    @Test
+    public void testChangedContent() throws Exception {
+        TLModel model = new TLModel();
+        TLLibrary libraryA = newSavedLibrary( model, "LibraryA", "library-a-content" );
+        TLLibrary libraryB = newSavedLibrary( model, "LibraryB", "library-b-content" );
+        List<TLLibrary> libraries = Arrays.asList( libraryA, libraryB );
+        ModelCheckFindingsCache cache = new ModelCheckFindingsCache( new File( testFolder, "cache-2" ) );
+        Map<TLLibrary,String> originalKeys = cache.getCacheKeys( libraries, "rules" );
+
+        assertEquals( originalKeys, cache.getCacheKeys( libraries, "rules" ) );
+        assertNotEquals( originalKeys.get( libraryA ), cache.getCacheKeys( libraries, "other-rules" ).get( libraryA ) );
+
+        Files.write( new File( libraryB.getLibraryUrl().toURI() ).toPath(),
+            "library-b-modified".getBytes( StandardCharsets.UTF_8 ) );
+        Map<TLLibrary,String> modifiedKeys = cache.getCacheKeys( libraries, "rules" );
+
+        assertNotEquals( originalKeys.get( libraryA ), modifiedKeys.get( libraryA ) );
+        assertNotEquals( originalKeys.get( libraryB ), modifiedKeys.get( libraryB ) );
+    }
+
+    @Test
+    public void testUnsavedLibrary() throws Exception {
+        TLLibrary library = newLibrary( new TLModel(), "Unsaved", NAMESPACE );
+        ModelCheckFindingsCache cache = new ModelCheckFindingsCache( new File( testFolder, "cache-3" ) );
+
+        assertNull( cache.getCacheKeys( Collections.singletonList( library ), "rules" ).get( library ) );
+    }
+
+    /**
+     * Creates a library in the test namespace whose saved content is the given text.
+     */
+    private static TLLibrary newSavedLibrary(TLModel model, String name, String content) throws Exception {
+        TLLibrary library = newLibrary( model, name, NAMESPACE );
+        File libraryFile = new File( testFolder, model.hashCode() + "_" + name + ".otm" );
+
+        Files.write( libraryFile.toPath(), content.getBytes( StandardCharsets.UTF_8 ) );
+        library.setLibraryUrl( libraryFile.toURI().toURL() );
+        return library;
+    }
+
+}
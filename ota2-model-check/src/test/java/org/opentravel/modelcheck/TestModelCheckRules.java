@@ -0,0 +1,222 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.opentravel.modelcheck;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.opentravel.schemacompiler.model.TLAlias;
+import org.opentravel.schemacompiler.model.TLAttribute;
+import org.opentravel.schemacompiler.model.TLCoreObject;
+import org.opentravel.schemacompiler.model.TLDocumentation;
+import org.opentravel.schemacompiler.model.TLExample;
+import org.opentravel.schemacompiler.model.TLLibrary;
+import org.opentravel.schemacompiler.model.TLModel;
+import org.opentravel.schemacompiler.model.TLProperty;
+import org.opentravel.schemacompiler.model.TLPropertyType;
+import org.opentravel.schemacompiler.model.TLSimple;
+
+import java.util.List;
+
+/**
+ * Verifies the functions of the individual model-check rules.
+ */
+public class TestModelCheckRules {
+
+    private static final String BASE_NS = "http://www.OpenTravel.org/ns/OTA2/SchemaCompiler/model-check";
+
+    @Test
+    public void testMissingDocumentation() throws Exception {
+        TLLibrary library = newLibrary( new TLModel(), "TestLibrary", BASE_NS + "/v01" );
+        TLCoreObject undocumented = newCoreObject( library, "Undocumented" );
+        TLCoreObject documented = newCoreObject( library, "Documented" );
+        MissingDocumentationRule rule = new MissingDocumentationRule();
+
+        documented.setDocumentation( newDocumentation( "A documented core object." ) );
+        undocumented.setDocumentation( newDocumentation( "   " ) );
+
+        List<ModelCheckFinding> findings = checkCoreObjects( rule, library, undocumented, documented );
+
+        assertEquals( 1, findings.size() );
+        assertEquals( "Missing Documentation", findings.get( 0 ).getRuleName() );
+        assertEquals( "TestLibrary", findings.get( 0 ).getLibraryName() );
+        assertEquals( "No documentation description has been provided.", findings.get( 0 ).getMessage() );
+    }
+
+    @Test
+    public void testMissingExamples() throws Exception {
+        TLLibrary library = newLibrary( new TLModel(), "TestLibrary", BASE_NS + "/v01" );
+        TLSimple simpleWithoutExample = newSimple( library, "SimpleWithoutExample" );
+        TLSimple simpleWithExample = newSimple( library, "SimpleWithExample" );
+        TLCoreObject core = newCoreObject( library, "TestCore" );
+        TLAttribute noExample = newAttribute( core, "noExample", simpleWithoutExample );
+        TLAttribute typeExample = newAttribute( core, "typeExample", simpleWithExample );
+        TLAttribute fieldExample = newAttribute( core, "fieldExample", simpleWithoutExample );
+        TLProperty complexElement = newElement( core, "ComplexElement", newCoreObject( library, "OtherCore" ) );
+        MissingExamplesRule rule = new MissingExamplesRule();
+
+        simpleWithExample.addExample( newExample( "abc" ) );
+        fieldExample.addExample( newExample( "xyz" ) );
+        rule.startLibrary( library );
+        rule.visitAttribute( noExample );
+        rule.visitAttribute( typeExample );
+        rule.visitAttribute( fieldExample );
+        rule.visitElement( complexElement );
+        rule.endLibrary();
+
+        assertEquals( 1, rule.getFindings().size() );
+        assertEquals( "Missing Examples", rule.getFindings().get( 0 ).getRuleName() );
+        assertEquals( noExample.getValidationIdentity(), rule.getFindings().get( 0 ).getLocation() );
+    }
+
+    @Test
+    public void testFacetReferences() throws Exception {
+        TLLibrary library = newLibrary( new TLModel(), "TestLibrary", BASE_NS + "/v01" );
+        TLCoreObject referencedCore = newCoreObject( library, "ReferencedCore" );
+        TLCoreObject core = newCoreObject( library, "TestCore" );
+        TLAlias coreAlias = new TLAlias();
+        TLAlias facetAlias = new TLAlias();
+        FacetReferenceRule rule = new FacetReferenceRule();
+
+        coreAlias.setName( "ReferencedCoreAlias" );
+        referencedCore.addAlias( coreAlias );
+        facetAlias.setName( "ReferencedCoreSummaryAlias" );
+        referencedCore.getSummaryFacet().addAlias( facetAlias );
+
+        TLProperty objectRef = newElement( core, "ObjectRef", referencedCore );
+        TLProperty aliasRef = newElement( core, "AliasRef", coreAlias );
+        TLProperty facetRef = newElement( core, "FacetRef", referencedCore.getSummaryFacet() );
+        TLProperty facetAliasRef = newElement( core, "FacetAliasRef", facetAlias );
+
+        rule.startLibrary( library );
+        rule.visitElement( objectRef );
+        rule.visitElement( aliasRef );
+        rule.visitElement( facetRef );
+        rule.visitElement( facetAliasRef );
+        rule.endLibrary();
+
+        assertEquals( 2, rule.getFindings().size() );
+        assertEquals( "Facet References", rule.getFindings().get( 0 ).getRuleName() );
+        assertEquals( facetRef.getValidationIdentity(), rule.getFindings().get( 0 ).getLocation() );
+        assertEquals( facetAliasRef.getValidationIdentity(), rule.getFindings().get( 1 ).getLocation() );
+    }
+
+    @Test
+    public void testMultiVersionReferences() throws Exception {
+        TLModel model = new TLModel();
+        TLLibrary library = newLibrary( model, "TestLibrary", BASE_NS + "/v01" );
+        TLLibrary commonV1 = newLibrary( model, "Common", BASE_NS + "/common/v01" );
+        TLLibrary commonV1Minor = newLibrary( model, "Common", BASE_NS + "/common/v01_01" );
+        TLLibrary commonV2 = newLibrary( model, "Common", BASE_NS + "/common/v02" );
+        TLCoreObject core = newCoreObject( library, "TestCore" );
+        TLAttribute v1Attr = newAttribute( core, "v1Attr", newSimple( commonV1, "CommonSimple" ) );
+        TLAttribute v1MinorAttr = newAttribute( core, "v1MinorAttr", newSimple( commonV1Minor, "MinorSimple" ) );
+        TLAttribute v2Attr = newAttribute( core, "v2Attr", newSimple( commonV2, "CommonSimple" ) );
+
+        MultiVersionReferenceRule minorRule = new MultiVersionReferenceRule();
+
+        minorRule.startLibrary( library );
+        minorRule.visitAttribute( v1Attr );
+        minorRule.visitAttribute( v1MinorAttr );
+        minorRule.endLibrary();
+        assertTrue( minorRule.getFindings().isEmpty() );
+
+        MultiVersionReferenceRule majorRule = new MultiVersionReferenceRule();
+
+        majorRule.startLibrary( library );
+        majorRule.visitAttribute( v1Attr );
+        majorRule.visitAttribute( v2Attr );
+        majorRule.endLibrary();
+        assertEquals( 1, majorRule.getFindings().size() );
+        assertEquals( "Multi-Version References", majorRule.getFindings().get( 0 ).getRuleName() );
+        assertTrue( majorRule.getFindings().get( 0 ).getMessage().contains( commonV1.getVersion() ) );
+        assertTrue( majorRule.getFindings().get( 0 ).getMessage().contains( commonV2.getVersion() ) );
+    }
+
+    private List<ModelCheckFinding> checkCoreObjects(ModelCheckRule rule, TLLibrary library,
+        TLCoreObject... coreObjects) {
+        rule.startLibrary( library );
+
+        for (TLCoreObject coreObject : coreObjects) {
+            rule.visitCoreObject( coreObject );
+        }
+        rule.endLibrary();
+        return rule.getFindings();
+    }
+
+    static TLLibrary newLibrary(TLModel model, String name, String namespace) throws Exception {
+        TLLibrary library = new TLLibrary();
+
+        library.setName( name );
+        library.setPrefix( "t" + model.getAllLibraries().size() );
+        library.setVersionScheme( "OTA2" );
+        library.setNamespace( namespace );
+        model.addLibrary( library );
+        return library;
+    }
+
+    static TLCoreObject newCoreObject(TLLibrary library, String name) {
+        TLCoreObject core = new TLCoreObject();
+
+        core.setName( name );
+        library.addNamedMember( core );
+        return core;
+    }
+
+    static TLSimple newSimple(TLLibrary library, String name) {
+        TLSimple simple = new TLSimple();
+
+        simple.setName( name );
+        library.addNamedMember( simple );
+        return simple;
+    }
+
+    static TLAttribute newAttribute(TLCoreObject owner, String name, TLSimple type) {
+        TLAttribute attribute = new TLAttribute();
+
+        attribute.setName( name );
+        attribute.setType( type );
+        owner.getSummaryFacet().addAttribute( attribute );
+        return attribute;
+    }
+
+    static TLProperty newElement(TLCoreObject owner, String name, TLPropertyType type) {
+        TLProperty element = new TLProperty();
+
+        element.setName( name );
+        element.setType( type );
+        owner.getSummaryFacet().addElement( element );
+        return element;
+    }
+
+    static TLDocumentation newDocumentation(String description) {
+        TLDocumentation doc = new TLDocumentation();
+
+        doc.setDescription( description );
+        return doc;
+    }
+
+    static TLExample newExample(String value) {
+        TLExample example = new TLExample();
+
+        example.setValue( value );
+        return example;
+    }
+
+}
@@ -24,6 +24,7 @@ import org.opentravel.application.common.OtmApplicationException;
 import org.opentravel.application.common.StatusType;
 import org.opentravel.release.NewReleaseDialogController.NewReleaseInfo;
 import org.opentravel.release.navigate.TreeNode;
+import org.opentravel.release.navigate.TreeNodeCell;
 import org.opentravel.release.navigate.TreeNodeFactory;
 import org.opentravel.release.undo.TextInputUndoableAction;
 import org.opentravel.release.undo.UndoManager;
@@ -1529,6 +1530,7 @@ public class OTMReleaseController extends AbstractMainWindowController {
         // Complete initialization and update the control states
         this.releaseAccordion.setExpandedPane( this.releaseMembersPane );
         this.libraryTreeView.setShowRoot( false );
+        this.libraryTreeView.setCellFactory( treeView -> new TreeNodeCell() );
         this.userSettings = settings;
 
         updateControlStates();
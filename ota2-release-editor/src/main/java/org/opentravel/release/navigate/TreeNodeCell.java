@@ -0,0 +1,52 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.opentravel.release.navigate;
+
+import javafx.scene.control.TreeCell;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+
+/**
+ * Tree cell that displays the label and icon of a <code>TreeNode</code>. Since cells are reused as the tree view is
+ * scrolled, each cell only requires a single <code>ImageView</code> for the (shared) icon images of the nodes it
+ * displays.
+ */
+public class TreeNodeCell extends TreeCell<TreeNode<Object>> {
+
+    private ImageView iconView = new ImageView();
+
+    /**
+     * @see javafx.scene.control.Cell#updateItem(java.lang.Object, boolean)
+     */
+    @Override
+    protected void updateItem(TreeNode<Object> node, boolean empty) {
+        super.updateItem( node, empty );
+
+        if (empty || (node == null)) {
+            setText( null );
+            setGraphic( null );
+
+        } else {
+            Image nodeIcon = node.getIcon();
+
+            iconView.setImage( nodeIcon );
+            setText( node.getLabel() );
+            setGraphic( (nodeIcon == null) ? null : iconView );
+        }
+    }
+
+}
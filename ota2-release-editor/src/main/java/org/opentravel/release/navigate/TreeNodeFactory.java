@@ -16,49 +16,44 @@
 
 package org.opentravel.release.navigate;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
+import javafx.collections.ObservableList;
 import javafx.scene.control.TreeItem;
-import javafx.scene.image.Image;
-import javafx.scene.image.ImageView;
 
 /**
  * Factory that handles the creation of <code>TreeItem</code> instances based on OTM model components.
+ * <p>
+ * The trees created by this factory are populated lazily; the <code>TreeItem</code> children of a node are not
+ * constructed until the node is expanded. Icons are not assigned to the tree items, since a separate
+ * <code>ImageView</code> for every item would be required; use a {@link TreeNodeCell} to display them.
  */
 public class TreeNodeFactory {
 
+    private static final Map<Class<?>,TreeNodeType> nodeTypes = new HashMap<>();
+
     /**
-     * Constructs a new <code>TreeNode</code> for the given entity.
-     * 
-     * @param entity the entity from which to construct the tree node
-     * @return TreeItem&lt;TreeNode&lt;Object&gt;&gt;
-     * @throws IllegalArgumentException thrown if a node cannot be constructed for the given entity
+     * Initializes the tree node types for each entity type.
      */
-    public TreeItem<TreeNode<Object>> newTree(Object entity) {
-        return newTree( newTreeNode( entity ) );
+    static {
+        for (TreeNodeType nodeType : TreeNodeType.values()) {
+            nodeTypes.put( nodeType.getEntityClass(), nodeType );
+        }
     }
 
     /**
-     * Recursively constructs a new tree of items for the given node.
+     * Constructs a new <code>TreeNode</code> for the given entity.
      * 
-     * @param node the node for which to construct a tree
+     * @param entity the entity from which to construct the tree node
      * @return TreeItem&lt;TreeNode&lt;Object&gt;&gt;
+     * @throws IllegalArgumentException thrown if a node cannot be constructed for the given entity
      */
-    private TreeItem<TreeNode<Object>> newTree(TreeNode<Object> node) {
-        TreeItem<TreeNode<Object>> treeItem = new TreeItem<>( node );
-        Image nodeIcon = node.getIcon();
-
-        if (nodeIcon != null) {
-            treeItem.setGraphic( new ImageView( nodeIcon ) );
-        }
-
-        for (TreeNode<Object> child : node.getChildren()) {
-            treeItem.getChildren().add( newTree( child ) );
-        }
-
-        return treeItem;
+    public TreeItem<TreeNode<Object>> newTree(Object entity) {
+        return new LazyTreeItem( newTreeNode( entity ) );
     }
 
     /**
@@ -71,24 +66,13 @@ public class TreeNodeFactory {
      */
     @SuppressWarnings("unchecked")
     public <E> TreeNode<E> newTreeNode(E entity) {
-        Class<E> entityType = (Class<E>) entity.getClass();
-        TreeNodeType nodeType = TreeNodeType.fromEntityType( entityType );
-        Class<TreeNode<E>> nodeClass = (Class<TreeNode<E>>) nodeType.getNodeClass();
-
-        try {
-            Constructor<TreeNode<E>> constructor = nodeClass.getConstructor( entityType, TreeNodeFactory.class );
+        TreeNodeType nodeType = nodeTypes.get( entity.getClass() );
 
-            return constructor.newInstance( entity, this );
-
-        } catch (NoSuchMethodException | SecurityException e) {
+        if (nodeType == null) {
             throw new IllegalArgumentException(
-                "No qualifying constructor found for tree node class: " + nodeClass.getSimpleName(), e );
-
-        } catch (InstantiationException | IllegalAccessException | IllegalArgumentException
-            | InvocationTargetException e) {
-            throw new IllegalArgumentException( "Error instantiating tree node class: " + nodeClass.getSimpleName(),
-                e );
+                "Unknown tree node entity type: " + entity.getClass().getSimpleName() );
         }
+        return (TreeNode<E>) nodeType.newTreeNode( entity, this );
     }
 
     /**
@@ -118,4 +102,51 @@ public class TreeNodeFactory {
 
     }
 
+    /**
+     * Tree item that constructs the items for the children of its node the first time they are requested (normally
+     * when the item is expanded).
+     */
+    private static class LazyTreeItem extends TreeItem<TreeNode<Object>> {
+
+        private boolean childrenLoaded = false;
+
+        /**
+         * Constructor that specifies the tree node represented by this item.
+         * 
+         * @param node the tree node for this item
+         */
+        public LazyTreeItem(TreeNode<Object> node) {
+            super( node );
+        }
+
+        /**
+         * Checks the children of the underlying tree node without constructing any child tree items.
+         * 
+         * @see javafx.scene.control.TreeItem#isLeaf()
+         */
+        @Override
+        public boolean isLeaf() {
+            return childrenLoaded ? super.getChildren().isEmpty() : getValue().getChildren().isEmpty();
+        }
+
+        /**
+         * @see javafx.scene.control.TreeItem#getChildren()
+         */
+        @Override
+        public ObservableList<TreeItem<TreeNode<Object>>> getChildren() {
+            if (!childrenLoaded) {
+                List<TreeItem<TreeNode<Object>>> childItems = new ArrayList<>();
+
+                childrenLoaded = true;
+
+                for (TreeNode<Object> child : getValue().getChildren()) {
+                    childItems.add( new LazyTreeItem( child ) );
+                }
+                super.getChildren().setAll( childItems );
+            }
+            return super.getChildren();
+        }
+
+    }
+
 }
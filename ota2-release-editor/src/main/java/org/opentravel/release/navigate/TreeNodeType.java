@@ -67,49 +67,58 @@ import org.opentravel.schemacompiler.model.TLService;
 import org.opentravel.schemacompiler.model.TLSimple;
 import org.opentravel.schemacompiler.model.TLValueWithAttributes;
 
+import java.util.function.BiFunction;
+
 /**
  * Enumeration that indicates the type of a tree node.
  */
 public enum TreeNodeType {
 
-    LIBRARY_TREE_NODE(TLLibrary.class, LibraryTreeNode.class),
-    SIMPLE_TREE_NODE(TLSimple.class, SimpleTreeNode.class),
-    CLOSED_ENUM_TREE_NODE(TLClosedEnumeration.class, ClosedEnumerationTreeNode.class),
-    OPEN_ENUM_TREE_NODE(TLOpenEnumeration.class, OpenEnumerationTreeNode.class),
-    VWA_TREE_NODE(TLValueWithAttributes.class, ValueWithAttributesTreeNode.class),
-    CORE_OBJ_TREE_NODE(TLCoreObject.class, CoreObjectTreeNode.class),
-    CHOICE_OBJ_TREE_NODE(TLChoiceObject.class, ChoiceObjectTreeNode.class),
-    BUSINESS_OBJ_TREE_NODE(TLBusinessObject.class, BusinessObjectTreeNode.class),
-    ALIAS_TREE_NODE(TLAlias.class, AliasTreeNode.class),
-    FACET_TREE_NODE(TLFacet.class, FacetTreeNode.class),
-    CTX_FACET_TREE_NODE(TLContextualFacet.class, ContextualFacetTreeNode.class),
-    EP_FACET_TREE_NODE(TLExtensionPointFacet.class, ExtensionPointFacetTreeNode.class),
-    ATTRIBUTE_TREE_NODE(TLAttribute.class, AttributeTreeNode.class),
-    ELEMENT_TREE_NODE(TLProperty.class, ElementTreeNode.class),
-    INDICATOR_TREE_NODE(TLIndicator.class, IndicatorTreeNode.class),
-    SERVICE_TREE_NODE(TLService.class, ServiceTreeNode.class),
-    OPERATION_TREE_NODE(TLOperation.class, OperationTreeNode.class),
-    RESOURCE_TREE_NODE(TLResource.class, ResourceTreeNode.class),
-    PARENT_REF_TREE_NODE(TLResourceParentRef.class, ParentRefTreeNode.class),
-    PARAM_GROUP_TREE_NODE(TLParamGroup.class, ParamGroupTreeNode.class),
-    PARAMETER_TREE_NODE(TLParameter.class, ParameterTreeNode.class),
-    ACTION_FACET_TREE_NODE(TLActionFacet.class, ActionFacetTreeNode.class),
-    ACTION_TREE_NODE(TLAction.class, ActionTreeNode.class),
-    ACTION_REQUEST_TREE_NODE(TLActionRequest.class, ActionRequestTreeNode.class),
-    ACTION_RESPONSE_TREE_NODE(TLActionResponse.class, ActionResponseTreeNode.class);
+    LIBRARY_TREE_NODE(TLLibrary.class, LibraryTreeNode.class, LibraryTreeNode::new),
+    SIMPLE_TREE_NODE(TLSimple.class, SimpleTreeNode.class, SimpleTreeNode::new),
+    CLOSED_ENUM_TREE_NODE(TLClosedEnumeration.class, ClosedEnumerationTreeNode.class, ClosedEnumerationTreeNode::new),
+    OPEN_ENUM_TREE_NODE(TLOpenEnumeration.class, OpenEnumerationTreeNode.class, OpenEnumerationTreeNode::new),
+    VWA_TREE_NODE(TLValueWithAttributes.class, ValueWithAttributesTreeNode.class, ValueWithAttributesTreeNode::new),
+    CORE_OBJ_TREE_NODE(TLCoreObject.class, CoreObjectTreeNode.class, CoreObjectTreeNode::new),
+    CHOICE_OBJ_TREE_NODE(TLChoiceObject.class, ChoiceObjectTreeNode.class, ChoiceObjectTreeNode::new),
+    BUSINESS_OBJ_TREE_NODE(TLBusinessObject.class, BusinessObjectTreeNode.class, BusinessObjectTreeNode::new),
+    ALIAS_TREE_NODE(TLAlias.class, AliasTreeNode.class, AliasTreeNode::new),
+    FACET_TREE_NODE(TLFacet.class, FacetTreeNode.class, FacetTreeNode::new),
+    CTX_FACET_TREE_NODE(TLContextualFacet.class, ContextualFacetTreeNode.class, ContextualFacetTreeNode::new),
+    EP_FACET_TREE_NODE(TLExtensionPointFacet.class, ExtensionPointFacetTreeNode.class,
+        ExtensionPointFacetTreeNode::new),
+    ATTRIBUTE_TREE_NODE(TLAttribute.class, AttributeTreeNode.class, AttributeTreeNode::new),
+    ELEMENT_TREE_NODE(TLProperty.class, ElementTreeNode.class, ElementTreeNode::new),
+    INDICATOR_TREE_NODE(TLIndicator.class, IndicatorTreeNode.class, IndicatorTreeNode::new),
+    SERVICE_TREE_NODE(TLService.class, ServiceTreeNode.class, ServiceTreeNode::new),
+    OPERATION_TREE_NODE(TLOperation.class, OperationTreeNode.class, OperationTreeNode::new),
+    RESOURCE_TREE_NODE(TLResource.class, ResourceTreeNode.class, ResourceTreeNode::new),
+    PARENT_REF_TREE_NODE(TLResourceParentRef.class, ParentRefTreeNode.class, ParentRefTreeNode::new),
+    PARAM_GROUP_TREE_NODE(TLParamGroup.class, ParamGroupTreeNode.class, ParamGroupTreeNode::new),
+    PARAMETER_TREE_NODE(TLParameter.class, ParameterTreeNode.class, ParameterTreeNode::new),
+    ACTION_FACET_TREE_NODE(TLActionFacet.class, ActionFacetTreeNode.class, ActionFacetTreeNode::new),
+    ACTION_TREE_NODE(TLAction.class, ActionTreeNode.class, ActionTreeNode::new),
+    ACTION_REQUEST_TREE_NODE(TLActionRequest.class, ActionRequestTreeNode.class, ActionRequestTreeNode::new),
+    ACTION_RESPONSE_TREE_NODE(TLActionResponse.class, ActionResponseTreeNode.class, ActionResponseTreeNode::new);
 
     private Class<?> entityClass;
     private Class<? extends TreeNode<?>> nodeClass;
+    private BiFunction<Object,TreeNodeFactory,TreeNode<?>> nodeConstructor;
 
     /**
-     * Constructor that specifies the associated entity type and the tree node implementation class.
+     * Constructor that specifies the associated entity type, the tree node implementation class, and the constructor
+     * for the tree node implementation.
      * 
      * @param entityClass the entity class associated with this tree node type
      * @param nodeClass the tree node implementation class for this type
+     * @param nodeConstructor the constructor for tree nodes of this type
+     * @param <E> the type of entity represented by the tree nodes
      */
-    private TreeNodeType(Class<?> entityClass, Class<? extends TreeNode<?>> nodeClass) {
+    private <E> TreeNodeType(Class<E> entityClass, Class<? extends TreeNode<?>> nodeClass,
+        BiFunction<E,TreeNodeFactory,? extends TreeNode<E>> nodeConstructor) {
         this.entityClass = entityClass;
         this.nodeClass = nodeClass;
+        this.nodeConstructor = (entity, factory) -> nodeConstructor.apply( entityClass.cast( entity ), factory );
     }
 
     /**
@@ -130,6 +139,17 @@ public enum TreeNodeType {
         return nodeClass;
     }
 
+    /**
+     * Constructs a new tree node of this type for the given entity.
+     * 
+     * @param entity the entity from which to construct the tree node
+     * @param factory the factory that is creating the tree node
+     * @return TreeNode&lt;?&gt;
+     */
+    public TreeNode<?> newTreeNode(Object entity, TreeNodeFactory factory) {
+        return nodeConstructor.apply( entity, factory );
+    }
+
     /**
      * Returns the tree node type associated with the given entity class.
      * 
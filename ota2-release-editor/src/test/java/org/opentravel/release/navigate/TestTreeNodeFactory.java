@@ -0,0 +1,108 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.opentravel.release.navigate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.opentravel.schemacompiler.model.TLCoreObject;
+import org.opentravel.schemacompiler.model.TLLibrary;
+import org.opentravel.schemacompiler.model.TLSimple;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javafx.scene.control.TreeItem;
+
+/**
+ * Verifies the functions of the <code>TreeNodeFactory</code> class.
+ */
+public class TestTreeNodeFactory {
+
+    @Test
+    public void testLazyLibraryTree() throws Exception {
+        TLLibrary library = newLibrary();
+        TreeItem<TreeNode<Object>> libraryItem = new TreeNodeFactory().newTree( library );
+        List<Object> loadedItems = new ArrayList<>();
+
+        libraryItem.addEventHandler( TreeItem.<TreeNode<Object>>childrenModificationEvent(),
+            e -> loadedItems.add( e.getTreeItem() ) );
+
+        // Checking for children must not construct any child tree items
+        assertSame( library, libraryItem.getValue().getEntity() );
+        assertFalse( libraryItem.isLeaf() );
+        assertTrue( loadedItems.isEmpty() );
+
+        // Expanding the library only constructs the items for its folders
+        List<TreeItem<TreeNode<Object>>> folderItems = libraryItem.getChildren();
+
+        assertEquals( 2, folderItems.size() );
+        assertEquals( 1, loadedItems.size() );
+        assertSame( libraryItem, loadedItems.get( 0 ) );
+
+        for (TreeItem<TreeNode<Object>> folderItem : folderItems) {
+            assertFalse( folderItem.isLeaf() );
+        }
+        assertEquals( 1, loadedItems.size() );
+
+        // Expanding a folder constructs the items for its members
+        TreeItem<TreeNode<Object>> folderItem = folderItems.get( 0 );
+        List<TreeItem<TreeNode<Object>>> memberItems = folderItem.getChildren();
+
+        assertEquals( 1, memberItems.size() );
+        assertEquals( 2, loadedItems.size() );
+        assertSame( folderItem, loadedItems.get( 1 ) );
+        assertSame( folderItem.getChildren(), memberItems );
+        assertEquals( 2, loadedItems.size() );
+    }
+
+    @Test
+    public void testNewTreeNode() throws Exception {
+        TreeNodeFactory factory = new TreeNodeFactory();
+
+        for (TreeNodeType nodeType : TreeNodeType.values()) {
+            Object entity = nodeType.getEntityClass().getDeclaredConstructor().newInstance();
+
+            assertEquals( nodeType.getNodeClass(), factory.newTreeNode( entity ).getClass() );
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNewTreeNodeUnknownEntity() throws Exception {
+        new TreeNodeFactory().newTreeNode( "not an entity" );
+    }
+
+    private static TLLibrary newLibrary() {
+        TLLibrary library = new TLLibrary();
+        TLCoreObject core = new TLCoreObject();
+        TLSimple simple = new TLSimple();
+
+        library.setName( "TestLibrary" );
+        library.setNamespace( "http://www.OpenTravel.org/ns/OTA2/SchemaCompiler/tree-test/v01" );
+        library.setPrefix( "tt" );
+        core.setName( "TestCore" );
+        simple.setName( "TestSimple" );
+        library.addNamedMember( core );
+        library.addNamedMember( simple );
+        return library;
+    }
+
+}
@@ -18,21 +18,42 @@ package org.opentravel.upversion;
 
 import org.opentravel.application.common.ProgressMonitor;
 import org.opentravel.schemacompiler.model.TLLibraryStatus;
-import org.opentravel.schemacompiler.repository.RemoteRepository;
-import org.opentravel.schemacompiler.repository.Repository;
 import org.opentravel.schemacompiler.repository.RepositoryException;
 import org.opentravel.schemacompiler.repository.RepositoryItem;
 import org.opentravel.schemacompiler.repository.RepositoryManager;
+import org.opentravel.schemacompiler.util.SchemaCompilerException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
 
 /**
  * Orchestrates the promotion and demotion of OTM libraries from one status to another.
+ * <p>
+ * Libraries are processed in batches. The content of the libraries within each batch is downloaded in parallel by a
+ * {@link RepositoryPrefetcher}, which serializes downloads that share a base namespace, but the status updates
+ * themselves are submitted to the repository one at a time in the order the libraries were assigned. The outcome for
+ * each library is recorded in a result ledger.
+ * 
+ * <p>
+ * If a journal folder is assigned, each successful update is appended to a journal file as soon as it completes. The
+ * journal is named after the run (a hash of the action, the from-status, and the assigned libraries), so different
+ * runs never share a journal. When the same update is run again after an interruption or failure, the libraries
+ * recorded in the journal are skipped. The journal is deleted once every library has been updated successfully.
  */
 public class LibraryStatusOrchestrator {
 
@@ -40,13 +61,82 @@ public class LibraryStatusOrchestrator {
         PROMOTE, DEMOTE
     }
 
+    /**
+     * The outcome of a status update for a single library.
+     */
+    public enum Outcome {
+        UPDATED, SKIPPED, FAILED
+    }
+
+    public static final int DEFAULT_THREADS = 4;
+    public static final int DEFAULT_BATCH_SIZE = 10;
+
     private static final Logger log = LoggerFactory.getLogger( LibraryStatusOrchestrator.class );
 
+    private static final String JOURNAL_HEADER_PREFIX = "# ";
+    private static final String JOURNAL_FILE_PREFIX = ".uh-status-";
+    private static final String JOURNAL_FILE_SUFFIX = ".journal";
+
     private RepositoryManager repositoryManager;
     private List<RepositoryItem> libraryVersions;
     private TLLibraryStatus fromStatus = TLLibraryStatus.DRAFT;
     private StatusAction statusAction;
     private ProgressMonitor monitor;
+    private int threads = DEFAULT_THREADS;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private File journalFolder;
+    private List<ItemResult> results = new ArrayList<>();
+
+    /**
+     * Entry in the result ledger that records the outcome of the status update for a single library.
+     */
+    public static class ItemResult {
+
+        private RepositoryItem item;
+        private Outcome outcome;
+        private String message;
+
+        /**
+         * Full constructor.
+         * 
+         * @param item the repository item whose status was updated
+         * @param outcome the outcome of the status update
+         * @param message a description of the error or the reason the item was skipped (may be null)
+         */
+        public ItemResult(RepositoryItem item, Outcome outcome, String message) {
+            this.item = item;
+            this.outcome = outcome;
+            this.message = message;
+        }
+
+        /**
+         * Returns the repository item whose status was updated.
+         *
+         * @return RepositoryItem
+         */
+        public RepositoryItem getItem() {
+            return item;
+        }
+
+        /**
+         * Returns the outcome of the status update.
+         *
+         * @return Outcome
+         */
+        public Outcome getOutcome() {
+            return outcome;
+        }
+
+        /**
+         * Returns a description of the error or the reason the item was skipped (may be null).
+         *
+         * @return String
+         */
+        public String getMessage() {
+            return message;
+        }
+
+    }
 
     /**
      * Assigns the repository manager instance to use during processing. If not assigned, the default instance will be
@@ -105,6 +195,61 @@ public class LibraryStatusOrchestrator {
         return this;
     }
 
+    /**
+     * Assigns the maximum number of libraries whose content is downloaded at the same time.
+     *
+     * @param threads the number of concurrent downloads
+     * @return LibraryStatusOrchestrator
+     */
+    public LibraryStatusOrchestrator setThreads(int threads) {
+        this.threads = Math.max( 1, threads );
+        return this;
+    }
+
+    /**
+     * Assigns the number of libraries whose content is downloaded together. Each batch is updated before the content
+     * of the next one is downloaded.
+     *
+     * @param batchSize the number of libraries in each batch
+     * @return LibraryStatusOrchestrator
+     */
+    public LibraryStatusOrchestrator setBatchSize(int batchSize) {
+        this.batchSize = Math.max( 1, batchSize );
+        return this;
+    }
+
+    /**
+     * Assigns the folder where the journals that record successful updates are stored so that an interrupted run can
+     * be resumed.
+     *
+     * @param journalFolder the journal folder to assign (may be null)
+     * @return LibraryStatusOrchestrator
+     */
+    public LibraryStatusOrchestrator setJournalFolder(File journalFolder) {
+        this.journalFolder = journalFolder;
+        return this;
+    }
+
+    /**
+     * Returns the journal file for the current action, from-status, and list of library versions. If a journal folder
+     * has not been assigned, this method will return null.
+     * 
+     * @return File
+     */
+    public File getJournalFile() {
+        return (journalFolder == null) ? null
+            : new File( journalFolder, JOURNAL_FILE_PREFIX + getRunId() + JOURNAL_FILE_SUFFIX );
+    }
+
+    /**
+     * Returns the result ledger of the most recent 'updateStatus()' operation.
+     * 
+     * @return List&lt;ItemResult&gt;
+     */
+    public List<ItemResult> getResults() {
+        return Collections.unmodifiableList( results );
+    }
+
     /**
      * Returns the end-state status to which all affected libraries will be assigned after their statuses have been
      * updated. If the 'fromStatus' and 'statusAction' values are null or invalid, this method will return null.
@@ -144,62 +289,265 @@ public class LibraryStatusOrchestrator {
     }
 
     /**
-     * Updates the status of all affected libraries based on the selection criteria specified by the caller. If one or
-     * more libraries cannot be processed, this method will return false (true = all updates successful).
+     * Updates the status of all affected libraries based on the selection criteria specified by the caller. Libraries
+     * that were updated by a previous run of the same update are skipped, even if their status no longer matches the
+     * selection criteria. If one or more libraries cannot be processed, this method will return false (true = all
+     * updates successful).
      * 
      * @return boolean
      * @throws RepositoryException thrown if any of the configuration settings are invalid
      */
     public boolean updateStatus() throws RepositoryException {
-        List<RepositoryItem> affectedItems = getAffectedLibraries();
-        boolean successInd = true;
+        File journalFile = getJournalFile();
+        Set<String> journalEntries = readJournal( journalFile );
+        List<RepositoryItem> pendingItems = getPendingLibraries( journalEntries );
+        List<ItemResult> ledger = new ArrayList<>();
+        RepositoryPrefetcher prefetcher = new RepositoryPrefetcher().setMaxConcurrent( threads );
+        boolean successInd;
 
-        validateStatusUpdates( affectedItems );
+        validateStatusUpdates( pendingItems );
+        startJournal( journalFile, journalEntries );
+        results = ledger;
 
         if (monitor != null) {
-            monitor.taskStarted( affectedItems.size() );
+            monitor.taskStarted( pendingItems.size() );
         }
 
-        // Process the status updates for all affected libraries
-        for (RepositoryItem item : affectedItems) {
-            try {
-                Repository itemRepo = item.getRepository();
-
-                if (itemRepo instanceof RemoteRepository) {
-                    ((RemoteRepository) itemRepo).downloadContent( item, true );
+        try {
+            for (int i = 0; i < pendingItems.size(); i += batchSize) {
+                int batchEnd = Math.min( i + batchSize, pendingItems.size() );
+                List<RepositoryItem> batch = pendingItems.subList( i, batchEnd );
+                List<RepositoryItem> downloadItems = new ArrayList<>();
+                Map<RepositoryItem,Throwable> downloadErrors;
+
+                for (RepositoryItem item : batch) {
+                    if (!journalEntries.contains( getJournalKey( item ) )) {
+                        downloadItems.add( item );
+                    }
                 }
+                downloadErrors = prefetcher.prefetchItems( downloadItems );
 
-                if (statusAction == StatusAction.PROMOTE) {
-                    logMessage( "Promoting Library: %s", item.getFilename() );
-                    repositoryManager.promote( item );
+                for (RepositoryItem item : batch) {
+                    boolean skipInd = !downloadItems.contains( item );
+                    ItemResult result = updateStatus( item, skipInd, downloadErrors.get( item ) );
 
-                } else {
-                    logMessage( "Demoting Library: %s", item.getFilename() );
-                    repositoryManager.demote( item );
+                    if (result.getOutcome() == Outcome.UPDATED) {
+                        appendJournal( journalFile, result.getItem() );
+                    }
+                    ledger.add( result );
+                    reportWorkUnitCompleted();
                 }
+            }
+
+        } catch (SchemaCompilerException e) {
+            throw new RepositoryException( e.getMessage(), e );
+        }
+        successInd = ledger.stream().noneMatch( r -> r.getOutcome() == Outcome.FAILED );
+
+        if (successInd) {
+            deleteJournal( journalFile );
+        }
+        if (monitor != null) {
+            monitor.taskCompleted();
+        }
+        return successInd;
+    }
+
+    /**
+     * Promotes or demotes the given item once its content has been downloaded. Items that were updated by a previous
+     * run are skipped, and items whose content could not be downloaded are recorded as failures.
+     * 
+     * @param item the repository item whose status is to be updated
+     * @param skipInd flag indicating whether the item was updated by a previous run
+     * @param downloadError the error that prevented the item's content from being downloaded (null if successful)
+     * @return ItemResult
+     */
+    private ItemResult updateStatus(RepositoryItem item, boolean skipInd, Throwable downloadError) {
+        ItemResult result;
+
+        if (skipInd) {
+            logMessage( "Skipping Library (updated in a previous run): %s", item.getFilename() );
+            result = new ItemResult( item, Outcome.SKIPPED, "Updated in a previous run." );
+
+        } else if (downloadError != null) {
+            log.warn( "Error downloading content for library: " + item.getFilename(), downloadError );
+            result = new ItemResult( item, Outcome.FAILED, downloadError.getMessage() );
+
+        } else {
+            result = updateStatus( item );
+        }
+        return result;
+    }
+
+    /**
+     * Promotes or demotes the given item.
+     * 
+     * @param item the repository item whose status is to be updated
+     * @return ItemResult
+     */
+    private ItemResult updateStatus(RepositoryItem item) {
+        try {
+            if (statusAction == StatusAction.PROMOTE) {
+                logMessage( "Promoting Library: %s", item.getFilename() );
+                repositoryManager.promote( item );
 
-            } catch (RepositoryException e) {
-                log.warn( "Error updating status for library: " + item.getFilename(), e );
-                successInd = false;
+            } else {
+                logMessage( "Demoting Library: %s", item.getFilename() );
+                repositoryManager.demote( item );
+            }
+            return new ItemResult( item, Outcome.UPDATED, null );
 
-            } finally {
-                if (monitor != null) {
-                    monitor.progress( 1 );
+        } catch (RepositoryException | RuntimeException e) {
+            log.warn( "Error updating status for library: " + item.getFilename(), e );
+            return new ItemResult( item, Outcome.FAILED, e.getMessage() );
+        }
+    }
+
+    /**
+     * Returns the keys of the libraries that were already updated according to the given journal file. Entries are
+     * only returned if the journal was written for the same action, status, and library list as the current run.
+     * 
+     * @param journalFile the journal file to read (may be null)
+     * @return Set&lt;String&gt;
+     * @throws RepositoryException thrown if the journal file cannot be read
+     */
+    private Set<String> readJournal(File journalFile) throws RepositoryException {
+        Set<String> journalEntries = new HashSet<>();
+
+        if ((journalFile != null) && journalFile.exists()) {
+            try {
+                List<String> lines = Files.readAllLines( journalFile.toPath(), StandardCharsets.UTF_8 );
+
+                if (!lines.isEmpty() && lines.get( 0 ).equals( getJournalHeader() )) {
+                    journalEntries.addAll( lines.subList( 1, lines.size() ) );
                 }
+
+            } catch (IOException e) {
+                throw new RepositoryException( "Unable to read status journal: " + journalFile.getAbsolutePath(), e );
             }
         }
+        return journalEntries;
+    }
 
-        if (monitor != null) {
-            monitor.taskCompleted();
+    /**
+     * Creates a new journal file for the current run unless entries from a previous run of the same update are being
+     * resumed.
+     * 
+     * @param journalFile the journal file to create (may be null)
+     * @param journalEntries the entries read from an existing journal for the current run
+     * @throws RepositoryException thrown if the journal file cannot be created
+     */
+    private void startJournal(File journalFile, Set<String> journalEntries) throws RepositoryException {
+        if ((journalFile != null) && journalEntries.isEmpty()) {
+            try {
+                journalFile.getParentFile().mkdirs();
+                Files.write( journalFile.toPath(), Collections.singletonList( getJournalHeader() ),
+                    StandardCharsets.UTF_8 );
+
+            } catch (IOException e) {
+                throw new RepositoryException( "Unable to create status journal: " + journalFile.getAbsolutePath(),
+                    e );
+            }
         }
+    }
 
-        return successInd;
+    /**
+     * Records the successful update of the given item in the journal file.
+     * 
+     * @param journalFile the journal file to update (may be null)
+     * @param item the repository item that was updated
+     */
+    private void appendJournal(File journalFile, RepositoryItem item) {
+        if (journalFile != null) {
+            try {
+                Files.write( journalFile.toPath(), Collections.singletonList( getJournalKey( item ) ),
+                    StandardCharsets.UTF_8, StandardOpenOption.APPEND );
+
+            } catch (IOException e) {
+                log.warn( "Unable to update status journal: " + journalFile.getAbsolutePath(), e );
+            }
+        }
+    }
+
+    /**
+     * Deletes the journal file after all updates have completed successfully.
+     * 
+     * @param journalFile the journal file to delete (may be null)
+     */
+    private void deleteJournal(File journalFile) {
+        if (journalFile != null) {
+            try {
+                Files.deleteIfExists( journalFile.toPath() );
+
+            } catch (IOException e) {
+                log.warn( "Unable to delete status journal: " + journalFile.getAbsolutePath(), e );
+            }
+        }
+    }
+
+    /**
+     * Returns the header line that identifies the run a journal was written for.
+     * 
+     * @return String
+     */
+    private String getJournalHeader() {
+        return JOURNAL_HEADER_PREFIX + statusAction + " " + fromStatus + " " + getRunId();
+    }
+
+    /**
+     * Returns a SHA-256 hash of the action, the from-status, and the keys of all library versions in the original list
+     * (not just the affected ones, since the affected list shrinks as libraries are updated).
+     * 
+     * @return String
+     */
+    private String getRunId() {
+        StringBuilder runKey = new StringBuilder().append( statusAction ).append( ' ' ).append( fromStatus );
+        Set<String> itemKeys = new TreeSet<>();
+
+        if (libraryVersions != null) {
+            for (RepositoryItem item : libraryVersions) {
+                itemKeys.add( getJournalKey( item ) );
+            }
+        }
+        itemKeys.forEach( k -> runKey.append( '\n' ).append( k ) );
+
+        try {
+            StringBuilder hex = new StringBuilder();
+
+            for (byte b : MessageDigest.getInstance( "SHA-256" )
+                .digest( runKey.toString().getBytes( StandardCharsets.UTF_8 ) )) {
+                hex.append( String.format( "%02x", b ) );
+            }
+            return hex.toString();
+
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException( e );
+        }
+    }
+
+    /**
+     * Returns the key that identifies the given item in the journal file.
+     * 
+     * @param item the repository item for which to return a key
+     * @return String
+     */
+    private static String getJournalKey(RepositoryItem item) {
+        return item.getNamespace() + " " + item.getFilename();
+    }
+
+    /**
+     * If a progress monitor is assigned, this method will report a single unit of work as completed.
+     */
+    private void reportWorkUnitCompleted() {
+        if (monitor != null) {
+            monitor.progress( 1 );
+        }
     }
 
     /**
      * Verify that all settings are valid before processing the requested status updates.
      * 
-     * @param affectedItems the list of affected repository items whose statuses are to be changed
+     * @param affectedItems the list of repository items to be processed
      * @throws RepositoryException thrown if an error occurs while accessing the remote repository
      */
     private void validateStatusUpdates(List<RepositoryItem> affectedItems) throws RepositoryException {
@@ -231,7 +579,30 @@ public class LibraryStatusOrchestrator {
     }
 
     /**
-     * Returns the list of libraries that should be processed by the 'updateStatus()' operation.
+     * Returns the list of libraries that should be processed by the 'updateStatus()' operation. This includes the
+     * affected libraries as well as any libraries that were updated by a previous run of the same update, with
+     * duplicates removed.
+     * 
+     * @param journalEntries the keys of the libraries that were updated by a previous run
+     * @return List&lt;RepositoryItem&gt;
+     */
+    private List<RepositoryItem> getPendingLibraries(Set<String> journalEntries) {
+        Map<String,RepositoryItem> pendingItems = new LinkedHashMap<>();
+
+        if (libraryVersions != null) {
+            for (RepositoryItem item : libraryVersions) {
+                String itemKey = getJournalKey( item );
+
+                if ((item.getStatus() == fromStatus) || journalEntries.contains( itemKey )) {
+                    pendingItems.putIfAbsent( itemKey, item );
+                }
+            }
+        }
+        return new ArrayList<>( pendingItems.values() );
+    }
+
+    /**
+     * Returns the list of libraries whose current status matches the selection criteria.
      * 
      * @return List&lt;RepositoryItem&gt;
      */
@@ -20,10 +20,13 @@ import org.opentravel.application.common.ProgressMonitor;
 import org.opentravel.schemacompiler.model.TLLibraryStatus;
 import org.opentravel.schemacompiler.repository.RepositoryItem;
 import org.opentravel.schemacompiler.repository.RepositoryManager;
+import org.opentravel.upversion.LibraryStatusOrchestrator.ItemResult;
+import org.opentravel.upversion.LibraryStatusOrchestrator.Outcome;
 import org.opentravel.upversion.LibraryStatusOrchestrator.StatusAction;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -37,6 +40,8 @@ import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Alert.AlertType;
 import javafx.scene.control.Button;
 import javafx.scene.control.ChoiceBox;
 import javafx.scene.control.Label;
@@ -54,6 +59,8 @@ public class PromoteDemoteDialogController {
 
     public static final String FXML_FILE = "/promote-demote-dialog.fxml";
 
+    private static final String STATUS_JOURNAL_FOLDER = "/.ota2";
+
     private static final Logger log = LoggerFactory.getLogger( PromoteDemoteDialogController.class );
 
     @FXML
@@ -77,7 +84,8 @@ public class PromoteDemoteDialogController {
     @FXML
     Button cancelButton;
 
-    private LibraryStatusOrchestrator orchestrator = new LibraryStatusOrchestrator();
+    private LibraryStatusOrchestrator orchestrator = new LibraryStatusOrchestrator()
+        .setJournalFolder( new File( System.getProperty( "user.home" ), STATUS_JOURNAL_FOLDER ) );
     private boolean processingComplete = false;
     private Stage dialogStage;
 
@@ -155,6 +163,8 @@ public class PromoteDemoteDialogController {
     public void goCloseSelected(ActionEvent event) {
         if (!processingComplete) {
             Runnable r = () -> {
+                String errorMessage = null;
+
                 try {
                     ProgressMonitor monitor = new ProgressMonitor( progressInd );
 
@@ -165,17 +175,25 @@ public class PromoteDemoteDialogController {
                         progressInd.setDisable( false );
                     } );
 
-                    orchestrator.setProgressMonitor( monitor ).updateStatus();
-
-                    Platform.runLater( () -> {
-                        goCloseButton.setDisable( false );
-                        goCloseButton.setText( "Close" );
-                        processingComplete = true;
-                    } );
+                    if (!orchestrator.setProgressMonitor( monitor ).updateStatus()) {
+                        errorMessage = getFailureMessage();
+                    }
 
                 } catch (Exception e) {
                     log.error( "Error updating library statuses", e );
+                    errorMessage = e.getMessage();
                 }
+                String alertMessage = errorMessage;
+
+                Platform.runLater( () -> {
+                    goCloseButton.setDisable( false );
+                    goCloseButton.setText( "Close" );
+                    processingComplete = true;
+
+                    if (alertMessage != null) {
+                        showErrorAlert( alertMessage );
+                    }
+                } );
             };
 
             new Thread( r ).start();
@@ -220,6 +238,39 @@ public class PromoteDemoteDialogController {
         dialogStage.showAndWait();
     }
 
+    /**
+     * Returns a message that lists each library whose status could not be updated.
+     * 
+     * @return String
+     */
+    private String getFailureMessage() {
+        StringBuilder message = new StringBuilder( "The status of the following libraries could not be updated:\n" );
+
+        for (ItemResult result : orchestrator.getResults()) {
+            if (result.getOutcome() == Outcome.FAILED) {
+                message.append( "\n" ).append( result.getItem().getFilename() ).append( ": " )
+                    .append( result.getMessage() );
+            }
+        }
+        message.append( "\n\nRun the same update again to resume from the last successful library." );
+        return message.toString();
+    }
+
+    /**
+     * Displays an error dialog with the given message.
+     * 
+     * @param message the error message to display
+     */
+    private void showErrorAlert(String message) {
+        Alert alert = new Alert( AlertType.ERROR );
+
+        alert.setTitle( "Status Update Failed" );
+        alert.setHeaderText( null );
+        alert.setContentText( message );
+        alert.initOwner( dialogStage );
+        alert.showAndWait();
+    }
+
     /**
      * Updates the contents of the status choice box based upon the selection of the promote/demote radio buttons.
      */
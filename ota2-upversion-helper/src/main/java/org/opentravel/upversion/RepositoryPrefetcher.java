@@ -0,0 +1,312 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.opentravel.upversion;
+
+import org.opentravel.application.common.ProgressMonitor;
+import org.opentravel.application.common.RepositoryNamespaceLocks;
+import org.opentravel.schemacompiler.repository.RemoteRepository;
+import org.opentravel.schemacompiler.repository.RepositoryException;
+import org.opentravel.schemacompiler.repository.RepositoryItem;
+import org.opentravel.schemacompiler.util.SchemaCompilerException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Downloads the content of remote repository items into the local repository cache before a model is loaded. The
+ * downloads run concurrently with a bounded number of requests in flight, and a download that fails because of a
+ * network error is retried a few times before it is reported as an error. One unit of work is reported to the progress
+ * monitor for each unique item.
+ * 
+ * <p>
+ * Items that share a base namespace are stored in the same folder of the local repository cache, so their downloads
+ * are serialized using the {@link RepositoryNamespaceLocks} that are shared with other components that access the
+ * cache; only items from different base namespaces are downloaded at the same time.
+ */
+public class RepositoryPrefetcher {
+
+    public static final int DEFAULT_MAX_CONCURRENT = 4;
+    public static final int DEFAULT_MAX_ATTEMPTS = 3;
+    public static final long DEFAULT_RETRY_DELAY = 500L;
+
+    private static final Logger log = LoggerFactory.getLogger( RepositoryPrefetcher.class );
+
+    private int maxConcurrent = DEFAULT_MAX_CONCURRENT;
+    private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+    private long retryDelay = DEFAULT_RETRY_DELAY;
+    private ProgressMonitor monitor;
+
+    /**
+     * Assigns the maximum number of downloads that may be in flight at the same time.
+     *
+     * @param maxConcurrent the maximum number of concurrent downloads
+     * @return RepositoryPrefetcher
+     */
+    public RepositoryPrefetcher setMaxConcurrent(int maxConcurrent) {
+        this.maxConcurrent = Math.max( 1, maxConcurrent );
+        return this;
+    }
+
+    /**
+     * Assigns the number of times a download is attempted before it is reported as an error.
+     *
+     * @param maxAttempts the maximum number of attempts for each item
+     * @return RepositoryPrefetcher
+     */
+    public RepositoryPrefetcher setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = Math.max( 1, maxAttempts );
+        return this;
+    }
+
+    /**
+     * Assigns the delay before the first retry of a failed download. The delay doubles for each subsequent retry.
+     *
+     * @param retryDelay the retry delay in milliseconds
+     * @return RepositoryPrefetcher
+     */
+    public RepositoryPrefetcher setRetryDelay(long retryDelay) {
+        this.retryDelay = Math.max( 0L, retryDelay );
+        return this;
+    }
+
+    /**
+     * Assigns the progress monitor that will be notified as each item is downloaded.
+     *
+     * @param monitor progress monitor that will report on task percent-complete (may be null)
+     * @return RepositoryPrefetcher
+     */
+    public RepositoryPrefetcher setProgressMonitor(ProgressMonitor monitor) {
+        this.monitor = monitor;
+        return this;
+    }
+
+    /**
+     * Downloads the content of all remote items in the list provided. Items from local repositories require no
+     * download and are reported as complete immediately. Duplicate items are downloaded and reported only once.
+     * Progress is reported from the calling thread, so the monitor does not need to be thread-safe.
+     * 
+     * @param items the repository items whose content should be downloaded
+     * @throws SchemaCompilerException thrown if the content of one or more items could not be downloaded
+     */
+    public void prefetch(List<RepositoryItem> items) throws SchemaCompilerException {
+        Map<RepositoryItem,Throwable> errors = prefetchItems( items );
+
+        if (!errors.isEmpty()) {
+            List<String> failedItems = new ArrayList<>();
+            long remoteCount = new LinkedHashSet<>( items ).stream()
+                .filter( item -> item.getRepository() instanceof RemoteRepository ).count();
+
+            errors.keySet().forEach( item -> failedItems.add( item.getFilename() ) );
+            throw new SchemaCompilerException(
+                String.format( "Unable to download %d of %d repository item(s): %s", failedItems.size(), remoteCount,
+                    String.join( ", ", failedItems ) ),
+                errors.values().iterator().next() );
+        }
+    }
+
+    /**
+     * Downloads the content of all remote items in the list provided, in the same way as
+     * {@link #prefetch(List)}, and returns the error for each item that could not be downloaded. The errors are
+     * returned in the order the downloads failed, and the map is empty if every download succeeded.
+     * 
+     * @param items the repository items whose content should be downloaded
+     * @return Map&lt;RepositoryItem,Throwable&gt;
+     * @throws SchemaCompilerException thrown if the calling thread is interrupted before the downloads complete, or if
+     *         a download fails unexpectedly
+     */
+    public Map<RepositoryItem,Throwable> prefetchItems(List<RepositoryItem> items) throws SchemaCompilerException {
+        Map<RepositoryItem,Throwable> errors = new LinkedHashMap<>();
+        List<RepositoryItem> remoteItems = new ArrayList<>();
+
+        for (RepositoryItem item : new LinkedHashSet<>( items )) {
+            if (item.getRepository() instanceof RemoteRepository) {
+                remoteItems.add( item );
+
+            } else {
+                reportWorkUnitCompleted();
+            }
+        }
+        if (remoteItems.isEmpty()) {
+            return errors;
+        }
+        ExecutorService executor =
+            Executors.newFixedThreadPool( Math.min( maxConcurrent, remoteItems.size() ), newThreadFactory() );
+
+        try {
+            CompletionService<RepositoryItem> completionService = new ExecutorCompletionService<>( executor );
+
+            for (RepositoryItem item : remoteItems) {
+                completionService.submit( () -> download( item ) );
+            }
+            for (int i = 0; i < remoteItems.size(); i++) {
+                try {
+                    completionService.take().get();
+
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+
+                    if (!(cause instanceof DownloadException)) {
+                        throw new SchemaCompilerException( "Unexpected error downloading repository content.", cause );
+                    }
+                    errors.put( ((DownloadException) cause).getItem(), cause.getCause() );
+                }
+                reportWorkUnitCompleted();
+            }
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SchemaCompilerException( "Interrupted while downloading repository content.", e );
+
+        } finally {
+            executor.shutdownNow();
+        }
+        return errors;
+    }
+
+    /**
+     * Downloads the content of a single remote item, retrying with an increasing delay if the download fails because
+     * of a transient error.
+     * 
+     * @param item the repository item whose content should be downloaded
+     * @return RepositoryItem
+     * @throws DownloadException thrown if all attempts to download the item fail
+     * @throws InterruptedException thrown if the thread is interrupted while waiting to retry
+     */
+    private RepositoryItem download(RepositoryItem item) throws DownloadException, InterruptedException {
+        RemoteRepository repository = (RemoteRepository) item.getRepository();
+        Object namespaceLock = RepositoryNamespaceLocks.getLock( item.getBaseNamespace() );
+        long delay = retryDelay;
+        int attempt = 1;
+
+        while (true) {
+            try {
+                synchronized (namespaceLock) {
+                    repository.downloadContent( item, true );
+                }
+                return item;
+
+            } catch (RepositoryException e) {
+                if ((attempt >= maxAttempts) || !isTransient( e )) {
+                    throw new DownloadException( item, e );
+                }
+                log.warn( "Download of {} failed (attempt {} of {}): {}", item.getFilename(), attempt, maxAttempts,
+                    e.getMessage() );
+                Thread.sleep( delay );
+                delay *= 2;
+                attempt++;
+
+            } catch (RuntimeException e) {
+                throw new DownloadException( item, e );
+            }
+        }
+    }
+
+    /**
+     * Returns true if the given download error was caused by a network failure that may not occur again, such as a
+     * connection that was refused, reset, or timed out. Errors reported by the repository itself, such as items that do
+     * not exist or requests that are not authorized, are not transient.
+     * 
+     * @param error the error thrown by the download
+     * @return boolean
+     */
+    static boolean isTransient(Throwable error) {
+        Throwable cause = error;
+
+        while (cause != null) {
+            if ((cause instanceof FileNotFoundException) || (cause instanceof UnknownHostException)) {
+                return false;
+
+            } else if (cause instanceof IOException) {
+                return true;
+            }
+            cause = (cause.getCause() == cause) ? null : cause.getCause();
+        }
+        return false;
+    }
+
+    /**
+     * If a progress monitor is assigned, this method will report a single unit of work as completed.
+     */
+    private void reportWorkUnitCompleted() {
+        if (monitor != null) {
+            monitor.progress( 1 );
+        }
+    }
+
+    /**
+     * Returns a factory for the daemon threads used to download repository content.
+     * 
+     * @return ThreadFactory
+     */
+    private static ThreadFactory newThreadFactory() {
+        AtomicInteger count = new AtomicInteger();
+
+        return r -> {
+            Thread t = new Thread( r, "RepositoryPrefetch-" + count.incrementAndGet() );
+
+            t.setDaemon( true );
+            return t;
+        };
+    }
+
+    /**
+     * Exception that associates a download failure with the repository item that could not be downloaded.
+     */
+    private static class DownloadException extends Exception {
+
+        private static final long serialVersionUID = 4610542361470117923L;
+
+        private final transient RepositoryItem item;
+
+        /**
+         * Constructor that specifies the item that could not be downloaded and the cause of the failure.
+         * 
+         * @param item the repository item that could not be downloaded
+         * @param cause the exception thrown by the last download attempt
+         */
+        public DownloadException(RepositoryItem item, Throwable cause) {
+            super( cause );
+            this.item = item;
+        }
+
+        /**
+         * Returns the repository item that could not be downloaded.
+         *
+         * @return RepositoryItem
+         */
+        public RepositoryItem getItem() {
+            return item;
+        }
+
+    }
+
+}
@@ -22,13 +22,14 @@ import org.opentravel.ns.ota2.project_v01_00.ProjectType;
 import org.opentravel.ns.ota2.project_v01_00.UnmanagedProjectItemType;
 import org.opentravel.schemacompiler.ic.ImportManagementIntegrityChecker;
 import org.opentravel.schemacompiler.ic.ModelIntegrityChecker;
+import org.opentravel.schemacompiler.model.AbstractLibrary;
+import org.opentravel.schemacompiler.model.NamedEntity;
 import org.opentravel.schemacompiler.model.TLLibrary;
 import org.opentravel.schemacompiler.model.TLModel;
+import org.opentravel.schemacompiler.model.TLModelElement;
 import org.opentravel.schemacompiler.repository.Project;
 import org.opentravel.schemacompiler.repository.ProjectItem;
 import org.opentravel.schemacompiler.repository.ProjectManager;
-import org.opentravel.schemacompiler.repository.RemoteRepository;
-import org.opentravel.schemacompiler.repository.Repository;
 import org.opentravel.schemacompiler.repository.RepositoryItem;
 import org.opentravel.schemacompiler.repository.RepositoryManager;
 import org.opentravel.schemacompiler.repository.impl.ProjectFileUtils;
@@ -37,6 +38,7 @@ import org.opentravel.schemacompiler.transform.util.ModelReferenceResolver;
 import org.opentravel.schemacompiler.util.FileUtils;
 import org.opentravel.schemacompiler.util.SchemaCompilerException;
 import org.opentravel.schemacompiler.util.URLUtils;
+import org.opentravel.schemacompiler.validate.FindingMessageFormat;
 import org.opentravel.schemacompiler.validate.FindingType;
 import org.opentravel.schemacompiler.validate.ValidationException;
 import org.opentravel.schemacompiler.validate.ValidationFindings;
@@ -47,16 +49,29 @@ import org.opentravel.schemacompiler.version.VersionChainFactory;
 import org.opentravel.schemacompiler.version.VersionScheme;
 import org.opentravel.schemacompiler.version.VersionSchemeException;
 import org.opentravel.schemacompiler.version.VersionSchemeFactory;
-import org.opentravel.schemacompiler.visitor.ModelElementVisitor;
 import org.opentravel.schemacompiler.visitor.ModelNavigator;
 
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.xml.namespace.QName;
 
 /**
  * Orchestrates the creation of new versions of one or more libraries. In addition to creating the new version,
@@ -78,6 +93,8 @@ public class UpversionOrchestrator {
     private String projectFilename = DEFAULT_PROJECT_FILENAME;
     private String projectName = DEFAULT_PROJECT_NAME;
     private Set<String> newVersionFilenames = new HashSet<>();
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private ExecutorService executor;
     private ProgressMonitor monitor;
 
     /**
@@ -171,6 +188,17 @@ public class UpversionOrchestrator {
         return this;
     }
 
+    /**
+     * Assigns the number of threads used for the stages of the up-version process that can run concurrently.
+     *
+     * @param threads the number of threads to use
+     * @return UpversionOrchestrator
+     */
+    public UpversionOrchestrator setThreads(int threads) {
+        this.threads = Math.max( 1, threads );
+        return this;
+    }
+
     /**
      * Creates new major versions of each library and returns the new versions.
      * 
@@ -196,10 +224,12 @@ public class UpversionOrchestrator {
                     "All old library versions must originate from the same repository." );
             }
             purgeExistingLibraries();
+            newVersionFilenames.clear();
+            executor = Executors.newFixedThreadPool( threads, newThreadFactory() );
 
             // Run the up-version orchestration process and save the new-version libraries
             if (monitor != null) {
-                monitor.taskStarted( (oldVersions.size() * 3) + supportingLibraries.size() + 2L );
+                monitor.taskStarted( (getAllItems().size() * 2) + (new HashSet<>( oldVersions ).size() * 2) + 2L );
             }
             List<TLLibrary> oldVersionLibraries = loadOldVersions();
             validateOldVersionLibraries( oldVersionLibraries );
@@ -216,12 +246,81 @@ public class UpversionOrchestrator {
             return new ArrayList<>( registry.getAllNewVersions() );
 
         } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+                executor = null;
+            }
             if (!success && (outputFolder != null)) {
                 purgeExistingLibraries();
             }
         }
     }
 
+    /**
+     * Performs a dry run of the up-version process and returns the resulting plan. The old versions are loaded,
+     * validated, and their references analyzed, but no new library versions are created and no files are written or
+     * purged. Validation errors and old versions that are not the latest in the model are reported as plan problems.
+     * 
+     * @return UpversionPlan
+     * @throws SchemaCompilerException thrown if the old-version libraries cannot be loaded
+     */
+    public UpversionPlan planNewVersions() throws SchemaCompilerException {
+        if (repositoryManager == null) {
+            repositoryManager = RepositoryManager.getDefault();
+        }
+        if (outputFolder == null) {
+            throw new SchemaCompilerException( "Output folder location for new-version files not assigned." );
+        }
+        if ((oldVersions == null) || oldVersions.isEmpty()) {
+            throw new SchemaCompilerException( "Old library versions not provided for up-version processing." );
+        }
+        if (!checkSameRepository()) {
+            throw new SchemaCompilerException( "All old library versions must originate from the same repository." );
+        }
+        newVersionFilenames.clear();
+
+        if (monitor != null) {
+            monitor.taskStarted( (getAllItems().size() * 2) + 2L );
+        }
+        List<TLLibrary> oldVersionLibraries = loadOldVersions();
+        UpversionPlan plan = new UpversionPlan();
+        Map<TLLibrary,String> newNamespaces = new HashMap<>();
+
+        if (!oldVersionLibraries.isEmpty()) {
+            ValidationFindings findings =
+                TLModelCompileValidator.validateModel( oldVersionLibraries.get( 0 ).getOwningModel() );
+
+            for (String message : findings.getValidationMessages( FindingType.ERROR,
+                FindingMessageFormat.IDENTIFIED_FORMAT )) {
+                plan.addProblem( "Validation error: " + message );
+            }
+        }
+        reportWorkUnitCompleted();
+
+        for (String filename : getNonLatestVersions( oldVersionLibraries )) {
+            plan.addProblem( "Library is not the latest version in the model: " + filename );
+        }
+        for (Entry<TLLibrary,File> entry : getNewVersionFiles( oldVersionLibraries ).entrySet()) {
+            String newNamespace = getNewVersionNamespace( entry.getKey() );
+
+            newNamespaces.put( entry.getKey(), newNamespace );
+            plan.addLibrary( new UpversionPlan.PlannedLibrary( entry.getKey(), newNamespace, entry.getValue() ) );
+        }
+        PlanningVisitor visitor = new PlanningVisitor( newNamespaces, plan );
+        ModelNavigator navigator = new ModelNavigator( visitor );
+
+        for (TLLibrary oldVersion : oldVersionLibraries) {
+            visitor.setLibrary( oldVersion );
+            navigator.navigateLibrary( oldVersion );
+        }
+        reportWorkUnitCompleted();
+
+        if (monitor != null) {
+            monitor.taskCompleted();
+        }
+        return plan;
+    }
+
     /**
      * Returns true if the given folder contains existing files that will be purged during up-version processing.
      * 
@@ -256,7 +355,8 @@ public class UpversionOrchestrator {
     }
 
     /**
-     * Loads the old-version libraries from the list of repository items provided by the caller.
+     * Loads the old-version libraries from the list of repository items provided by the caller. The content of all
+     * remote items is downloaded concurrently before any of the libraries are loaded.
      * 
      * @return List&lt;TLLibrary&gt;
      * @throws SchemaCompilerException thrown if one or more of the old-version libraries cannot be loaded
@@ -267,17 +367,11 @@ public class UpversionOrchestrator {
             Project oldVersionProject = projectManager.newProject( File.createTempFile( "old", ".otp" ),
                 DEFAULT_PROJECT_ID, "OldVersions", null );
             List<TLLibrary> oldVersionLibraries = new ArrayList<>();
-            List<RepositoryItem> allItems = new ArrayList<>();
+            List<RepositoryItem> allItems = getAllItems();
 
-            allItems.addAll( oldVersions );
-            allItems.addAll( supportingLibraries );
+            new RepositoryPrefetcher().setProgressMonitor( monitor ).prefetch( allItems );
 
             for (RepositoryItem item : allItems) {
-                Repository repository = item.getRepository();
-
-                if (repository instanceof RemoteRepository) {
-                    ((RemoteRepository) repository).downloadContent( item, true );
-                }
                 if (oldVersions.contains( item )) {
                     ProjectItem pItem = projectManager.addManagedProjectItem( item, oldVersionProject );
                     oldVersionLibraries.add( (TLLibrary) pItem.getContent() );
@@ -293,6 +387,18 @@ public class UpversionOrchestrator {
         }
     }
 
+    /**
+     * Returns the old-version and supporting library items in the order they were assigned, with duplicates removed.
+     * 
+     * @return List&lt;RepositoryItem&gt;
+     */
+    private List<RepositoryItem> getAllItems() {
+        Set<RepositoryItem> allItems = new LinkedHashSet<>( oldVersions );
+
+        allItems.addAll( supportingLibraries );
+        return new ArrayList<>( allItems );
+    }
+
     /**
      * Deletes all files from the output folder that end with an '.otp' or '.otm' extension. If any sub-folders exist,
      * they are not purged by this method.
@@ -319,7 +425,10 @@ public class UpversionOrchestrator {
     }
 
     /**
-     * Construct the new major version libraries for each of the old versions passed to this orchestrator.
+     * Construct the new major version libraries for each of the old versions passed to this orchestrator. The new
+     * version files are assigned for all libraries before any of them are created. Creating a new version adds it to
+     * the shared model, so the libraries are created one at a time; the symbol tables of the new versions are then
+     * populated concurrently since each one only reads the library it is built for.
      * 
      * @param oldVersionLibraries the list of old-version libraries to be up-versioned
      * @return UpversionRegistry
@@ -327,23 +436,45 @@ public class UpversionOrchestrator {
      */
     private UpversionRegistry buildNewLibraryVersions(List<TLLibrary> oldVersionLibraries)
         throws SchemaCompilerException {
+        Map<TLLibrary,File> newVersionFiles = getNewVersionFiles( oldVersionLibraries );
         MajorVersionHelper helper = new MajorVersionHelper();
         UpversionRegistry registry = new UpversionRegistry();
+        List<Callable<TLLibrary>> registrations = new ArrayList<>();
 
         for (TLLibrary oldVersion : oldVersionLibraries) {
-            File libraryFile = getNewVersionFile( oldVersion );
+            File libraryFile = newVersionFiles.get( oldVersion );
 
             if (libraryFile.exists()) {
                 FileUtils.delete( libraryFile );
             }
             TLLibrary newVersion = helper.createNewMajorVersion( oldVersion, libraryFile );
 
-            registry.addLibraryVersionMapping( oldVersion, newVersion );
+            registrations.add( () -> {
+                registry.addLibraryVersionMapping( oldVersion, newVersion );
+                return newVersion;
+            } );
             reportWorkUnitCompleted();
         }
+        invokeAll( registrations );
         return registry;
     }
 
+    /**
+     * Returns the files where the new versions of the given libraries will be stored.
+     * 
+     * @param oldVersionLibraries the list of old-version libraries to be up-versioned
+     * @return Map&lt;TLLibrary,File&gt;
+     * @throws VersionSchemeException thrown if the version scheme of a library is invalid
+     */
+    private Map<TLLibrary,File> getNewVersionFiles(List<TLLibrary> oldVersionLibraries) throws VersionSchemeException {
+        Map<TLLibrary,File> newVersionFiles = new LinkedHashMap<>();
+
+        for (TLLibrary oldVersion : oldVersionLibraries) {
+            newVersionFiles.put( oldVersion, getNewVersionFile( oldVersion ) );
+        }
+        return newVersionFiles;
+    }
+
     /**
      * Returns the file where the new library version will be stored.
      * 
@@ -353,10 +484,8 @@ public class UpversionOrchestrator {
      */
     private File getNewVersionFile(TLLibrary oldVersion) throws VersionSchemeException {
         VersionScheme vScheme = vsFactory.getVersionScheme( oldVersion.getVersionScheme() );
-        String oldVersionId = vScheme.getVersionIdentifier( oldVersion.getNamespace() );
-        String oldMajorVersionId = vScheme.getMajorVersion( oldVersionId );
-        String newVersionId = vScheme.incrementMajorVersion( oldMajorVersionId );
-        String newVersionNS = vScheme.setVersionIdentifier( oldVersion.getNamespace(), newVersionId );
+        String newVersionId = getNewVersionId( oldVersion, vScheme );
+        String newVersionNS = getNewVersionNamespace( oldVersion );
         String newVersionPrefix = vScheme.getPrefix( oldVersion.getPrefix(), newVersionId );
         String newVersionFilename =
             newVersionPrefix + "-" + vScheme.getDefaultFileHint( newVersionNS, oldVersion.getName() );
@@ -372,20 +501,60 @@ public class UpversionOrchestrator {
     }
 
     /**
-     * Updates all type references in the new version libraries that currently point to the old version.
+     * Returns the namespace of the new major version of the given library.
+     * 
+     * @param oldVersion the old library version
+     * @return String
+     * @throws VersionSchemeException throwns if the version scheme of the library is invalid
+     */
+    private String getNewVersionNamespace(TLLibrary oldVersion) throws VersionSchemeException {
+        VersionScheme vScheme = vsFactory.getVersionScheme( oldVersion.getVersionScheme() );
+
+        return vScheme.setVersionIdentifier( oldVersion.getNamespace(), getNewVersionId( oldVersion, vScheme ) );
+    }
+
+    /**
+     * Returns the version identifier of the new major version of the given library.
+     * 
+     * @param oldVersion the old library version
+     * @param vScheme the version scheme of the old library version
+     * @return String
+     * @throws VersionSchemeException throwns if the version scheme of the library is invalid
+     */
+    private String getNewVersionId(TLLibrary oldVersion, VersionScheme vScheme) throws VersionSchemeException {
+        String oldVersionId = vScheme.getVersionIdentifier( oldVersion.getNamespace() );
+
+        return vScheme.incrementMajorVersion( vScheme.getMajorVersion( oldVersionId ) );
+    }
+
+    /**
+     * Updates all type references in the new version libraries that currently point to the old version. The libraries
+     * are visited concurrently to find the references that must change, and the changes are then applied one at a time
+     * so that the model integrity checker sees them in a consistent order.
      * 
      * @param registry the upversion registry that contains the mappings of old and new library versions
+     * @throws SchemaCompilerException thrown if an error occurs while visiting the new version libraries
      */
-    private void updateTypeReferences(UpversionRegistry registry) {
+    private void updateTypeReferences(UpversionRegistry registry) throws SchemaCompilerException {
         if (!registry.getAllNewVersions().isEmpty()) {
             TLModel model = registry.getAllNewVersions().iterator().next().getOwningModel();
             ModelIntegrityChecker ic = new ModelIntegrityChecker();
-            ModelElementVisitor visitor = new UpversionReferenceVisitor( registry );
-            ModelNavigator navigator = new ModelNavigator( visitor );
+            List<Callable<UpversionReferenceVisitor>> libraryVisits = new ArrayList<>();
 
             ModelReferenceResolver.resolveReferences( model );
+
+            for (TLLibrary newVersion : registry.getAllNewVersions()) {
+                libraryVisits.add( () -> {
+                    UpversionReferenceVisitor visitor = new UpversionReferenceVisitor( registry, true );
+
+                    new ModelNavigator( visitor ).navigateLibrary( newVersion );
+                    return visitor;
+                } );
+            }
+            List<UpversionReferenceVisitor> visitors = invokeAll( libraryVisits );
+
             model.addListener( ic );
-            registry.getAllNewVersions().forEach( navigator::navigateLibrary );
+            visitors.forEach( UpversionReferenceVisitor::applyDeferredUpdates );
             model.removeListener( ic );
             registry.getAllNewVersions().forEach( ImportManagementIntegrityChecker::verifyReferencedLibraries );
             reportWorkUnitCompleted();
@@ -451,32 +620,94 @@ public class UpversionOrchestrator {
         }
         TLModel model = oldVersionLibraries.get( 0 ).getOwningModel();
         ValidationFindings findings = TLModelCompileValidator.validateModel( model );
-        VersionChainFactory chainFactory = new VersionChainFactory( model );
-        StringBuilder errorDetails = new StringBuilder();
-        boolean hasError = false;
+        List<String> nonLatestVersions;
 
         if (findings.hasFinding( FindingType.ERROR )) {
             throw new ValidationException( findings );
         }
+        nonLatestVersions = getNonLatestVersions( oldVersionLibraries );
 
-        for (TLLibrary library : oldVersionLibraries) {
-            VersionChain<TLLibrary> libraryChain = chainFactory.getVersionChain( library );
+        if (!nonLatestVersions.isEmpty()) {
+            throw new SchemaCompilerException( "The following library(ies) are not the latest version in the model: "
+                + String.join( ", ", nonLatestVersions ) );
+        }
+    }
 
-            if (libraryChain.getNextVersion( library ) != null) {
-                if (errorDetails.length() != 0) {
-                    errorDetails.append( ", " );
+    /**
+     * Returns the filenames of the old-version libraries that are not the latest version of that library in the model.
+     * 
+     * @param oldVersionLibraries the list of old-version libraries to check
+     * @return List&lt;String&gt;
+     */
+    private List<String> getNonLatestVersions(List<TLLibrary> oldVersionLibraries) {
+        List<String> nonLatestVersions = new ArrayList<>();
+
+        if (!oldVersionLibraries.isEmpty()) {
+            VersionChainFactory chainFactory = new VersionChainFactory( oldVersionLibraries.get( 0 ).getOwningModel() );
+
+            for (TLLibrary library : oldVersionLibraries) {
+                VersionChain<TLLibrary> libraryChain = chainFactory.getVersionChain( library );
+
+                if (libraryChain.getNextVersion( library ) != null) {
+                    nonLatestVersions.add( URLUtils.toFile( library.getLibraryUrl() ).getName() );
                 }
-                errorDetails.append( URLUtils.toFile( library.getLibraryUrl() ).getName() );
-                hasError = true;
             }
         }
+        return nonLatestVersions;
+    }
 
-        if (hasError) {
-            throw new SchemaCompilerException(
-                "The following library(ies) are not the latest version in the model: " + errorDetails.toString() );
+    /**
+     * Runs the given tasks on the orchestrator's thread pool and returns their results in the same order as the tasks.
+     * 
+     * @param <T> the result type of the tasks
+     * @param tasks the tasks to run
+     * @return List&lt;T&gt;
+     * @throws SchemaCompilerException thrown if any of the tasks fails
+     */
+    private <T> List<T> invokeAll(List<Callable<T>> tasks) throws SchemaCompilerException {
+        List<T> results = new ArrayList<>();
+
+        try {
+            for (Future<T> future : executor.invokeAll( tasks )) {
+                results.add( future.get() );
+            }
+            return results;
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SchemaCompilerException( "Up-version processing was interrupted.", e );
+
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+
+            if (cause instanceof SchemaCompilerException) {
+                throw (SchemaCompilerException) cause;
+
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+
+            } else {
+                throw new SchemaCompilerException( cause.getMessage(), cause );
+            }
         }
     }
 
+    /**
+     * Returns a factory for the daemon threads used by the up-version process.
+     * 
+     * @return ThreadFactory
+     */
+    private static ThreadFactory newThreadFactory() {
+        AtomicInteger count = new AtomicInteger();
+
+        return r -> {
+            Thread t = new Thread( r, "Upversion-" + count.incrementAndGet() );
+
+            t.setDaemon( true );
+            return t;
+        };
+    }
+
     /**
      * If a progress monitor is assigned, this method will report a single unit of work as completed.
      */
@@ -486,4 +717,63 @@ public class UpversionOrchestrator {
         }
     }
 
+    /**
+     * Reference visitor that records the references it would rewrite in an up-version plan instead of changing them.
+     * Since no new versions exist during planning, an entity is considered to have a new version if its owning library
+     * is one of the libraries being up-versioned.
+     */
+    private static class PlanningVisitor extends UpversionReferenceVisitor {
+
+        private Map<TLLibrary,String> newNamespaces;
+        private UpversionPlan plan;
+        private TLLibrary library;
+
+        /**
+         * Constructor that specifies the new namespaces of the libraries being up-versioned and the plan to populate.
+         * 
+         * @param newNamespaces the new namespaces for each old-version library
+         * @param plan the plan to which rewritten references will be added
+         */
+        public PlanningVisitor(Map<TLLibrary,String> newNamespaces, UpversionPlan plan) {
+            super( null, true );
+            this.newNamespaces = newNamespaces;
+            this.plan = plan;
+        }
+
+        /**
+         * Assigns the old-version library that is currently being visited.
+         * 
+         * @param library the library being visited
+         */
+        public void setLibrary(TLLibrary library) {
+            this.library = library;
+        }
+
+        /**
+         * @see org.opentravel.upversion.UpversionReferenceVisitor#getNewVersion(org.opentravel.schemacompiler.model.NamedEntity)
+         */
+        @Override
+        protected NamedEntity getNewVersion(NamedEntity oldVersion) {
+            AbstractLibrary owningLibrary = (oldVersion == null) ? null : oldVersion.getOwningLibrary();
+
+            return newNamespaces.containsKey( owningLibrary ) ? oldVersion : null;
+        }
+
+        /**
+         * @see org.opentravel.upversion.UpversionReferenceVisitor#updateReference(org.opentravel.schemacompiler.model.TLModelElement,
+         *      org.opentravel.schemacompiler.model.NamedEntity, org.opentravel.schemacompiler.model.NamedEntity,
+         *      java.lang.Runnable)
+         */
+        @Override
+        protected void updateReference(TLModelElement source, NamedEntity oldReference, NamedEntity newReference,
+            Runnable referenceUpdate) {
+            String newNamespace = newNamespaces.get( oldReference.getOwningLibrary() );
+
+            plan.addReference( new UpversionPlan.PlannedReference( library, source.getValidationIdentity(),
+                new QName( oldReference.getNamespace(), oldReference.getLocalName() ),
+                new QName( newNamespace, oldReference.getLocalName() ) ) );
+        }
+
+    }
+
 }
@@ -0,0 +1,249 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.opentravel.upversion;
+
+import org.opentravel.schemacompiler.model.TLLibrary;
+import org.opentravel.schemacompiler.util.URLUtils;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.xml.namespace.QName;
+
+/**
+ * The result of a dry run of the up-version process. The plan lists the libraries that would be up-versioned along
+ * with their new namespaces and files, the references that would be rewritten to point to the new versions, and any
+ * problems that would prevent the up-version from succeeding. No files are written when a plan is created.
+ */
+public class UpversionPlan {
+
+    private List<PlannedLibrary> libraries = new ArrayList<>();
+    private List<PlannedReference> references = new ArrayList<>();
+    private List<String> problems = new ArrayList<>();
+
+    /**
+     * A library that would be up-versioned.
+     */
+    public static class PlannedLibrary {
+
+        private TLLibrary oldVersion;
+        private String newNamespace;
+        private File newVersionFile;
+
+        /**
+         * Full constructor.
+         * 
+         * @param oldVersion the old version of the library
+         * @param newNamespace the namespace of the new library version
+         * @param newVersionFile the file where the new library version would be saved
+         */
+        public PlannedLibrary(TLLibrary oldVersion, String newNamespace, File newVersionFile) {
+            this.oldVersion = oldVersion;
+            this.newNamespace = newNamespace;
+            this.newVersionFile = newVersionFile;
+        }
+
+        /**
+         * Returns the old version of the library.
+         *
+         * @return TLLibrary
+         */
+        public TLLibrary getOldVersion() {
+            return oldVersion;
+        }
+
+        /**
+         * Returns the namespace of the new library version.
+         *
+         * @return String
+         */
+        public String getNewNamespace() {
+            return newNamespace;
+        }
+
+        /**
+         * Returns the file where the new library version would be saved.
+         *
+         * @return File
+         */
+        public File getNewVersionFile() {
+            return newVersionFile;
+        }
+
+    }
+
+    /**
+     * A reference that would be rewritten to point to the new version of an entity.
+     */
+    public static class PlannedReference {
+
+        private TLLibrary library;
+        private String source;
+        private QName oldReference;
+        private QName newReference;
+
+        /**
+         * Full constructor.
+         * 
+         * @param library the old version of the library that contains the reference
+         * @param source the validation identity of the model element that owns the reference
+         * @param oldReference the qualified name of the entity that is currently referenced
+         * @param newReference the qualified name of the entity that would be referenced in the new version
+         */
+        public PlannedReference(TLLibrary library, String source, QName oldReference, QName newReference) {
+            this.library = library;
+            this.source = source;
+            this.oldReference = oldReference;
+            this.newReference = newReference;
+        }
+
+        /**
+         * Returns the old version of the library that contains the reference.
+         *
+         * @return TLLibrary
+         */
+        public TLLibrary getLibrary() {
+            return library;
+        }
+
+        /**
+         * Returns the validation identity of the model element that owns the reference.
+         *
+         * @return String
+         */
+        public String getSource() {
+            return source;
+        }
+
+        /**
+         * Returns the qualified name of the entity that is currently referenced.
+         *
+         * @return QName
+         */
+        public QName getOldReference() {
+            return oldReference;
+        }
+
+        /**
+         * Returns the qualified name of the entity that would be referenced in the new version.
+         *
+         * @return QName
+         */
+        public QName getNewReference() {
+            return newReference;
+        }
+
+    }
+
+    /**
+     * Returns the libraries that would be up-versioned.
+     * 
+     * @return List&lt;PlannedLibrary&gt;
+     */
+    public List<PlannedLibrary> getLibraries() {
+        return Collections.unmodifiableList( libraries );
+    }
+
+    /**
+     * Returns the references that would be rewritten to point to the new library versions.
+     * 
+     * @return List&lt;PlannedReference&gt;
+     */
+    public List<PlannedReference> getReferences() {
+        return Collections.unmodifiableList( references );
+    }
+
+    /**
+     * Returns the problems that would prevent the up-version from succeeding.
+     * 
+     * @return List&lt;String&gt;
+     */
+    public List<String> getProblems() {
+        return Collections.unmodifiableList( problems );
+    }
+
+    /**
+     * Returns true if no problems were found while planning the up-version.
+     * 
+     * @return boolean
+     */
+    public boolean isValid() {
+        return problems.isEmpty();
+    }
+
+    /**
+     * Adds a library that would be up-versioned.
+     * 
+     * @param library the planned library to add
+     */
+    void addLibrary(PlannedLibrary library) {
+        libraries.add( library );
+    }
+
+    /**
+     * Adds a reference that would be rewritten.
+     * 
+     * @param reference the planned reference to add
+     */
+    void addReference(PlannedReference reference) {
+        references.add( reference );
+    }
+
+    /**
+     * Adds a problem that would prevent the up-version from succeeding.
+     * 
+     * @param problem the description of the problem
+     */
+    void addProblem(String problem) {
+        problems.add( problem );
+    }
+
+    /**
+     * Prints a readable report of the plan to the given stream.
+     * 
+     * @param out the stream to which the report will be printed
+     */
+    public void printReport(PrintStream out) {
+        out.println( String.format( "Libraries to up-version (%d):", libraries.size() ) );
+
+        for (PlannedLibrary library : libraries) {
+            File oldVersionFile = URLUtils.toFile( library.getOldVersion().getLibraryUrl() );
+
+            out.println(
+                String.format( "  %s -> %s", oldVersionFile.getName(), library.getNewVersionFile().getName() ) );
+            out.println( String.format( "      %s -> %s", library.getOldVersion().getNamespace(),
+                library.getNewNamespace() ) );
+        }
+        out.println( String.format( "References to rewrite (%d):", references.size() ) );
+
+        for (PlannedReference reference : references) {
+            out.println( String.format( "  %s: %s -> %s", reference.getSource(), reference.getOldReference(),
+                reference.getNewReference() ) );
+        }
+        if (!problems.isEmpty()) {
+            out.println( String.format( "Problems (%d):", problems.size() ) );
+
+            for (String problem : problems) {
+                out.println( "  " + problem );
+            }
+        }
+    }
+
+}
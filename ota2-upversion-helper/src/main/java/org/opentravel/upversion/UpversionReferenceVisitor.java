@@ -28,6 +28,7 @@ import org.opentravel.schemacompiler.model.TLFacet;
 import org.opentravel.schemacompiler.model.TLFacetOwner;
 import org.opentravel.schemacompiler.model.TLMemberField;
 import org.opentravel.schemacompiler.model.TLMemberFieldOwner;
+import org.opentravel.schemacompiler.model.TLModelElement;
 import org.opentravel.schemacompiler.model.TLParamGroup;
 import org.opentravel.schemacompiler.model.TLParameter;
 import org.opentravel.schemacompiler.model.TLProperty;
@@ -39,14 +40,18 @@ import org.opentravel.schemacompiler.model.TLSimpleFacet;
 import org.opentravel.schemacompiler.model.TLValueWithAttributes;
 import org.opentravel.schemacompiler.visitor.ModelElementVisitorAdapter;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
- * Visitor that remaps all references from the previous version of a library to the new version.
+ * Visitor that remaps all references from the previous version of a library to the new version. When updates are
+ * deferred, the visitor only reads the model and records the changes to be made; this allows several libraries to be
+ * visited concurrently before the changes are applied on a single thread.
  */
 public class UpversionReferenceVisitor extends ModelElementVisitorAdapter {
 
     private UpversionRegistry registry;
+    private List<Runnable> deferredUpdates;
 
     /**
      * Constructor that provides the mappings from old to new library and entity versions.
@@ -54,7 +59,66 @@ public class UpversionReferenceVisitor extends ModelElementVisitorAdapter {
      * @param registry the upversion registry
      */
     public UpversionReferenceVisitor(UpversionRegistry registry) {
+        this( registry, false );
+    }
+
+    /**
+     * Constructor that provides the mappings from old to new library and entity versions.
+     * 
+     * @param registry the upversion registry
+     * @param deferUpdates flag indicating whether reference updates should be recorded instead of applied
+     */
+    public UpversionReferenceVisitor(UpversionRegistry registry, boolean deferUpdates) {
         this.registry = registry;
+        this.deferredUpdates = deferUpdates ? new ArrayList<>() : null;
+    }
+
+    /**
+     * Applies all of the reference updates that were recorded while visiting in deferred mode.
+     */
+    public void applyDeferredUpdates() {
+        if (deferredUpdates != null) {
+            deferredUpdates.forEach( Runnable::run );
+            deferredUpdates.clear();
+        }
+    }
+
+    /**
+     * Returns the new version of the given entity or null if its owning library is not being up-versioned.
+     * 
+     * @param oldVersion the old version of the entity
+     * @return NamedEntity
+     */
+    protected NamedEntity getNewVersion(NamedEntity oldVersion) {
+        return registry.getNewVersion( oldVersion );
+    }
+
+    /**
+     * Called when a reference from the given model element must be changed from the old version of an entity to the
+     * new version. By default, the update is applied immediately or recorded if updates are deferred.
+     * 
+     * @param source the model element that owns the reference
+     * @param oldReference the entity that is currently referenced
+     * @param newReference the entity that will be referenced after the update
+     * @param referenceUpdate the reference update to apply
+     */
+    protected void updateReference(TLModelElement source, NamedEntity oldReference, NamedEntity newReference,
+        Runnable referenceUpdate) {
+        update( referenceUpdate );
+    }
+
+    /**
+     * Applies the given reference update immediately or records it if updates are deferred.
+     * 
+     * @param referenceUpdate the reference update to apply
+     */
+    private void update(Runnable referenceUpdate) {
+        if (deferredUpdates != null) {
+            deferredUpdates.add( referenceUpdate );
+
+        } else {
+            referenceUpdate.run();
+        }
     }
 
     /**
@@ -62,10 +126,11 @@ public class UpversionReferenceVisitor extends ModelElementVisitorAdapter {
      */
     @Override
     public boolean visitAttribute(TLAttribute attribute) {
-        NamedEntity newVersionType = registry.getNewVersion( attribute.getType() );
+        NamedEntity newVersionType = getNewVersion( attribute.getType() );
 
         if (newVersionType != null) {
-            attribute.setType( (TLPropertyType) newVersionType );
+            updateReference( attribute, attribute.getType(), newVersionType,
+                () -> attribute.setType( (TLPropertyType) newVersionType ) );
         }
         return true;
     }
@@ -75,10 +140,11 @@ public class UpversionReferenceVisitor extends ModelElementVisitorAdapter {
      */
     @Override
     public boolean visitElement(TLProperty element) {
-        NamedEntity newVersionType = registry.getNewVersion( element.getType() );
+        NamedEntity newVersionType = getNewVersion( element.getType() );
 
         if (newVersionType != null) {
-            element.setType( (TLPropertyType) newVersionType );
+            updateReference( element, element.getType(), newVersionType,
+                () -> element.setType( (TLPropertyType) newVersionType ) );
         }
         return true;
     }
@@ -88,10 +154,11 @@ public class UpversionReferenceVisitor extends ModelElementVisitorAdapter {
      */
     @Override
     public boolean visitExtension(TLExtension extension) {
-        NamedEntity newVersionExtends = registry.getNewVersion( extension.getExtendsEntity() );
+        NamedEntity newVersionExtends = getNewVersion( extension.getExtendsEntity() );
 
         if (newVersionExtends != null) {
-            extension.setExtendsEntity( newVersionExtends );
+            updateReference( extension, extension.getExtendsEntity(), newVersionExtends,
+                () -> extension.setExtendsEntity( newVersionExtends ) );
         }
         return true;
     }
@@ -101,10 +168,11 @@ public class UpversionReferenceVisitor extends ModelElementVisitorAdapter {
      */
     @Override
     public boolean visitSimple(TLSimple simple) {
-        NamedEntity newVersionBase = registry.getNewVersion( simple.getParentType() );
+        NamedEntity newVersionBase = getNewVersion( simple.getParentType() );
 
         if (newVersionBase != null) {
-            simple.setParentType( (TLAttributeType) newVersionBase );
+            updateReference( simple, simple.getParentType(), newVersionBase,
+                () -> simple.setParentType( (TLAttributeType) newVersionBase ) );
         }
         return true;
     }
@@ -114,10 +182,11 @@ public class UpversionReferenceVisitor extends ModelElementVisitorAdapter {
      */
     @Override
     public boolean visitSimpleFacet(TLSimpleFacet simpleFacet) {
-        NamedEntity newVersionBase = registry.getNewVersion( simpleFacet.getSimpleType() );
+        NamedEntity newVersionBase = getNewVersion( simpleFacet.getSimpleType() );
 
         if (newVersionBase != null) {
-            simpleFacet.setSimpleType( (TLAttributeType) newVersionBase );
+            updateReference( simpleFacet, simpleFacet.getSimpleType(), newVersionBase,
+                () -> simpleFacet.setSimpleType( (TLAttributeType) newVersionBase ) );
         }
         return true;
     }
@@ -127,10 +196,11 @@ public class UpversionReferenceVisitor extends ModelElementVisitorAdapter {
      */
     @Override
     public boolean visitValueWithAttributes(TLValueWithAttributes vwa) {
-        NamedEntity newVersionBase = registry.getNewVersion( vwa.getParentType() );
+        NamedEntity newVersionBase = getNewVersion( vwa.getParentType() );
 
         if (newVersionBase != null) {
-            vwa.setParentType( (TLAttributeType) newVersionBase );
+            updateReference( vwa, vwa.getParentType(), newVersionBase,
+                () -> vwa.setParentType( (TLAttributeType) newVersionBase ) );
         }
         return true;
     }
@@ -140,10 +210,11 @@ public class UpversionReferenceVisitor extends ModelElementVisitorAdapter {
      */
     @Override
     public boolean visitContextualFacet(TLContextualFacet facet) {
-        NamedEntity newVersionOwner = registry.getNewVersion( facet.getOwningEntity() );
+        NamedEntity newVersionOwner = getNewVersion( facet.getOwningEntity() );
 
         if (newVersionOwner != null) {
-            facet.setOwningEntity( (TLFacetOwner) newVersionOwner );
+            updateReference( facet, facet.getOwningEntity(), newVersionOwner,
+                () -> facet.setOwningEntity( (TLFacetOwner) newVersionOwner ) );
         }
         return true;
     }
@@ -153,10 +224,11 @@ public class UpversionReferenceVisitor extends ModelElementVisitorAdapter {
      */
     @Override
     public boolean visitResource(TLResource resource) {
-        NamedEntity newVersionBO = registry.getNewVersion( resource.getBusinessObjectRef() );
+        NamedEntity newVersionBO = getNewVersion( resource.getBusinessObjectRef() );
 
         if (newVersionBO != null) {
-            resource.setBusinessObjectRef( (TLBusinessObject) newVersionBO );
+            updateReference( resource, resource.getBusinessObjectRef(), newVersionBO,
+                () -> resource.setBusinessObjectRef( (TLBusinessObject) newVersionBO ) );
         }
         return true;
     }
@@ -166,10 +238,11 @@ public class UpversionReferenceVisitor extends ModelElementVisitorAdapter {
      */
     @Override
     public boolean visitResourceParentRef(TLResourceParentRef parentRef) {
-        NamedEntity newParentResource = registry.getNewVersion( parentRef.getParentResource() );
+        NamedEntity newParentResource = getNewVersion( parentRef.getParentResource() );
 
         if (newParentResource != null) {
-            parentRef.setParentResource( (TLResource) newParentResource );
+            updateReference( parentRef, parentRef.getParentResource(), newParentResource,
+                () -> parentRef.setParentResource( (TLResource) newParentResource ) );
         }
         return true;
     }
@@ -179,11 +252,12 @@ public class UpversionReferenceVisitor extends ModelElementVisitorAdapter {
      */
     @Override
     public boolean visitParamGroup(TLParamGroup paramGroup) {
-        TLFacet newFacetRef = (TLFacet) registry.getNewVersion( paramGroup.getFacetRef() );
+        TLFacet newFacetRef = (TLFacet) getNewVersion( paramGroup.getFacetRef() );
         TLFacet facetRef = (newFacetRef != null) ? newFacetRef : paramGroup.getFacetRef();
 
         if (newFacetRef != null) {
-            paramGroup.setFacetRef( (TLFacet) newFacetRef );
+            updateReference( paramGroup, paramGroup.getFacetRef(), newFacetRef,
+                () -> paramGroup.setFacetRef( (TLFacet) newFacetRef ) );
         }
 
         // Also
@@ -215,7 +289,9 @@ public class UpversionReferenceVisitor extends ModelElementVisitorAdapter {
                         newField = aField;
                     }
                 }
-                parameter.setFieldRef( newField );
+                TLMemberField<?> newFieldRef = newField;
+
+                update( () -> parameter.setFieldRef( newFieldRef ) );
             }
         }
     }
@@ -225,10 +301,11 @@ public class UpversionReferenceVisitor extends ModelElementVisitorAdapter {
      */
     @Override
     public boolean visitActionFacet(TLActionFacet facet) {
-        NamedEntity newVersionBasePayload = registry.getNewVersion( facet.getBasePayload() );
+        NamedEntity newVersionBasePayload = getNewVersion( facet.getBasePayload() );
 
         if (newVersionBasePayload != null) {
-            facet.setBasePayload( newVersionBasePayload );
+            updateReference( facet, facet.getBasePayload(), newVersionBasePayload,
+                () -> facet.setBasePayload( newVersionBasePayload ) );
         }
         return true;
     }
@@ -24,20 +24,21 @@ import org.opentravel.schemacompiler.transform.symbols.TLLibrarySymbolTablePopul
 
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Maintains a mapping correlation between the old and new version libraries of a model.
+ * Maintains a mapping correlation between the old and new version libraries of a model. Mappings may be added and
+ * looked up from multiple threads at the same time.
  */
 public class UpversionRegistry {
 
-    private TLLibrarySymbolTablePopulator symbolTablePopulator = new TLLibrarySymbolTablePopulator();
-    private Map<TLLibrary,TLLibrary> libraryMap = new HashMap<>();
-    private Map<TLLibrary,SymbolTable> newVersionSymbolTables = new HashMap<>();
+    private Map<TLLibrary,TLLibrary> libraryMap = new ConcurrentHashMap<>();
+    private Map<TLLibrary,SymbolTable> newVersionSymbolTables = new ConcurrentHashMap<>();
 
     /**
-     * Adds a new library version mapping to this registry.
+     * Adds a new library version mapping to this registry. The symbol table of the new version is fully populated
+     * before the mapping becomes visible to other threads.
      * 
      * @param oldVersion the old version of the library
      * @param newVersion the new version of the library
@@ -55,9 +56,9 @@ public class UpversionRegistry {
         }
         SymbolTable symbolTable = new SymbolTable();
 
-        libraryMap.put( oldVersion, newVersion );
+        new TLLibrarySymbolTablePopulator().populateSymbols( newVersion, symbolTable );
         newVersionSymbolTables.put( newVersion, symbolTable );
-        symbolTablePopulator.populateSymbols( newVersion, symbolTable );
+        libraryMap.put( oldVersion, newVersion );
     }
 
     /**
@@ -20,8 +20,6 @@ import org.opentravel.application.common.ProgressMonitor;
 import org.opentravel.schemacompiler.model.TLModel;
 import org.opentravel.schemacompiler.repository.Project;
 import org.opentravel.schemacompiler.repository.ProjectManager;
-import org.opentravel.schemacompiler.repository.RemoteRepository;
-import org.opentravel.schemacompiler.repository.Repository;
 import org.opentravel.schemacompiler.repository.RepositoryItem;
 import org.opentravel.schemacompiler.repository.RepositoryManager;
 import org.opentravel.schemacompiler.util.SchemaCompilerException;
@@ -31,6 +29,7 @@ import org.opentravel.schemacompiler.validate.compile.TLModelCompileValidator;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 
 /**
@@ -55,13 +54,14 @@ public class ValidationOrchestrator {
     }
 
     /**
-     * Assigns the value of the 'repositoryItems' field.
+     * Assigns the value of the 'repositoryItems' field. Duplicate items are removed.
      *
      * @param repositoryItems the field value to assign
      * @return ValidationOrchestrator
      */
     public ValidationOrchestrator setRepositoryItems(List<RepositoryItem> repositoryItems) {
-        this.repositoryItems = repositoryItems;
+        this.repositoryItems =
+            (repositoryItems == null) ? null : new ArrayList<>( new LinkedHashSet<>( repositoryItems ) );
         return this;
     }
 
@@ -92,7 +92,7 @@ public class ValidationOrchestrator {
             throw new SchemaCompilerException( "No libraries to validate." );
         }
         if (monitor != null) {
-            monitor.taskStarted( repositoryItems.size() + 1L );
+            monitor.taskStarted( (repositoryItems.size() * 2) + 1L );
         }
 
         findings = TLModelCompileValidator.validateModel( loadModel() );
@@ -101,7 +101,8 @@ public class ValidationOrchestrator {
     }
 
     /**
-     * Loads the libraries from the list of repository items provided by the caller.
+     * Loads the libraries from the list of repository items provided by the caller. The content of all remote items is
+     * downloaded concurrently before any of the libraries are loaded.
      * 
      * @return TLModel
      * @throws SchemaCompilerException thrown if one or more of the libraries cannot be loaded
@@ -112,12 +113,9 @@ public class ValidationOrchestrator {
             Project project = projectManager.newProject( File.createTempFile( "vld", ".otp" ),
                 "http://www.opentravel.org", "OldVersions", null );
 
-            for (RepositoryItem item : repositoryItems) {
-                Repository repository = item.getRepository();
+            new RepositoryPrefetcher().setProgressMonitor( monitor ).prefetch( repositoryItems );
 
-                if (repository instanceof RemoteRepository) {
-                    ((RemoteRepository) repository).downloadContent( item, true );
-                }
+            for (RepositoryItem item : repositoryItems) {
                 projectManager.addManagedProjectItem( item, project );
                 reportWorkUnitCompleted();
             }
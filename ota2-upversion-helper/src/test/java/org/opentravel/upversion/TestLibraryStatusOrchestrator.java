@@ -0,0 +1,161 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.opentravel.upversion;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opentravel.schemacompiler.model.TLLibraryStatus;
+import org.opentravel.schemacompiler.repository.RepositoryException;
+import org.opentravel.schemacompiler.repository.RepositoryItem;
+import org.opentravel.schemacompiler.repository.RepositoryManager;
+import org.opentravel.schemacompiler.repository.testutil.AbstractRepositoryTest;
+import org.opentravel.upversion.LibraryStatusOrchestrator.ItemResult;
+import org.opentravel.upversion.LibraryStatusOrchestrator.Outcome;
+import org.opentravel.upversion.LibraryStatusOrchestrator.StatusAction;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Verifies the functions of the <code>LibraryStatusOrchestrator</code> class.
+ */
+public class TestLibraryStatusOrchestrator extends AbstractRepositoryTest {
+
+    private static final String VERSION_TEST_NS = "http://www.OpenTravel.org/ns/OTA2/SchemaCompiler/version-test";
+    private static final String ORCHESTRATOR_TEST_A_NS =
+        "http://www.OpenTravel.org/ns/OTA2/SchemaCompiler/orchestrator-test-a";
+    private static final String ORCHESTRATOR_TEST_B_NS =
+        "http://www.OpenTravel.org/ns/OTA2/SchemaCompiler/orchestrator-test-b";
+
+    protected static File repositoryConfig =
+        new File( System.getProperty( "user.dir" ) + "/src/test/resources/ota2-repository-config.xml" );
+    protected static RepositoryManager repoManager;
+
+    @BeforeClass
+    public static void setupTests() throws Exception {
+        setupWorkInProcessArea( TestLibraryStatusOrchestrator.class );
+        startTestServer( "versions-repository", 9512, repositoryConfig, true, false,
+            TestLibraryStatusOrchestrator.class );
+        repoManager = repositoryManager.get();
+    }
+
+    @AfterClass
+    public static void tearDownTests() throws Exception {
+        shutdownTestServer();
+    }
+
+    @Test
+    public void testJournalNamedAfterRun() throws Exception {
+        RepositoryItem libAItem = repoManager.getRepositoryItem( VERSION_TEST_NS, "LibraryA_2_0_0.otm", "2.0.0" );
+        RepositoryItem libBItem = repoManager.getRepositoryItem( VERSION_TEST_NS, "LibraryB_2_0_0.otm", "2.0.0" );
+        File journalFolder = new File( wipFolder.get(), "/journal-names" );
+        File journalAB = newOrchestrator( repoManager, Arrays.asList( libAItem, libBItem ), StatusAction.PROMOTE,
+            TLLibraryStatus.DRAFT, journalFolder ).getJournalFile();
+        File journalBA = newOrchestrator( repoManager, Arrays.asList( libBItem, libAItem ), StatusAction.PROMOTE,
+            TLLibraryStatus.DRAFT, journalFolder ).getJournalFile();
+        File journalA = newOrchestrator( repoManager, Arrays.asList( libAItem ), StatusAction.PROMOTE,
+            TLLibraryStatus.DRAFT, journalFolder ).getJournalFile();
+        File journalDemote = newOrchestrator( repoManager, Arrays.asList( libAItem, libBItem ), StatusAction.DEMOTE,
+            TLLibraryStatus.UNDER_REVIEW, journalFolder ).getJournalFile();
+
+        assertEquals( journalFolder, journalAB.getParentFile() );
+        assertEquals( journalAB, journalBA );
+        assertNotEquals( journalAB, journalA );
+        assertNotEquals( journalAB, journalDemote );
+        assertNull( newOrchestrator( repoManager, Arrays.asList( libAItem ), StatusAction.PROMOTE,
+            TLLibraryStatus.DRAFT, null ).getJournalFile() );
+    }
+
+    @Test
+    public void testResumeAfterFailure() throws Exception {
+        RepositoryItem libAItem = repoManager.getRepositoryItem( VERSION_TEST_NS, "LibraryA_2_0_0.otm", "2.0.0" );
+        RepositoryItem libBItem = repoManager.getRepositoryItem( VERSION_TEST_NS, "LibraryB_2_0_0.otm", "2.0.0" );
+        RepositoryManager failingManager = spy( repoManager );
+        LibraryStatusOrchestrator o = newOrchestrator( failingManager, Arrays.asList( libAItem, libBItem ),
+            StatusAction.PROMOTE, TLLibraryStatus.DRAFT, new File( wipFolder.get(), "/journal-resume" ) );
+        File journalFile = o.getJournalFile();
+
+        doThrow( new RepositoryException( "Simulated promotion failure." ) ).when( failingManager )
+            .promote( libBItem );
+
+        assertFalse( o.updateStatus() );
+        assertOutcomes( o.getResults(), Outcome.UPDATED, Outcome.FAILED );
+        assertEquals( "Simulated promotion failure.", o.getResults().get( 1 ).getMessage() );
+        assertTrue( journalFile.exists() );
+
+        List<String> journalLines = Files.readAllLines( journalFile.toPath(), StandardCharsets.UTF_8 );
+
+        assertEquals( 2, journalLines.size() );
+        assertTrue( journalLines.get( 1 ).endsWith( "LibraryA_2_0_0.otm" ) );
+
+        // Resume the same run; the library promoted by the first run is skipped
+        assertTrue( o.setRepositoryManager( repoManager ).updateStatus() );
+        assertOutcomes( o.getResults(), Outcome.SKIPPED, Outcome.UPDATED );
+        assertFalse( journalFile.exists() );
+    }
+
+    @Test
+    public void testResumeWithNoRemainingUpdates() throws Exception {
+        RepositoryItem libAItem = repoManager.getRepositoryItem( ORCHESTRATOR_TEST_A_NS, "LibA_1_0_0.otm", "1.0.0" );
+        RepositoryItem libBItem = repoManager.getRepositoryItem( ORCHESTRATOR_TEST_B_NS, "LibB_1_0_0.otm", "1.0.0" );
+        RepositoryManager failingManager = spy( repoManager );
+        LibraryStatusOrchestrator o = newOrchestrator( failingManager, Arrays.asList( libAItem, libBItem ),
+            StatusAction.DEMOTE, TLLibraryStatus.FINAL, new File( wipFolder.get(), "/journal-complete" ) );
+        File journalFile = o.getJournalFile();
+
+        doThrow( new RepositoryException( "Simulated demotion failure." ) ).when( failingManager ).demote( libBItem );
+
+        assertFalse( o.updateStatus() );
+        assertOutcomes( o.getResults(), Outcome.UPDATED, Outcome.FAILED );
+        assertTrue( journalFile.exists() );
+
+        // Complete the failed update outside of the orchestrator so that only the journaled library remains
+        repoManager.demote( libBItem );
+
+        assertTrue( o.setRepositoryManager( repoManager ).updateStatus() );
+        assertOutcomes( o.getResults(), Outcome.SKIPPED );
+        assertFalse( journalFile.exists() );
+    }
+
+    private static LibraryStatusOrchestrator newOrchestrator(RepositoryManager manager, List<RepositoryItem> items,
+        StatusAction action, TLLibraryStatus fromStatus, File journalFolder) {
+        return new LibraryStatusOrchestrator().setRepositoryManager( manager ).setLibraryVersions( items )
+            .setStatusAction( action ).setFromStatus( fromStatus ).setJournalFolder( journalFolder );
+    }
+
+    private static void assertOutcomes(List<ItemResult> results, Outcome... expectedOutcomes) {
+        assertEquals( expectedOutcomes.length, results.size() );
+
+        for (int i = 0; i < expectedOutcomes.length; i++) {
+            assertEquals( expectedOutcomes[i], results.get( i ).getOutcome() );
+        }
+    }
+
+}
@@ -0,0 +1,234 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.opentravel.upversion;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opentravel.application.common.ProgressMonitor;
+import org.opentravel.schemacompiler.model.TLModel;
+import org.opentravel.schemacompiler.repository.Project;
+import org.opentravel.schemacompiler.repository.ProjectManager;
+import org.opentravel.schemacompiler.repository.RemoteRepository;
+import org.opentravel.schemacompiler.repository.RepositoryException;
+import org.opentravel.schemacompiler.repository.RepositoryItem;
+import org.opentravel.schemacompiler.repository.RepositoryManager;
+import org.opentravel.schemacompiler.repository.testutil.AbstractRepositoryTest;
+import org.opentravel.schemacompiler.util.SchemaCompilerException;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Verifies the functions of the <code>RepositoryPrefetcher</code> class.
+ */
+public class TestRepositoryPrefetcher extends AbstractRepositoryTest {
+
+    private static final String VERSION_TEST_NS = "http://www.OpenTravel.org/ns/OTA2/SchemaCompiler/version-test";
+    private static final String ORCHESTRATOR_NS = "http://www.OpenTravel.org/ns/OTA2/SchemaCompiler/orchestrator-test";
+
+    protected static File repositoryConfig =
+        new File( System.getProperty( "user.dir" ) + "/src/test/resources/ota2-repository-config.xml" );
+    protected static RepositoryManager repoManager;
+
+    @BeforeClass
+    public static void setupTests() throws Exception {
+        setupWorkInProcessArea( TestRepositoryPrefetcher.class );
+        startTestServer( "versions-repository", 9502, repositoryConfig, true, false, TestRepositoryPrefetcher.class );
+        repoManager = repositoryManager.get();
+    }
+
+    @AfterClass
+    public static void tearDownTests() throws Exception {
+        shutdownTestServer();
+    }
+
+    @Test
+    public void testPrefetchRemoteItems() throws Exception {
+        List<RepositoryItem> uniqueItems = Arrays.asList(
+            repoManager.getRepositoryItem( VERSION_TEST_NS, "LibraryA_1_0_0.otm", "1.0.0" ),
+            repoManager.getRepositoryItem( VERSION_TEST_NS, "LibraryB_1_0_0.otm", "1.0.0" ),
+            repoManager.getRepositoryItem( VERSION_TEST_NS, "LibraryA_2_0_0.otm", "2.0.0" ),
+            repoManager.getRepositoryItem( VERSION_TEST_NS, "LibraryB_2_0_0.otm", "2.0.0" ),
+            repoManager.getRepositoryItem( ORCHESTRATOR_NS + "-a", "LibA_1_0_0.otm", "1.0.0" ),
+            repoManager.getRepositoryItem( ORCHESTRATOR_NS + "-b", "LibB_1_0_0.otm", "1.0.0" ) );
+        List<RepositoryItem> items = new ArrayList<>( uniqueItems );
+        CountingMonitor monitor = new CountingMonitor();
+
+        items.addAll( uniqueItems.subList( 0, 2 ) );
+
+        for (int i = 0; i < 3; i++) {
+            new RepositoryPrefetcher().setMaxConcurrent( items.size() ).setProgressMonitor( monitor )
+                .prefetch( items );
+        }
+        assertEquals( uniqueItems.size() * 3, monitor.getProgress() );
+
+        // Make sure the downloaded content of every item can be loaded from the local cache
+        ProjectManager projectManager = new ProjectManager( new TLModel(), false, repoManager );
+        Project project = projectManager.newProject( new File( wipFolder.get(), "/prefetch-test.otp" ),
+            "http://www.OpenTravel.org/ns/OTA2/SchemaCompiler/prefetch-test", "PrefetchTest", null );
+
+        for (RepositoryItem item : uniqueItems) {
+            projectManager.addManagedProjectItem( item, project );
+            assertNotNull( projectManager.getModel().getLibrary( item.getNamespace(), item.getLibraryName() ) );
+        }
+    }
+
+    @Test
+    public void testPermanentErrorNotRetried() throws Exception {
+        RemoteRepository repository = mock( RemoteRepository.class );
+        RepositoryItem item = newMockItem( repository, VERSION_TEST_NS, "Missing_1_0_0.otm" );
+
+        doThrow( new RepositoryException( "Repository item not found." ) ).when( repository ).downloadContent( item,
+            true );
+
+        try {
+            new RepositoryPrefetcher().setMaxAttempts( 3 ).setRetryDelay( 0L )
+                .prefetch( Arrays.asList( item ) );
+            fail( "Expected exception not thrown." );
+
+        } catch (SchemaCompilerException e) {
+            assertTrue( e.getMessage().contains( "Missing_1_0_0.otm" ) );
+        }
+        verify( repository, times( 1 ) ).downloadContent( item, true );
+    }
+
+    @Test
+    public void testPrefetchItemsReportsFailures() throws Exception {
+        RemoteRepository repository = mock( RemoteRepository.class );
+        RepositoryItem goodItem = newMockItem( repository, VERSION_TEST_NS, "Good_1_0_0.otm" );
+        RepositoryItem badItem = newMockItem( repository, ORCHESTRATOR_NS, "Missing_1_0_0.otm" );
+        RepositoryException error = new RepositoryException( "Repository item not found." );
+        Map<RepositoryItem,Throwable> errors;
+
+        doThrow( error ).when( repository ).downloadContent( badItem, true );
+
+        errors = new RepositoryPrefetcher().setMaxAttempts( 3 ).setRetryDelay( 0L )
+            .prefetchItems( Arrays.asList( goodItem, badItem ) );
+        assertEquals( 1, errors.size() );
+        assertSame( error, errors.get( badItem ) );
+        verify( repository, times( 1 ) ).downloadContent( goodItem, true );
+    }
+
+    @Test
+    public void testTransientErrorRetried() throws Exception {
+        RemoteRepository repository = mock( RemoteRepository.class );
+        RepositoryItem item = newMockItem( repository, VERSION_TEST_NS, "Timeout_1_0_0.otm" );
+        CountingMonitor monitor = new CountingMonitor();
+
+        doThrow( new RepositoryException( "Read timed out.", new SocketTimeoutException() ) ).doNothing()
+            .when( repository ).downloadContent( item, true );
+
+        new RepositoryPrefetcher().setMaxAttempts( 3 ).setRetryDelay( 0L ).setProgressMonitor( monitor )
+            .prefetch( Arrays.asList( item ) );
+        verify( repository, times( 2 ) ).downloadContent( item, true );
+        assertEquals( 1, monitor.getProgress() );
+    }
+
+    @Test
+    public void testIsTransient() throws Exception {
+        assertTrue( RepositoryPrefetcher.isTransient( new RepositoryException( "", new SocketTimeoutException() ) ) );
+        assertFalse( RepositoryPrefetcher.isTransient( new RepositoryException( "Not authorized." ) ) );
+        assertFalse(
+            RepositoryPrefetcher.isTransient( new RepositoryException( "", new FileNotFoundException( "x.otm" ) ) ) );
+    }
+
+    @Test
+    public void testSameNamespaceDownloadsSerialized() throws Exception {
+        RemoteRepository repository = mock( RemoteRepository.class );
+        Map<String,AtomicInteger> activeDownloads = new ConcurrentHashMap<>();
+        AtomicInteger overlapCount = new AtomicInteger();
+        List<RepositoryItem> items = new ArrayList<>();
+
+        for (int i = 0; i < 8; i++) {
+            String baseNamespace = ((i % 2) == 0) ? VERSION_TEST_NS : ORCHESTRATOR_NS;
+
+            items.add( newMockItem( repository, baseNamespace, "Library" + i + "_1_0_0.otm" ) );
+        }
+        doAnswer( invocation -> {
+            RepositoryItem item = invocation.getArgument( 0 );
+            AtomicInteger active =
+                activeDownloads.computeIfAbsent( item.getBaseNamespace(), ns -> new AtomicInteger() );
+
+            if (active.incrementAndGet() > 1) {
+                overlapCount.incrementAndGet();
+            }
+            Thread.sleep( 20 );
+            active.decrementAndGet();
+            return null;
+        } ).when( repository ).downloadContent( any( RepositoryItem.class ), anyBoolean() );
+
+        new RepositoryPrefetcher().setMaxConcurrent( items.size() ).prefetch( items );
+        verify( repository, times( items.size() ) ).downloadContent( any( RepositoryItem.class ), anyBoolean() );
+        assertEquals( 0, overlapCount.get() );
+    }
+
+    private static RepositoryItem newMockItem(RemoteRepository repository, String baseNamespace, String filename) {
+        RepositoryItem item = mock( RepositoryItem.class );
+
+        when( item.getRepository() ).thenReturn( repository );
+        when( item.getBaseNamespace() ).thenReturn( baseNamespace );
+        when( item.getFilename() ).thenReturn( filename );
+        return item;
+    }
+
+    /**
+     * Progress monitor that counts the units of work reported without updating a visual control.
+     */
+    private static class CountingMonitor extends ProgressMonitor {
+
+        private int progress;
+
+        public CountingMonitor() {
+            super( null );
+        }
+
+        @Override
+        public void progress(int workProgress) {
+            progress += workProgress;
+        }
+
+        public int getProgress() {
+            return progress;
+        }
+
+    }
+
+}
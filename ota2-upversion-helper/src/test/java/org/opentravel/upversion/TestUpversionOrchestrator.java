@@ -17,6 +17,7 @@
 package org.opentravel.upversion;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
@@ -100,6 +101,51 @@ public class TestUpversionOrchestrator extends AbstractRepositoryTest {
         validateReferences( externalRefs );
     }
 
+    @Test
+    public void testUpversionPlan() throws Exception {
+        RepositoryItem libAItem = repoManager.getRepositoryItem(
+            "http://www.OpenTravel.org/ns/OTA2/SchemaCompiler/orchestrator-test-a", "LibA_1_0_0.otm", "1.0.0" );
+        RepositoryItem libBItem = repoManager.getRepositoryItem(
+            "http://www.OpenTravel.org/ns/OTA2/SchemaCompiler/orchestrator-test-b", "LibB_1_0_0.otm", "1.0.0" );
+        UpversionOrchestrator o = new UpversionOrchestrator();
+        File outputFolder = new File( wipFolder.get(), "/upversion-plan-output" );
+
+        o.setRepositoryManager( repoManager );
+        o.setOldVersions( Arrays.asList( libAItem, libBItem ) );
+        o.setOutputFolder( outputFolder );
+
+        UpversionPlan plan = o.planNewVersions();
+
+        assertTrue( plan.isValid() );
+        assertEquals( 2, plan.getLibraries().size() );
+        assertFalse( outputFolder.exists() );
+
+        for (UpversionPlan.PlannedLibrary library : plan.getLibraries()) {
+            assertTrue( library.getNewNamespace().endsWith( "/v02" ) );
+            assertEquals( outputFolder, library.getNewVersionFile().getParentFile() );
+        }
+        assertTrue( plan.getReferences().stream().anyMatch( r -> r.getSource().contains( "ExternalRefs" )
+            && r.getNewReference().getNamespaceURI().endsWith( "orchestrator-test-a/v02" ) ) );
+    }
+
+    @Test
+    public void testUpversionPlanValidationErrors() throws Exception {
+        RepositoryItem errorItem = repoManager.getRepositoryItem(
+            "http://www.OpenTravel.org/ns/OTA2/SchemaCompiler/version-test", "ErrorLibrary_1_0_0.otm", "1.0.0" );
+        UpversionOrchestrator o = new UpversionOrchestrator();
+        File outputFolder = new File( wipFolder.get(), "/upversion-plan-error-output" );
+
+        o.setRepositoryManager( repoManager );
+        o.setOldVersions( Arrays.asList( errorItem ) );
+        o.setOutputFolder( outputFolder );
+
+        UpversionPlan plan = o.planNewVersions();
+
+        assertFalse( plan.isValid() );
+        assertTrue( plan.getProblems().stream().anyMatch( p -> p.startsWith( "Validation error: " ) ) );
+        assertFalse( outputFolder.exists() );
+    }
+
     private void validateReferences(TLCoreObject coreRefs) throws Exception {
         TLProperty coreRef = coreRefs.getSummaryFacet().getElement( "TargetCore" );
         TLProperty choiceRef = coreRefs.getSummaryFacet().getElement( "TargetChoice" );
@@ -173,6 +173,23 @@ public abstract class DexActionManagerBase implements DexActionManager {
         return false;
     }
 
+    /**
+     * Actions may add, delete or change type users so let the model manager re-index the subject's owner.
+     */
+    private void invalidateTypeReferences(OtmObject subject) {
+        if (subject != null && subject.getModelManager() != null)
+            subject.getModelManager().invalidateTypeReferences( subject.getOwningMember() );
+    }
+
+    /**
+     * Let the model manager re-validate the subject's owner and the members that depend on it in the background. Bursts
+     * of actions, such as typing a name, are validated once.
+     */
+    private void scheduleValidation(OtmObject subject) {
+        if (subject != null && subject.getModelManager() != null)
+            subject.getModelManager().markDirty( subject.getOwningMember() );
+    }
+
     @Override
     public void postStatus(String status) {
         if (mainController != null)
@@ -198,10 +215,13 @@ public abstract class DexActionManagerBase implements DexActionManager {
             return;
         }
         // log.debug( "Pushing action onto queue: " + ignore + " " + action.toString() );
+        // Validate once so the veto findings are current. Dependents are validated in the background.
         action.isValid();
         // Refresh is much more light weight than full validation/resolver
-        if (action.getSubject() != null)
+        if (action.getSubject() != null) {
+            invalidateTypeReferences( action.getSubject() );
             action.getSubject().refresh();
+        }
 
         if (queue.contains( action )) {
             // Make sure not a duplicate
@@ -232,19 +252,17 @@ public abstract class DexActionManagerBase implements DexActionManager {
         DexChangeEvent event = action.getEvent();
         if (event != null && mainController != null) {
             event.set( action.getSubject() );
-            action.isValid();
             mainController.publishEvent( event );
             // log.debug( "Action manager threw event: " + event.toString() );
         }
-        action.isValid();
 
         // Let the user know what happened
         if (mainController != null) {
             mainController.updateActionManagerDisplay( this );
             mainController.postStatus( "Performed action: " + action.toString() );
         }
-        // Let the action update the action appropriate validation status
-        action.isValid();
+        // Let the owner and its dependents update their validation status
+        scheduleValidation( action.getSubject() );
 
         // log.debug( "Pushed action onto queue: " + action.getClass().getSimpleName() );
     }
@@ -371,9 +389,9 @@ public abstract class DexActionManagerBase implements DexActionManager {
             DexAction<?> action = queue.pop();
             // log.debug( "Undo action: " + action.getClass().getSimpleName() );
             action.undoIt();
+            invalidateTypeReferences( action.getSubject() );
 
-            if (action.getSubject() != null)
-                action.getSubject().getOwningMember().isValid( true ); // Force the owner to refresh its findings.
+            scheduleValidation( action.getSubject() ); // Owner will refresh its findings in the background.
 
             // Throw an event if defined
             DexChangeEvent event = action.getEvent();
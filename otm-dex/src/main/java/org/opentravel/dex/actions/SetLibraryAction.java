@@ -125,6 +125,7 @@ public class SetLibraryAction extends DexRunAction {
                 log.warn( "Exception moving member to new library: " + e.getLocalizedMessage() );
                 return null;
             }
+            member.getModelManager().updateLibrary( member );
             // // Debugging
             // if (member.getLibrary() != lib)
             // log.error( "Missing library." );
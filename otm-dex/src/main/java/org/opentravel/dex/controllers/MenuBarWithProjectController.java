@@ -36,6 +36,7 @@ import org.opentravel.dex.events.DexMemberDeleteEvent;
 import org.opentravel.dex.events.DexMemberSelectionEvent;
 import org.opentravel.dex.events.DexModelChangeEvent;
 import org.opentravel.dex.events.DexRepositorySelectionEvent;
+import org.opentravel.dex.events.DexValidationResultsEvent;
 import org.opentravel.dex.events.OtmObjectReplacedEvent;
 import org.opentravel.dex.tasks.TaskResultHandlerI;
 import org.opentravel.dex.tasks.repository.OpenLibraryFileTask;
@@ -389,6 +390,7 @@ public class MenuBarWithProjectController extends DexIncludedControllerBase<Stri
         // publishedEventTypes = Collections.unmodifiableList( Arrays.asList( publishedEvents ) );
         publishedEventTypes = new ArrayList<>();
         publishedEventTypes.add( DexModelChangeEvent.MODEL_CHANGED );
+        publishedEventTypes.add( DexValidationResultsEvent.VALIDATION_RESULTS );
         publishedEventTypes.add( DexMemberSelectionEvent.TYPE_PROVIDER_SELECTED );
         publishedEventTypes.add( DexMemberSelectionEvent.TYPE_USER_SELECTED );
         publishedEventTypes.add( DexRepositorySelectionEvent.REPOSITORY_SELECTED );
@@ -30,6 +30,7 @@ import org.opentravel.dex.events.DexMemberSelectionEvent;
 import org.opentravel.dex.events.DexModelChangeEvent;
 import org.opentravel.dex.events.OtmObjectChangeEvent;
 import org.opentravel.dex.events.OtmObjectModifiedEvent;
+import org.opentravel.dex.events.DexValidationResultsEvent;
 import org.opentravel.dex.events.OtmObjectReplacedEvent;
 import org.opentravel.model.OtmChildrenOwner;
 import org.opentravel.model.OtmModelManager;
@@ -112,7 +113,7 @@ public class MemberTreeTableController extends DexIncludedControllerBase<OtmMode
         DexMemberDeleteEvent.MEMBER_DELETED, OtmObjectReplacedEvent.OBJECT_REPLACED,
         DexMemberSelectionEvent.TYPE_USER_SELECTED, DexMemberSelectionEvent.TYPE_PROVIDER_SELECTED,
         DexMemberSelectionEvent.MEMBER_SELECTED, DexModelChangeEvent.MODEL_CHANGED, OtmObjectChangeEvent.OBJECT_CHANGED,
-        OtmObjectModifiedEvent.OBJECT_MODIFIED};
+        OtmObjectModifiedEvent.OBJECT_MODIFIED, DexValidationResultsEvent.VALIDATION_RESULTS};
     private static final EventType[] publishedEvents =
         {DexMemberSelectionEvent.MEMBER_SELECTED, DexMemberSelectionEvent.DOUBLE_CLICK_MEMBER_SELECTED};
 
@@ -310,6 +311,8 @@ public class MemberTreeTableController extends DexIncludedControllerBase<OtmMode
         else if (!ignoreEvents && !eventsLocked) {
             if (event instanceof DexMemberSelectionEvent)
                 handleEvent( (DexMemberSelectionEvent) event );
+            else if (event instanceof DexValidationResultsEvent)
+                memberTree.refresh(); // Redraw the cells to pick up the new validation images
             else if (event instanceof DexChangeEvent) {
                 // Future - be selective using event member which may be a contextual facet
                 itemMap.clear();
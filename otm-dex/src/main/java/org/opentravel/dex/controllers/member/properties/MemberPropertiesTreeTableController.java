@@ -32,6 +32,7 @@ import org.opentravel.dex.events.DexMemberDeleteEvent;
 import org.opentravel.dex.events.DexMemberSelectionEvent;
 import org.opentravel.dex.events.DexModelChangeEvent;
 import org.opentravel.dex.events.DexPropertySelectionEvent;
+import org.opentravel.dex.events.DexValidationResultsEvent;
 import org.opentravel.dex.events.OtmObjectChangeEvent;
 import org.opentravel.dex.events.OtmObjectModifiedEvent;
 import org.opentravel.dex.events.OtmObjectReplacedEvent;
@@ -74,7 +75,8 @@ public class MemberPropertiesTreeTableController extends DexIncludedControllerBa
         {DexMemberDeleteEvent.MEMBER_DELETED, OtmObjectReplacedEvent.OBJECT_REPLACED,
             OtmObjectChangeEvent.OBJECT_CHANGED, OtmObjectModifiedEvent.OBJECT_MODIFIED,
             DexMemberSelectionEvent.TYPE_USER_SELECTED, DexMemberSelectionEvent.TYPE_PROVIDER_SELECTED,
-            DexMemberSelectionEvent.MEMBER_SELECTED, DexModelChangeEvent.MODEL_CHANGED, DexEventLockEvent.EVENT_LOCK};
+            DexMemberSelectionEvent.MEMBER_SELECTED, DexModelChangeEvent.MODEL_CHANGED, DexEventLockEvent.EVENT_LOCK,
+            DexValidationResultsEvent.VALIDATION_RESULTS};
 
     @FXML
     protected TreeTableView<PropertiesDAO> propertiesTable;
@@ -250,6 +252,8 @@ public class MemberPropertiesTreeTableController extends DexIncludedControllerBa
         else if (!eventsLocked) {
             if (e instanceof DexMemberSelectionEvent)
                 handleEvent( (DexMemberSelectionEvent) e );
+            else if (e instanceof DexValidationResultsEvent)
+                propertiesTable.refresh(); // Redraw the cells to pick up the new validation images
             else if (e instanceof DexModelChangeEvent)
                 handleEvent( (DexModelChangeEvent) e );
             else if (e instanceof OtmObjectReplacedEvent)
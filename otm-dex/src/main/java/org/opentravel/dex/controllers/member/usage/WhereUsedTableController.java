@@ -27,6 +27,7 @@ import org.opentravel.dex.controllers.member.MemberAndProvidersDAO;
 import org.opentravel.dex.events.DexFilterChangeEvent;
 import org.opentravel.dex.events.DexMemberSelectionEvent;
 import org.opentravel.dex.events.DexModelChangeEvent;
+import org.opentravel.dex.events.DexValidationResultsEvent;
 import org.opentravel.model.OtmChildrenOwner;
 import org.opentravel.model.OtmModelManager;
 import org.opentravel.model.OtmTypeProvider;
@@ -85,7 +86,8 @@ public class WhereUsedTableController extends DexIncludedControllerBase<OtmModel
 
     // All event types listened to by this controller's handlers
     private static final EventType[] subscribedEvents =
-        {DexMemberSelectionEvent.MEMBER_SELECTED, DexModelChangeEvent.MODEL_CHANGED};
+        {DexMemberSelectionEvent.MEMBER_SELECTED, DexModelChangeEvent.MODEL_CHANGED,
+            DexValidationResultsEvent.VALIDATION_RESULTS};
     private static final EventType[] publishedEvents = {DexMemberSelectionEvent.MEMBER_SELECTED};
 
     /**
@@ -291,6 +293,8 @@ public class WhereUsedTableController extends DexIncludedControllerBase<OtmModel
                 handleEvent( (DexFilterChangeEvent) event );
             if (event instanceof DexModelChangeEvent)
                 post( ((DexModelChangeEvent) event).getModelManager() );
+            else if (event instanceof DexValidationResultsEvent)
+                whereUsedTreeTable.refresh(); // Redraw the cells to pick up the new validation images
             else
                 refresh();
         }
@@ -17,6 +17,7 @@
 package org.opentravel.dex.events;
 
 import org.opentravel.model.OtmObject;
+import org.opentravel.model.otmLibraryMembers.OtmLibraryMember;
 
 import javafx.event.EventTarget;
 import javafx.event.EventType;
@@ -70,4 +71,28 @@ public abstract class DexChangeEvent extends DexEvent {
         return otmObject;
     }
 
+    /**
+     * Get the library member whose type references may have been changed. The model manager uses it to update only the
+     * provider and user maps that depend on the member.
+     * <p>
+     * Override to return null when the change can effect any library.
+     * 
+     * @return the subject if it is a library member, otherwise the subject's owning member. Null if there is no
+     *         subject.
+     */
+    public OtmLibraryMember getAffectedMember() {
+        if (otmObject instanceof OtmLibraryMember)
+            return (OtmLibraryMember) otmObject;
+        return otmObject != null ? otmObject.getOwningMember() : null;
+    }
+
+    /**
+     * Override to return false when the change does not add, remove or change type assignments.
+     * 
+     * @return true if the change may have changed type references
+     */
+    public boolean isTypeReferenceChange() {
+        return true;
+    }
+
 }
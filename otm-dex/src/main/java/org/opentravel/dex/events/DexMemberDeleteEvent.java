@@ -63,4 +63,12 @@ public class DexMemberDeleteEvent extends DexChangeEvent {
         this.alternateMember = alternateMember;
     }
 
+    /**
+     * The deleted member is no longer in a library so any library could have used it.
+     */
+    @Override
+    public OtmLibraryMember getAffectedMember() {
+        return null;
+    }
+
 }
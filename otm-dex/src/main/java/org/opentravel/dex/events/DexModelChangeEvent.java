@@ -19,6 +19,7 @@ package org.opentravel.dex.events;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.opentravel.model.OtmModelManager;
+import org.opentravel.model.otmLibraryMembers.OtmLibraryMember;
 
 import javafx.event.EventType;
 
@@ -58,4 +59,12 @@ public class DexModelChangeEvent extends DexChangeEvent {
         modelManager = manager;
     }
 
+    /**
+     * Model changes can effect any library.
+     */
+    @Override
+    public OtmLibraryMember getAffectedMember() {
+        return null;
+    }
+
 }
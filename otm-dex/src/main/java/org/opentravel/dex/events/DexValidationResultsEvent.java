@@ -0,0 +1,104 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.opentravel.dex.events;
+
+import org.opentravel.model.OtmModelManager;
+import org.opentravel.model.otmLibraryMembers.OtmLibraryMember;
+import org.opentravel.schemacompiler.validate.FindingType;
+import org.opentravel.schemacompiler.validate.ValidationFindings;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import javafx.event.EventType;
+
+/**
+ * OTM DEX event for signaling that a background validation has finished. Only controllers that display validation
+ * state subscribe to it. They update their validation images and tool tips once for the whole batch without reloading
+ * the model.
+ * 
+ * @author dmh
+ *
+ */
+public class DexValidationResultsEvent extends DexChangeEvent {
+    private static final long serialVersionUID = 20210615L;
+
+    public static final EventType<DexValidationResultsEvent> VALIDATION_RESULTS =
+        new EventType<>( DEX_ALL, "VALIDATION_RESULTS" );
+
+    private final transient OtmModelManager modelManager;
+    private final int validatedCount;
+    private final transient Map<OtmLibraryMember,ValidationFindings> findings;
+
+    /**
+     * @param manager the model manager that was validated
+     * @param validatedCount number of members validated
+     * @param findings map of members to their findings. Only members with findings are included.
+     */
+    public DexValidationResultsEvent(OtmModelManager manager, int validatedCount,
+        Map<OtmLibraryMember,ValidationFindings> findings) {
+        super( VALIDATION_RESULTS );
+        this.modelManager = manager;
+        this.validatedCount = validatedCount;
+        this.findings = findings != null ? findings : Collections.emptyMap();
+    }
+
+    public OtmModelManager getModelManager() {
+        return modelManager;
+    }
+
+    /**
+     * Validation does not change type assignments.
+     */
+    @Override
+    public boolean isTypeReferenceChange() {
+        return false;
+    }
+
+    /**
+     * Validation results can cover any library.
+     */
+    @Override
+    public OtmLibraryMember getAffectedMember() {
+        return null;
+    }
+
+    /**
+     * @return unmodifiable map of members to their findings. Only members with findings are included.
+     */
+    public Map<OtmLibraryMember,ValidationFindings> getFindings() {
+        return Collections.unmodifiableMap( findings );
+    }
+
+    /**
+     * @return new list of members with at least one error finding
+     */
+    public List<OtmLibraryMember> getMembersWithErrors() {
+        List<OtmLibraryMember> members = new ArrayList<>();
+        findings.forEach( (m, f) -> {
+            if (f.hasFinding( FindingType.ERROR ))
+                members.add( m );
+        } );
+        return members;
+    }
+
+    public int getValidatedCount() {
+        return validatedCount;
+    }
+}
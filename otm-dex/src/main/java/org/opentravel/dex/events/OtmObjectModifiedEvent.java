@@ -61,4 +61,12 @@ public class OtmObjectModifiedEvent extends DexChangeEvent {
         this.otmObject = object;
     }
 
+    /**
+     * Modifications do not change the object's structure or type assignments.
+     */
+    @Override
+    public boolean isTypeReferenceChange() {
+        return false;
+    }
+
 }
@@ -0,0 +1,30 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.opentravel.dex.tasks;
+
+/**
+ * OTM-DE-JavaFX repository task interface.
+ * <p>
+ * This interface indicates the task spends its time waiting on a repository or file system rather than working on the
+ * model. The {@link DexTaskScheduler} limits how many of these run at once so they do not flood the remote repository.
+ * 
+ * @author dmh
+ *
+ */
+public interface DexRepositoryTask extends DexTask {
+
+}
@@ -27,8 +27,8 @@ public interface DexTask {
     /**
      * Go. Execute this task in a background thread.
      * <p>
-     * Suitable for use in GUI thread. Creates thread, sets as daemon thread to all JVM to exit if thread hangs, then
-     * starts the thread. Calls the task, adds it to the list of running tasks in the status controller and posts status
+     * Suitable for use in GUI thread. Submits the task to the shared task scheduler which runs it on a bounded set of
+     * daemon threads. Calls the task, adds it to the list of running tasks in the status controller and posts status
      * messages. Post errors if the task throws an error.
      */
     public void go();
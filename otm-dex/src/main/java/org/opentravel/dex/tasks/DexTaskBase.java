@@ -112,18 +112,28 @@ public abstract class DexTaskBase<T> extends Task<String> implements DexTask {
     }
 
     /**
-     * Execute this task in a background thread. Suitable for use in GUI thread. Creates thread, sets as daemon thread
-     * to all JVM to exit if thread hangs, then starts the thread.
+     * Execute this task in a background thread. Suitable for use in GUI thread. Submits the task to the shared
+     * {@link DexTaskScheduler} which starts it when the limits for its category allow.
      * 
      */
     public void go() {
         if (statusController != null)
             statusController.start( this );
-        Thread lt = new Thread( this );
         if (Platform.isFxApplicationThread())
             dialogBoxController = DialogBoxContoller.init(); // Prepare a dialog box if task needs it
-        lt.setDaemon( true );
-        lt.start();
+        DexTaskScheduler.getInstance().submit( this );
+    }
+
+    /**
+     * Update this task's progress and post it to the status controller if there is one.
+     * 
+     * @param done
+     * @param max
+     */
+    protected void postProgress(double done, double max) {
+        updateProgress( done, max );
+        if (statusController != null && max > 0)
+            statusController.postProgress( done / max );
     }
 
     /**
@@ -0,0 +1,32 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.opentravel.dex.tasks;
+
+/**
+ * OTM-DE-JavaFX idempotent task interface.
+ * <p>
+ * This interface indicates that running the task again with the same task data has the same result, for example
+ * refreshing or searching repository content. A queued task of this type is cancelled when a newer task of the same
+ * class with equal task data is submitted. Tasks that change state, such as locking or committing a library, must not
+ * use this interface.
+ * 
+ * @author dmh
+ *
+ */
+public interface DexTaskIdempotent extends DexTask {
+
+}
@@ -0,0 +1,271 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.opentravel.dex.tasks;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * Run DEX tasks on a shared, bounded set of threads.
+ * <p>
+ * Tasks are queued by category and started when their category is below its limit. Repository tasks (see
+ * {@link DexRepositoryTask}) wait on remote repositories so they are limited separately from tasks that work on the
+ * model.
+ * <p>
+ * Singleton tasks (see {@link DexTaskSingleton}) cancel queued and running tasks of the same class. The new task is
+ * held until the cancelled task has stopped so two tasks of the same singleton class never run at the same time.
+ * <p>
+ * A queued idempotent task (see {@link DexTaskIdempotent}) is superseded and cancelled when a task of the same class
+ * with equal task data is submitted. Other tasks, such as user initiated repository actions, are never superseded.
+ * <p>
+ * When the JVM supports virtual threads, each task runs on a new virtual thread; virtual threads are not pooled.
+ * Otherwise tasks run on daemon threads from a cached pool. Because tasks are only started when below the limits, the
+ * pool never grows beyond the sum of the limits.
+ *
+ * @author dmh
+ *
+ */
+public class DexTaskScheduler {
+    private static Logger log = LogManager.getLogger( DexTaskScheduler.class );
+
+    /**
+     * Task categories. Each has its own concurrency limit.
+     */
+    public enum Category {
+        REPOSITORY, MODEL
+    }
+
+    /**
+     * Default number of repository tasks to run at once.
+     */
+    public static final int REPOSITORY_LIMIT = 4;
+    /**
+     * Default number of model tasks to run at once.
+     */
+    public static final int MODEL_LIMIT = Math.max( 1, Runtime.getRuntime().availableProcessors() - 1 );
+
+    private static DexTaskScheduler instance = null;
+
+    private final ExecutorService executor;
+    private final Map<Category,Deque<DexTaskBase<?>>> queues = new EnumMap<>( Category.class );
+    private final Map<Category,Integer> limits = new EnumMap<>( Category.class );
+    private final Map<Category,Integer> runningCounts = new EnumMap<>( Category.class );
+    private final List<DexTaskBase<?>> running = new ArrayList<>();
+
+    /**
+     * @return the scheduler shared by all DEX tasks
+     */
+    public static synchronized DexTaskScheduler getInstance() {
+        if (instance == null)
+            instance = new DexTaskScheduler( REPOSITORY_LIMIT, MODEL_LIMIT );
+        return instance;
+    }
+
+    /**
+     * Create a scheduler. Use {@link #getInstance()} for the shared scheduler.
+     *
+     * @param repositoryLimit maximum repository tasks to run at once
+     * @param modelLimit maximum model tasks to run at once
+     */
+    public DexTaskScheduler(int repositoryLimit, int modelLimit) {
+        limits.put( Category.REPOSITORY, Math.max( 1, repositoryLimit ) );
+        limits.put( Category.MODEL, Math.max( 1, modelLimit ) );
+        for (Category c : Category.values()) {
+            queues.put( c, new ArrayDeque<>() );
+            runningCounts.put( c, 0 );
+        }
+        executor = newExecutor();
+    }
+
+    /**
+     * Use a thread per task executor with virtual threads if this JVM has them. Looked up reflectively so the code
+     * still compiles and runs on JVMs without them.
+     */
+    private static ExecutorService newExecutor() {
+        try {
+            Object builder = Thread.class.getMethod( "ofVirtual" ).invoke( null );
+            Class<?> builderClass = Class.forName( "java.lang.Thread$Builder" );
+            builder = builderClass.getMethod( "name", String.class, long.class ).invoke( builder, "DexTask-", 0L );
+            ThreadFactory factory = (ThreadFactory) builderClass.getMethod( "factory" ).invoke( builder );
+            // log.debug( "Using virtual threads for tasks." );
+            return (ExecutorService) Executors.class.getMethod( "newThreadPerTaskExecutor", ThreadFactory.class )
+                .invoke( null, factory );
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            AtomicInteger count = new AtomicInteger();
+            return Executors.newCachedThreadPool( r -> {
+                Thread t = new Thread( r, "DexTask-" + count.getAndIncrement() );
+                t.setDaemon( true );
+                return t;
+            } );
+        }
+    }
+
+    /**
+     * @return the category the task is limited by
+     */
+    public static Category getCategory(DexTask task) {
+        return task instanceof DexRepositoryTask ? Category.REPOSITORY : Category.MODEL;
+    }
+
+    /**
+     * @return the maximum number of tasks of this category to run at once
+     */
+    public synchronized int getLimit(Category category) {
+        return limits.get( category );
+    }
+
+    /**
+     * @return number of tasks waiting to start
+     */
+    public synchronized int getQueuedCount() {
+        int count = 0;
+        for (Deque<DexTaskBase<?>> q : queues.values())
+            count += q.size();
+        return count;
+    }
+
+    /**
+     * @return number of tasks running
+     */
+    public synchronized int getRunningCount() {
+        return running.size();
+    }
+
+    /**
+     * Set the maximum number of tasks of this category to run at once.
+     *
+     * @param category
+     * @param limit must be at least 1
+     */
+    public void setLimit(Category category, int limit) {
+        synchronized (this) {
+            limits.put( category, Math.max( 1, limit ) );
+        }
+        dispatch();
+    }
+
+    /**
+     * Queue the task and start it when allowed by the limits.
+     *
+     * @param task
+     */
+    public void submit(DexTaskBase<?> task) {
+        if (task == null)
+            return;
+        synchronized (this) {
+            if (task instanceof DexTaskSingleton)
+                cancelSameClass( task );
+            else if (task instanceof DexTaskIdempotent)
+                cancelSuperseded( task );
+            queues.get( getCategory( task ) ).add( task );
+        }
+        dispatch();
+    }
+
+    /**
+     * Cancel queued and running tasks of the same class.
+     */
+    private void cancelSameClass(DexTaskBase<?> task) {
+        for (Deque<DexTaskBase<?>> q : queues.values())
+            removeAndCancel( q.iterator(), t -> t.getClass() == task.getClass() );
+        for (DexTaskBase<?> t : running)
+            if (t.getClass() == task.getClass()) {
+                log.debug( "Cancelling running singleton task: " + t.getClass().getSimpleName() );
+                t.cancel();
+            }
+    }
+
+    /**
+     * Cancel queued idempotent tasks of the same class with equal task data.
+     */
+    private void cancelSuperseded(DexTaskBase<?> task) {
+        removeAndCancel( queues.get( getCategory( task ) ).iterator(),
+            t -> t.getClass() == task.getClass() && t.taskData != null && Objects.equals( t.taskData, task.taskData ) );
+    }
+
+    private static void removeAndCancel(Iterator<DexTaskBase<?>> it, Predicate<DexTaskBase<?>> test) {
+        while (it.hasNext()) {
+            DexTaskBase<?> t = it.next();
+            if (test.test( t )) {
+                it.remove();
+                t.cancel();
+            }
+        }
+    }
+
+    /**
+     * Start queued tasks while their category is below its limit. Singleton tasks wait while another task of their
+     * class is still running.
+     */
+    private void dispatch() {
+        List<DexTaskBase<?>> toStart = new ArrayList<>();
+        synchronized (this) {
+            Set<Class<?>> runningSingletons = new HashSet<>();
+            for (DexTaskBase<?> t : running)
+                if (t instanceof DexTaskSingleton)
+                    runningSingletons.add( t.getClass() );
+
+            for (Category c : Category.values()) {
+                Iterator<DexTaskBase<?>> it = queues.get( c ).iterator();
+                while (it.hasNext() && runningCounts.get( c ) < limits.get( c )) {
+                    DexTaskBase<?> t = it.next();
+                    if (t.isCancelled()) {
+                        it.remove();
+                    } else if (!runningSingletons.contains( t.getClass() )) {
+                        it.remove();
+                        running.add( t );
+                        runningCounts.put( c, runningCounts.get( c ) + 1 );
+                        if (t instanceof DexTaskSingleton)
+                            runningSingletons.add( t.getClass() );
+                        toStart.add( t );
+                    }
+                }
+            }
+        }
+        for (DexTaskBase<?> t : toStart)
+            executor.execute( () -> run( t ) );
+    }
+
+    private void run(DexTaskBase<?> task) {
+        try {
+            task.run();
+        } finally {
+            synchronized (this) {
+                running.remove( task );
+                Category c = getCategory( task );
+                runningCounts.put( c, runningCounts.get( c ) - 1 );
+            }
+            dispatch();
+        }
+    }
+}
@@ -19,31 +19,39 @@ package org.opentravel.dex.tasks.model;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.opentravel.dex.controllers.DexStatusController;
+import org.opentravel.dex.events.DexValidationResultsEvent;
 import org.opentravel.dex.tasks.DexTaskBase;
 import org.opentravel.dex.tasks.DexTaskSingleton;
 import org.opentravel.dex.tasks.TaskResultHandlerI;
 import org.opentravel.model.OtmModelManager;
+import org.opentravel.model.otmContainers.OtmLibrary;
 import org.opentravel.model.otmLibraryMembers.OtmLibraryMember;
-import org.opentravel.schemacompiler.repository.RepositoryException;
+import org.opentravel.schemacompiler.validate.ValidationFindings;
 
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntConsumer;
 
 /**
- * A JavaFX task for locking repository items
+ * A JavaFX task for validating all the members in a model manager.
+ * <p>
+ * Members are validated library by library on the task's thread. The compiler's validators share the
+ * <code>TLModel</code> and its symbol tables, which are not thread-safe, so libraries are not validated in parallel.
+ * When done, the results are available as a single {@link DexValidationResultsEvent}.
  * 
  * @author dmh
  *
  */
-// FIXME - will get concurrent modification error if the model is closed before validation is finsihed
-//
 public class ValidateModelManagerItemsTask extends DexTaskBase<OtmModelManager> implements DexTaskSingleton {
     private static Logger log = LogManager.getLogger( ValidateModelManagerItemsTask.class );
 
+    private DexValidationResultsEvent results = null;
+
     /**
-     * Create a lock repository item task.
+     * Create a model validation task.
      * 
      * @param taskData - the model manager
      * @param handler - results handler
@@ -58,17 +66,22 @@ public class ValidateModelManagerItemsTask extends DexTaskBase<OtmModelManager>
     }
 
     @Override
-    public void doIT() throws RepositoryException {
-        List<OtmLibraryMember> members = Collections.synchronizedList( new ArrayList<>() );
-        synchronized (members) {
-            members.forEach( m -> m.isValid( true ) );
-        }
-        // 5/26/2021
-        // // Work from private copy since other tasks could change the collection
-        // Collection<OtmLibraryMember> members = new ArrayList<>( taskData.getMembers() );
-        // // log.debug( "Starting to validate " + members.size() + " model members." );
-        // members.forEach( m -> m.isValid( true ) );
-        // // log.debug( "Finished validating " + members.size() + " model members." );
+    public void doIT() {
+        int total = taskData.getMembers().size();
+        // Throttle the progress updates to about one percent of the members
+        int step = Math.max( 1, total / 100 );
+        results = validate( taskData, this::isCancelled, done -> {
+            if (done % step == 0 || done == total)
+                postProgress( done, total );
+        } );
+        // log.debug( "Validated " + results.getValidatedCount() + " model members." );
+    }
+
+    /**
+     * @return the batched results or null if the task has not completed
+     */
+    public DexValidationResultsEvent getResults() {
+        return results;
     }
 
     /**
@@ -77,7 +90,34 @@ public class ValidateModelManagerItemsTask extends DexTaskBase<OtmModelManager>
      * @param manager
      */
     public static void runValidator(OtmModelManager manager) {
-        Collection<OtmLibraryMember> members = new ArrayList<>( manager.getMembers() );
-        members.forEach( m -> m.isValid( true ) );
+        validate( manager, () -> false, null );
+    }
+
+    /**
+     * Validate all the members of the model one library at a time.
+     * 
+     * @param manager model manager to validate
+     * @param cancelled checked before each member is validated. Validation stops when it returns true.
+     * @param progress if not null, called with the count of validated members after each member is validated
+     * @return results event with findings of each member that has findings
+     */
+    public static DexValidationResultsEvent validate(OtmModelManager manager, BooleanSupplier cancelled,
+        IntConsumer progress) {
+        Map<OtmLibraryMember,ValidationFindings> findings = new HashMap<>();
+        int count = 0;
+
+        // Work from private copy since other tasks could change the collection
+        List<OtmLibrary> libraries = new ArrayList<>( manager.getLibraries() );
+        for (OtmLibrary library : libraries)
+            for (OtmLibraryMember m : library.getMembers()) {
+                if (cancelled.getAsBoolean() || Thread.currentThread().isInterrupted())
+                    return new DexValidationResultsEvent( manager, count, findings );
+                if (!m.isValid( true ) && m.getFindings() != null && !m.getFindings().isEmpty())
+                    findings.put( m, m.getFindings() );
+                count++;
+                if (progress != null)
+                    progress.accept( count );
+            }
+        return new DexValidationResultsEvent( manager, count, findings );
     }
 }
@@ -19,8 +19,9 @@ package org.opentravel.dex.tasks.repository;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.opentravel.dex.controllers.DexStatusController;
-import org.opentravel.dex.tasks.DexTask;
+import org.opentravel.dex.tasks.DexRepositoryTask;
 import org.opentravel.dex.tasks.DexTaskBase;
+import org.opentravel.dex.tasks.DexTaskIdempotent;
 import org.opentravel.dex.tasks.TaskResultHandlerI;
 import org.opentravel.schemacompiler.repository.RepositoryException;
 import org.opentravel.schemacompiler.repository.RepositoryItem;
@@ -32,7 +33,7 @@ import org.opentravel.schemacompiler.repository.RepositoryItemHistory;
  * @author dmh
  *
  */
-public class GetRepositoryItemHistoryTask extends DexTaskBase<RepositoryItem> implements DexTask {
+public class GetRepositoryItemHistoryTask extends DexTaskBase<RepositoryItem> implements DexRepositoryTask, DexTaskIdempotent {
     private static Logger log = LogManager.getLogger( GetRepositoryItemHistoryTask.class );
 
     RepositoryItemHistory history = null;
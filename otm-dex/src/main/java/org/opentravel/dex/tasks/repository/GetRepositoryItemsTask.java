@@ -20,8 +20,9 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.opentravel.dex.controllers.DexStatusController;
 import org.opentravel.dex.controllers.repository.NamespacesDAO;
-import org.opentravel.dex.tasks.DexTask;
+import org.opentravel.dex.tasks.DexRepositoryTask;
 import org.opentravel.dex.tasks.DexTaskBase;
+import org.opentravel.dex.tasks.DexTaskIdempotent;
 import org.opentravel.dex.tasks.TaskResultHandlerI;
 import org.opentravel.schemacompiler.model.TLLibraryStatus;
 import org.opentravel.schemacompiler.repository.RepositoryException;
@@ -35,7 +36,7 @@ import java.util.List;
  * @author dmh
  *
  */
-public class GetRepositoryItemsTask extends DexTaskBase<NamespacesDAO> implements DexTask {
+public class GetRepositoryItemsTask extends DexTaskBase<NamespacesDAO> implements DexRepositoryTask, DexTaskIdempotent {
     private static Logger log = LogManager.getLogger( GetRepositoryItemsTask.class );
 
     private List<RepositoryItem> allItems = null;
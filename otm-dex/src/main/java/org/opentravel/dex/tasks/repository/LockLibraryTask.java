@@ -21,6 +21,7 @@ import org.apache.logging.log4j.Logger;
 import org.opentravel.dex.controllers.DexIncludedController;
 import org.opentravel.dex.controllers.DexStatusController;
 import org.opentravel.dex.events.DexRepositoryItemReplacedEvent;
+import org.opentravel.dex.tasks.DexRepositoryTask;
 import org.opentravel.dex.tasks.DexTaskBase;
 import org.opentravel.dex.tasks.TaskResultHandlerI;
 import org.opentravel.model.OtmModelManager;
@@ -36,7 +37,7 @@ import org.opentravel.schemacompiler.repository.RepositoryItem;
  * @author dmh
  *
  */
-public class LockLibraryTask extends DexTaskBase<OtmLibrary> {
+public class LockLibraryTask extends DexTaskBase<OtmLibrary> implements DexRepositoryTask {
     private static Logger log = LogManager.getLogger( LockLibraryTask.class );
 
     // private DexStatusController statusController;
@@ -21,6 +21,7 @@ import org.apache.logging.log4j.Logger;
 import org.opentravel.common.DexProjectException;
 import org.opentravel.common.ValidationUtils;
 import org.opentravel.dex.controllers.DexMainController;
+import org.opentravel.dex.tasks.DexRepositoryTask;
 import org.opentravel.dex.tasks.DexTaskBase;
 import org.opentravel.dex.tasks.DexTaskException;
 import org.opentravel.dex.tasks.TaskResultHandlerI;
@@ -42,7 +43,7 @@ import javafx.application.Platform;
  * @author dmh
  *
  */
-public class ManageLibraryTask extends DexTaskBase<OtmLibrary> {
+public class ManageLibraryTask extends DexTaskBase<OtmLibrary> implements DexRepositoryTask {
     private static Logger log = LogManager.getLogger( ManageLibraryTask.class );
 
     private static String errorMsg;
@@ -20,6 +20,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.opentravel.dex.controllers.DexIncludedController;
 import org.opentravel.dex.controllers.DexStatusController;
+import org.opentravel.dex.tasks.DexRepositoryTask;
 import org.opentravel.dex.tasks.DexTaskBase;
 import org.opentravel.dex.tasks.TaskResultHandlerI;
 import org.opentravel.model.OtmModelManager;
@@ -37,7 +38,7 @@ import org.opentravel.schemacompiler.repository.RepositoryItemState;
  * @author dmh
  *
  */
-public class PromoteLibraryTask extends DexTaskBase<OtmLibrary> {
+public class PromoteLibraryTask extends DexTaskBase<OtmLibrary> implements DexRepositoryTask {
     private static Logger log = LogManager.getLogger( PromoteLibraryTask.class );
 
     private DexIncludedController<?> eventController;
@@ -20,7 +20,9 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.opentravel.dex.controllers.DexStatusController;
 import org.opentravel.dex.controllers.repository.RepositorySearchCriteria;
+import org.opentravel.dex.tasks.DexRepositoryTask;
 import org.opentravel.dex.tasks.DexTaskBase;
+import org.opentravel.dex.tasks.DexTaskIdempotent;
 import org.opentravel.dex.tasks.TaskResultHandlerI;
 import org.opentravel.schemacompiler.model.NamedEntity;
 import org.opentravel.schemacompiler.repository.RemoteRepository;
@@ -37,7 +39,7 @@ import java.util.List;
  * @author dmh
  *
  */
-public class SearchRepositoryTask extends DexTaskBase<RepositorySearchCriteria> {
+public class SearchRepositoryTask extends DexTaskBase<RepositorySearchCriteria> implements DexRepositoryTask, DexTaskIdempotent {
     private static Logger log = LogManager.getLogger( SearchRepositoryTask.class );
 
     private List<RepositorySearchResult> repoResults = null;
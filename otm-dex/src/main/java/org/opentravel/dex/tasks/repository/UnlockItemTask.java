@@ -19,6 +19,7 @@ package org.opentravel.dex.tasks.repository;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.opentravel.dex.controllers.DexStatusController;
+import org.opentravel.dex.tasks.DexRepositoryTask;
 import org.opentravel.dex.tasks.DexTaskBase;
 import org.opentravel.dex.tasks.TaskResultHandlerI;
 import org.opentravel.schemacompiler.repository.RepositoryException;
@@ -30,7 +31,7 @@ import org.opentravel.schemacompiler.repository.RepositoryItem;
  * @author dmh
  *
  */
-public class UnlockItemTask extends DexTaskBase<RepositoryItem> {
+public class UnlockItemTask extends DexTaskBase<RepositoryItem> implements DexRepositoryTask {
     private static Logger log = LogManager.getLogger( UnlockItemTask.class );
 
     boolean commitWIP = true;
@@ -19,6 +19,7 @@ package org.opentravel.dex.tasks.repository;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.opentravel.dex.controllers.DexStatusController;
+import org.opentravel.dex.tasks.DexRepositoryTask;
 import org.opentravel.dex.tasks.DexTaskBase;
 import org.opentravel.dex.tasks.TaskResultHandlerI;
 import org.opentravel.model.otmContainers.OtmLibrary;
@@ -32,7 +33,7 @@ import org.opentravel.schemacompiler.repository.RepositoryException;
  * @author dmh
  *
  */
-public class UnlockLibraryTask extends DexTaskBase<OtmLibrary> {
+public class UnlockLibraryTask extends DexTaskBase<OtmLibrary> implements DexRepositoryTask {
     private static Logger log = LogManager.getLogger( UnlockLibraryTask.class );
 
     boolean commitWIP = true;
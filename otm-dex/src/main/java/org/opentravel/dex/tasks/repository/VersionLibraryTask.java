@@ -18,6 +18,7 @@ package org.opentravel.dex.tasks.repository;
 
 import org.opentravel.dex.controllers.DexIncludedController;
 import org.opentravel.dex.controllers.DexStatusController;
+import org.opentravel.dex.tasks.DexRepositoryTask;
 import org.opentravel.dex.tasks.DexTaskBase;
 import org.opentravel.dex.tasks.DexTaskException;
 import org.opentravel.dex.tasks.TaskResultHandlerI;
@@ -46,7 +47,7 @@ import javafx.application.Platform;
  * @author dmh
  *
  */
-public class VersionLibraryTask extends DexTaskBase<OtmLibrary> {
+public class VersionLibraryTask extends DexTaskBase<OtmLibrary> implements DexRepositoryTask {
     // private static Logger log = LogManager.getLogger( VersionLibraryTask.class );
 
     public enum VersionType {
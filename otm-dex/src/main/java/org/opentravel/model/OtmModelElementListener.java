@@ -18,6 +18,7 @@ package org.opentravel.model;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.opentravel.model.otmLibraryMembers.OtmLibraryMember;
 import org.opentravel.schemacompiler.event.ModelElementListener;
 import org.opentravel.schemacompiler.event.OwnershipEvent;
 import org.opentravel.schemacompiler.event.ValueChangeEvent;
@@ -49,6 +50,9 @@ public class OtmModelElementListener implements ModelElementListener {
         // log.debug( otm.getName() + " value change event: " + event.getType() );
         switch (event.getType()) {
             case NAME_MODIFIED:
+                // Keep the model manager's name index current
+                if (otm instanceof OtmLibraryMember && otm.getModelManager() != null)
+                    otm.getModelManager().updateName( (OtmLibraryMember) otm );
                 // if (event.getNewValue() instanceof String && otm.nameProperty() != null)
                 // otm.nameProperty().setValue( (String) event.getNewValue() );
                 break;
@@ -27,6 +27,7 @@ import org.opentravel.dex.controllers.DexFilter;
 import org.opentravel.dex.controllers.DexStatusController;
 import org.opentravel.dex.controllers.library.LibraryRowFactory;
 import org.opentravel.dex.events.DexChangeEvent;
+import org.opentravel.dex.events.DexValidationResultsEvent;
 import org.opentravel.dex.tasks.TaskResultHandlerI;
 import org.opentravel.dex.tasks.model.TypeResolverTask;
 import org.opentravel.dex.tasks.model.ValidateModelManagerItemsTask;
@@ -91,6 +92,7 @@ public class OtmModelManager implements TaskResultHandlerI {
     private OtmModelChainsManager chainsManager = null;
     private OtmModelNamespaceManager nsManager = null;
     private OtmModelMembersManager membersManager = null;
+    private OtmValidationScheduler validationScheduler = null;
 
     // Open libraries - Abstract Libraries are built-in and user
     private Map<AbstractLibrary,OtmLibrary> libraries = new HashMap<>();
@@ -152,6 +154,7 @@ public class OtmModelManager implements TaskResultHandlerI {
         otmMapManager = new OtmModelMapsManager( this );
         nsManager = new OtmModelNamespaceManager( this );
         membersManager = new OtmModelMembersManager( this );
+        validationScheduler = new OtmValidationScheduler( this, this.fullActionManager.getMainController() );
 
         // Bring in the built-in libraries. Do last - relies on managers
         addLibraries_BuiltIn( tlModel );
@@ -359,6 +362,7 @@ public class OtmModelManager implements TaskResultHandlerI {
      * Clear the model. Clears the model manager's data, the TL Model, and Project Manager.
      */
     public void clear() {
+        validationScheduler.clear();
         nsManager.clear();
         chainsManager.clear();
         membersManager.clear();
@@ -419,6 +423,13 @@ public class OtmModelManager implements TaskResultHandlerI {
         return membersManager.findUsersOf( provider );
     }
 
+    /**
+     * @return the scheduler used to re-validate members changed by actions
+     */
+    public OtmValidationScheduler getValidationScheduler() {
+        return validationScheduler;
+    }
+
     /**
      * Simply get the matching OTM library directly from the map.
      * 
@@ -679,6 +690,50 @@ public class OtmModelManager implements TaskResultHandlerI {
         return minor ? minorActionManager : readOnlyActionManager;
     }
 
+    /**
+     * Mark the member's type references as changed so that where used lookups will re-index it.
+     * <p>
+     * Facade for {@linkplain OtmModelMembersManager#invalidateTypeReferences(OtmLibraryMember)}
+     * 
+     * @param member
+     */
+    public void invalidateTypeReferences(OtmLibraryMember member) {
+        membersManager.invalidateTypeReferences( member );
+    }
+
+    /**
+     * Schedule the member and the members that depend on it for re-validation once edits pause.
+     * <p>
+     * Facade for {@linkplain OtmValidationScheduler#markDirty(OtmLibraryMember)}
+     * 
+     * @param member
+     */
+    public void markDirty(OtmLibraryMember member) {
+        validationScheduler.markDirty( member );
+    }
+
+    /**
+     * Update the member's entry in the name index after it was renamed.
+     * <p>
+     * Facade for {@linkplain OtmModelMembersManager#updateName(OtmLibraryMember)}
+     * 
+     * @param member
+     */
+    public void updateName(OtmLibraryMember member) {
+        membersManager.updateName( member );
+    }
+
+    /**
+     * Update the member's entry in the library index after it was moved to another library.
+     * <p>
+     * Facade for {@linkplain OtmModelMembersManager#updateLibrary(OtmLibraryMember)}
+     * 
+     * @param member
+     */
+    public void updateLibrary(OtmLibraryMember member) {
+        membersManager.updateLibrary( member );
+    }
+
     /**
      * Exposed for testing only.
      * 
@@ -816,13 +871,25 @@ public class OtmModelManager implements TaskResultHandlerI {
 
     public void handleEvent(DexChangeEvent e) {
         // WARNING - This runs often so keep this light weight or put into a background task.
-        // Something has happened, let the libraries know
-        getLibraries().forEach( OtmLibrary::refreshMaps );
+        if (e == null || !e.isTypeReferenceChange())
+            return;
+        // Update just the maps that depend on the affected member
+        OtmLibraryMember member = e.getAffectedMember();
+        if (member != null && member.getLibrary() != null)
+            otmMapManager.update( member );
+        else
+            // Something has happened, let the libraries know
+            getLibraries().forEach( OtmLibrary::refreshMaps );
     }
 
     @Override
     public void handleTaskComplete(WorkerStateEvent event) {
-        // NO-OP
+        // Publish the batched validation results so views update validation images once
+        if (event != null && event.getSource() instanceof ValidateModelManagerItemsTask) {
+            DexValidationResultsEvent results = ((ValidateModelManagerItemsTask) event.getSource()).getResults();
+            if (results != null && fullActionManager.getMainController() != null)
+                fullActionManager.getMainController().publishEvent( results );
+        }
         // if (event != null && event.getTarget() != null) {
         // if (event.getTarget() instanceof TypeResolverTask)
         // log.debug( "Type Resolver Task complete" );
@@ -23,9 +23,13 @@ import org.opentravel.model.otmContainers.OtmLibrary;
 import org.opentravel.model.otmLibraryMembers.OtmLibraryMember;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
 
 import javafx.concurrent.WorkerStateEvent;
@@ -114,6 +118,8 @@ public class OtmModelMapsManager implements TaskResultHandlerI {
             // List<OtmLibraryMember> users = m.getWhereUsed();
             addToUsersMap( usersMap, lib, m );
         }
+        if (sort)
+            usersMap.values().forEach( l -> l.sort( null ) );
         return usersMap;
     }
 
@@ -269,6 +275,96 @@ public class OtmModelMapsManager implements TaskResultHandlerI {
     // }
 
 
+    /** ************************************* Updates *************************************/
+    /**
+     * Update the cached provider and user maps for a change to the member's type references. Only maps that have
+     * already been built are updated. Maps that are not built will be built on the next request.
+     * <p>
+     * The member is removed from all cached maps and then added back into its library's provider map and the users
+     * maps of the libraries that provide types to it. The member is inserted at its sorted position in each list it
+     * joins; the other lists are not touched.
+     * <p>
+     * Changes that move or delete members must use {@link OtmLibrary#refreshMaps()} instead.
+     * 
+     * @param member whose type assignments or base type may have changed
+     */
+    public void update(OtmLibraryMember member) {
+        OtmLibrary library = member != null ? member.getLibrary() : null;
+        if (library == null)
+            return;
+
+        // Remove the member where it was
+        for (OtmLibrary lib : modelMgr.getLibraries()) {
+            removeFromMap( member, lib.getCachedProvidersMap() );
+            removeFromMap( member, lib.getCachedUsersMap() );
+        }
+
+        // Type users in the member and its descendants
+        List<OtmTypeUser> users = new ArrayList<>();
+        if (member instanceof OtmTypeUser)
+            users.add( (OtmTypeUser) member );
+        users.addAll( member.getDescendantsTypeUsers() );
+
+        // Provider map - same keys as getProvidersMap()
+        Map<OtmLibrary,List<OtmLibraryMember>> pMap = library.getCachedProvidersMap();
+        if (pMap != null) {
+            for (OtmTypeUser u : users)
+                if (u.getAssignedType() != null && u.getAssignedType().getLibrary() != null
+                    && !u.getAssignedType().getLibrary().isBuiltIn() && u.getAssignedType().getLibrary() != library)
+                    insertSorted( u.getAssignedType().getLibrary(), u.getOwningMember(), pMap );
+            if (member.getBaseType() != null && member.getBaseType().getLibrary() != null
+                && member.getBaseType().getLibrary() != library)
+                insertSorted( member.getBaseType().getLibrary(), member, pMap );
+        }
+
+        // Users maps of the providing libraries - same entries as addToUsersMap()
+        Set<OtmLibrary> providers = new HashSet<>();
+        for (OtmTypeUser u : users)
+            if (u.getAssignedType() != null && u.getAssignedType().getLibrary() != null)
+                providers.add( u.getAssignedType().getLibrary() );
+        if (member.getBaseType() != null && member.getBaseType().getLibrary() != null)
+            providers.add( member.getBaseType().getLibrary() );
+        providers.remove( library );
+        for (OtmLibrary provider : providers) {
+            Map<OtmLibrary,List<OtmLibraryMember>> uMap = provider.getCachedUsersMap();
+            if (uMap != null)
+                insertSorted( library, member, uMap );
+        }
+    }
+
+    /**
+     * Insert the member into the sorted list associated with the key. The position is found with a binary search so
+     * the list does not need to be re-sorted.
+     * 
+     * @param key - map key to access list of members
+     * @param member - member to add if unique
+     * @param map
+     */
+    @SuppressWarnings("unchecked")
+    private void insertSorted(OtmLibrary key, OtmLibraryMember member, Map<OtmLibrary,List<OtmLibraryMember>> map) {
+        List<OtmLibraryMember> values = map.computeIfAbsent( key, k -> new ArrayList<>() );
+        if (values.contains( member ))
+            return;
+        int index =
+            Collections.binarySearch( values, member, (m1, m2) -> ((Comparable<OtmObject>) m1).compareTo( m2 ) );
+        values.add( index < 0 ? -index - 1 : index, member );
+    }
+
+    /**
+     * Remove the member from all the value lists in the map. Entries with empty value lists are removed.
+     */
+    private void removeFromMap(OtmLibraryMember member, Map<OtmLibrary,List<OtmLibraryMember>> map) {
+        if (map == null)
+            return;
+        Iterator<List<OtmLibraryMember>> it = map.values().iterator();
+        while (it.hasNext()) {
+            List<OtmLibraryMember> values = it.next();
+            values.remove( member );
+            if (values.isEmpty())
+                it.remove();
+        }
+    }
+
     /**
      * @see org.opentravel.dex.tasks.TaskResultHandlerI#handleTaskComplete(javafx.concurrent.WorkerStateEvent)
      */
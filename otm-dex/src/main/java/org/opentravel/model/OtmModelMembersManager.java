@@ -23,6 +23,7 @@ import org.opentravel.model.otmContainers.OtmLibrary;
 import org.opentravel.model.otmLibraryMembers.OtmContextualFacet;
 import org.opentravel.model.otmLibraryMembers.OtmLibraryMember;
 import org.opentravel.model.otmLibraryMembers.OtmXsdSimple;
+import org.opentravel.schemacompiler.model.AbstractLibrary;
 import org.opentravel.schemacompiler.model.LibraryMember;
 import org.opentravel.schemacompiler.model.TLModelElement;
 
@@ -30,10 +31,27 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
+ * Manage the library members in the model.
+ * <p>
+ * Maintains a reverse type reference index (provider to users and base type to subtypes) used by
+ * {@link #findUsersOf(OtmTypeProvider)} and {@link #findSubtypesOf(OtmLibraryMember)}. Members are indexed lazily: adds
+ * and type reference changes only mark the member as stale, and stale members are re-indexed on the next lookup. The
+ * first lookup after loading a model builds the whole index.
+ * <p>
+ * Also maintains a local name index used for name, prefix and base namespace lookups. Qualified name and base namespace
+ * matches are resolved within the candidates with the same local name, so library prefix and namespace changes can not
+ * leave stale keys behind.
+ * <p>
+ * Members are also indexed by their owning TL library so per-library operations scale with the size of the library
+ * rather than the model.
  * <p>
  * junit: {@link TestOtmModelMembersManager}
  * 
@@ -48,6 +66,38 @@ public class OtmModelMembersManager {
     private Map<LibraryMember,OtmLibraryMember> members = new HashMap<>( MEMBERCOUNT );
     private Map<LibraryMember,OtmLibraryMember> syncedMembers = Collections.synchronizedMap( members );
 
+    // Reverse type reference index. Guarded by indexLock.
+    private final Object indexLock = new Object();
+    // Provider to the members that have a type user assigned to it
+    private Map<OtmTypeProvider,Set<OtmLibraryMember>> usersIndex = new HashMap<>( MEMBERCOUNT );
+    // Base type to members that extend it (excluding contextual facets)
+    private Map<OtmLibraryMember,Set<OtmLibraryMember>> subtypesIndex = new HashMap<>();
+    // What was last indexed for each member, used to remove stale entries
+    private Map<OtmLibraryMember,List<OtmTypeProvider>> indexedUsedTypes = new HashMap<>( MEMBERCOUNT );
+    private Map<OtmLibraryMember,OtmLibraryMember> indexedBaseTypes = new HashMap<>();
+    // Members whose type references must be re-indexed before the next lookup. Concurrent so invalidation never
+    // waits on the index lock.
+    private Set<OtmLibraryMember> staleMembers = ConcurrentHashMap.newKeySet();
+    // Members with type users assigned to types that were not modeled when indexed. Re-indexed after members are added.
+    private Set<OtmLibraryMember> unresolvedMembers = new HashSet<>();
+    private volatile boolean membersAdded = false;
+
+    // Name indexes. Guarded by nameLock.
+    private final Object nameLock = new Object();
+    // Local name to members with that name
+    private Map<String,Set<OtmLibraryMember>> nameIndex = new HashMap<>( MEMBERCOUNT );
+    // Name each member was indexed under, used to remove it after a rename
+    private Map<OtmLibraryMember,String> indexedNames = new HashMap<>( MEMBERCOUNT );
+    // Qualified name (prefix:name) lookup results. Verified before use because prefixes can change.
+    private Map<String,OtmLibraryMember> qualifiedNames = new HashMap<>();
+
+    // Library index. Guarded by libraryLock.
+    private final Object libraryLock = new Object();
+    // TL owning library to its members
+    private Map<AbstractLibrary,Set<OtmLibraryMember>> libraryIndex = new HashMap<>();
+    // Library each member was indexed under. Members without an owning library are indexed under null.
+    private Map<OtmLibraryMember,AbstractLibrary> indexedLibraries = new HashMap<>( MEMBERCOUNT );
+
     OtmModelManager modelMgr = null;
 
     public OtmModelMembersManager(OtmModelManager modelManager) {
@@ -64,12 +114,39 @@ public class OtmModelMembersManager {
      * @param member
      */
     public void add(OtmLibraryMember member) {
-        if (member != null && member.getTL() instanceof LibraryMember && !contains( member.getTlLM() ))
+        if (member != null && member.getTL() instanceof LibraryMember && !contains( member.getTlLM() )) {
             members.put( member.getTlLM(), member );
+            invalidateTypeReferences( member );
+            membersAdded = true;
+            synchronized (nameLock) {
+                indexName( member );
+            }
+            updateLibrary( member );
+        } else if (member != null && members.get( member.getTlLM() ) == member) {
+            // Already managed, but may have just been added to a library
+            updateLibrary( member );
+        }
     }
 
     protected void clear() {
         members.clear();
+        synchronized (nameLock) {
+            nameIndex.clear();
+            indexedNames.clear();
+            qualifiedNames.clear();
+        }
+        synchronized (libraryLock) {
+            libraryIndex.clear();
+            indexedLibraries.clear();
+        }
+        synchronized (indexLock) {
+            usersIndex.clear();
+            subtypesIndex.clear();
+            indexedUsedTypes.clear();
+            indexedBaseTypes.clear();
+            unresolvedMembers.clear();
+            staleMembers.clear();
+        }
     }
 
     /**
@@ -88,44 +165,129 @@ public class OtmModelMembersManager {
     }
 
     /**
-     * Examine all members. Return list of members that use the passed member as a base type. Excludes
-     * OtmContextualFacets.
+     * Return list of members that use the passed member as a base type. Excludes OtmContextualFacets.
+     * <p>
+     * Uses the reverse type reference index, re-indexing any stale members first.
      * 
      * @param member
-     * @return
+     * @return new list of subtypes
      */
     public List<OtmLibraryMember> findSubtypesOf(OtmLibraryMember member) {
-        // Changed 11/5/2019 - why copy list? The list is not changing.
-        List<OtmLibraryMember> values = new ArrayList<>( getMembers() );
-        List<OtmLibraryMember> subTypes = new ArrayList<>();
-        // Contextual facets use base type to define injection point
-        for (OtmLibraryMember m : values) {
-            if (m.getBaseType() == member && !(m instanceof OtmContextualFacet))
-                subTypes.add( m );
+        synchronized (indexLock) {
+            updateTypeReferenceIndex();
+            Set<OtmLibraryMember> subTypes = subtypesIndex.get( member );
+            return subTypes == null ? new ArrayList<>() : new ArrayList<>( subTypes );
         }
-        // if (!users.isEmpty())
-        // log.debug("Found " + users.size() + " users of " + p.getNameWithPrefix());
-        return subTypes;
     }
 
     /**
-     * Examine all member's usedTypes list. Return list of owners that have a of a descendant type user that is assigned
-     * to provider.
+     * Return list of owners that have a descendant type user that is assigned to provider.
+     * <p>
+     * Uses the reverse type reference index built from each member's usedTypes list, re-indexing any stale members
+     * first.
      * 
      * @param provider
-     * @return
+     * @return new list of users
      */
     public List<OtmLibraryMember> findUsersOf(OtmTypeProvider provider) {
-        // Changed 11/5/2019 - why copy list? The list is not changing.
-        // List<OtmLibraryMember> values = new ArrayList<>( getMembers() );
-        List<OtmLibraryMember> users = new ArrayList<>();
-        for (OtmLibraryMember m : getMembers()) {
-            if (m.getUsedTypes().contains( provider ))
-                users.add( m );
+        synchronized (indexLock) {
+            updateTypeReferenceIndex();
+            Set<OtmLibraryMember> users = usersIndex.get( provider );
+            return users == null ? new ArrayList<>() : new ArrayList<>( users );
+        }
+    }
+
+    /**
+     * Mark the member's type references as changed. The member will be re-indexed before the next
+     * {@link #findUsersOf(OtmTypeProvider)} or {@link #findSubtypesOf(OtmLibraryMember)} lookup.
+     * <p>
+     * Must be called when a type is assigned, a base type is changed or type users are added to or deleted from the
+     * member.
+     * 
+     * @param member
+     */
+    public void invalidateTypeReferences(OtmLibraryMember member) {
+        if (member != null)
+            staleMembers.add( member );
+    }
+
+    /**
+     * Re-index all stale members. Caller must hold the index lock.
+     */
+    private void updateTypeReferenceIndex() {
+        if (membersAdded) {
+            // Newly added members may be the missing types
+            membersAdded = false;
+            staleMembers.addAll( unresolvedMembers );
+            unresolvedMembers.clear();
+        }
+        if (staleMembers.isEmpty())
+            return;
+        // Copy - indexing may cause members to be modeled and invalidated
+        List<OtmLibraryMember> stale = new ArrayList<>( staleMembers );
+        staleMembers.removeAll( stale );
+        for (OtmLibraryMember m : stale) {
+            unindex( m );
+            if (members.get( m.getTlLM() ) == m)
+                index( m );
+        }
+        // log.debug( "Indexed type references of " + stale.size() + " members." );
+    }
+
+    private void index(OtmLibraryMember m) {
+        List<OtmTypeProvider> used = new ArrayList<>( m.getUsedTypes() );
+        for (OtmTypeProvider p : used)
+            usersIndex.computeIfAbsent( p, k -> new LinkedHashSet<>() ).add( m );
+        indexedUsedTypes.put( m, used );
+
+        // Contextual facets use base type to define injection point
+        if (!(m instanceof OtmContextualFacet) && m.getBaseType() instanceof OtmLibraryMember) {
+            OtmLibraryMember base = (OtmLibraryMember) m.getBaseType();
+            subtypesIndex.computeIfAbsent( base, k -> new LinkedHashSet<>() ).add( m );
+            indexedBaseTypes.put( m, base );
+        }
+
+        if (hasUnresolvedTypes( m ))
+            unresolvedMembers.add( m );
+    }
+
+    /**
+     * @return true if the member or any of its descendants has a TL type assignment without an OTM type provider
+     */
+    private boolean hasUnresolvedTypes(OtmLibraryMember m) {
+        if (m instanceof OtmTypeUser && isUnresolved( (OtmTypeUser) m ))
+            return true;
+        for (OtmTypeUser user : new ArrayList<>( m.getDescendantsTypeUsers() ))
+            if (isUnresolved( user ))
+                return true;
+        return false;
+    }
+
+    private boolean isUnresolved(OtmTypeUser user) {
+        return user.getAssignedTLType() != null && user.getAssignedType() == null;
+    }
+
+    private void unindex(OtmLibraryMember m) {
+        unresolvedMembers.remove( m );
+        List<OtmTypeProvider> used = indexedUsedTypes.remove( m );
+        if (used != null)
+            for (OtmTypeProvider p : used) {
+                Set<OtmLibraryMember> users = usersIndex.get( p );
+                if (users != null) {
+                    users.remove( m );
+                    if (users.isEmpty())
+                        usersIndex.remove( p );
+                }
+            }
+        OtmLibraryMember base = indexedBaseTypes.remove( m );
+        if (base != null) {
+            Set<OtmLibraryMember> subTypes = subtypesIndex.get( base );
+            if (subTypes != null) {
+                subTypes.remove( m );
+                if (subTypes.isEmpty())
+                    subtypesIndex.remove( base );
+            }
         }
-        // if (!users.isEmpty())
-        // log.debug("Found " + users.size() + " users of " + p.getNameWithPrefix());
-        return users;
     }
 
     /**
@@ -136,9 +298,11 @@ public class OtmModelMembersManager {
      * @return
      */
     public OtmLibraryMember getLatestMember(OtmLibraryMember member) {
-        for (OtmLibraryMember c : getMembers()) {
-            if (c.getLibrary().getBaseNS().equals( member.getLibrary().getBaseNS() )
-                && c.getName().equals( member.getName() ) && c.isLatestVersion())
+        if (member == null || member.getLibrary() == null)
+            return null;
+        String baseNS = member.getLibrary().getBaseNS();
+        for (OtmLibraryMember c : getNamed( member.getName() )) {
+            if (c.getLibrary() != null && c.getLibrary().getBaseNS().equals( baseNS ) && c.isLatestVersion())
                 return c;
         }
         return null;
@@ -151,10 +315,29 @@ public class OtmModelMembersManager {
      * @return member if found or null
      */
     public OtmLibraryMember getMember(String nameWithPrefix) {
-        for (OtmLibraryMember candidate : getMembers())
-            if (candidate.getNameWithPrefix().equals( nameWithPrefix ))
-                return candidate;
-        return null;
+        if (nameWithPrefix == null)
+            return null;
+        synchronized (nameLock) {
+            OtmLibraryMember found = qualifiedNames.get( nameWithPrefix );
+            if (found != null && indexedNames.containsKey( found )
+                && found.getNameWithPrefix().equals( nameWithPrefix ))
+                return found;
+
+            String localName = nameWithPrefix.substring( nameWithPrefix.indexOf( ':' ) + 1 );
+            found = null;
+            Set<OtmLibraryMember> candidates = nameIndex.get( localName );
+            if (candidates != null)
+                for (OtmLibraryMember candidate : candidates)
+                    if (candidate.getNameWithPrefix().equals( nameWithPrefix )) {
+                        found = candidate;
+                        break;
+                    }
+            if (found != null)
+                qualifiedNames.put( nameWithPrefix, found );
+            else
+                qualifiedNames.remove( nameWithPrefix );
+            return found;
+        }
     }
 
     /**
@@ -216,25 +399,120 @@ public class OtmModelMembersManager {
      */
     public List<OtmLibraryMember> getMembers(OtmLibrary library) {
         List<OtmLibraryMember> libraryMembers = new ArrayList<>();
-        getMembers().forEach( m -> {
-            if (m.getLibrary() == library)
-                libraryMembers.add( m );
-        } );
+        if (library == null || library.getTL() == null)
+            return libraryMembers;
+        synchronized (libraryLock) {
+            // Members without a library when indexed may have been added to one since
+            Set<OtmLibraryMember> unplaced = libraryIndex.get( null );
+            if (unplaced != null)
+                new ArrayList<>( unplaced ).forEach( this::indexLibrary );
+
+            Set<OtmLibraryMember> indexed = libraryIndex.get( library.getTL() );
+            if (indexed != null) {
+                List<OtmLibraryMember> moved = new ArrayList<>();
+                for (OtmLibraryMember m : indexed)
+                    if (m.getLibrary() == library)
+                        libraryMembers.add( m );
+                    else
+                        moved.add( m );
+                // Re-index members moved without notice
+                moved.forEach( this::indexLibrary );
+            }
+        }
         return libraryMembers;
     }
 
+    /**
+     * Move the member to its current owning library in the library index. Called when a member is added to, removed
+     * from or moved between libraries.
+     * 
+     * @param member
+     */
+    public void updateLibrary(OtmLibraryMember member) {
+        if (member == null)
+            return;
+        synchronized (libraryLock) {
+            if (members.get( member.getTlLM() ) == member)
+                indexLibrary( member );
+            else
+                unindexLibrary( member );
+        }
+    }
+
+    private void indexLibrary(OtmLibraryMember member) {
+        unindexLibrary( member );
+        AbstractLibrary owningLibrary = member.getTlLM() != null ? member.getTlLM().getOwningLibrary() : null;
+        libraryIndex.computeIfAbsent( owningLibrary, k -> new LinkedHashSet<>() ).add( member );
+        indexedLibraries.put( member, owningLibrary );
+    }
+
+    private void unindexLibrary(OtmLibraryMember member) {
+        if (!indexedLibraries.containsKey( member ))
+            return;
+        AbstractLibrary owningLibrary = indexedLibraries.remove( member );
+        Set<OtmLibraryMember> libMembers = libraryIndex.get( owningLibrary );
+        if (libMembers != null) {
+            libMembers.remove( member );
+            if (libMembers.isEmpty())
+                libraryIndex.remove( owningLibrary );
+        }
+    }
+
     /**
      * @param name
      * @return list of members with matching names
      */
     public List<OtmLibraryMember> getMembers(OtmLibraryMember m) {
-        List<OtmLibraryMember> matches = new ArrayList<>();
-        for (OtmLibraryMember candidate : getMembers())
-            if (m != candidate && candidate.getName().equals( m.getName() ))
-                matches.add( candidate );
+        List<OtmLibraryMember> matches = getNamed( m.getName() );
+        matches.remove( m );
         return matches;
     }
 
+    /**
+     * @param name local name of the member
+     * @return new list of the members with that name
+     */
+    private List<OtmLibraryMember> getNamed(String name) {
+        synchronized (nameLock) {
+            Set<OtmLibraryMember> named = nameIndex.get( name == null ? "" : name );
+            return named == null ? new ArrayList<>() : new ArrayList<>( named );
+        }
+    }
+
+    private void indexName(OtmLibraryMember member) {
+        String name = member.getName() == null ? "" : member.getName();
+        nameIndex.computeIfAbsent( name, k -> new LinkedHashSet<>() ).add( member );
+        indexedNames.put( member, name );
+    }
+
+    private void unindexName(OtmLibraryMember member) {
+        String name = indexedNames.remove( member );
+        if (name != null) {
+            Set<OtmLibraryMember> named = nameIndex.get( name );
+            if (named != null) {
+                named.remove( member );
+                if (named.isEmpty())
+                    nameIndex.remove( name );
+            }
+        }
+    }
+
+    /**
+     * Move the member to its current name in the name index. Called when a member is renamed or refreshed.
+     * 
+     * @param member
+     */
+    public void updateName(OtmLibraryMember member) {
+        if (member == null)
+            return;
+        synchronized (nameLock) {
+            if (indexedNames.containsKey( member )) {
+                unindexName( member );
+                indexName( member );
+            }
+        }
+    }
+
     /**
      * @return new collection of all contextual facets in the model.
      */
@@ -265,8 +543,42 @@ public class OtmModelMembersManager {
      * @param member
      */
     public void remove(OtmLibraryMember member) {
-        if (member != null && member.getTL() instanceof LibraryMember && contains( member.getTlLM() ))
+        if (member != null && member.getTL() instanceof LibraryMember && contains( member.getTlLM() )) {
             members.remove( member.getTlLM(), member );
+            removeTypeReferences( member );
+            synchronized (nameLock) {
+                unindexName( member );
+            }
+            synchronized (libraryLock) {
+                unindexLibrary( member );
+            }
+        }
+    }
+
+    /**
+     * Remove the member from the type reference index. Members that used or extended the removed member are
+     * invalidated because removing it may have changed their assignments.
+     */
+    private void removeTypeReferences(OtmLibraryMember member) {
+        synchronized (indexLock) {
+            staleMembers.remove( member );
+            unindex( member );
+            Set<OtmLibraryMember> users = new HashSet<>();
+            List<OtmTypeProvider> providers = new ArrayList<>();
+            if (member instanceof OtmTypeProvider)
+                providers.add( (OtmTypeProvider) member );
+            if (member.getDescendantsTypeProviders() != null)
+                providers.addAll( member.getDescendantsTypeProviders() );
+            for (OtmTypeProvider p : providers) {
+                Set<OtmLibraryMember> u = usersIndex.get( p );
+                if (u != null)
+                    users.addAll( u );
+            }
+            Set<OtmLibraryMember> subTypes = subtypesIndex.get( member );
+            if (subTypes != null)
+                users.addAll( subTypes );
+            staleMembers.addAll( users );
+        }
     }
 
 }
@@ -0,0 +1,186 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.opentravel.model;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opentravel.dex.controllers.DexMainController;
+import org.opentravel.dex.events.DexValidationResultsEvent;
+import org.opentravel.model.otmLibraryMembers.OtmLibraryMember;
+import org.opentravel.schemacompiler.validate.ValidationFindings;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import javafx.application.Platform;
+
+/**
+ * Schedule re-validation of library members changed by actions. Bursts of changes, such as typing a name, are
+ * coalesced and only the dirty members are validated once the changes pause.
+ * <p>
+ * The delay runs on a background timer. The batch itself is validated on the FX thread because validation reads the
+ * same model objects that actions edit there. When the batch starts, the dirty members are copied and the members that
+ * use them as a type or base type are added. Where used lists are rebuilt once per batch, not once per change.
+ * <p>
+ * When validation changes the valid state of any member, a {@link DexValidationResultsEvent} is published so views
+ * that show validation state can update their images without reloading the model.
+ *
+ * @author dmh
+ *
+ */
+public class OtmValidationScheduler {
+    private static Logger log = LogManager.getLogger( OtmValidationScheduler.class );
+
+    /**
+     * Time to wait after the last change before validating.
+     */
+    public static final long DELAY_MILLIS = 300;
+
+    private OtmModelManager mgr;
+    private DexMainController mainController;
+
+    private final Set<OtmLibraryMember> dirty = ConcurrentHashMap.newKeySet();
+    private final Object scheduleLock = new Object();
+    private ScheduledExecutorService executor = null;
+    private ScheduledFuture<?> pending = null;
+
+    /**
+     * @param mgr model manager whose members are scheduled
+     * @param mainController controller used to publish results. If null, no events are published.
+     */
+    public OtmValidationScheduler(OtmModelManager mgr, DexMainController mainController) {
+        this.mgr = mgr;
+        this.mainController = mainController;
+    }
+
+    /**
+     * Cancel pending validation and forget dirty members.
+     */
+    public void clear() {
+        synchronized (scheduleLock) {
+            if (pending != null)
+                pending.cancel( false );
+            pending = null;
+        }
+        dirty.clear();
+    }
+
+    /**
+     * @return number of members waiting to be validated
+     */
+    public int getDirtyCount() {
+        return dirty.size();
+    }
+
+    /**
+     * @return true if the member is waiting to be validated
+     */
+    public boolean isDirty(OtmLibraryMember member) {
+        return dirty.contains( member );
+    }
+
+    /**
+     * Mark the member as needing validation and (re)start the delay before validating. The members that depend on it
+     * are added when the batch is validated.
+     *
+     * @param member
+     */
+    public void markDirty(OtmLibraryMember member) {
+        if (member == null)
+            return;
+        dirty.add( member );
+        schedule();
+    }
+
+    private void schedule() {
+        synchronized (scheduleLock) {
+            if (executor == null)
+                executor = Executors.newSingleThreadScheduledExecutor( r -> {
+                    Thread t = new Thread( r, "DexValidationScheduler" );
+                    t.setDaemon( true );
+                    return t;
+                } );
+            // Restart the delay so a burst of changes is validated once
+            if (pending != null)
+                pending.cancel( false );
+            pending = executor.schedule( this::runOnFxThread, DELAY_MILLIS, TimeUnit.MILLISECONDS );
+        }
+    }
+
+    /**
+     * Validate the dirty members on the FX thread. Without an FX toolkit (headless use) nothing else edits the model, so
+     * the timer thread validates them.
+     */
+    private void runOnFxThread() {
+        try {
+            Platform.runLater( this::validateDirty );
+        } catch (IllegalStateException e) {
+            validateDirty();
+        }
+    }
+
+    /**
+     * Validate the dirty members and the members that use them now on the calling thread. Must be called on the thread
+     * that edits the model. Members marked dirty while validating are left for the next run.
+     *
+     * @return number of members validated
+     */
+    public int validateDirty() {
+        List<OtmLibraryMember> marked = new ArrayList<>( dirty );
+        dirty.removeAll( marked );
+
+        // Snapshot the batch and add the dependents. Rebuild each where used list once for the whole batch.
+        Set<OtmLibraryMember> members = new LinkedHashSet<>( marked );
+        for (OtmLibraryMember m : marked)
+            members.addAll( new ArrayList<>( m.getWhereUsed( true ) ) );
+
+        Map<OtmLibraryMember,ValidationFindings> findings = new HashMap<>();
+        boolean changed = false;
+        int count = 0;
+        for (OtmLibraryMember m : members) {
+            // Skip members deleted since they were marked
+            if (m.getLibrary() == null || !mgr.contains( m.getTlLM() ))
+                continue;
+            boolean wasValid = m.isValid();
+            boolean valid = m.isValid( true );
+            if (wasValid != valid)
+                changed = true;
+            if (m.getFindings() != null && !m.getFindings().isEmpty())
+                findings.put( m, m.getFindings() );
+            count++;
+        }
+        // log.debug( "Validated " + count + " dirty members." );
+
+        if (changed && mainController != null) {
+            DexValidationResultsEvent event = new DexValidationResultsEvent( mgr, count, findings );
+            if (Platform.isFxApplicationThread())
+                mainController.publishEvent( event );
+            else
+                log.debug( "FX toolkit not available to publish validation results." );
+        }
+        return count;
+    }
+}
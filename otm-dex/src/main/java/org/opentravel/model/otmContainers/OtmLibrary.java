@@ -408,7 +408,7 @@ public abstract class OtmLibrary implements Comparable<OtmLibrary> {
         if (getModelManager() == null || getModelManager().getMapManager() == null)
             return null;
         if (usersMap == null)
-            usersMap = getModelManager().getMapManager().getUsersMap( this, false );
+            usersMap = getModelManager().getMapManager().getUsersMap( this, true );
         return usersMap;
     }
 
@@ -428,10 +428,28 @@ public abstract class OtmLibrary implements Comparable<OtmLibrary> {
         if (getModelManager() == null || getModelManager().getMapManager() == null)
             return null;
         if (providerMap == null)
-            providerMap = getModelManager().getMapManager().getProvidersMap( this, false );
+            providerMap = getModelManager().getMapManager().getProvidersMap( this, true );
         return providerMap;
     }
 
+    /**
+     * Used by the map manager to update maps that have already been built.
+     * 
+     * @return the provider map if it has been built, otherwise null. Does not build the map.
+     */
+    public Map<OtmLibrary,List<OtmLibraryMember>> getCachedProvidersMap() {
+        return providerMap;
+    }
+
+    /**
+     * Used by the map manager to update maps that have already been built.
+     * 
+     * @return the users map if it has been built, otherwise null. Does not build the map.
+     */
+    public Map<OtmLibrary,List<OtmLibraryMember>> getCachedUsersMap() {
+        return usersMap;
+    }
+
 
     public OtmProjectManager getProjectManager() {
         return mgr != null ? mgr.getOtmProjectManager() : null;
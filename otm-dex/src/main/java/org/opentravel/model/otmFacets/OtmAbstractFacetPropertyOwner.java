@@ -101,6 +101,7 @@ public abstract class OtmAbstractFacetPropertyOwner<T extends TLAbstractFacet> e
                 children.add( child );
             else
                 inheritedChildren.add( child );
+            invalidateTypeReferences();
         }
         return (OtmProperty) child;
     }
@@ -154,10 +155,17 @@ public abstract class OtmAbstractFacetPropertyOwner<T extends TLAbstractFacet> e
         else
             log.warn( "Invalid delete TL property owner and TL property pair." );
         remove( property ); // if children is empty, the deleted TL will not be modeled and this remove will do nothing
+        invalidateTypeReferences();
         refresh();
         // log.debug( "Deleted " + property + " from" + this + " with " + getChildren().size() + " kids." );
     }
 
+    // Adding or deleting properties changes the owning member's used types
+    private void invalidateTypeReferences() {
+        if (getModelManager() != null)
+            getModelManager().invalidateTypeReferences( getOwningMember() );
+    }
+
     /**
      * Delete all children. For each child, invoke {@link OtmAbstractFacetPropertyOwner#delete(OtmObject)}
      */
@@ -160,6 +160,10 @@ public abstract class OtmLibraryMemberBase<T extends TLModelElement> extends Otm
         // Leave this in unless performance issues arise.
         // See junit TestTypeAssignmentAndWhereUsed
         whereUsed = null;
+        // Recompute is cheap because the members manager re-indexes only the changed members
+        invalidateTypeReferences( this );
+        invalidateTypeReferences( oldUser );
+        invalidateTypeReferences( newUser );
         // log.debug( "Cleared " + this + " whereUsed list." );
         // if (whereUsed == null)
         // whereUsed = new ArrayList<>();
@@ -720,6 +724,11 @@ public abstract class OtmLibraryMemberBase<T extends TLModelElement> extends Otm
         super.refresh();
         membersProviders = null; // Created by getDescendantsTypeProviders
         typesUsed = null;
+        if (mgr != null) {
+            mgr.invalidateTypeReferences( this );
+            mgr.updateName( this );
+            mgr.updateLibrary( this );
+        }
         getWhereUsed( true );
         setEditableMinor();
     }
@@ -738,6 +747,17 @@ public abstract class OtmLibraryMemberBase<T extends TLModelElement> extends Otm
         children.remove( child );
     }
 
+    /**
+     * Mark the member as stale in the model manager's type reference index. Safe to call before the member has a
+     * model manager.
+     * 
+     * @param member the member whose type references changed
+     */
+    protected void invalidateTypeReferences(OtmLibraryMember member) {
+        if (mgr != null)
+            mgr.invalidateTypeReferences( member );
+    }
+
     @Override
     public boolean sameBaseNamespace(OtmLibraryMember otherMember) {
         if (getLibrary() == null || otherMember == null || otherMember.getLibrary() == null)
@@ -764,6 +784,7 @@ public abstract class OtmLibraryMemberBase<T extends TLModelElement> extends Otm
                 ((TLExtensionOwner) getTL()).setExtension( null );
         }
         // Set the where used in case resolver is not run afterwards
+        invalidateTypeReferences( this );
         OtmLibraryMember newBaseOwner = null;
         if (getBaseType() != null)
             newBaseOwner = getBaseType().getOwningMember();
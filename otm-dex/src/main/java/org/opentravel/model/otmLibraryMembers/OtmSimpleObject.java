@@ -122,6 +122,8 @@ public class OtmSimpleObject extends OtmSimpleObjects<TLSimple> implements OtmTy
             oldUser = getAssignedType().getOwningMember();
         if (type == null) {
             setAssignedTLType( null );
+            if (oldUser != null)
+                oldUser.changeWhereUsed( this, null );
         } else {
             if (type.getTL() instanceof TLAttributeType) {
                 setAssignedTLType( (TLAttributeType) type.getTL() );
@@ -105,6 +105,7 @@ public class OtmValueWithAttributes extends OtmLibraryMemberBase<TLValueWithAttr
                 children.add( child );
             else
                 inheritedChildren.add( child );
+            invalidateTypeReferences( this );
             return (OtmProperty) child;
         }
         return null;
@@ -189,6 +190,7 @@ public class OtmValueWithAttributes extends OtmLibraryMemberBase<TLValueWithAttr
         else if (property.getTL() instanceof TLAttribute)
             getTL().removeAttribute( (TLAttribute) property.getTL() );
         remove( property );
+        invalidateTypeReferences( this );
     }
 
     /**
@@ -0,0 +1,190 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.opentravel.dex.tasks;
+
+import static org.junit.Assert.assertTrue;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opentravel.AbstractDexTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Verifies the functions of the <code>DexTaskScheduler</code> class.
+ */
+public class TestDexTaskScheduler extends AbstractDexTest {
+
+    @BeforeClass
+    public static void beforeClass() throws Exception {
+        beforeClassSetup( TestDexTaskScheduler.class );
+    }
+
+    /**
+     * Task that records how many tasks of its kind are running at once.
+     */
+    private static class CountingTask extends DexTaskBase<String> {
+        private final AtomicInteger runningNow;
+        private final AtomicInteger maxRunning;
+        private final CountDownLatch done;
+
+        public CountingTask(String data, AtomicInteger runningNow, AtomicInteger maxRunning, CountDownLatch done) {
+            super( data );
+            this.runningNow = runningNow;
+            this.maxRunning = maxRunning;
+            this.done = done;
+        }
+
+        @Override
+        public void doIT() throws Exception {
+            int now = runningNow.incrementAndGet();
+            maxRunning.accumulateAndGet( now, Math::max );
+            try {
+                // Busy task holds its thread long enough for the test to queue others
+                Thread.sleep( "Busy".equals( taskData ) ? 500 : 50 );
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                runningNow.decrementAndGet();
+                done.countDown();
+            }
+        }
+    }
+
+    private static class CountingRepositoryTask extends CountingTask implements DexRepositoryTask {
+        public CountingRepositoryTask(String data, AtomicInteger runningNow, AtomicInteger maxRunning,
+            CountDownLatch done) {
+            super( data, runningNow, maxRunning, done );
+        }
+    }
+
+    private static class CountingIdempotentTask extends CountingRepositoryTask implements DexTaskIdempotent {
+        public CountingIdempotentTask(String data, AtomicInteger runningNow, AtomicInteger maxRunning,
+            CountDownLatch done) {
+            super( data, runningNow, maxRunning, done );
+        }
+    }
+
+    private static class CountingSingletonTask extends CountingTask implements DexTaskSingleton {
+        public CountingSingletonTask(String data, AtomicInteger runningNow, AtomicInteger maxRunning,
+            CountDownLatch done) {
+            super( data, runningNow, maxRunning, done );
+        }
+    }
+
+    @Test
+    public void testCategory() {
+        CountDownLatch done = new CountDownLatch( 0 );
+        AtomicInteger count = new AtomicInteger();
+        DexTask repoTask = new CountingRepositoryTask( "r", count, count, done );
+        DexTask modelTask = new CountingTask( "m", count, count, done );
+        assertTrue( "Then: repository tasks are limited as repository tasks.",
+            DexTaskScheduler.getCategory( repoTask ) == DexTaskScheduler.Category.REPOSITORY );
+        assertTrue( "Then: other tasks are limited as model tasks.",
+            DexTaskScheduler.getCategory( modelTask ) == DexTaskScheduler.Category.MODEL );
+    }
+
+    @Test
+    public void testRepositoryLimit() throws Exception {
+        DexTaskScheduler scheduler = new DexTaskScheduler( 2, 4 );
+        AtomicInteger runningNow = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch( 8 );
+
+        // When - more tasks than the limit are submitted
+        for (int i = 0; i < 8; i++)
+            scheduler.submit( new CountingRepositoryTask( "Task" + i, runningNow, maxRunning, done ) );
+
+        // Then - all run but never more than the limit at once
+        assertTrue( "Then: all tasks must run.", done.await( 10, TimeUnit.SECONDS ) );
+        assertTrue( "Then: limit must be honored.", maxRunning.get() <= 2 );
+        assertTrue( "Then: tasks must have run.", maxRunning.get() >= 1 );
+    }
+
+    @Test
+    public void testSingleton() throws Exception {
+        DexTaskScheduler scheduler = new DexTaskScheduler( 2, 4 );
+        AtomicInteger runningNow = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch( 1 );
+
+        // When - several singleton tasks are submitted
+        List<DexTaskBase<?>> tasks = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            CountingSingletonTask task = new CountingSingletonTask( "Singleton" + i, runningNow, maxRunning, done );
+            tasks.add( task );
+            scheduler.submit( task );
+        }
+
+        // Then - the last task runs and they never overlap
+        assertTrue( "Then: last task must run.", done.await( 10, TimeUnit.SECONDS ) );
+        while (scheduler.getRunningCount() > 0 || scheduler.getQueuedCount() > 0)
+            Thread.sleep( 10 );
+        assertTrue( "Then: singleton tasks must never overlap.", maxRunning.get() == 1 );
+        assertTrue( "Then: last task must not be cancelled.", !tasks.get( 3 ).isCancelled() );
+        for (int i = 0; i < 3; i++)
+            assertTrue( "Then: earlier tasks are cancelled or done.", tasks.get( i ).isCancelled()
+                || tasks.get( i ).isDone() );
+    }
+
+    @Test
+    public void testSuperseded() throws Exception {
+        DexTaskScheduler scheduler = new DexTaskScheduler( 1, 1 );
+        AtomicInteger runningNow = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch( 10 );
+
+        // Given - a running task holding the only repository thread
+        scheduler.submit( new CountingRepositoryTask( "Busy", runningNow, maxRunning, done ) );
+
+        // When - the same data is queued twice
+        CountingIdempotentTask first = new CountingIdempotentTask( "Same", runningNow, maxRunning, done );
+        CountingIdempotentTask second = new CountingIdempotentTask( "Same", runningNow, maxRunning, done );
+        scheduler.submit( first );
+        scheduler.submit( second );
+
+        // Then - the first queued task is superseded
+        assertTrue( "Then: superseded task must be cancelled.", first.isCancelled() || first.isDone() );
+        assertTrue( "Then: newer task must not be cancelled.", !second.isCancelled() );
+    }
+
+    @Test
+    public void testNotSuperseded() throws Exception {
+        DexTaskScheduler scheduler = new DexTaskScheduler( 1, 1 );
+        AtomicInteger runningNow = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch( 3 );
+
+        // Given - a running task holding the only repository thread
+        scheduler.submit( new CountingRepositoryTask( "Busy", runningNow, maxRunning, done ) );
+
+        // When - a task that is not idempotent is queued twice with the same data
+        CountingRepositoryTask first = new CountingRepositoryTask( "Same", runningNow, maxRunning, done );
+        CountingRepositoryTask second = new CountingRepositoryTask( "Same", runningNow, maxRunning, done );
+        scheduler.submit( first );
+        scheduler.submit( second );
+
+        // Then - both tasks run
+        assertTrue( "Then: all tasks must run.", done.await( 10, TimeUnit.SECONDS ) );
+        assertTrue( "Then: first task must not be cancelled.", !first.isCancelled() );
+        assertTrue( "Then: second task must not be cancelled.", !second.isCancelled() );
+    }
+}
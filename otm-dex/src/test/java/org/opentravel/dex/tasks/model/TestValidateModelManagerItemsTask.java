@@ -0,0 +1,88 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.opentravel.dex.tasks.model;
+
+import static org.junit.Assert.assertTrue;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opentravel.AbstractDexTest;
+import org.opentravel.TestDexFileHandler;
+import org.opentravel.dex.events.DexValidationResultsEvent;
+import org.opentravel.model.OtmModelManager;
+import org.opentravel.model.otmLibraryMembers.OtmLibraryMember;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Verifies the functions of the <code>ValidateModelManagerItemsTask</code> class.
+ */
+public class TestValidateModelManagerItemsTask extends AbstractDexTest {
+
+    @BeforeClass
+    public static void beforeClass() throws Exception {
+        beforeClassSetup( TestValidateModelManagerItemsTask.class );
+    }
+
+    @Test
+    public void testValidate() throws Exception {
+        // Given a project that uses local library files
+        OtmModelManager mgr = new OtmModelManager( null, repoManager, null );
+        TestDexFileHandler.loadAndAddUnmanagedProject( mgr );
+        int memberCount = 0;
+        for (OtmLibraryMember m : mgr.getMembers())
+            if (m.getLibrary() != null)
+                memberCount++;
+
+        // When validated
+        AtomicInteger progressCount = new AtomicInteger();
+        DexValidationResultsEvent results =
+            ValidateModelManagerItemsTask.validate( mgr, () -> false, done -> progressCount.incrementAndGet() );
+
+        // Then members in libraries are validated once
+        assertTrue( "Then: members must be validated.", results.getValidatedCount() > 0 );
+        assertTrue( "Then: no member validated twice.", results.getValidatedCount() <= memberCount );
+        assertTrue( "Then: progress must be reported for each member.",
+            progressCount.get() == results.getValidatedCount() );
+        results.getFindings().forEach( (m, f) -> assertTrue( "Then: reported findings must not be empty.", !f.isEmpty() ) );
+        for (OtmLibraryMember m : results.getMembersWithErrors())
+            assertTrue( "Then: members with errors must be invalid.", !m.isValid() );
+    }
+
+    @Test
+    public void testValidate_ResultsEvent() throws Exception {
+        OtmModelManager mgr = new OtmModelManager( null, repoManager, null );
+        TestDexFileHandler.loadAndAddUnmanagedProject( mgr );
+
+        DexValidationResultsEvent results = ValidateModelManagerItemsTask.validate( mgr, () -> false, null );
+
+        // Then the results must not make model change subscribers reload the model
+        assertTrue( "Then: results must have their own event type.",
+            results.getEventType() == DexValidationResultsEvent.VALIDATION_RESULTS );
+        assertTrue( "Then: results must not change type references.", !results.isTypeReferenceChange() );
+        assertTrue( "Then: results must have the model manager.", results.getModelManager() == mgr );
+    }
+
+    @Test
+    public void testValidate_Cancelled() throws Exception {
+        OtmModelManager mgr = new OtmModelManager( null, repoManager, null );
+        TestDexFileHandler.loadAndAddUnmanagedProject( mgr );
+
+        DexValidationResultsEvent results = ValidateModelManagerItemsTask.validate( mgr, () -> true, null );
+        assertTrue( "Then: cancelled validation must not validate members.", results.getValidatedCount() == 0 );
+    }
+}
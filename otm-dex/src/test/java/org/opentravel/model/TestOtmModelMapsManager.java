@@ -22,6 +22,9 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.junit.BeforeClass;
 import org.junit.Test;
+import org.opentravel.dex.events.DexModelChangeEvent;
+import org.opentravel.dex.events.OtmObjectChangeEvent;
+import org.opentravel.dex.events.OtmObjectModifiedEvent;
 import org.opentravel.model.otmContainers.OtmLibrary;
 import org.opentravel.model.otmContainers.TestLibrary;
 import org.opentravel.model.otmContainers.TestLibraryMaps;
@@ -106,6 +109,85 @@ public class TestOtmModelMapsManager {
 
     }
 
+    /**
+     * Assure change events update the cached maps without rebuilding them.
+     */
+    @Test
+    public void testUpdate() {
+        OtmModelManager mgr = new OtmModelManager( null, null, null );
+
+        // Given - a provider library and a user library with cached maps
+        OtmLibrary providerLib = TestLibrary.buildOtm( mgr );
+        OtmCore provider = TestCore.buildOtm( providerLib, "ProviderCore" );
+        OtmLibrary userLib = TestLibrary.buildOtm( mgr );
+        OtmBusinessObject bo = TestBusiness.buildOtm( userLib, "UserBO" );
+        OtmElement<?> ele = TestElement.buildOtm( bo.getSummary() );
+        Map<OtmLibrary,List<OtmLibraryMember>> pMap = userLib.getProvidersMap();
+        Map<OtmLibrary,List<OtmLibraryMember>> uMap = providerLib.getUsersMap();
+        assertTrue( "Given: ", !pMap.containsKey( providerLib ) );
+        assertTrue( "Given: ", !uMap.containsKey( userLib ) );
+
+        // When - type assigned and event handled
+        ele.setAssignedType( provider );
+        mgr.handleEvent( new OtmObjectChangeEvent( ele ) );
+
+        // Then - the cached maps are updated
+        assertTrue( "Then: same map is used.", userLib.getProvidersMap() == pMap );
+        assertTrue( "Then: provider library is a key.", pMap.get( providerLib ).contains( bo ) );
+        assertTrue( "Then: same map is used.", providerLib.getUsersMap() == uMap );
+        assertTrue( "Then: user library is a key.", uMap.get( userLib ).contains( bo ) );
+
+        // When - type removed and event handled
+        ele.setAssignedType( null );
+        mgr.handleEvent( new OtmObjectChangeEvent( ele ) );
+
+        // Then
+        assertTrue( "Then: provider library is not a key.", !pMap.containsKey( providerLib ) );
+        assertTrue( "Then: user library is not a key.", !uMap.containsKey( userLib ) );
+
+        // When - modified event handled
+        mgr.handleEvent( new OtmObjectModifiedEvent( bo ) );
+        assertTrue( "Then: maps are not cleared.", userLib.getProvidersMap() == pMap );
+
+        // When - model change event handled
+        DexModelChangeEvent event = new DexModelChangeEvent( mgr );
+        event.set( bo );
+        mgr.handleEvent( event );
+        assertTrue( "Then: maps are cleared.", userLib.getCachedProvidersMap() == null );
+        assertTrue( "Then: maps are cleared.", providerLib.getCachedUsersMap() == null );
+    }
+
+    /**
+     * Assure updated map entries stay in sorted order.
+     */
+    @Test
+    public void testUpdate_Sorted() {
+        OtmModelManager mgr = new OtmModelManager( null, null, null );
+
+        // Given - a provider library and a user library with cached maps
+        OtmLibrary providerLib = TestLibrary.buildOtm( mgr );
+        OtmCore provider = TestCore.buildOtm( providerLib, "ProviderCore" );
+        OtmLibrary userLib = TestLibrary.buildOtm( mgr );
+        OtmBusinessObject zBo = TestBusiness.buildOtm( userLib, "ZUserBO" );
+        OtmBusinessObject aBo = TestBusiness.buildOtm( userLib, "AUserBO" );
+        OtmElement<?> zEle = TestElement.buildOtm( zBo.getSummary() );
+        OtmElement<?> aEle = TestElement.buildOtm( aBo.getSummary() );
+        Map<OtmLibrary,List<OtmLibraryMember>> pMap = userLib.getProvidersMap();
+        Map<OtmLibrary,List<OtmLibraryMember>> uMap = providerLib.getUsersMap();
+
+        // When - types assigned in reverse name order and events handled
+        zEle.setAssignedType( provider );
+        mgr.handleEvent( new OtmObjectChangeEvent( zEle ) );
+        aEle.setAssignedType( provider );
+        mgr.handleEvent( new OtmObjectChangeEvent( aEle ) );
+
+        // Then - the updated lists are sorted
+        List<OtmLibraryMember> providerUsers = pMap.get( providerLib );
+        assertTrue( "Then: provider map list is sorted.", providerUsers.indexOf( aBo ) < providerUsers.indexOf( zBo ) );
+        List<OtmLibraryMember> libraryUsers = uMap.get( userLib );
+        assertTrue( "Then: users map list is sorted.", libraryUsers.indexOf( aBo ) < libraryUsers.indexOf( zBo ) );
+    }
+
     /**
      * Assure addToUsersMap finds members that have properties that use types from the library.
      */
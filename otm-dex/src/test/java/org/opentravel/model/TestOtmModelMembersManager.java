@@ -31,11 +31,16 @@ import org.opentravel.model.otmLibraryMembers.OtmCore;
 import org.opentravel.model.otmLibraryMembers.OtmLibraryMember;
 import org.opentravel.model.otmLibraryMembers.TestBusiness;
 import org.opentravel.model.otmLibraryMembers.TestCore;
+import org.opentravel.model.otmProperties.OtmElement;
+import org.opentravel.model.otmProperties.TestElement;
 import org.opentravel.schemacompiler.model.AbstractLibrary;
 import org.opentravel.schemacompiler.model.LibraryMember;
 import org.opentravel.schemacompiler.model.TLCoreObject;
+import org.opentravel.schemacompiler.model.TLLibrary;
 import org.opentravel.schemacompiler.model.TLModel;
 import org.opentravel.schemacompiler.model.TLModelElement;
+import org.opentravel.schemacompiler.model.TLProperty;
+import org.opentravel.schemacompiler.model.TLPropertyOwner;
 
 import java.util.List;
 
@@ -142,6 +147,97 @@ public class TestOtmModelMembersManager extends AbstractDexTest {
         } while (--i > 0);
     }
 
+    @Test
+    public void testFindUsersOf() {
+        OtmModelManager mgr = getModelManager();
+        OtmLibrary lib = TestLibrary.buildOtm( mgr );
+        OtmModelMembersManager mbrMgr = mgr.getOtmMembersManager();
+        OtmCore provider = TestCore.buildOtm( lib, "ProviderCore" );
+        OtmCore userCore = TestCore.buildOtm( lib, "UserCore" );
+        OtmElement<?> ele = new OtmElement<TLProperty>(
+            TestElement.buildTL( (TLPropertyOwner) userCore.getSummary().getTL() ), userCore.getSummary() );
+
+        // When assigned
+        ele.setAssignedType( provider );
+        assertTrue( "Then: index must contain user.", mbrMgr.findUsersOf( provider ).contains( userCore ) );
+        assertTrue( "Then: ", provider.getWhereUsed( true ).contains( userCore ) );
+
+        // When cleared
+        ele.setAssignedType( null );
+        assertTrue( "Then: index must not contain user.", !mbrMgr.findUsersOf( provider ).contains( userCore ) );
+
+        // When user is removed
+        ele.setAssignedType( provider );
+        assertTrue( "Given: ", mbrMgr.findUsersOf( provider ).contains( userCore ) );
+        mbrMgr.remove( userCore );
+        assertTrue( "Then: index must not contain removed user.",
+            !mbrMgr.findUsersOf( provider ).contains( userCore ) );
+    }
+
+    @Test
+    public void testFindSubtypesOf() {
+        OtmModelManager mgr = getModelManager();
+        OtmLibrary lib = TestLibrary.buildOtm( mgr );
+        OtmModelMembersManager mbrMgr = mgr.getOtmMembersManager();
+        OtmBusinessObject base = TestBusiness.buildOtm( lib, "BaseBO" );
+        OtmBusinessObject subType = TestBusiness.buildOtm( lib, "SubTypeBO" );
+        assertTrue( "Given: ", !mbrMgr.findSubtypesOf( base ).contains( subType ) );
+
+        // When extended
+        subType.setBaseType( base );
+        assertTrue( "Then: index must contain subtype.", mbrMgr.findSubtypesOf( base ).contains( subType ) );
+
+        // When extension cleared
+        subType.setBaseType( null );
+        assertTrue( "Then: index must not contain subtype.", !mbrMgr.findSubtypesOf( base ).contains( subType ) );
+    }
+
+    @Test
+    public void testGetMember_Renamed() {
+        OtmModelManager mgr = getModelManager();
+        OtmLibrary lib = TestLibrary.buildOtm( mgr );
+        OtmModelMembersManager mbrMgr = mgr.getOtmMembersManager();
+        OtmCore core = TestCore.buildOtm( lib, "OldName" );
+        String oldName = core.getNameWithPrefix();
+        assertTrue( "Given: ", mbrMgr.getMember( oldName ) == core );
+
+        // When renamed
+        core.setName( "NewName" );
+        assertTrue( "Then: must find new name.", mbrMgr.getMember( core.getNameWithPrefix() ) == core );
+        assertTrue( "Then: must not find old name.", mbrMgr.getMember( oldName ) == null );
+
+        // When another member has the same name
+        OtmCore other = TestCore.buildOtm( TestLibrary.buildOtm( mgr ), "NewName" );
+        assertTrue( "Then: ", mbrMgr.getMembers( core ).contains( other ) );
+        assertTrue( "Then: ", !mbrMgr.getMembers( core ).contains( core ) );
+
+        // When removed
+        mbrMgr.remove( core );
+        assertTrue( "Then: ", mbrMgr.getMember( core.getNameWithPrefix() ) != core );
+        assertTrue( "Then: ", !mbrMgr.getMembers( other ).contains( core ) );
+    }
+
+    @Test
+    public void testGetMembers_Library() throws Exception {
+        OtmModelManager mgr = getModelManager();
+        OtmLibrary lib1 = TestLibrary.buildOtm( mgr );
+        OtmLibrary lib2 = TestLibrary.buildOtm( mgr );
+        OtmModelMembersManager mbrMgr = mgr.getOtmMembersManager();
+        OtmCore core = TestCore.buildOtm( lib1, "LibCore" );
+        assertTrue( "Given: ", mbrMgr.getMembers( lib1 ).contains( core ) );
+        assertTrue( "Given: ", !mbrMgr.getMembers( lib2 ).contains( core ) );
+
+        // When moved
+        mgr.getTlModel().moveToLibrary( core.getTlLM(), (TLLibrary) lib2.getTL() );
+        mgr.updateLibrary( core );
+        assertTrue( "Then: ", !mbrMgr.getMembers( lib1 ).contains( core ) );
+        assertTrue( "Then: ", mbrMgr.getMembers( lib2 ).contains( core ) );
+
+        // When deleted
+        lib2.delete( core );
+        assertTrue( "Then: ", !mbrMgr.getMembers( lib2 ).contains( core ) );
+    }
+
     /**
      * getMembers() getMembers(OtmLibrary) getMembers(OtmLibraryMember)
      */
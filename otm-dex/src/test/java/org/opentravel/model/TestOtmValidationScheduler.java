@@ -0,0 +1,74 @@
+/**
+ * Copyright (C) 2014 OpenTravel Alliance (info@opentravel.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.opentravel.model;
+
+import static org.junit.Assert.assertTrue;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opentravel.AbstractDexTest;
+import org.opentravel.model.otmContainers.OtmLibrary;
+import org.opentravel.model.otmContainers.TestLibrary;
+import org.opentravel.model.otmLibraryMembers.OtmCore;
+import org.opentravel.model.otmLibraryMembers.TestCore;
+import org.opentravel.model.otmProperties.OtmElement;
+import org.opentravel.model.otmProperties.TestElement;
+import org.opentravel.schemacompiler.model.TLProperty;
+import org.opentravel.schemacompiler.model.TLPropertyOwner;
+
+/**
+ * Verifies the functions of the <code>OtmValidationScheduler</code> class.
+ */
+public class TestOtmValidationScheduler extends AbstractDexTest {
+
+    @BeforeClass
+    public static void beforeClass() throws Exception {
+        beforeClassSetup( TestOtmValidationScheduler.class );
+    }
+
+    @Test
+    public void testMarkDirty() {
+        // Given a core used by another core
+        OtmModelManager mgr = getModelManager();
+        OtmLibrary lib = TestLibrary.buildOtm( mgr );
+        OtmCore provider = TestCore.buildOtm( lib, "ProviderCore" );
+        OtmCore userCore = TestCore.buildOtm( lib, "UserCore" );
+        OtmElement<?> ele = new OtmElement<TLProperty>(
+            TestElement.buildTL( (TLPropertyOwner) userCore.getSummary().getTL() ), userCore.getSummary() );
+        ele.setAssignedType( provider );
+        OtmValidationScheduler scheduler = new OtmValidationScheduler( mgr, null );
+
+        // When marked dirty
+        scheduler.markDirty( provider );
+        assertTrue( "Then: provider must be dirty.", scheduler.isDirty( provider ) );
+        assertTrue( "Then: users are not added until the batch is validated.", !scheduler.isDirty( userCore ) );
+
+        // When validated
+        int count = scheduler.validateDirty();
+        assertTrue( "Then: dirty members and their users must be validated.", count >= 2 );
+        assertTrue( "Then: no members are dirty.", scheduler.getDirtyCount() == 0 );
+
+        // When the same member is marked repeatedly
+        for (int i = 0; i < 10; i++)
+            scheduler.markDirty( provider );
+        assertTrue( "Then: members are only scheduled once.", scheduler.getDirtyCount() <= count );
+
+        // When cleared
+        scheduler.clear();
+        assertTrue( "Then: no members are dirty.", scheduler.getDirtyCount() == 0 );
+    }
+}